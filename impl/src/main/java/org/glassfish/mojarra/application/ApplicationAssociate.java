@@ -45,6 +45,8 @@ import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 import jakarta.el.CompositeELResolver;
@@ -78,7 +80,9 @@ import org.glassfish.mojarra.application.resource.ResourceManager;
 import org.glassfish.mojarra.component.search.SearchExpressionHandlerImpl;
 import org.glassfish.mojarra.config.ConfigManager;
 import org.glassfish.mojarra.config.FacesContextParam;
+import org.glassfish.mojarra.config.MojarraContextParam;
 import org.glassfish.mojarra.el.DemuxCompositeELResolver;
+import org.glassfish.mojarra.el.ExpressionCache;
 import org.glassfish.mojarra.facelets.compiler.Compiler;
 import org.glassfish.mojarra.facelets.compiler.SAXCompiler;
 import org.glassfish.mojarra.facelets.impl.DefaultFaceletFactory;
@@ -93,8 +97,10 @@ import org.glassfish.mojarra.facelets.tag.jstl.fn.JstlFunction;
 import org.glassfish.mojarra.facelets.tag.ui.UILibrary;
 import org.glassfish.mojarra.facelets.util.DevTools;
 import org.glassfish.mojarra.facelets.util.FunctionLibrary;
+import org.glassfish.mojarra.lifecycle.Instrumentation;
 import org.glassfish.mojarra.spi.InjectionProvider;
 import org.glassfish.mojarra.util.FacesLogger;
+import org.glassfish.mojarra.util.MojarraThreadFactory;
 
 /**
  * <p>
@@ -165,6 +171,12 @@ public class ApplicationAssociate {
 
     private Map<String, List<String>> resourceLibraryContracts;
 
+    private volatile ExecutorService subtreeEncodingPool;
+
+    private volatile ExpressionCache expressionCache;
+
+    private volatile Instrumentation instrumentation;
+
     Map<String, ApplicationResourceBundle> resourceBundles = new HashMap<>();
 
     public static void setCurrentInstance(ApplicationAssociate associate) {
@@ -305,6 +317,12 @@ public class ApplicationAssociate {
                                    .forEach(view -> registration.addMapping(view)));
             }
 
+            if (MojarraContextParam.ENABLE_INSTRUMENTATION.isEnabled(context) && instrumentation == null) {
+                Instrumentation started = new Instrumentation(MojarraContextParam.INSTRUMENT_TOP_LEVEL_COMPONENTS.isEnabled(context));
+                started.start(context);
+                instrumentation = started;
+            }
+
         }
 
     }
@@ -320,6 +338,51 @@ public class ApplicationAssociate {
         faceletFactory = createFaceletFactory(ctx, compiler);
     }
 
+    /**
+     * @return the cache of the value expressions created by the expression factory of the application, or {@code null}
+     * when that factory is not known yet
+     * @see ExpressionCache
+     */
+    public ExpressionCache getExpressionCache() {
+        ExpressionCache cache = expressionCache;
+        if (cache == null && expressionFactory != null) {
+            synchronized (this) {
+                cache = expressionCache;
+                if (cache == null) {
+                    expressionCache = cache = new ExpressionCache(expressionFactory,
+                            MojarraContextParam.EXPRESSION_CACHE_SIZE.getInt(FacesContext.getCurrentInstance()));
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * @return the instrumentation of the application, or {@code null} when it is not enabled
+     * @see Instrumentation
+     */
+    public Instrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    /**
+     * @param threads the amount of threads of the pool, in case it does not exist yet
+     * @return the pool on which the independent regions of a view are encoded
+     * @see org.glassfish.mojarra.application.view.ParallelSubtreeEncoder
+     */
+    public ExecutorService getSubtreeEncodingPool(int threads) {
+        ExecutorService pool = subtreeEncodingPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = subtreeEncodingPool;
+                if (pool == null) {
+                    subtreeEncodingPool = pool = Executors.newFixedThreadPool(threads, new MojarraThreadFactory("SubtreeEncoder"));
+                }
+            }
+        }
+        return pool;
+    }
+
     public long getTimeOfInstantiation() {
         return timeOfInstantiation;
     }
@@ -373,6 +436,10 @@ public class ApplicationAssociate {
         if (me != null && me.resourceBundles != null) {
             me.resourceBundles.clear();
         }
+        if (me != null) {
+            me.shutdownSubtreeEncodingPool();
+            me.stopInstrumentation();
+        }
 
         applicationMap.remove(ASSOCIATE_KEY);
     }
@@ -383,10 +450,28 @@ public class ApplicationAssociate {
         if (me != null && me.resourceBundles != null) {
             me.resourceBundles.clear();
         }
+        if (me != null) {
+            me.shutdownSubtreeEncodingPool();
+            me.stopInstrumentation();
+        }
 
         servletContext.removeAttribute(ASSOCIATE_KEY);
     }
 
+    private synchronized void stopInstrumentation() {
+        if (instrumentation != null) {
+            instrumentation.stop();
+            instrumentation = null;
+        }
+    }
+
+    private synchronized void shutdownSubtreeEncodingPool() {
+        if (subtreeEncodingPool != null) {
+            subtreeEncodingPool.shutdownNow();
+            subtreeEncodingPool = null;
+        }
+    }
+
     public void initializeELResolverChains() {
         // 1. initialize the chains with default values
         if (applicationImpl.getCompositeELResolver() == null) {
@@ -434,6 +519,7 @@ public class ApplicationAssociate {
 
     public void setExpressionFactory(ExpressionFactory expressionFactory) {
         this.expressionFactory = expressionFactory;
+        this.expressionCache = null;
     }
 
     public ExpressionFactory getExpressionFactory() {
@@ -37,8 +37,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -396,8 +396,12 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
         return navigationMaps.get(ROOT_NAVIGATION_MAP_ID).ruleSet;
     }
 
-    private Set<String> getWildCardMatchList(FacesContext context) {
-        Set<String> result = Collections.emptySet();
+    /**
+     * @return the wildcard <code>from-view-id</code> prefixes, without the trailing "*", which the given view identifier
+     * starts with, longest first
+     */
+    private List<String> getWildCardMatchList(FacesContext context, String viewId) {
+        List<String> result = Collections.emptyList();
         NavigationInfo info = null;
         FlowHandler fh = context.getApplication().getFlowHandler();
         if (null != fh) {
@@ -409,8 +413,8 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
         if (null == info) {
             info = navigationMaps.get(ROOT_NAVIGATION_MAP_ID);
         }
-        if (null != info.ruleSet && null != info.ruleSet.wildcardMatchList) {
-            result = info.ruleSet.wildcardMatchList;
+        if (null != info.ruleSet) {
+            result = info.ruleSet.wildcards.match(viewId);
         }
         return result;
     }
@@ -660,7 +664,7 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
     private CaseStruct findExactMatch(FacesContext ctx, String viewId, String fromAction, String outcome, String toFlowDocumentId,
             Map<String, Set<NavigationCase>> navMap) {
 
-        Set<NavigationCase> caseSet = navMap.get(viewId);
+        Collection<NavigationCase> caseSet = getNavigationCases(navMap, viewId, outcome);
 
         if (caseSet == null) {
             return null;
@@ -701,7 +705,7 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
         CaseStruct result = null;
 
         StringBuilder sb = new StringBuilder(32);
-        for (String fromViewId : getWildCardMatchList(ctx)) {
+        for (String fromViewId : getWildCardMatchList(ctx, viewId)) {
             // See if the entire wildcard string (without the trailing "*" is
             // contained in the incoming viewIdToTest.
             // Ex: /foobar is contained with /foobarbaz
@@ -718,7 +722,7 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
                 sb.delete(0, sb.length());
             }
             String wcFromViewId = sb.append(fromViewId).append('*').toString();
-            Set<NavigationCase> ccaseSet = navMap.get(wcFromViewId);
+            Collection<NavigationCase> ccaseSet = getNavigationCases(navMap, wcFromViewId, outcome);
 
             if (ccaseSet == null) {
                 return null;
@@ -759,7 +763,7 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
 
     private CaseStruct findDefaultMatch(FacesContext ctx, String fromAction, String outcome, String toFlowDocumentId, Map<String, Set<NavigationCase>> navMap) {
 
-        Set<NavigationCase> caseSet = navMap.get("*");
+        Collection<NavigationCase> caseSet = getNavigationCases(navMap, "*", outcome);
 
         if (caseSet == null) {
             return null;
@@ -1336,6 +1340,18 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
         return result;
     }
 
+    /**
+     * Returns the cases of the given <code>from-view-id</code> which can match the given outcome, in their original order.
+     * When the navigation map is a {@link NavigationMap}, this skips the cases for other outcomes by means of its index.
+     */
+    private static Collection<NavigationCase> getNavigationCases(Map<String, Set<NavigationCase>> navMap, String fromViewId, String outcome) {
+        if (navMap instanceof NavigationMap) {
+            return ((NavigationMap) navMap).getNavigationCases(fromViewId, outcome);
+        }
+
+        return navMap.get(fromViewId);
+    }
+
     /**
      * This method will attempt to find the <code>view</code> identifier based on action reference and outcome. Refer to
      * section 7.4.2 of the specification for more details.
@@ -1346,7 +1362,7 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
      * @param outcome The outcome string.
      * @return The <code>view</code> identifier.
      */
-    private CaseStruct determineViewFromActionOutcome(FacesContext ctx, Set<NavigationCase> caseSet, String fromAction, String outcome,
+    private CaseStruct determineViewFromActionOutcome(FacesContext ctx, Collection<NavigationCase> caseSet, String fromAction, String outcome,
             String toFlowDocumentId) {
 
         CaseStruct result = new CaseStruct();
@@ -1355,7 +1371,6 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
             String cncFromAction = cnc.getFromAction();
             String cncFromOutcome = cnc.getFromOutcome();
             boolean cncHasCondition = cnc.hasCondition();
-            String cncToViewId = cnc.getToViewId(ctx);
 
             if (cncFromAction != null && cncFromAction.equals(fromAction) && cncFromOutcome != null && cncFromOutcome.equals(outcome)) {
                 match = true;
@@ -1368,7 +1383,8 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
             }
 
             if (match) {
-                result.viewId = cncToViewId;
+                // Only evaluated for a matching case, as it may be an expression.
+                result.viewId = cnc.getToViewId(ctx);
                 result.navCase = cnc;
                 if (cncHasCondition && Boolean.FALSE.equals(cnc.getCondition(ctx))) {
                     match = false;
@@ -1416,10 +1432,18 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
         private Map<String, SwitchNode> switches;
     }
 
+    /**
+     * The navigation cases by <code>from-view-id</code>, along with an index of the cases of each <code>from-view-id</code>
+     * by <code>from-outcome</code>, and a trie of the wildcard <code>from-view-id</code> prefixes. The index is built when
+     * cases are put, which happens at startup and on {@link #inspectFlow(FacesContext, Flow)}, and rebuilt on lookup when
+     * the cases of a <code>from-view-id</code> were changed in any way since. To notice that, the sets are held as a
+     * {@link CaseSet}, which counts its modifications.
+     */
     private static final class NavigationMap extends AbstractMap<String, Set<NavigationCase>> {
 
         private final HashMap<String, Set<NavigationCase>> mapToLookForNavCase = new HashMap<>();
-        private final TreeSet<String> wildcardMatchList = new TreeSet<>((fromViewId1, fromViewId2) -> -fromViewId1.compareTo(fromViewId2));
+        private final Map<String, OutcomeIndex> outcomeIndexes = new ConcurrentHashMap<>();
+        private final PrefixTrie wildcards = new PrefixTrie();
 
         // ---------------------------------------------------- Methods from Map
 
@@ -1444,10 +1468,13 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
             updateWildcards(key);
             Set<NavigationCase> existing = mapToLookForNavCase.get(key);
             if (existing == null) {
-                mapToLookForNavCase.put(key, value);
+                CaseSet caseSet = CaseSet.of(value);
+                mapToLookForNavCase.put(key, caseSet);
+                updateIndex(key, caseSet);
                 return null;
             } else {
                 existing.addAll(value);
+                updateIndex(key, existing);
                 return existing;
             }
 
@@ -1463,13 +1490,57 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
                 updateWildcards(key);
                 Set<NavigationCase> existing = mapToLookForNavCase.get(key);
                 if (existing == null) {
-                    mapToLookForNavCase.put(key, entry.getValue());
+                    CaseSet caseSet = CaseSet.of(entry.getValue());
+                    mapToLookForNavCase.put(key, caseSet);
+                    updateIndex(key, caseSet);
                 } else {
                     existing.addAll(entry.getValue());
+                    updateIndex(key, existing);
                 }
             }
         }
 
+        @Override
+        public Set<NavigationCase> get(Object key) {
+            return mapToLookForNavCase.get(key);
+        }
+
+        /**
+         * Returns the set held by this map rather than the one computed by the given function, so that the cases added to
+         * it are seen by the index.
+         */
+        @Override
+        public Set<NavigationCase> computeIfAbsent(String key, Function<? super String, ? extends Set<NavigationCase>> mappingFunction) {
+            Set<NavigationCase> existing = mapToLookForNavCase.get(key);
+            if (existing == null) {
+                Set<NavigationCase> value = mappingFunction.apply(key);
+                if (value == null) {
+                    return null;
+                }
+                put(key, value);
+                existing = mapToLookForNavCase.get(key);
+            }
+            return existing;
+        }
+
+        /**
+         * @return the cases of the given <code>from-view-id</code> having either the given <code>from-outcome</code> or none,
+         * in their original order, or <code>null</code> when there are no cases for the given <code>from-view-id</code>
+         */
+        Collection<NavigationCase> getNavigationCases(String fromViewId, String outcome) {
+            Set<NavigationCase> caseSet = mapToLookForNavCase.get(fromViewId);
+            if (caseSet == null) {
+                return null;
+            }
+
+            OutcomeIndex index = outcomeIndexes.get(fromViewId);
+            if (index == null || !index.isCurrent(caseSet)) {
+                index = updateIndex(fromViewId, caseSet);
+            }
+
+            return index.get(outcome);
+        }
+
         @Override
         public Set<String> keySet() {
             return new AbstractSet<>() {
@@ -1578,9 +1649,199 @@ public class NavigationHandlerImpl extends ConfigurableNavigationHandler {
         private void updateWildcards(String fromViewId) {
 
             if (!mapToLookForNavCase.containsKey(fromViewId) && fromViewId.endsWith("*")) {
-                wildcardMatchList.add(fromViewId.substring(0, fromViewId.lastIndexOf('*')));
+                wildcards.add(fromViewId.substring(0, fromViewId.lastIndexOf('*')));
             }
         }
 
+        private OutcomeIndex updateIndex(String fromViewId, Set<NavigationCase> caseSet) {
+            OutcomeIndex index = new OutcomeIndex(caseSet);
+            outcomeIndexes.put(fromViewId, index);
+            return index;
+        }
+
+    }
+
+    /**
+     * The cases of one <code>from-view-id</code> by <code>from-outcome</code>. As the first matching case wins, the cases
+     * for an outcome are merged with the cases without an outcome in their original order.
+     */
+    private static final class OutcomeIndex {
+
+        private final Set<NavigationCase> caseSet;
+        private final int modCount;
+        private final int size;
+        private final Map<String, List<NavigationCase>> casesByOutcome;
+        private final List<NavigationCase> casesWithoutOutcome;
+
+        OutcomeIndex(Set<NavigationCase> caseSet) {
+            this.caseSet = caseSet;
+            modCount = CaseSet.modCount(caseSet);
+            size = caseSet.size();
+
+            List<NavigationCase> cases = new ArrayList<>(caseSet);
+            Map<String, List<Integer>> positionsByOutcome = new HashMap<>();
+            List<Integer> positionsWithoutOutcome = new ArrayList<>();
+            for (int i = 0; i < cases.size(); i++) {
+                String fromOutcome = cases.get(i).getFromOutcome();
+                if (fromOutcome == null) {
+                    positionsWithoutOutcome.add(i);
+                } else {
+                    positionsByOutcome.computeIfAbsent(fromOutcome, k -> new ArrayList<>(2)).add(i);
+                }
+            }
+
+            casesWithoutOutcome = collect(cases, positionsWithoutOutcome, Collections.emptyList());
+            casesByOutcome = new HashMap<>(positionsByOutcome.size() * 4 / 3 + 1);
+            for (Map.Entry<String, List<Integer>> entry : positionsByOutcome.entrySet()) {
+                casesByOutcome.put(entry.getKey(), collect(cases, entry.getValue(), positionsWithoutOutcome));
+            }
+        }
+
+        /**
+         * @return whether this index still reflects the given cases. Next to the modifications counted by a {@link CaseSet},
+         * this compares the size, which catches most changes made to a put set directly rather than through this map.
+         */
+        boolean isCurrent(Set<NavigationCase> caseSet) {
+            return this.caseSet == caseSet && modCount == CaseSet.modCount(caseSet) && size == caseSet.size();
+        }
+
+        List<NavigationCase> get(String outcome) {
+            if (outcome == null) {
+                return casesWithoutOutcome;
+            }
+
+            List<NavigationCase> cases = casesByOutcome.get(outcome);
+            return cases != null ? cases : casesWithoutOutcome;
+        }
+
+        private static List<NavigationCase> collect(List<NavigationCase> cases, List<Integer> positions, List<Integer> otherPositions) {
+            List<NavigationCase> result = new ArrayList<>(positions.size() + otherPositions.size());
+            int i = 0;
+            int j = 0;
+            while (i < positions.size() || j < otherPositions.size()) {
+                if (j == otherPositions.size() || i < positions.size() && positions.get(i) < otherPositions.get(j)) {
+                    result.add(cases.get(positions.get(i++)));
+                } else {
+                    result.add(cases.get(otherPositions.get(j++)));
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The navigation cases of one <code>from-view-id</code>, backed by the set which was put, counting every modification
+     * made through it, so that the {@link OutcomeIndex} notices when a case was replaced by another one.
+     */
+    private static final class CaseSet extends AbstractSet<NavigationCase> {
+
+        private final Set<NavigationCase> cases;
+        private volatile int modCount;
+
+        private CaseSet(Set<NavigationCase> cases) {
+            this.cases = cases;
+        }
+
+        static CaseSet of(Set<NavigationCase> cases) {
+            return cases instanceof CaseSet ? (CaseSet) cases : new CaseSet(cases);
+        }
+
+        static int modCount(Set<NavigationCase> cases) {
+            return cases instanceof CaseSet ? ((CaseSet) cases).modCount : 0;
+        }
+
+        @Override
+        public int size() {
+            return cases.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return cases.contains(o);
+        }
+
+        @Override
+        public boolean add(NavigationCase navigationCase) {
+            if (cases.add(navigationCase)) {
+                modCount++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (cases.remove(o)) {
+                modCount++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear() {
+            cases.clear();
+            modCount++;
+        }
+
+        @Override
+        public Iterator<NavigationCase> iterator() {
+            return new Iterator<>() {
+
+                Iterator<NavigationCase> i = cases.iterator();
+
+                @Override
+                public boolean hasNext() {
+                    return i.hasNext();
+                }
+
+                @Override
+                public NavigationCase next() {
+                    return i.next();
+                }
+
+                @Override
+                public void remove() {
+                    i.remove();
+                    modCount++;
+                }
+            };
+        }
+    }
+
+    /**
+     * The wildcard <code>from-view-id</code> prefixes, so that the ones a view identifier starts with are found in a
+     * single walk over the view identifier instead of by testing every prefix.
+     */
+    private static final class PrefixTrie {
+
+        private final Map<Character, PrefixTrie> children = new HashMap<>(4);
+        private String prefix;
+
+        void add(String prefix) {
+            PrefixTrie node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new PrefixTrie());
+            }
+            node.prefix = prefix;
+        }
+
+        /**
+         * @return the prefixes the given view identifier starts with, longest first
+         */
+        List<String> match(String viewId) {
+            List<String> result = null;
+            PrefixTrie node = this;
+            for (int i = 0; node != null; i++) {
+                if (node.prefix != null) {
+                    if (result == null) {
+                        result = new ArrayList<>(2);
+                    }
+                    result.add(0, node.prefix);
+                }
+                node = i < viewId.length() ? node.children.get(viewId.charAt(i)) : null;
+            }
+            return result != null ? result : Collections.emptyList();
+        }
     }
 }
@@ -44,6 +44,7 @@ import jakarta.faces.render.RenderKit;
 import jakarta.faces.render.Renderer;
 import jakarta.faces.validator.Validator;
 
+import org.glassfish.mojarra.lifecycle.RenderProfiler;
 import org.glassfish.mojarra.util.FacesLogger;
 
 /**
@@ -222,7 +223,9 @@ public class AnnotationManager {
      * @param c the <code>UIComponent</code> instances that is associated with this <code>Renderer</code>
      */
     public void applyRendererAnnotations(FacesContext ctx, Renderer<?> r, UIComponent c) {
-        applyAnnotations(ctx, r.getClass(), ProcessingTarget.Renderer, r, c);
+        // The annotations are on the renderer itself, not on the wrapper the render profiler may have put around it.
+        Renderer<?> renderer = RenderProfiler.unwrap(r);
+        applyAnnotations(ctx, renderer.getClass(), ProcessingTarget.Renderer, renderer, c);
     }
 
     public void applySystemEventAnnotations(FacesContext ctx, SystemEvent e) {
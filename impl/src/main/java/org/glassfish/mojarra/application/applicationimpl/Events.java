@@ -21,7 +21,6 @@ import static java.util.logging.Level.WARNING;
 import static org.glassfish.mojarra.util.Util.getCdiBeanManager;
 import static org.glassfish.mojarra.util.Util.notNull;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -63,11 +62,12 @@ public class Events {
     private final SystemEventHelper systemEventHelper = new SystemEventHelper();
     private final ComponentSystemEventHelper compSysEventHelper = new ComponentSystemEventHelper();
 
-    // Application-level (global) listener subscriptions, by event class. Lets publishEvent skip the
-    // global listener lookup for events nobody subscribed to globally (the common case for the
-    // per-component Pre/PostValidateEvent, PreRenderComponentEvent, etc.). Over-approximating: classes
-    // are never removed on unsubscribe, so a stale entry only costs an empty lookup, never a missed event.
-    private final Set<Class<? extends SystemEvent>> globallySubscribedEventClasses = ConcurrentHashMap.newKeySet();
+    // The dispatch plans of the application-level (global) listeners, by event class and then by the class the
+    // listeners are looked up with. An event class is only present once a listener subscribed to it, which lets
+    // publishEvent skip the global listeners with a single lookup for events nobody subscribed to globally (the
+    // common case for the per-component Pre/PostValidateEvent, PreRenderComponentEvent, etc.). Subscribing and
+    // unsubscribing replace the plans of the event class, so that they are compiled anew on the next publish.
+    private final Map<Class<? extends SystemEvent>, Map<Class<?>, DispatchPlan>> dispatchPlans = new ConcurrentHashMap<>();
 
     // Per-event-class cache of whether any CDI observer observes a (super)type of the event. Lets
     // fireCdiSystemEvent decide once per event class -- rather than per publish -- whether to dispatch the
@@ -125,12 +125,18 @@ public class Events {
 
             // Look for and invoke any application-level listeners. Skip the lookup entirely when no
             // global listener was ever registered for this event class (the common case).
-            if (globallySubscribedEventClasses.contains(systemEventClass)) {
-                // Look for and invoke any listeners stored on the application using source type.
-                event = invokeListenersFor(systemEventClass, event, source, sourceBaseType, true);
+            Map<Class<?>, DispatchPlan> plans = dispatchPlans.get(systemEventClass);
+            if (plans != null) {
+                Class<?> sourceClass = sourceBaseType != null ? sourceBaseType : source.getClass();
+                DispatchPlan plan = plans.computeIfAbsent(sourceClass, key -> compileDispatchPlan(systemEventClass, key));
 
-                // Look for and invoke any listeners not specific to the source class
-                invokeListenersFor(systemEventClass, event, source, null, false);
+                if (plan != DispatchPlan.NONE) {
+                    // Invoke any listeners stored on the application using source type.
+                    event = processListeners(plan.sourceListeners, event, source, plan.sourceEventInfo);
+
+                    // Invoke any listeners not specific to the source class
+                    processListeners(plan.globalListeners, event, source, plan.globalEventInfo);
+                }
             }
 
             // Fire system event as CDI event
@@ -156,7 +162,7 @@ public class Events {
         notNull(LISTENER, listener);
 
         getListeners(systemEventClass, sourceClass).add(listener);
-        globallySubscribedEventClasses.add(systemEventClass);
+        dispatchPlans.put(systemEventClass, new ConcurrentHashMap<>());
     }
 
     /*
@@ -168,8 +174,8 @@ public class Events {
         notNull(LISTENER, listener);
 
         Set<SystemEventListener> listeners = getListeners(systemEventClass, sourceClass);
-        if (listeners != null) {
-            listeners.remove(listener);
+        if (listeners != null && listeners.remove(listener)) {
+            dispatchPlans.replace(systemEventClass, new ConcurrentHashMap<>());
         }
     }
 
@@ -205,7 +211,7 @@ public class Events {
                 return null;
             }
             EventInfo eventInfo = compSysEventHelper.getEventInfo(systemEventClass, source.getClass());
-            return processListeners(listeners, null, source, eventInfo);
+            return processListeners(listeners.toArray(DispatchPlan.NO_LISTENERS), null, source, eventInfo);
         }
         return null;
 
@@ -237,39 +243,37 @@ public class Events {
     }
 
     /**
-     * Traverse the <code>List</code> of listeners and invoke any that are relevent for the specified source.
-     *
-     * @throws jakarta.faces.event.AbortProcessingException propagated from the listener invocation
+     * @return the application-level listeners to invoke for the given combination of SystemEvent and the class the
+     * listeners are looked up with, or {@link DispatchPlan#NONE} when there are none.
      */
-    private SystemEvent invokeListenersFor(Class<? extends SystemEvent> systemEventClass, SystemEvent event, Object source, Class<?> sourceBaseType,
-            boolean useSourceLookup) throws AbortProcessingException {
-
-        EventInfo eventInfo = systemEventHelper.getEventInfo(systemEventClass, source, sourceBaseType, useSourceLookup);
-        if (eventInfo != null) {
-            Set<SystemEventListener> listeners = eventInfo.getListeners();
-            event = processListeners(listeners, event, source, eventInfo);
+    private DispatchPlan compileDispatchPlan(Class<? extends SystemEvent> systemEventClass, Class<?> sourceClass) {
+        EventInfo sourceEventInfo = systemEventHelper.getEventInfo(systemEventClass, sourceClass);
+        EventInfo globalEventInfo = systemEventHelper.getEventInfo(systemEventClass, Void.class);
+        SystemEventListener[] sourceListeners = sourceEventInfo.getListeners().toArray(DispatchPlan.NO_LISTENERS);
+        SystemEventListener[] globalListeners = globalEventInfo.getListeners().toArray(DispatchPlan.NO_LISTENERS);
+
+        if (sourceListeners.length == 0 && globalListeners.length == 0) {
+            return DispatchPlan.NONE;
         }
 
-        return event;
+        return new DispatchPlan(sourceEventInfo, sourceListeners, globalEventInfo, globalListeners);
     }
 
     /**
      * Iterate through and invoke the listeners. If the passed event was <code>null</code>, create the event, and return it.
+     *
+     * @throws jakarta.faces.event.AbortProcessingException propagated from the listener invocation
      */
-    private SystemEvent processListeners(Collection<SystemEventListener> listeners, SystemEvent event, Object source, EventInfo eventInfo) {
-
-        if (listeners != null && !listeners.isEmpty()) {
-            ArrayList<SystemEventListener> list = new ArrayList<>(listeners);
+    private SystemEvent processListeners(SystemEventListener[] listeners, SystemEvent event, Object source, EventInfo eventInfo) {
 
-            for (SystemEventListener curListener : list) {
-                if (curListener != null && curListener.isListenerForSource(source)) {
-                    if (event == null) {
-                        event = eventInfo.createSystemEvent(source);
-                    }
-                    assert event != null;
-                    if (event.isAppropriateListener(curListener)) {
-                        event.processListener(curListener);
-                    }
+        for (SystemEventListener curListener : listeners) {
+            if (curListener != null && curListener.isListenerForSource(source)) {
+                if (event == null) {
+                    event = eventInfo.createSystemEvent(source);
+                }
+                assert event != null;
+                if (event.isAppropriateListener(curListener)) {
+                    event.processListener(curListener);
                 }
             }
         }
@@ -472,4 +476,26 @@ public class Events {
         return observedTypes;
     }
 
+    /**
+     * The application-level listeners of a combination of SystemEvent and source class, in the order they are invoked,
+     * along with the EventInfo each of them creates the event with.
+     */
+    private static final class DispatchPlan {
+
+        static final SystemEventListener[] NO_LISTENERS = {};
+        static final DispatchPlan NONE = new DispatchPlan(null, NO_LISTENERS, null, NO_LISTENERS);
+
+        final EventInfo sourceEventInfo;
+        final SystemEventListener[] sourceListeners;
+        final EventInfo globalEventInfo;
+        final SystemEventListener[] globalListeners;
+
+        DispatchPlan(EventInfo sourceEventInfo, SystemEventListener[] sourceListeners, EventInfo globalEventInfo, SystemEventListener[] globalListeners) {
+            this.sourceEventInfo = sourceEventInfo;
+            this.sourceListeners = sourceListeners;
+            this.globalEventInfo = globalEventInfo;
+            this.globalListeners = globalListeners;
+        }
+    }
+
 }
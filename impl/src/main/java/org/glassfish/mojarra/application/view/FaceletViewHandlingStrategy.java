@@ -138,6 +138,8 @@ import org.glassfish.mojarra.facelets.tag.SavedBuildTimeDecisions;
 import org.glassfish.mojarra.facelets.tag.composite.CompositeComponentBeanInfo;
 import org.glassfish.mojarra.facelets.tag.faces.CompositeComponentTagHandler;
 import org.glassfish.mojarra.facelets.tag.ui.UIDebug;
+import org.glassfish.mojarra.lifecycle.Instrumentation;
+import org.glassfish.mojarra.lifecycle.RenderProfiler;
 import org.glassfish.mojarra.renderkit.RenderKitUtils;
 import org.glassfish.mojarra.renderkit.html_basic.DoctypeRenderer;
 import org.glassfish.mojarra.util.Cache;
@@ -317,6 +319,22 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
      */
     @Override
     public void buildView(FacesContext ctx, UIViewRoot view) throws IOException {
+        Instrumentation instrumentation = Instrumentation.getInstance();
+
+        if (instrumentation == null) {
+            doBuildView(ctx, view);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            doBuildView(ctx, view);
+        } finally {
+            instrumentation.record(view.getViewId(), Instrumentation.BUILD_VIEW, System.nanoTime() - start);
+        }
+    }
+
+    private void doBuildView(FacesContext ctx, UIViewRoot view) throws IOException {
         StateContext stateCtx = StateContext.getStateContext(ctx);
         // Every path below rebuilds the tree from the facelet except the skip branch, which flips this to FALSE.
         ctx.getAttributes().put(VIEW_REBUILT_AT_RENDER, Boolean.TRUE);
@@ -423,12 +441,30 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
             return;
         }
 
+        Instrumentation instrumentation = Instrumentation.getInstance();
+
+        if (instrumentation == null) {
+            doRenderView(ctx, viewToRender, null);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            doRenderView(ctx, viewToRender, instrumentation);
+        } finally {
+            instrumentation.record(viewToRender.getViewId(), Instrumentation.RENDER_VIEW, System.nanoTime() - start);
+        }
+    }
+
+    private void doRenderView(FacesContext ctx, UIViewRoot viewToRender, Instrumentation instrumentation) throws IOException {
+
         // Log request
         if (LOGGER.isLoggable(FINE)) {
             LOGGER.fine("Rendering View: " + viewToRender.getViewId());
         }
 
         WriteBehindStateWriter stateWriter = null;
+        ParallelSubtreeEncoder subtreeEncoder = null;
         try {
             // Only build the view if this view has not yet been built.
             if (!isViewPopulated(ctx, viewToRender)) {
@@ -458,7 +494,8 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
             final int bufferSize = responseBufferSize != -1 ? responseBufferSize : ViewHandler.FACELETS_BUFFER_SIZE_DEFAULT_VALUE;
             stateWriter = new WriteBehindStateWriter(extContext.getResponseOutputWriter(), ctx, bufferSize);
 
-            ResponseWriter writer = origWriter.cloneWithWriter(stateWriter);
+            RenderProfiler profiler = RenderProfiler.getInstance(ctx);
+            ResponseWriter writer = origWriter.cloneWithWriter(profiler != null ? profiler.countChars(stateWriter) : stateWriter);
             ctx.setResponseWriter(writer);
 
             if (ctx.getPartialViewContext().isPartialRequest()) {
@@ -494,9 +531,14 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
                     writer.append('\n');
                 }
 
-                // Render the view to the response
+                // Render the view to the response, while its independent regions are rendered aside
                 writer.startDocument();
-                viewToRender.encodeAll(ctx);
+                subtreeEncoder = ParallelSubtreeEncoder.start(ctx, viewToRender);
+                if (instrumentation != null && instrumentation.isComponentTimingEnabled()) {
+                    encodeAllTimingTopLevelComponents(ctx, viewToRender, instrumentation);
+                } else {
+                    viewToRender.encodeAll(ctx);
+                }
                 try {
                     ctx.getExternalContext().getFlash().doPostPhaseActions(ctx);
                 } catch (UnsupportedOperationException uoe) {
@@ -523,12 +565,41 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
         } catch (Exception e) {
             handleRenderException(ctx, e);
         } finally {
+            if (subtreeEncoder != null) {
+                subtreeEncoder.finish(ctx);
+            }
             if (stateWriter != null) {
                 stateWriter.release();
             }
         }
     }
 
+    /**
+     * Does what {@link UIComponent#encodeAll(FacesContext)} does for the view, recording the time spent in each of its
+     * children along the way.
+     */
+    private static void encodeAllTimingTopLevelComponents(FacesContext ctx, UIViewRoot view, Instrumentation instrumentation) throws IOException {
+        if (!view.isRendered()) {
+            return;
+        }
+
+        view.encodeBegin(ctx);
+
+        if (view.getRendersChildren()) {
+            view.encodeChildren(ctx);
+        } else if (view.getChildCount() > 0) {
+            String viewId = view.getViewId();
+
+            for (UIComponent child : view.getChildren()) {
+                long start = System.nanoTime();
+                child.encodeAll(ctx);
+                instrumentation.record(viewId, Instrumentation.COMPONENT_PREFIX + child.getClientId(ctx), System.nanoTime() - start);
+            }
+        }
+
+        view.encodeEnd(ctx);
+    }
+
     @Override
     public StateManagementStrategy getStateManagementStrategy(FacesContext context, String viewId) {
         return new FaceletStateManagementStrategy(context);
@@ -803,7 +874,7 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
     @Override
     public boolean viewExists(FacesContext context, String viewId) {
         if (handlesViewId(viewId)) {
-            return getFaceletFactory().getResourceResolver().resolveUrl(viewId) != null;
+            return getFaceletFactory().viewExists(context, viewId);
         }
 
         return false;
@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.view;
+
+import static java.util.logging.Level.FINE;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import jakarta.el.ELContext;
+import jakarta.faces.FacesException;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIData;
+import jakarta.faces.component.UIForm;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.ExternalContextWrapper;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.context.FacesContextWrapper;
+import jakarta.faces.context.ResponseWriter;
+
+import org.glassfish.mojarra.application.ApplicationAssociate;
+import org.glassfish.mojarra.config.MojarraContextParam;
+import org.glassfish.mojarra.el.ELContextImpl;
+import org.glassfish.mojarra.facelets.component.UIRepeat;
+import org.glassfish.mojarra.io.FastStringWriter;
+import org.glassfish.mojarra.util.FacesLogger;
+
+/**
+ * Encodes the independent regions of a view concurrently with the rest of it. A region is a {@code ui:fragment} or
+ * {@code ui:component} with the attribute {@code renderIndependently="true"}. Before the view is encoded, each region is
+ * handed to a worker which encodes it into a buffer of its own; when the regular encoding arrives at the region, it
+ * waits for that buffer and writes it out, so the output keeps its document order while the time spent rendering is
+ * that of the slowest region instead of the sum of all of them.
+ * <p>
+ * A region is encoded against a derived {@link FacesContext} with its own attributes, component stacks for the EL,
+ * {@link ELContext}, response writer and a copy of the request attributes, so that whatever it puts there does not race
+ * with the request thread or other regions, and does not show up outside the region either. Everything else is shared,
+ * hence a region must be read-only output:
+ * <ul>
+ * <li>no forms, inputs or anything else that takes part in postbacks or state saving; a region holding a form is simply
+ * encoded on the request thread,</li>
+ * <li>no component resources, messages, response headers or cookies added during its encoding,</li>
+ * <li>no beans in a scope which is bound to the request thread, such as CDI's {@code @RequestScoped}; a value needed
+ * from such a bean must be resolved before the region, e.g. by a {@code ui:param} or {@code c:set} in request scope,</li>
+ * <li>no region inside an iterating component, whose rows share one component instance; such a region is simply
+ * encoded on the request thread.</li>
+ * </ul>
+ * Ajax requests are never encoded in parallel.
+ *
+ * @see MojarraContextParam#PARALLEL_RENDER_THREADS
+ */
+public final class ParallelSubtreeEncoder {
+
+    private static final Logger LOGGER = FacesLogger.RENDERKIT.getLogger();
+
+    /**
+     * The name of the attribute which marks a {@code ui:fragment} or {@code ui:component} as an independent region.
+     */
+    public static final String RENDER_INDEPENDENTLY_ATTRIBUTE = "renderIndependently";
+
+    private static final String KEY = ParallelSubtreeEncoder.class.getName();
+
+    private static final String CURRENT_COMPONENT_STACK = "jakarta.faces.component.CURRENT_COMPONENT_STACK";
+
+    private static final String CURRENT_COMPOSITE_COMPONENT_STACK = "jakarta.faces.component.CURRENT_COMPOSITE_COMPONENT_STACK";
+
+    private final Map<UIComponent, Region> regions = new IdentityHashMap<>();
+
+    private ParallelSubtreeEncoder() {
+    }
+
+    /**
+     * Looks up the independent regions of the given view and starts encoding them.
+     *
+     * @param context the {@link FacesContext} for the current request, whose response writer is already set
+     * @param view the view about to be encoded
+     * @return the encoder of the regions, or {@code null} when there is nothing to encode in parallel
+     */
+    public static ParallelSubtreeEncoder start(FacesContext context, UIViewRoot view) {
+        int threads = MojarraContextParam.PARALLEL_RENDER_THREADS.getInt(context);
+
+        if (threads <= 0 || context.getPartialViewContext().isPartialRequest()) {
+            return null;
+        }
+
+        List<UIComponent> found = new ArrayList<>();
+        collectRegions(view, found);
+
+        if (found.isEmpty()) {
+            return null;
+        }
+
+        ExecutorService pool = ApplicationAssociate.getInstance(context.getExternalContext()).getSubtreeEncodingPool(threads);
+        ParallelSubtreeEncoder encoder = new ParallelSubtreeEncoder();
+
+        for (UIComponent component : found) {
+            Region region = new Region(new SubtreeFacesContext(context), component);
+            try {
+                region.future = pool.submit(region::encode);
+                encoder.regions.put(component, region);
+            } catch (RejectedExecutionException e) {
+                LOGGER.log(FINE, "Pool is shut down, encoding remaining regions on the request thread", e);
+                break;
+            }
+        }
+
+        context.getAttributes().put(KEY, encoder);
+        return encoder;
+    }
+
+    /**
+     * Writes the output of the given component when it is an independent region whose encoding was started, waiting
+     * for it when it is not done yet.
+     *
+     * @param context the {@link FacesContext} for the current request
+     * @param component the component about to be encoded
+     * @return whether the component is encoded, if not the caller must encode it as usual
+     * @throws IOException when the region or the response failed to write
+     */
+    public static boolean encodeStarted(FacesContext context, UIComponent component) throws IOException {
+        if (context instanceof SubtreeFacesContext) {
+            return false;
+        }
+
+        ParallelSubtreeEncoder encoder = (ParallelSubtreeEncoder) context.getAttributes().get(KEY);
+        Region region = encoder != null ? encoder.regions.remove(component) : null;
+        String output = region != null ? region.await() : null;
+
+        if (output == null) {
+            return false;
+        }
+
+        context.getResponseWriter().write(output);
+        return true;
+    }
+
+    /**
+     * Ends the encoding of the regions which were never written, e.g. because an ancestor did not render its children
+     * or the encoding failed halfway. A region which did not start yet is skipped, a running one is waited for, so
+     * that no worker touches the request after it has been handed back to the container.
+     *
+     * @param context the {@link FacesContext} for the current request
+     */
+    public void finish(FacesContext context) {
+        context.getAttributes().remove(KEY);
+
+        for (Region region : regions.values()) {
+            if (!region.claim()) {
+                try {
+                    region.future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException | CancellationException e) {
+                    LOGGER.log(FINE, "Discarding failed region which was never written", e);
+                }
+            }
+        }
+
+        regions.clear();
+    }
+
+    private static void collectRegions(UIComponent component, List<UIComponent> found) {
+        if (!component.isRendered()) {
+            return;
+        }
+
+        if (Boolean.parseBoolean(String.valueOf(component.getAttributes().get(RENDER_INDEPENDENTLY_ATTRIBUTE)))) {
+            if (!containsForm(component)) {
+                found.add(component);
+            } else if (LOGGER.isLoggable(FINE)) {
+                LOGGER.log(FINE, "Region {0} holds a form, encoding it on the request thread", component.getClientId());
+            }
+            return;
+        }
+
+        if (component instanceof UIData || component instanceof UIRepeat) {
+            return;
+        }
+
+        for (Iterator<UIComponent> kids = component.getFacetsAndChildren(); kids.hasNext();) {
+            collectRegions(kids.next(), found);
+        }
+    }
+
+    private static boolean containsForm(UIComponent component) {
+        if (component instanceof UIForm) {
+            return true;
+        }
+
+        for (Iterator<UIComponent> kids = component.getFacetsAndChildren(); kids.hasNext();) {
+            if (containsForm(kids.next())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    static final class Region {
+
+        private final SubtreeFacesContext context;
+        private final UIComponent component;
+        private final ResponseWriter writer;
+        private final FastStringWriter buffer = new FastStringWriter(1024);
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final List<UIComponent> ancestors = new ArrayList<>();
+        private final List<UIComponent> compositeAncestors = new ArrayList<>();
+        private Future<String> future;
+
+        /**
+         * Creates the region on the request thread, which also looks up its ancestors; from then on the region does not
+         * touch any component outside its own subtree.
+         */
+        Region(SubtreeFacesContext context, UIComponent component) {
+            this.context = context;
+            this.component = component;
+            writer = context.getWrapped().getResponseWriter().cloneWithWriter(buffer);
+
+            for (UIComponent parent = component.getParent(); parent != null; parent = parent.getParent()) {
+                ancestors.add(parent);
+                if (UIComponent.isCompositeComponent(parent)) {
+                    compositeAncestors.add(parent);
+                }
+            }
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        /**
+         * Encodes the region on a worker. The component stacks for the EL of the region's context start out holding the
+         * ancestors of the region, nearest first, so that e.g. {@code #{cc}} resolves to the composite component the
+         * region sits in. The ancestors are not pushed themselves, as that would modify them while the request thread
+         * and other regions are using them; only the components of the region are.
+         */
+        String encode() throws IOException {
+            if (!claim()) {
+                return null;
+            }
+
+            Map<Object, Object> attributes = context.getAttributes();
+            attributes.put(CURRENT_COMPONENT_STACK, new ArrayDeque<>(ancestors));
+            attributes.put(CURRENT_COMPOSITE_COMPONENT_STACK, new ArrayDeque<>(compositeAncestors));
+            context.setResponseWriter(writer);
+            context.activate();
+
+            try {
+                component.encodeAll(context);
+                writer.flush();
+                return buffer.toString();
+            } finally {
+                attributes.remove(CURRENT_COMPONENT_STACK);
+                attributes.remove(CURRENT_COMPOSITE_COMPONENT_STACK);
+                context.deactivate();
+            }
+        }
+
+        /**
+         * @return the output of the region, or {@code null} when no worker got to it yet, in which case the request
+         * thread had better encode it by itself
+         */
+        String await() throws IOException {
+            if (claim()) {
+                return null;
+            }
+
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FacesException(e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException ioe) {
+                    throw ioe;
+                }
+                if (cause instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw new FacesException(cause);
+            }
+        }
+    }
+
+    /**
+     * The {@link FacesContext} a region is encoded against, which keeps whatever the encoding of the region writes to
+     * itself. Its attributes leave out the collections and maps of the request's, such as the component stacks for the
+     * EL, which would otherwise be modified by several threads at once; the region sets up component stacks of its own,
+     * the others are recreated as needed.
+     */
+    static final class SubtreeFacesContext extends FacesContextWrapper {
+
+        private final Map<Object, Object> attributes;
+        private final ExternalContext externalContext;
+        private ResponseWriter responseWriter;
+        private ELContext elContext;
+
+        SubtreeFacesContext(FacesContext wrapped) {
+            super(wrapped);
+            attributes = new HashMap<>();
+            for (Map.Entry<Object, Object> attribute : wrapped.getAttributes().entrySet()) {
+                Object value = attribute.getValue();
+                if (!(value instanceof Collection || value instanceof Map)) {
+                    attributes.put(attribute.getKey(), value);
+                }
+            }
+            attributes.remove(KEY);
+            Map<String, Object> requestMap = new HashMap<>(wrapped.getExternalContext().getRequestMap());
+            externalContext = new ExternalContextWrapper(wrapped.getExternalContext()) {
+                @Override
+                public Map<String, Object> getRequestMap() {
+                    return requestMap;
+                }
+            };
+        }
+
+        void activate() {
+            setCurrentInstance(this);
+        }
+
+        void deactivate() {
+            setCurrentInstance(null);
+        }
+
+        @Override
+        public Map<Object, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public ExternalContext getExternalContext() {
+            return externalContext;
+        }
+
+        @Override
+        public ResponseWriter getResponseWriter() {
+            return responseWriter;
+        }
+
+        @Override
+        public void setResponseWriter(ResponseWriter responseWriter) {
+            this.responseWriter = responseWriter;
+        }
+
+        @Override
+        public ELContext getELContext() {
+            if (elContext == null) {
+                elContext = new ELContextImpl(this);
+            }
+            return elContext;
+        }
+
+        @Override
+        public void release() {
+            // The request owns the wrapped context.
+        }
+    }
+
+}
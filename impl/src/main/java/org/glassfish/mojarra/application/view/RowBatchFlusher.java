@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.view;
+
+import java.io.IOException;
+
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.config.MojarraContextParam;
+
+/**
+ * Flushes the response to the client after every batch of rows rendered by an iterating component, so that the client
+ * receives a large table while it is still being rendered, instead of after the entire view is done.
+ * <p>
+ * This is only possible as long as the {@link WriteBehindStateWriter} of the current render has not started buffering,
+ * which it does from the first view state marker on. Everything before that marker goes straight to the response, so
+ * a table rendered before the first view state, e.g. in a form whose state is written at its end, can be streamed.
+ * Ajax requests are never streamed.
+ * <p>
+ * Flushing commits the response, after which no header and no cookie can be added anymore. The flash writes its
+ * cookie when the first batch is flushed, and the session is created right before, when the state of a non-transient
+ * view is saved on the server, because saving it after the render would otherwise fail on a first request. Anything
+ * else rendered after the table which needs to touch the response headers will fail, which is why streaming must be
+ * enabled explicitly.
+ * <p>
+ * Only the outermost iterating component streams. An iterating component nested in one of its rows is already bounded
+ * by the batches of the outer one, and flushing halfway an outer row would only send smaller chunks more often.
+ *
+ * @see MojarraContextParam#STREAMING_RENDER_BATCH_SIZE
+ */
+public final class RowBatchFlusher {
+
+    /**
+     * The name of the component attribute which overrides {@link MojarraContextParam#STREAMING_RENDER_BATCH_SIZE} for
+     * that component only.
+     */
+    public static final String BATCH_SIZE_ATTRIBUTE = "streamingRenderBatchSize";
+
+    private static final String CURRENT_FLUSHER = RowBatchFlusher.class.getName();
+
+    private final FacesContext context;
+    private final UIComponent component;
+    private final WriteBehindStateWriter stateWriter;
+    private final int batchSize;
+    private int rows;
+    private boolean flushed;
+
+    private RowBatchFlusher(FacesContext context, UIComponent component, WriteBehindStateWriter stateWriter, int batchSize) {
+        this.context = context;
+        this.component = component;
+        this.stateWriter = stateWriter;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param context the {@link FacesContext} for the current request
+     * @param component the iterating component about to render its rows
+     * @return a flusher for the rows of the given component, or {@code null} when they cannot or need not be streamed
+     */
+    public static RowBatchFlusher of(FacesContext context, UIComponent component) {
+        WriteBehindStateWriter stateWriter = WriteBehindStateWriter.getCurrentInstance();
+
+        if (stateWriter == null || stateWriter.stateWritten() || context.getPartialViewContext().isPartialRequest() || isNested(context, component)) {
+            return null;
+        }
+
+        int batchSize = getBatchSize(context, component);
+
+        if (batchSize <= 0) {
+            return null;
+        }
+
+        RowBatchFlusher flusher = new RowBatchFlusher(context, component, stateWriter, batchSize);
+        context.getAttributes().put(CURRENT_FLUSHER, flusher);
+        return flusher;
+    }
+
+    /**
+     * Counts a rendered row, and flushes the response when it completes a batch. Once a row wrote a view state marker,
+     * e.g. because it holds a form, the remainder is buffered anyway and there is nothing left to flush.
+     *
+     * @throws IOException when the response cannot be flushed
+     */
+    public void rowRendered() throws IOException {
+        if (++rows % batchSize == 0 && !stateWriter.stateWritten()) {
+            if (!flushed) {
+                createSessionIfStateIsSavedOnServer(context);
+                flushed = true;
+            }
+
+            context.getResponseWriter().flush();
+            context.getExternalContext().responseFlushBuffer();
+        }
+    }
+
+    private static boolean isNested(FacesContext context, UIComponent component) {
+        RowBatchFlusher current = (RowBatchFlusher) context.getAttributes().get(CURRENT_FLUSHER);
+
+        if (current != null) {
+            for (UIComponent parent = component.getParent(); parent != null; parent = parent.getParent()) {
+                if (parent == current.component) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static void createSessionIfStateIsSavedOnServer(FacesContext context) {
+        UIViewRoot viewRoot = context.getViewRoot();
+
+        if (viewRoot != null && !viewRoot.isTransient() && !context.getApplication().getStateManager().isSavingStateInClient(context)) {
+            context.getExternalContext().getSession(true);
+        }
+    }
+
+    private static int getBatchSize(FacesContext context, UIComponent component) {
+        Object batchSize = component.getAttributes().get(BATCH_SIZE_ATTRIBUTE);
+
+        if (batchSize instanceof Number number) {
+            return number.intValue();
+        }
+        if (batchSize != null) {
+            return Integer.parseInt(batchSize.toString().trim());
+        }
+
+        return MojarraContextParam.STREAMING_RENDER_BATCH_SIZE.getInt(context);
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.view;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.faces.context.FacesContext;
+
+/**
+ * <p class="changed_added_5_0">
+ * The default {@link ViewMapStore}, which keeps the view maps in the session itself, in a concurrent map which tracks
+ * the order in which they were last used, so that concurrent requests of the same session do not serialize on it.
+ *
+ * @since 5.0
+ */
+public class SessionViewMapStore implements ViewMapStore {
+
+    @Override
+    public Map<String, Object> createActiveViewMaps(FacesContext facesContext, int maxSize) {
+        return new ActiveViewMaps(maxSize);
+    }
+
+    @Override
+    public String getEldestViewMapId(Map<String, Object> activeViewMaps) {
+        if (activeViewMaps instanceof ActiveViewMaps) {
+            return ((ActiveViewMaps) activeViewMaps).getEldestViewMapId();
+        }
+
+        // E.g. an LRU map created by an older version, which is still in a session which survived the upgrade.
+        Iterator<String> viewMapIds = activeViewMaps.keySet().iterator();
+        return viewMapIds.hasNext() ? viewMapIds.next() : null;
+    }
+
+    /**
+     * The view maps by id, each along with the moment it was last looked up. The amount of view maps per session is
+     * small, so the eldest is found by a scan, which is only needed upon eviction, instead of by maintaining an access
+     * ordered list, which would need a lock on every lookup.
+     */
+    static final class ActiveViewMaps extends AbstractMap<String, Object> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ConcurrentMap<String, Entry> entries;
+        private final AtomicLong clock = new AtomicLong();
+
+        ActiveViewMaps(int maxSize) {
+            entries = new ConcurrentHashMap<>(maxSize * 4 / 3 + 1);
+        }
+
+        @Override
+        public Object get(Object viewMapId) {
+            Entry entry = entries.get(viewMapId);
+
+            if (entry == null) {
+                return null;
+            }
+
+            entry.lastUsed = clock.incrementAndGet();
+            return entry.viewMap;
+        }
+
+        @Override
+        public boolean containsKey(Object viewMapId) {
+            return entries.containsKey(viewMapId);
+        }
+
+        @Override
+        public Object put(String viewMapId, Object viewMap) {
+            Entry previous = entries.put(viewMapId, new Entry(viewMap, clock.incrementAndGet()));
+            return previous != null ? previous.viewMap : null;
+        }
+
+        @Override
+        public Object remove(Object viewMapId) {
+            Entry previous = entries.remove(viewMapId);
+            return previous != null ? previous.viewMap : null;
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        @Override
+        public void clear() {
+            entries.clear();
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+
+                    return new Iterator<>() {
+
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<String, Object> next() {
+                            Map.Entry<String, Entry> next = iterator.next();
+                            return new SimpleImmutableEntry<>(next.getKey(), next.getValue().viewMap);
+                        }
+
+                        @Override
+                        public void remove() {
+                            iterator.remove();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return entries.size();
+                }
+            };
+        }
+
+        String getEldestViewMapId() {
+            String eldestViewMapId = null;
+            long eldestLastUsed = Long.MAX_VALUE;
+
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                long lastUsed = entry.getValue().lastUsed;
+
+                if (lastUsed < eldestLastUsed) {
+                    eldestViewMapId = entry.getKey();
+                    eldestLastUsed = lastUsed;
+                }
+            }
+
+            return eldestViewMapId;
+        }
+
+        private static final class Entry implements Serializable {
+
+            private static final long serialVersionUID = 1L;
+
+            private final Object viewMap;
+            private volatile long lastUsed;
+
+            Entry(Object viewMap, long lastUsed) {
+                this.viewMap = viewMap;
+                this.lastUsed = lastUsed;
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.view;
+
+import java.util.Map;
+
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.config.MojarraContextParam;
+
+/**
+ * <p class="changed_added_5_0">
+ * A view map store decides where the view maps of the active views of a session, and thus their view scoped beans,
+ * are kept. The {@link ViewScopeManager} keeps the active view maps which this store creates in the session under
+ * {@link ViewScopeManager#ACTIVE_VIEW_MAPS}, where {@link UIViewRoot} looks a view map up by its id when the view is
+ * restored, and evicts the eldest of them when a new view map would exceed the maximum amount.
+ * <p>
+ * The active view maps are accessed by concurrent requests of the same session without holding any lock, so they must
+ * be thread safe. When the application is distributable, they are replicated along with the session, so they must be
+ * serializable, and the whole of them is replicated on every request which uses a view map. A store which keeps the
+ * view maps outside the session, e.g. in a distributed cache keyed on a session scoped identifier, therefore returns a
+ * small serializable map which delegates to that cache, so that the session itself stays small.
+ * <p>
+ * An implementation needs a public no-argument constructor and is configured by its class name through
+ * {@link MojarraContextParam#VIEW_MAP_STORE}. Without one, {@link SessionViewMapStore} is used.
+ *
+ * @see SessionViewMapStore
+ * @since 5.0
+ */
+public interface ViewMapStore {
+
+    /**
+     * Create the active view maps of a session. This is invoked once per session, when its first view map is
+     * registered.
+     *
+     * @param facesContext The Faces context.
+     * @param maxSize The maximum amount of view maps which will be put in it at once.
+     * @return The active view maps, mapped by view map id.
+     */
+    Map<String, Object> createActiveViewMaps(FacesContext facesContext, int maxSize);
+
+    /**
+     * Returns the id of the view map which was least recently used among the given active view maps, which is the one
+     * to evict. Looking up a view map by its id counts as using it.
+     *
+     * @param activeViewMaps The active view maps as created by {@link #createActiveViewMaps(FacesContext, int)}.
+     * @return The id of the least recently used view map, or <code>null</code> when there are none.
+     */
+    String getEldestViewMapId(Map<String, Object> activeViewMaps);
+}
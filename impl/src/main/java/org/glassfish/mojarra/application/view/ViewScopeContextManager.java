@@ -22,13 +22,14 @@ import static java.util.logging.Level.FINEST;
 import static java.util.logging.Level.WARNING;
 import static org.glassfish.mojarra.application.view.ViewScopeManager.VIEW_MAP_ID;
 import static org.glassfish.mojarra.cdi.CdiUtils.getBeanReference;
-import static org.glassfish.mojarra.context.SessionMap.getMutex;
+import static org.glassfish.mojarra.context.SessionMap.getLock;
 import static org.glassfish.mojarra.util.Util.getCdiBeanManager;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 import java.util.logging.Logger;
 
 import jakarta.enterprise.context.spi.Contextual;
@@ -247,9 +248,13 @@ public class ViewScopeContextManager {
                 String viewMapId = (String) facesContext.getViewRoot().getTransientStateHelper().getTransient(VIEW_MAP_ID);
 
                 if (activeViewScopeContexts == null && create) {
-                    synchronized (getMutex(session)) {
+                    Lock lock = getLock(session);
+                    lock.lock();
+                    try {
                         activeViewScopeContexts = new ConcurrentHashMap<>();
                         sessionMap.put(ACTIVE_VIEW_CONTEXTS, activeViewScopeContexts);
+                    } finally {
+                        lock.unlock();
                     }
                 }
 
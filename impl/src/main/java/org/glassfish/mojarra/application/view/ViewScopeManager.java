@@ -16,21 +16,26 @@
 
 package org.glassfish.mojarra.application.view;
 
+import static java.text.MessageFormat.format;
 import static java.util.logging.Level.FINEST;
 import static java.util.logging.Level.WARNING;
+import static org.glassfish.mojarra.context.SessionMap.getLock;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
 import java.util.logging.Logger;
 
+import jakarta.faces.FacesException;
 import jakarta.faces.application.FacesMessage;
 import jakarta.faces.application.ProjectStage;
 import jakarta.faces.component.TransientStateHelper;
@@ -47,7 +52,7 @@ import jakarta.servlet.http.HttpSessionListener;
 
 import org.glassfish.mojarra.application.ApplicationAssociate;
 import org.glassfish.mojarra.config.MojarraContextParam;
-import org.glassfish.mojarra.util.LRUMap;
+import org.glassfish.mojarra.util.Util;
 
 /**
  * The manager that deals with non-CDI and CDI ViewScoped beans.
@@ -82,6 +87,8 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
      * Stores the constant to keep track of the view map ids which the current request has acquired.
      */
     private static final String ACQUIRED_VIEW_MAP_IDS = "org.glassfish.mojarra.application.view.acquiredViewMapIds";
+    private static final String ERROR_INVALID_VIEW_MAP_STORE =
+            "Context param ''{0}'' must represent the class name of a {1} with a public no-argument constructor, but was: ''{2}''.";
     /**
      * Stores the CDI context manager.
      */
@@ -91,6 +98,8 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
     
     private Integer numberOfActiveViewMapsInWebXml;
 
+    private final ViewMapStore viewMapStore;
+
     /**
      * Constructor.
      */
@@ -99,6 +108,23 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
         contextManager = new ViewScopeContextManager();
         distributable = MojarraContextParam.ENABLE_DISTRIBUTABLE.isEnabled(context);
         numberOfActiveViewMapsInWebXml = MojarraContextParam.NUMBER_OF_ACTIVE_VIEW_MAPS.getInt(context);
+        viewMapStore = createViewMapStore(context);
+    }
+
+    private static ViewMapStore createViewMapStore(FacesContext context) {
+        String viewMapStore = MojarraContextParam.VIEW_MAP_STORE.getString(context);
+
+        if (viewMapStore.isEmpty()) {
+            return new SessionViewMapStore();
+        }
+
+        try {
+            Class<?> viewMapStoreClass = Util.loadClass(viewMapStore, ViewScopeManager.class);
+            return viewMapStoreClass.asSubclass(ViewMapStore.class).getDeclaredConstructor().newInstance();
+        } catch (ClassCastException | ReflectiveOperationException e) {
+            throw new FacesException(
+                    format(ERROR_INVALID_VIEW_MAP_STORE, MojarraContextParam.VIEW_MAP_STORE.getName(), ViewMapStore.class.getName(), viewMapStore), e);
+        }
     }
     
     /**
@@ -297,19 +323,22 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
             size = numberOfActiveViewMapsInWebXml;
         }
 
-        if (sessionMap.get(ACTIVE_VIEW_MAPS) == null) {
-            sessionMap.put(ACTIVE_VIEW_MAPS, Collections.synchronizedMap(new LRUMap<String, Object>(size)));
-        }
+        Lock lock = getLock(session);
+        lock.lock();
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> viewMaps = (Map<String, Object>) sessionMap.get(ACTIVE_VIEW_MAPS);
+            if (viewMaps == null) {
+                viewMaps = viewMapStore.createActiveViewMaps(facesContext, size);
+                sessionMap.put(ACTIVE_VIEW_MAPS, viewMaps);
+            }
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> viewMaps = (Map<String, Object>) sessionMap.get(ACTIVE_VIEW_MAPS);
-        synchronized (viewMaps) {
             String viewMapId = UUID.randomUUID().toString();
             while (viewMaps.containsKey(viewMapId)) {
                 viewMapId = UUID.randomUUID().toString();
             }
 
-            if (viewMaps.size() == size) {
+            if (viewMaps.size() >= size) {
                 evictEldestViewMap(facesContext, viewMaps);
             }
 
@@ -323,6 +352,8 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
                 // this is a no-op.
                 sessionMap.put(ACTIVE_VIEW_MAPS, viewMaps);
             }
+        } finally {
+            lock.unlock();
         }
 
         if (contextManager != null) {
@@ -404,17 +435,17 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
      * unfinished request is still using it, in which case the last request using it will destroy them.
      *
      * @param facesContext the Faces context.
-     * @param viewMaps the active view maps, whose monitor must be held by the caller.
+     * @param viewMaps the active view maps, whose session lock must be held by the caller.
      */
     private void evictEldestViewMap(FacesContext facesContext, Map<String, Object> viewMaps) {
-        String eldestViewMapId = viewMaps.keySet().iterator().next();
-        @SuppressWarnings("unchecked")
-        Map<String, Object> eldestViewMap = (Map<String, Object>) viewMaps.remove(eldestViewMapId);
+        String eldestViewMapId = viewMapStore.getEldestViewMapId(viewMaps);
 
-        if (getViewMapUsages(facesContext).evict(eldestViewMapId, eldestViewMap)) {
-            LOGGER.log(FINEST, "Postponing destroy of eldest view map which is still in use: {0}", eldestViewMap);
-        } else {
-            destroyViewMap(facesContext, eldestViewMapId, eldestViewMap);
+        ViewMapUsages.Usage eviction = getViewMapUsages(facesContext).evict(eldestViewMapId, viewMaps);
+
+        if (eviction.activeRequests() > 0) {
+            LOGGER.log(FINEST, "Postponing destroy of eldest view map which is still in use: {0}", eldestViewMapId);
+        } else if (eviction.evictedViewMap() != null) {
+            destroyViewMap(facesContext, eldestViewMapId, eviction.evictedViewMap());
         }
     }
 
@@ -471,14 +502,8 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
             return true; // The session holds no active view maps at all, hence there is nothing to protect.
         }
 
-        synchronized (viewMaps) {
-            ViewMapUsages viewMapUsages = getViewMapUsages(facesContext);
-
-            if (!viewMaps.containsKey(viewMapId) && !viewMapUsages.isEvicted(viewMapId)) {
-                return false;
-            }
-
-            viewMapUsages.acquire(viewMapId);
+        if (!getViewMapUsages(facesContext).acquire(viewMapId, viewMaps)) {
+            return false;
         }
 
         acquiredViewMapIds.add(viewMapId);
@@ -500,18 +525,16 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
             return;
         }
 
+        ViewMapUsages viewMapUsages = getViewMapUsages(facesContext);
+
         for (String viewMapId : acquiredViewMapIds) {
-            // The destroy must happen while holding the monitor, so that a view map is fully destroyed before any
-            // concurrent acquire of it can fail and thereupon register it anew.
-            synchronized (viewMaps) {
-                Map<String, Object> evictedViewMap = getViewMapUsages(facesContext).release(viewMapId);
-
-                if (evictedViewMap != null) {
-                    try {
-                        getInstance(facesContext).destroyViewMap(facesContext, viewMapId, evictedViewMap);
-                    } catch (RuntimeException e) {
-                        LOGGER.log(WARNING, "Cannot destroy the @ViewScoped beans of the evicted view map: " + viewMapId, e);
-                    }
+            Map<String, Object> evictedViewMap = viewMapUsages.release(viewMapId);
+
+            if (evictedViewMap != null) {
+                try {
+                    getInstance(facesContext).destroyViewMap(facesContext, viewMapId, evictedViewMap);
+                } catch (RuntimeException e) {
+                    LOGGER.log(WARNING, "Cannot destroy the @ViewScoped beans of the evicted view map: " + viewMapId, e);
                 }
             }
         }
@@ -551,13 +574,26 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
     }
 
     /**
-     * Get the usages of the view maps of the current session. The caller must hold the monitor of the active view maps.
+     * Get the usages of the view maps of the current session. The lock of the session is only taken to create them.
      *
      * @param facesContext the Faces context.
      * @return the usages of the view maps of the current session.
      */
     private static ViewMapUsages getViewMapUsages(FacesContext facesContext) {
-        return (ViewMapUsages) facesContext.getExternalContext().getSessionMap().computeIfAbsent(VIEW_MAP_USAGES, key -> new ViewMapUsages());
+        Map<String, Object> sessionMap = facesContext.getExternalContext().getSessionMap();
+        ViewMapUsages viewMapUsages = (ViewMapUsages) sessionMap.get(VIEW_MAP_USAGES);
+
+        if (viewMapUsages == null) {
+            Lock lock = getLock(facesContext.getExternalContext().getSession(true));
+            lock.lock();
+            try {
+                viewMapUsages = (ViewMapUsages) sessionMap.computeIfAbsent(VIEW_MAP_USAGES, key -> new ViewMapUsages());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        return viewMapUsages;
     }
 
     /**
@@ -569,7 +605,7 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
      */
     static Map<String, Map<String, Object>> getEvictedViewMaps(HttpSession session) {
         ViewMapUsages viewMapUsages = (ViewMapUsages) session.getAttribute(VIEW_MAP_USAGES);
-        return viewMapUsages != null ? viewMapUsages.evictedViewMaps : null;
+        return viewMapUsages != null ? viewMapUsages.getEvictedViewMaps() : null;
     }
 
     /**
@@ -587,7 +623,14 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
     /**
      * Keeps track of the amount of unfinished requests which are using each view map, and of the view maps which have
      * been evicted from the active view maps while they were still in use, so that the last request using such a view
-     * map can destroy its beans. Guarded by the monitor of the active view maps.
+     * map can destroy its beans.
+     * <p>
+     * Every view map id maps to an immutable usage, which is only ever replaced atomically by {@link ConcurrentMap#compute}
+     * on that id. Acquiring, releasing and evicting the same view map are thereby serialized, also with respect to its
+     * removal from the active view maps, while requests using different view maps of the same session never wait for
+     * each other, and none of them needs the lock of the session. Whether the beans of a view map are to be destroyed is
+     * decided within that compute, but they are destroyed by the caller after it, as a <code>@PreDestroy</code> may take
+     * its time or come back to the view scope of this session.
      * <p>
      * The state is transient: unfinished requests do not survive a session passivation, so upon activation no view map
      * is in use anymore and every evicted view map is beyond recovery.
@@ -596,61 +639,89 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
 
         private static final long serialVersionUID = 1L;
 
-        private transient Map<String, Integer> activeRequests = new HashMap<>();
-        private transient Map<String, Map<String, Object>> evictedViewMaps = new HashMap<>();
+        private transient ConcurrentMap<String, Usage> usages = new ConcurrentHashMap<>();
 
         /**
          * Registers that one more request is using the view map with the given id.
+         *
+         * @return false when the view map is neither active nor evicted while still in use, hence when its beans have
+         * been destroyed, or are about to be.
          */
-        private void acquire(String viewMapId) {
-            activeRequests.merge(viewMapId, 1, Integer::sum);
+        private boolean acquire(String viewMapId, Map<String, Object> viewMaps) {
+            return usages.compute(viewMapId, (id, usage) -> {
+                if (usage != null) {
+                    return new Usage(usage.activeRequests() + 1, usage.evictedViewMap());
+                }
+
+                return viewMaps.containsKey(id) ? new Usage(1, null) : null;
+            }) != null;
         }
 
         /**
          * Registers that one less request is using the view map with the given id.
          *
-         * @return the view map which has meanwhile been evicted and must now be destroyed, or null when other requests
-         * are still using it, or when it has not been evicted at all.
+         * @return the view map when it had meanwhile been evicted and this was the last request using it, so that the
+         * caller must destroy it, otherwise null.
          */
         private Map<String, Object> release(String viewMapId) {
-            if (activeRequests.computeIfPresent(viewMapId, ViewMapUsages::decrement) != null) {
+            Usage[] released = new Usage[1];
+
+            usages.computeIfPresent(viewMapId, (id, usage) -> {
+                if (usage.activeRequests() > 1) {
+                    return new Usage(usage.activeRequests() - 1, usage.evictedViewMap());
+                }
+
+                released[0] = usage;
                 return null;
-            }
+            });
 
-            return evictedViewMaps.remove(viewMapId);
+            return released[0] != null ? released[0].evictedViewMap() : null;
         }
 
         /**
-         * Registers that the view map with the given id has been evicted from the active view maps.
+         * Removes the view map with the given id from the given active view maps.
          *
-         * @return true when an unfinished request is still using it, in which case its destroy must be postponed until
-         * that request releases it, and false when it can be destroyed right now.
+         * @return the usage of the view map after its eviction. When there is no unfinished request using it, then the
+         * caller must destroy its evicted view map, if any, otherwise its destroy is postponed until the last of those
+         * requests releases it.
          */
-        private boolean evict(String viewMapId, Map<String, Object> viewMap) {
-            if (!activeRequests.containsKey(viewMapId)) {
-                return false;
-            }
+        private Usage evict(String viewMapId, Map<String, Object> viewMaps) {
+            Usage[] eviction = new Usage[1];
 
-            evictedViewMaps.put(viewMapId, viewMap);
-            return true;
+            usages.compute(viewMapId, (id, usage) -> {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> viewMap = (Map<String, Object>) viewMaps.remove(id);
+                eviction[0] = new Usage(usage != null ? usage.activeRequests() : 0, viewMap);
+                return usage != null ? eviction[0] : null;
+            });
+
+            return eviction[0];
         }
 
         /**
-         * Returns whether the view map with the given id has been evicted while it was still in use, hence whether its
-         * beans are still alive.
+         * Returns the view maps which have been evicted while they were still in use, hence whose beans are still alive.
          */
-        private boolean isEvicted(String viewMapId) {
-            return evictedViewMaps.containsKey(viewMapId);
-        }
+        private Map<String, Map<String, Object>> getEvictedViewMaps() {
+            Map<String, Map<String, Object>> evictedViewMaps = new HashMap<>();
 
-        private static Integer decrement(String viewMapId, Integer activeRequests) {
-            return activeRequests > 1 ? activeRequests - 1 : null;
+            usages.forEach((viewMapId, usage) -> {
+                if (usage.evictedViewMap() != null) {
+                    evictedViewMaps.put(viewMapId, usage.evictedViewMap());
+                }
+            });
+
+            return evictedViewMaps;
         }
 
         private void readObject(ObjectInputStream objectInputStream) throws IOException, ClassNotFoundException {
             objectInputStream.defaultReadObject();
-            activeRequests = new HashMap<>();
-            evictedViewMaps = new HashMap<>();
+            usages = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * The amount of unfinished requests using a view map, and the view map itself once it has been evicted.
+         */
+        private record Usage(int activeRequests, Map<String, Object> evictedViewMap) {
         }
     }
 }
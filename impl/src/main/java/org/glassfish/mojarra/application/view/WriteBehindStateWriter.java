@@ -21,6 +21,9 @@ import static java.lang.Boolean.TRUE;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 import jakarta.faces.application.StateManager;
@@ -35,6 +38,10 @@ import org.glassfish.mojarra.util.Util;
 /**
  * Custom {@link Writer} to efficiently handle the state manager replacement marker written out by
  * {@link MultiViewHandler#writeState(jakarta.faces.context.FacesContext)}.
+ * <p>
+ * Everything up to the first marker goes straight to the response. From there on the content is buffered into fixed
+ * size segments, while the offset of every marker is recorded as it is written, so that the final flush replays the
+ * segments and splices in the state without copying the content into one contiguous buffer and without scanning it.
  */
 final class WriteBehindStateWriter extends Writer {
 
@@ -44,7 +51,7 @@ final class WriteBehindStateWriter extends Writer {
     private static final ThreadLocal<WriteBehindStateWriter> CUR_WRITER = new ThreadLocal<>();
     private Writer out;
     private final Writer orig;
-    private FastStringWriter fWriter;
+    private SegmentedBuffer buffer;
     private boolean stateWritten;
     private final int bufSize;
     private final char[] buf;
@@ -154,13 +161,13 @@ final class WriteBehindStateWriter extends Writer {
     }
 
     /**
-     * When called, the original writer is backed up and replaced with a new FastStringWriter. All content written after
-     * this method is called will then be buffered and written out later after the entire view has been rendered.
+     * When called, the original writer is backed up and replaced with a {@link SegmentedBuffer}. All content written
+     * after this method is called will then be buffered and written out later after the entire view has been rendered.
      */
     public void writingState() {
         if (!stateWritten) {
             stateWritten = true;
-            out = fWriter = new FastStringWriter(1024);
+            out = buffer = new SegmentedBuffer(bufSize);
         }
     }
 
@@ -173,7 +180,7 @@ final class WriteBehindStateWriter extends Writer {
 
     /**
      * <p>
-     * Write directly from our FastStringWriter to the provided writer.
+     * Write the buffered segments to the provided writer, replacing each recorded state marker with the state.
      * </p>
      *
      * @throws IOException if an error occurs
@@ -185,75 +192,14 @@ final class WriteBehindStateWriter extends Writer {
         // multiple forms.
         StateManager stateManager = Util.getStateManager(context);
         ResponseWriter origWriter = context.getResponseWriter();
-        StringBuilder stateBuilder = getState(stateManager, origWriter);
-        StringBuilder builder = fWriter.getBuffer();
 
-        // Begin writing...
-        int totalLen = builder.length();
-        int stateLen = stateBuilder.length();
         int pos = 0;
-        int tildeIdx = getNextDelimiterIndex(builder, pos);
-        while (pos < totalLen) {
-            if (tildeIdx != -1) {
-                if (tildeIdx > pos && tildeIdx - pos > bufSize) {
-                    // There's enough content before the first ~
-                    // to fill the entire buffer
-                    builder.getChars(pos, pos + bufSize, buf, 0);
-                    orig.write(buf);
-                    pos += bufSize;
-                } else {
-                    // Write all content up to the first '~'
-                    builder.getChars(pos, tildeIdx, buf, 0);
-                    int len = tildeIdx - pos;
-                    orig.write(buf, 0, len);
-                    // Now check to see if the state saving string is
-                    // at the beginning of pos, if so, write our
-                    // state out.
-                    if (builder.indexOf(RIConstants.SAVESTATE_FIELD_MARKER, pos) == tildeIdx) {
-                        // buf is effectively zero'd out at this point
-                        int statePos = 0;
-                        while (statePos < stateLen) {
-                            if (stateLen - statePos > bufSize) {
-                                // enough state to fill the buffer
-                                stateBuilder.getChars(statePos, statePos + bufSize, buf, 0);
-                                orig.write(buf);
-                                statePos += bufSize;
-                            } else {
-                                int slen = stateLen - statePos;
-                                stateBuilder.getChars(statePos, stateLen, buf, 0);
-                                orig.write(buf, 0, slen);
-                                statePos += slen;
-                            }
-
-                        }
-                        // Push us past the last '~' at the end of the marker
-                        pos += len + STATE_MARKER_LEN;
-                        tildeIdx = getNextDelimiterIndex(builder, pos);
-
-                        stateBuilder = getState(stateManager, origWriter);
-                        stateLen = stateBuilder.length();
-                    } else {
-                        pos = tildeIdx;
-                        tildeIdx = getNextDelimiterIndex(builder, tildeIdx + 1);
-                    }
-                }
-            } else {
-                // We've written all of the state field markers.
-                // finish writing content
-                if (totalLen - pos > bufSize) {
-                    // There's enough content to fill the buffer
-                    builder.getChars(pos, pos + bufSize, buf, 0);
-                    orig.write(buf);
-                    pos += bufSize;
-                } else {
-                    // We're near the end of the response
-                    builder.getChars(pos, totalLen, buf, 0);
-                    int len = totalLen - pos;
-                    orig.write(buf, 0, len);
-                    pos += len + 1;
-                }
-            }
+        for (int marker : buffer.getMarkers()) {
+            buffer.writeTo(orig, pos, marker);
+            writeState(getState(stateManager, origWriter));
+            pos = marker + STATE_MARKER_LEN;
         }
+        buffer.writeTo(orig, pos, buffer.length());
 
         // all state has been written. Have 'out' point to the
         // response so that all subsequent writes will make it to the
@@ -261,6 +207,17 @@ final class WriteBehindStateWriter extends Writer {
         out = orig;
     }
 
+    private void writeState(StringBuilder stateBuilder) throws IOException {
+        int stateLen = stateBuilder.length();
+        int statePos = 0;
+        while (statePos < stateLen) {
+            int len = Math.min(bufSize, stateLen - statePos);
+            stateBuilder.getChars(statePos, statePos + len, buf, 0);
+            orig.write(buf, 0, len);
+            statePos += len;
+        }
+    }
+
     /**
      * Get the state.
      *
@@ -300,12 +257,129 @@ final class WriteBehindStateWriter extends Writer {
     }
 
     /**
-     * @param builder buffered content
-     * @param offset the offset to start the search from
-     * @return the index of the next delimiter, if any
+     * Buffers content into fixed size segments, and records the offset of every state marker in it as the content is
+     * written, also when a marker is split across several writes, so that it never needs to be scanned afterwards.
      */
-    private static int getNextDelimiterIndex(StringBuilder builder, int offset) {
-        return builder.indexOf(RIConstants.SAVESTATE_FIELD_DELIMITER, offset);
+    static final class SegmentedBuffer extends Writer {
+
+        private static final String MARKER = RIConstants.SAVESTATE_FIELD_MARKER;
+
+        private final int segmentSize;
+        private final List<char[]> segments = new ArrayList<>();
+        private char[] segment;
+        private int segmentPos;
+        private int length;
+
+        private int[] markers = new int[4];
+        private int markerCount;
+        private int matched;
+
+        SegmentedBuffer(int segmentSize) {
+            this.segmentSize = Math.max(segmentSize, STATE_MARKER_LEN);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            writeChar((char) c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            for (int end = off + len; off < end;) {
+                int chunk = Math.min(end - off, reserve());
+                match(cbuf, off, chunk);
+                System.arraycopy(cbuf, off, segment, segmentPos, chunk);
+                segmentPos += chunk;
+                length += chunk;
+                off += chunk;
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            for (int end = off + len; off < end;) {
+                int chunk = Math.min(end - off, reserve());
+                str.getChars(off, off + chunk, segment, segmentPos);
+                match(segment, segmentPos, chunk);
+                segmentPos += chunk;
+                length += chunk;
+                off += chunk;
+            }
+        }
+
+        @Override
+        public void flush() {
+            // no-op
+        }
+
+        @Override
+        public void close() {
+            // no-op
+        }
+
+        int length() {
+            return length;
+        }
+
+        /**
+         * @return the offsets of the recorded state markers, in ascending order
+         */
+        int[] getMarkers() {
+            return Arrays.copyOf(markers, markerCount);
+        }
+
+        /**
+         * Writes the content between the given offsets, straight from the segments holding it.
+         */
+        void writeTo(Writer writer, int from, int to) throws IOException {
+            while (from < to) {
+                int index = from / segmentSize;
+                int offset = from % segmentSize;
+                int len = Math.min(segmentSize - offset, to - from);
+                writer.write(segments.get(index), offset, len);
+                from += len;
+            }
+        }
+
+        private void writeChar(char c) {
+            reserve();
+            segment[segmentPos] = c;
+            match(segment, segmentPos, 1);
+            segmentPos++;
+            length++;
+        }
+
+        /**
+         * @return the room left in the current segment, after starting a new one if the current one is full
+         */
+        private int reserve() {
+            if (segment == null || segmentPos == segmentSize) {
+                segment = new char[segmentSize];
+                segments.add(segment);
+                segmentPos = 0;
+            }
+            return segmentSize - segmentPos;
+        }
+
+        /**
+         * Matches the given chars, which are about to be appended to the content, against the marker. The marker starts
+         * with a delimiter which it contains nowhere else but at its end, so a mismatch can simply restart the match at the
+         * current char.
+         */
+        private void match(char[] chars, int off, int len) {
+            for (int i = 0; i < len; i++) {
+                char c = chars[off + i];
+                if (c != MARKER.charAt(matched)) {
+                    matched = c == MARKER.charAt(0) ? 1 : 0;
+                } else if (++matched == STATE_MARKER_LEN) {
+                    if (markerCount == markers.length) {
+                        markers = Arrays.copyOf(markers, markerCount * 2);
+                    }
+                    markers[markerCount++] = length + i + 1 - STATE_MARKER_LEN;
+                    matched = 0;
+                }
+            }
+        }
     }
 
 }
@@ -18,11 +18,12 @@
 package org.glassfish.mojarra.cdi.clientwindow;
 
 import static java.util.logging.Level.FINEST;
-import static org.glassfish.mojarra.context.SessionMap.getMutex;
+import static org.glassfish.mojarra.context.SessionMap.getLock;
 
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 import java.util.logging.Logger;
 
 import jakarta.enterprise.context.spi.Contextual;
@@ -143,8 +144,12 @@ public class ClientWindowScopeContextManager {
                 if (clientWindowScopeContexts == null && create) {
                     int numberOfClientWindows = FacesContextParam.NUMBER_OF_CLIENT_WINDOWS.getInt(facesContext);
 
-                    synchronized (getMutex(session)) {
+                    Lock lock = getLock(session);
+                    lock.lock();
+                    try {
                         sessionMap.put(CLIENT_WINDOW_CONTEXTS, Collections.synchronizedMap(new LRUMap<>(numberOfClientWindows)));
+                    } finally {
+                        lock.unlock();
                     }
                 }
 
@@ -20,7 +20,6 @@ import static java.util.Collections.unmodifiableList;
 import static java.util.logging.Level.FINE;
 import static org.glassfish.mojarra.RIConstants.RI_PREFIX;
 import static org.glassfish.mojarra.config.manager.Documents.getProgrammaticDocuments;
-import static org.glassfish.mojarra.config.manager.Documents.getXMLDocuments;
 import static org.glassfish.mojarra.config.manager.Documents.mergeDocuments;
 import static org.glassfish.mojarra.config.manager.Documents.sortDocuments;
 import static org.glassfish.mojarra.spi.ConfigurationResourceProviderFactory.createProviders;
@@ -33,7 +32,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 import jakarta.el.ELContext;
@@ -56,8 +60,11 @@ import org.glassfish.mojarra.config.configprovider.MetaInfFacesConfigResourcePro
 import org.glassfish.mojarra.config.configprovider.WebAppFlowConfigResourceProvider;
 import org.glassfish.mojarra.config.configprovider.WebFaceletTaglibResourceProvider;
 import org.glassfish.mojarra.config.configprovider.WebFacesConfigResourceProvider;
+import org.glassfish.mojarra.config.manager.ConfigSnapshot;
 import org.glassfish.mojarra.config.manager.DbfFactory;
+import org.glassfish.mojarra.config.manager.Documents;
 import org.glassfish.mojarra.config.manager.FacesConfigInfo;
+import org.glassfish.mojarra.config.manager.StartupProfile;
 import org.glassfish.mojarra.config.manager.documents.DocumentInfo;
 import org.glassfish.mojarra.config.processor.ApplicationConfigProcessor;
 import org.glassfish.mojarra.config.processor.BehaviorConfigProcessor;
@@ -81,6 +88,7 @@ import org.glassfish.mojarra.spi.HighAvailabilityEnabler;
 import org.glassfish.mojarra.spi.InjectionProvider;
 import org.glassfish.mojarra.spi.InjectionProviderFactory;
 import org.glassfish.mojarra.util.FacesLogger;
+import org.glassfish.mojarra.util.MojarraThreadFactory;
 
 /**
  * <p>
@@ -98,6 +106,8 @@ public class ConfigManager {
 
     private static final String CONFIG_MANAGER_INSTANCE_KEY = RI_PREFIX + "CONFIG_MANAGER_KEY";
 
+    private static final int MAX_DEFAULT_STARTUP_THREADS = 8;
+
     /**
      * <p>
      * Contains each <code>ServletContext</code> that we've initialized. The <code>ServletContext</code> will be removed
@@ -146,6 +156,8 @@ public class ConfigManager {
      */
     private final ConfigProcessor faceletTaglibConfigProcessor = new FaceletTaglibConfigProcessor();
 
+    private volatile StartupProfile startupProfile;
+
     // ---------------------------------------------------------- Public STATIC Methods
 
     public static ConfigManager createInstance(ServletContext servletContext) {
@@ -190,14 +202,30 @@ public class ConfigManager {
             initializedContexts.add(servletContext);
             initializeConfigProcessors(servletContext, facesContext);
 
+            int threads = getStartupThreads(servletContext);
+            ExecutorService pool = threads > 1 ? Executors.newFixedThreadPool(threads, new MojarraThreadFactory("ConfigManager")) : null;
+            Executor executor = pool != null ? inContextOf(servletContext, pool) : Runnable::run;
+            StartupProfile profile = new StartupProfile(pool != null ? threads : 1);
+
             try {
                 // Validate outside Production, so that a configuration mistake is caught before it ships.
                 boolean validating = WebConfiguration.getInstance(servletContext).getProjectStage() != ProjectStage.Production;
 
+                ConfigSnapshot snapshot = ConfigSnapshot.getInstance(servletContext);
+
                 // Obtain and merge the XML and Programmatic documents
-                DocumentInfo[] facesDocuments = mergeDocuments(getXMLDocuments(servletContext, getFacesConfigResourceProviders(), validating),
+                DocumentInfo[] facesDocuments = mergeDocuments(
+                        getXMLDocuments(snapshot, "faces-config", servletContext, getFacesConfigResourceProviders(), validating, executor, profile),
                         getProgrammaticDocuments(getConfigPopulators()));
 
+                // The facelet-taglib documents are only processed once the faces-config documents are, so parse them
+                // meanwhile. Unless they are validated, they are read without building a DOM.
+                CompletableFuture<DocumentInfo[]> faceletDocuments = CompletableFuture.supplyAsync(
+                        () -> validating || snapshot != null
+                                ? getXMLDocuments(snapshot, "facelet-taglib", servletContext, getFaceletConfigResourceProviders(), validating, executor, profile)
+                                : Documents.getFaceletTaglibDocuments(servletContext, getFaceletConfigResourceProviders(), executor, profile),
+                        executor);
+
                 FacesConfigInfo lastFacesConfigInfo = new FacesConfigInfo(facesDocuments[facesDocuments.length - 1]);
 
                 facesDocuments = sortDocuments(facesDocuments, lastFacesConfigInfo);
@@ -212,14 +240,21 @@ public class ConfigManager {
 
                 // Process the ordered and merged documents
                 // This invokes a chain or processors where each processor grabs its own elements of interest
-                // from each document.
+                // from each document. They run one after the other on this thread, since each one builds on what the
+                // ones before it registered, and later documents must override earlier ones in document order.
 
                 for (ConfigProcessor configProcessor : configProcessors) {
-                    configProcessor.process(servletContext, facesContext, facesDocuments);
+                    process(configProcessor, servletContext, facesContext, facesDocuments, profile);
                 }
 
-                faceletTaglibConfigProcessor.process(servletContext, facesContext,
-                    getXMLDocuments(servletContext, getFaceletConfigResourceProviders(), validating));
+                process(faceletTaglibConfigProcessor, servletContext, facesContext, join(faceletDocuments), profile);
+
+                profile.finish();
+                startupProfile = profile;
+
+                if (LOGGER.isLoggable(FINE)) {
+                    LOGGER.fine(profile.toString());
+                }
 
             } catch (Exception e) {
                 // Clear out any configured factories
@@ -231,12 +266,24 @@ public class ConfigManager {
                 }
 
                 throw (ConfigurationException) t;
+            } finally {
+                if (pool != null) {
+                    pool.shutdownNow();
+                }
             }
         }
 
         DbfFactory.removeSchemaMap(servletContext);
     }
 
+    /**
+     * @return the breakdown of where the time went while the configuration was loaded, or <code>null</code> when it was
+     * not loaded yet
+     */
+    public StartupProfile getStartupProfile() {
+        return startupProfile;
+    }
+
     /**
      * @param servletContext the <code>ServletContext</code> for the application in question
      * @return <code>true</code> if this application has already been initialized, otherwise returns <code>fase</code>
@@ -270,6 +317,68 @@ public class ConfigManager {
         return unmodifiableList(providers);
     }
 
+    private static DocumentInfo[] getXMLDocuments(ConfigSnapshot snapshot, String name, ServletContext servletContext,
+            List<ConfigurationResourceProvider> providers, boolean validating, Executor executor, StartupProfile profile) {
+        if (snapshot == null) {
+            return Documents.getXMLDocuments(servletContext, providers, validating, executor, profile);
+        }
+
+        return snapshot.getXMLDocuments(name, servletContext, providers, validating, executor, profile);
+    }
+
+    private static void process(ConfigProcessor configProcessor, ServletContext servletContext, FacesContext facesContext, DocumentInfo[] documents,
+            StartupProfile profile) throws Exception {
+        long start = System.nanoTime();
+        configProcessor.process(servletContext, facesContext, documents);
+        profile.recordProcessor(configProcessor, System.nanoTime() - start, documents.length);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * A negative amount of threads means one per available processor, up to eight, since parsing is only partly CPU
+     * bound and a larger pool mostly contends on the class loader.
+     */
+    private static int getStartupThreads(ServletContext servletContext) {
+        int threads = MojarraContextParam.STARTUP_THREADS.getInt(servletContext);
+        return threads < 0 ? Math.min(Runtime.getRuntime().availableProcessors(), MAX_DEFAULT_STARTUP_THREADS) : threads;
+    }
+
+    /**
+     * Runs the tasks on the given pool with the context class loader of the current thread, through which the providers
+     * find their resources, and with the initialization faces context of the application as current instance.
+     */
+    private static Executor inContextOf(ServletContext servletContext, ExecutorService pool) {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        return task -> pool.execute(() -> {
+            Thread thread = Thread.currentThread();
+            ClassLoader previousClassLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(contextClassLoader);
+            InitFacesContext initFacesContext = InitFacesContext.getInstance(servletContext);
+
+            try {
+                task.run();
+            } finally {
+                if (initFacesContext != null) {
+                    initFacesContext.releaseCurrentInstance();
+                }
+
+                thread.setContextClassLoader(previousClassLoader);
+            }
+        });
+    }
+
     private void initializeConfigProcessors(ServletContext servletContext, FacesContext facesContext) {
         configProcessors.forEach(configProcessor -> configProcessor.initializeClassMetadataMap(servletContext, facesContext));
     }
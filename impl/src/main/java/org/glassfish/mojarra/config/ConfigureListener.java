@@ -32,6 +32,8 @@ import static org.glassfish.mojarra.context.SessionMap.removeMutex;
 import static org.glassfish.mojarra.push.WebsocketEndpoint.URI_TEMPLATE;
 import static org.glassfish.mojarra.push.WebsocketEndpoint.USER_PROPERTY_IDLE_TIMEOUT;
 import static org.glassfish.mojarra.push.WebsocketEndpoint.USER_PROPERTY_MAX_SESSIONS_PER_CHANNEL;
+import static org.glassfish.mojarra.push.WebsocketEndpoint.USER_PROPERTY_SEND_QUEUE_OVERFLOW;
+import static org.glassfish.mojarra.push.WebsocketEndpoint.USER_PROPERTY_SEND_QUEUE_SIZE;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -40,6 +42,7 @@ import java.net.URI;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.Iterator;
@@ -72,8 +75,13 @@ import jakarta.websocket.server.ServerEndpointConfig;
 
 import org.glassfish.mojarra.application.ApplicationAssociate;
 import org.glassfish.mojarra.application.WebappLifecycleListener;
+import org.glassfish.mojarra.cdi.CdiUtils;
+import org.glassfish.mojarra.context.flash.ELFlash;
 import org.glassfish.mojarra.el.ELContextImpl;
+import org.glassfish.mojarra.push.PushBroker;
 import org.glassfish.mojarra.push.WebsocketEndpoint;
+import org.glassfish.mojarra.push.WebsocketSessionManager;
+import org.glassfish.mojarra.push.WebsocketSessionQueue;
 import org.glassfish.mojarra.util.FacesLogger;
 import org.glassfish.mojarra.util.MojarraThreadFactory;
 import org.glassfish.mojarra.util.MojarraVersion;
@@ -99,6 +107,14 @@ public class ConfigureListener implements ServletRequestListener, HttpSessionLis
             "Context param ''{0}'' must represent a number of milliseconds of 0 or greater, but was: ''{1}''.";
     private static final String ERROR_INVALID_WEBSOCKET_MAX_SESSIONS_PER_CHANNEL =
             "Context param ''{0}'' must represent a number of 1 or greater, but was: ''{1}''.";
+    private static final String ERROR_INVALID_WEBSOCKET_REAP_INTERVAL =
+            "Context param ''{0}'' must represent a number of milliseconds of 0 or greater, where 0 disables the reaper, but was: ''{1}''.";
+    private static final String ERROR_INVALID_WEBSOCKET_SEND_QUEUE_SIZE =
+            "Context param ''{0}'' must represent a number of 0 or greater, but was: ''{1}''.";
+    private static final String ERROR_INVALID_WEBSOCKET_SEND_QUEUE_OVERFLOW =
+            "Context param ''{0}'' must be one of {1}, but was: ''{2}''.";
+    private static final String ERROR_INVALID_PUSH_BROKER =
+            "Context param ''{0}'' must represent the class name of a {1} with a public no-argument constructor, but was: ''{2}''.";
 
     private ScheduledThreadPoolExecutor webResourcePool;
 
@@ -241,7 +257,18 @@ public class ConfigureListener implements ServletRequestListener, HttpSessionLis
                         .build();
                 endpointConfig.getUserProperties().put(USER_PROPERTY_IDLE_TIMEOUT, getWebsocketEndpointIdleTimeout(servletContext));
                 endpointConfig.getUserProperties().put(USER_PROPERTY_MAX_SESSIONS_PER_CHANNEL, getWebsocketMaxSessionsPerChannel(servletContext));
+                endpointConfig.getUserProperties().put(USER_PROPERTY_SEND_QUEUE_SIZE, getWebsocketSendQueueSize(servletContext));
+                endpointConfig.getUserProperties().put(USER_PROPERTY_SEND_QUEUE_OVERFLOW, getWebsocketSendQueueOverflow(servletContext));
                 serverContainer.addEndpoint(endpointConfig);
+
+                WebsocketSessionManager socketSessions = CdiUtils.getBeanReference(WebsocketSessionManager.class);
+                PushBroker pushBroker = createPushBroker(servletContext);
+
+                if (pushBroker != null) {
+                    socketSessions.setPushBroker(pushBroker);
+                }
+
+                socketSessions.startMonitoring(servletContext.getContextPath(), getWebsocketReapInterval(servletContext));
             }
 
             webConfig.doPostBringupActions();
@@ -295,6 +322,54 @@ public class ConfigureListener implements ServletRequestListener, HttpSessionLis
         return maxSessionsPerChannel;
     }
 
+    private static long getWebsocketReapInterval(ServletContext servletContext) {
+        long reapInterval = MojarraContextParam.WEBSOCKET_REAP_INTERVAL.getLong(servletContext);
+
+        if (reapInterval < 0) {
+            throw new IllegalArgumentException(format(ERROR_INVALID_WEBSOCKET_REAP_INTERVAL, MojarraContextParam.WEBSOCKET_REAP_INTERVAL.getName(), reapInterval));
+        }
+
+        return reapInterval;
+    }
+
+    private static int getWebsocketSendQueueSize(ServletContext servletContext) {
+        int sendQueueSize = MojarraContextParam.WEBSOCKET_SEND_QUEUE_SIZE.getInt(servletContext);
+
+        if (sendQueueSize < 0) {
+            throw new IllegalArgumentException(
+                    format(ERROR_INVALID_WEBSOCKET_SEND_QUEUE_SIZE, MojarraContextParam.WEBSOCKET_SEND_QUEUE_SIZE.getName(), sendQueueSize));
+        }
+
+        return sendQueueSize;
+    }
+
+    private static PushBroker createPushBroker(ServletContext servletContext) {
+        String pushBroker = MojarraContextParam.PUSH_BROKER.getString(servletContext);
+
+        if (pushBroker.isEmpty()) {
+            return null;
+        }
+
+        try {
+            Class<?> pushBrokerClass = Util.loadClass(pushBroker, ConfigureListener.class);
+            return pushBrokerClass.asSubclass(PushBroker.class).getDeclaredConstructor().newInstance();
+        } catch (ClassCastException | ReflectiveOperationException e) {
+            throw new IllegalArgumentException(
+                    format(ERROR_INVALID_PUSH_BROKER, MojarraContextParam.PUSH_BROKER.getName(), PushBroker.class.getName(), pushBroker), e);
+        }
+    }
+
+    private static WebsocketSessionQueue.Overflow getWebsocketSendQueueOverflow(ServletContext servletContext) {
+        String sendQueueOverflow = MojarraContextParam.WEBSOCKET_SEND_QUEUE_OVERFLOW.getString(servletContext);
+
+        try {
+            return WebsocketSessionQueue.Overflow.of(sendQueueOverflow);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(format(ERROR_INVALID_WEBSOCKET_SEND_QUEUE_OVERFLOW,
+                    MojarraContextParam.WEBSOCKET_SEND_QUEUE_OVERFLOW.getName(), Arrays.toString(WebsocketSessionQueue.Overflow.values()), sendQueueOverflow), e);
+        }
+    }
+
     @Override
     public void contextDestroyed(ServletContextEvent sce) {
         ServletContext context = sce.getServletContext();
@@ -348,6 +423,7 @@ public class ConfigureListener implements ServletRequestListener, HttpSessionLis
         } finally {
             ApplicationAssociate.clearInstance(context);
             ApplicationAssociate.setCurrentInstance(null);
+            ELFlash.clearInstance(context);
 
             // Release the initialization mark on this web application
             if (configManager != null) {
@@ -107,6 +107,14 @@ public enum MojarraContextParam implements ContextParam {
 
     ENABLE_CLIENT_STATE_DEBUGGING("enableClientStateDebugging", false),
 
+    /**
+     * Whether the parsed configuration documents are kept in a snapshot which the next start reuses when none of them
+     * changed.
+     *
+     * @see org.glassfish.mojarra.config.manager.ConfigSnapshot
+     */
+    ENABLE_CONFIG_SNAPSHOT("enableConfigSnapshot", false),
+
     /**
      * Also enabled when {@code web.xml} declares {@code <distributable/>}, which no context parameter can observe.
      *
@@ -114,14 +122,60 @@ public enum MojarraContextParam implements ContextParam {
      */
     ENABLE_DISTRIBUTABLE("enableDistributable", false),
 
+    /**
+     * Whether the time spent per phase, in building and in rendering each view is recorded, and exposed through JMX and
+     * any discovered exporter.
+     *
+     * @see org.glassfish.mojarra.lifecycle.Instrumentation
+     */
+    ENABLE_INSTRUMENTATION("enableInstrumentation", false),
+
     ENABLE_MISSING_RESOURCE_LIBRARY_DETECTION("enableMissingResourceLibraryDetection", false),
 
+    /**
+     * Whether every request is profiled in the Development and SystemTest stages, instead of only those asking for it.
+     *
+     * @see org.glassfish.mojarra.lifecycle.RenderProfiler
+     */
+    ENABLE_RENDER_PROFILING("enableRenderProfiling", false),
+
     ENABLE_SCRIPTS_IN_ATTRIBUTE_VALUES("enableScriptsInAttributeValues", true),
 
     ENABLE_TRANSITION_TIME_NO_OP_FLASH("enableTransitionTimeNoOpFlash", false),
 
     ENABLE_VIEW_STATE_ID_RENDERING("enableViewStateIdRendering", true),
 
+    /**
+     * How many value expressions the application keeps for reuse, where zero means every expression is created anew.
+     *
+     * @see org.glassfish.mojarra.el.ExpressionCache
+     */
+    EXPRESSION_CACHE_SIZE("expressionCacheSize", 10000),
+
+    /**
+     * Additional {@link java.io.ObjectInputFilter} patterns for the classes which may be deserialized from a flash cookie,
+     * checked before the built-in ones.
+     *
+     * @see org.glassfish.mojarra.context.flash.ELFlash
+     */
+    FLASH_COOKIE_SERIALIZATION_FILTER("flashCookieSerializationFilter", ""),
+
+    /**
+     * Maximum length of a flash cookie which carries the flash maps themselves, where zero keeps them in the application
+     * wide flash store only.
+     *
+     * @see org.glassfish.mojarra.context.flash.ELFlash
+     */
+    FLASH_COOKIE_STORAGE_SIZE("flashCookieStorageSize", 0),
+
+    /**
+     * Milliseconds after which an entry of the application wide flash store, or the flash maps carried by a flash cookie,
+     * expire, where zero means never for the former and the default for the latter.
+     *
+     * @see org.glassfish.mojarra.context.flash.ELFlash
+     */
+    FLASH_EXPIRATION_TIME("flashExpirationTime", 1800000L),
+
     FORCE_ALWAYS_WRITE_FLASH_COOKIE("forceAlwaysWriteFlashCookie", false),
 
     FORCE_LOAD_CONFIGURATION("forceLoadConfiguration", false),
@@ -130,6 +184,14 @@ public enum MojarraContextParam implements ContextParam {
 
     INJECTION_PROVIDER("injectionProvider", ""),
 
+    /**
+     * Whether the instrumentation also records the time spent rendering each top level component of a view, which
+     * costs two clock reads per component.
+     *
+     * @see org.glassfish.mojarra.lifecycle.Instrumentation
+     */
+    INSTRUMENT_TOP_LEVEL_COMPONENTS("instrumentTopLevelComponents", false),
+
     NUMBER_OF_ACTIVE_VIEW_MAPS("numberOfActiveViewMaps", 25),
 
     NUMBER_OF_CONCURRENT_FLASH_USERS("numberOfConcurrentFlashUsers", 5000),
@@ -154,8 +216,22 @@ public enum MojarraContextParam implements ContextParam {
     @Deprecated(since = "5.0", forRemoval = true)
     NUMBER_OF_VIEWS_IN_SESSION("numberOfViewsInSession", 15, Deprecation.replacedBy("numberOfViewStatesPerStatefulPage")),
 
+    /**
+     * How many threads encode the independent regions of a view, where zero means they are encoded on the request
+     * thread like everything else.
+     *
+     * @see org.glassfish.mojarra.application.view.ParallelSubtreeEncoder
+     */
+    PARALLEL_RENDER_THREADS("parallelRenderThreads", 0),
+
     PREFER_XHTML("preferXHTML", false),
 
+    /**
+     * The class name of the {@link org.glassfish.mojarra.push.PushBroker} which carries push messages to the other
+     * nodes of a cluster, where empty means they only reach the node which sent them.
+     */
+    PUSH_BROKER("pushBroker", ""),
+
     REFRESH_TRANSIENT_BUILD("refreshTransientBuild", false),
 
     /**
@@ -181,8 +257,36 @@ public enum MojarraContextParam implements ContextParam {
 
     SERIALIZATION_PROVIDER("serializationProvider", ""),
 
+    /**
+     * How many threads find and parse the configuration resources during startup, where a negative number means one per
+     * available processor, up to eight, and zero or one means they are parsed on the starting thread.
+     *
+     * @see org.glassfish.mojarra.config.manager.StartupProfile
+     */
+    STARTUP_THREADS("startupThreads", -1),
+
+    /**
+     * After how many rows an iterating component flushes the response to the client, where zero means it never does.
+     *
+     * @see org.glassfish.mojarra.application.view.RowBatchFlusher
+     */
+    STREAMING_RENDER_BATCH_SIZE("streamingRenderBatchSize", 0),
+
     USE_FACELETS_ID("useFaceletsID", false),
 
+    /**
+     * Maximum amount of view identifiers of which the existence is cached, where zero disables the cache.
+     *
+     * @see org.glassfish.mojarra.facelets.impl.DefaultFaceletFactory#viewExists(jakarta.faces.context.FacesContext, String)
+     */
+    VIEW_EXISTS_CACHE_SIZE("viewExistsCacheSize", 1000),
+
+    /**
+     * The class name of the {@link org.glassfish.mojarra.application.view.ViewMapStore} which keeps the view maps of the
+     * active views of a session, where empty means they are kept in the session itself.
+     */
+    VIEW_MAP_STORE("viewMapStore", ""),
+
     VIEW_STATE_AUTOCOMPLETE("viewStateAutocomplete", "one-time-code"),
 
     /**
@@ -195,6 +299,27 @@ public enum MojarraContextParam implements ContextParam {
      */
     WEBSOCKET_MAX_SESSIONS_PER_CHANNEL("websocketMaxSessionsPerChannel", Integer.MAX_VALUE),
 
+    /**
+     * How often closed websockets and empty channels are removed, in milliseconds, where zero means they never are.
+     *
+     * @see org.glassfish.mojarra.push.WebsocketSessionManager#reap()
+     */
+    WEBSOCKET_REAP_INTERVAL("websocketReapInterval", 60000L),
+
+    /**
+     * What to do with a push message when the send queue of a websocket is full, {@code DROP_OLDEST} or {@code CLOSE}.
+     *
+     * @see org.glassfish.mojarra.push.WebsocketSessionQueue
+     */
+    WEBSOCKET_SEND_QUEUE_OVERFLOW("websocketSendQueueOverflow", "DROP_OLDEST"),
+
+    /**
+     * How many push messages are queued for a websocket while another one is being sent to it.
+     *
+     * @see org.glassfish.mojarra.push.WebsocketSessionQueue
+     */
+    WEBSOCKET_SEND_QUEUE_SIZE("websocketSendQueueSize", 64),
+
     WRITE_STATE_AT_FORM_END("writeStateAtFormEnd", true),
 
     ;
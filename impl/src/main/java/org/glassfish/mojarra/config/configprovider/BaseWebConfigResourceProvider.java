@@ -29,7 +29,6 @@ import java.util.Set;
 import java.util.logging.Logger;
 
 import jakarta.faces.FacesException;
-import jakarta.faces.context.FacesContext;
 import jakarta.servlet.ServletContext;
 
 import org.glassfish.mojarra.config.FacesContextParam;
@@ -48,7 +47,7 @@ public abstract class BaseWebConfigResourceProvider implements ConfigurationReso
     @Override
     public Collection<URI> getResources(ServletContext context) {
 
-        String[] paths = getParameter().getStringArray(FacesContext.getCurrentInstance());
+        String[] paths = getParameter().getStringArray(context);
         Set<URI> urls = new LinkedHashSet<>(6);
 
         for (String path : paths) {
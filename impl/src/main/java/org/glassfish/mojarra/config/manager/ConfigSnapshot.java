@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.config.manager;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+import static org.glassfish.mojarra.util.Util.createLocalDocumentBuilderFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.jar.JarFile;
+import java.util.logging.Logger;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import jakarta.servlet.ServletContext;
+
+import org.glassfish.mojarra.config.MojarraContextParam;
+import org.glassfish.mojarra.config.manager.documents.DocumentInfo;
+import org.glassfish.mojarra.spi.ConfigurationResourceProvider;
+import org.glassfish.mojarra.util.FacesLogger;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Binary snapshot of the parsed configuration documents of an application, so that a restart with unchanged
+ * configuration resources skips parsing, transforming and validating them all over again.
+ * <p>
+ * The providers are still asked for their resources, since that is what tells whether anything changed: the snapshot is
+ * keyed by the URI and last modification time of every resource, along with the version of Mojarra and whether the
+ * documents were validated, and is only used when all of that matches. The documents are then rebuilt straight from the
+ * elements, attributes and text stored, without an XML parser. Comments and processing instructions are not stored, as
+ * no processor reads them. Ordering the documents is not part of the snapshot, since it also depends on the documents
+ * contributed programmatically, and is cheap compared to parsing.
+ * <p>
+ * The snapshot is written to the temporary directory the container assigns to the application. Without one, no snapshot
+ * is used: a directory shared with whatever else runs on the machine, such as the one of the JVM, would let anyone who
+ * can write there inject configuration into the application. A snapshot which cannot be read for whatever reason is
+ * ignored and replaced.
+ *
+ * @see MojarraContextParam#ENABLE_CONFIG_SNAPSHOT
+ */
+public final class ConfigSnapshot {
+
+    private static final Logger LOGGER = FacesLogger.CONFIG.getLogger();
+
+    private static final int MAGIC = 0x4D4A4353; // "MJCS"
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte END = 0;
+    private static final byte ELEMENT = 1;
+    private static final byte TEXT = 2;
+    private static final byte CDATA = 3;
+
+    private static final int NULL = -1;
+    private static final int NEW = -2;
+
+    private final Path directory;
+
+    ConfigSnapshot(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @param servletContext the involved servlet context
+     * @return the snapshot of the application, or <code>null</code> when snapshots are disabled or the container assigns
+     * no temporary directory to the application
+     */
+    public static ConfigSnapshot getInstance(ServletContext servletContext) {
+        if (!MojarraContextParam.ENABLE_CONFIG_SNAPSHOT.isEnabled(servletContext)) {
+            return null;
+        }
+
+        Path directory = getDirectory(servletContext);
+
+        if (directory == null) {
+            LOGGER.log(WARNING, "Not using a configuration snapshot, as the container assigns no temporary directory to the application");
+            return null;
+        }
+
+        return new ConfigSnapshot(directory);
+    }
+
+    /**
+     * Returns the documents of the given providers from the snapshot when none of their resources changed since it was
+     * written, or parses them and writes a new snapshot otherwise.
+     *
+     * @param name the name of the set of documents, which tells it apart from the other sets of the application
+     * @param servletContext the <code>ServletContext</code> for the application to be processed
+     * @param providers the providers of the documents
+     * @param validating flag indicating whether or not the documents should be validated
+     * @param executor the executor to find and parse the documents on
+     * @param profile the profile to record how long each step took in, or <code>null</code>
+     * @return an array of <code>DocumentInfo</code>s in the order in which the providers offered them
+     */
+    public DocumentInfo[] getXMLDocuments(String name, ServletContext servletContext, List<ConfigurationResourceProvider> providers, boolean validating,
+            Executor executor, StartupProfile profile) {
+        List<URI> uris = Documents.getXMLDocumentURIs(servletContext, providers, executor, profile);
+        byte[] key = getKey(uris, validating);
+        Path file = directory.resolve("mojarra-" + name + ".snapshot");
+
+        long start = System.nanoTime();
+        DocumentInfo[] documents = read(file, key);
+
+        if (documents != null) {
+            if (profile != null) {
+                profile.recordDocument(file.toUri(), System.nanoTime() - start);
+            }
+
+            return documents;
+        }
+
+        documents = Documents.parseXMLDocuments(servletContext, uris, validating, executor, profile);
+
+        if (key != null) {
+            write(file, key, documents);
+        }
+
+        return documents;
+    }
+
+    // --------------------------------------------------------- Package Methods
+
+    /**
+     * @return the temporary directory the container assigns to the application, or <code>null</code> when there is none
+     */
+    static Path getDirectory(ServletContext servletContext) {
+        return servletContext.getAttribute(ServletContext.TEMPDIR) instanceof File tempDir ? tempDir.toPath() : null;
+    }
+
+    /**
+     * @return the key of the given resources, or <code>null</code> when the last modification time of one of them cannot
+     * be told, in which case no snapshot must be used
+     */
+    static byte[] getKey(List<URI> uris, boolean validating) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((FORMAT_VERSION + ";" + ConfigSnapshot.class.getPackage().getImplementationVersion() + ";" + validating).getBytes(UTF_8));
+
+            for (URI uri : uris) {
+                long lastModified = getLastModified(uri);
+
+                if (lastModified == 0) {
+                    LOGGER.log(FINE, "Not using a configuration snapshot, as the last modification time of {0} is unknown", uri);
+                    return null;
+                }
+
+                digest.update((";" + uri + "@" + lastModified).getBytes(UTF_8));
+            }
+
+            return digest.digest();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            LOGGER.log(FINE, "Not using a configuration snapshot", e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the documents of the snapshot, or <code>null</code> when there is no snapshot for the given key
+     */
+    DocumentInfo[] read(Path file, byte[] key) {
+        if (key == null) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !Arrays.equals(in.readNBytes(key.length), key)) {
+                LOGGER.log(FINE, "Configuration snapshot {0} is outdated", file);
+                return null;
+            }
+
+            Reader reader = new Reader(in);
+            DocumentInfo[] documents = new DocumentInfo[in.readInt()];
+
+            for (int i = 0; i < documents.length; i++) {
+                documents[i] = reader.readDocument();
+            }
+
+            LOGGER.log(FINE, "Loaded {0} configuration documents from snapshot {1}", new Object[] { documents.length, file });
+            return documents;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | ParserConfigurationException | RuntimeException e) {
+            LOGGER.log(WARNING, "Ignoring unreadable configuration snapshot " + file, e);
+            return null;
+        }
+    }
+
+    void write(Path file, byte[] key, DocumentInfo[] documents) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(FORMAT_VERSION);
+                    out.write(key);
+                    out.writeInt(documents.length);
+
+                    Writer writer = new Writer(out);
+
+                    for (DocumentInfo document : documents) {
+                        writer.writeDocument(document);
+                    }
+                }
+
+                // Moved into place as a whole, so that another instance starting from the same directory never sees half
+                // a snapshot.
+                Files.move(temp, file, REPLACE_EXISTING, ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+
+            LOGGER.log(FINE, "Wrote {0} configuration documents to snapshot {1}", new Object[] { documents.length, file });
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(WARNING, "Could not write configuration snapshot " + file, e);
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    /**
+     * @return the last modification time of the given resource, or zero when it cannot be told
+     */
+    private static long getLastModified(URI uri) throws IOException {
+        URLConnection connection = uri.toURL().openConnection();
+        // A cached connection may report the modification time of a jar as it was when it was first opened.
+        connection.setUseCaches(false);
+
+        if (connection instanceof JarURLConnection jarConnection) {
+            // Not cached, so nobody else closes the jar file.
+            try (JarFile jarFile = jarConnection.getJarFile()) {
+                return jarConnection.getLastModified();
+            }
+        }
+
+        // A file connection, for one, opens the file to tell its modification time.
+        try (InputStream stream = connection.getInputStream()) {
+            return connection.getLastModified();
+        }
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    /**
+     * Writes the nodes depth first, every string only once; later occurrences refer to the first by index.
+     */
+    private static final class Writer {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeDocument(DocumentInfo documentInfo) throws IOException {
+            Document document = documentInfo.getDocument();
+            URI sourceURI = documentInfo.getSourceURI();
+
+            writeString(sourceURI != null ? sourceURI.toString() : null);
+            writeString(document.getDocumentURI());
+            writeElement(document.getDocumentElement());
+        }
+
+        private void writeElement(Element element) throws IOException {
+            writeString(element.getNamespaceURI());
+            writeString(element.getNodeName());
+
+            NamedNodeMap attributes = element.getAttributes();
+            out.writeInt(attributes.getLength());
+
+            for (int i = 0; i < attributes.getLength(); i++) {
+                Attr attribute = (Attr) attributes.item(i);
+                writeString(attribute.getNamespaceURI());
+                writeString(attribute.getName());
+                writeString(attribute.getValue());
+            }
+
+            for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+                switch (child.getNodeType()) {
+                case Node.ELEMENT_NODE:
+                    out.writeByte(ELEMENT);
+                    writeElement((Element) child);
+                    break;
+                case Node.TEXT_NODE:
+                    out.writeByte(TEXT);
+                    writeString(child.getNodeValue());
+                    break;
+                case Node.CDATA_SECTION_NODE:
+                    out.writeByte(CDATA);
+                    writeString(child.getNodeValue());
+                    break;
+                default:
+                    break;
+                }
+            }
+
+            out.writeByte(END);
+        }
+
+        private void writeString(String string) throws IOException {
+            if (string == null) {
+                out.writeInt(NULL);
+                return;
+            }
+
+            Integer index = strings.get(string);
+
+            if (index != null) {
+                out.writeInt(index);
+                return;
+            }
+
+            strings.put(string, strings.size());
+            byte[] bytes = string.getBytes(UTF_8);
+            out.writeInt(NEW);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static final class Reader {
+
+        private final DataInputStream in;
+        private final DocumentBuilder builder;
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(DataInputStream in) throws ParserConfigurationException {
+            this.in = in;
+
+            DocumentBuilderFactory factory = createLocalDocumentBuilderFactory();
+            factory.setNamespaceAware(true);
+            builder = factory.newDocumentBuilder();
+        }
+
+        DocumentInfo readDocument() throws IOException {
+            String sourceURI = readString();
+            Document document = builder.newDocument();
+            document.setDocumentURI(readString());
+            document.appendChild(readElement(document));
+
+            return new DocumentInfo(document, sourceURI != null ? URI.create(sourceURI) : null);
+        }
+
+        private Element readElement(Document document) throws IOException {
+            Element element = document.createElementNS(readString(), readString());
+
+            for (int i = in.readInt(); i > 0; i--) {
+                element.setAttributeNS(readString(), readString(), readString());
+            }
+
+            for (byte type = in.readByte(); type != END; type = in.readByte()) {
+                switch (type) {
+                case ELEMENT:
+                    element.appendChild(readElement(document));
+                    break;
+                case TEXT:
+                    element.appendChild(document.createTextNode(readString()));
+                    break;
+                case CDATA:
+                    element.appendChild(document.createCDATASection(readString()));
+                    break;
+                default:
+                    throw new IOException("Corrupt configuration snapshot, unknown node type " + type);
+                }
+            }
+
+            return element;
+        }
+
+        private String readString() throws IOException {
+            int index = in.readInt();
+
+            if (index == NULL) {
+                return null;
+            }
+
+            if (index != NEW) {
+                return strings.get(index);
+            }
+
+            String string = new String(in.readNBytes(in.readInt()), UTF_8);
+            strings.add(string);
+            return string;
+        }
+    }
+}
@@ -352,8 +352,13 @@ public class DbfFactory {
 
         if (schemaMap == null) {
             synchronized (servletContext) {
-                schemaMap = synchronizedMap(new EnumMap<>(FacesSchema.class));
-                servletContext.setAttribute(SCHEMA_MAP, schemaMap);
+                // Documents are parsed concurrently, so another thread may have created it meanwhile.
+                schemaMap = (Map<FacesSchema, Schema>) servletContext.getAttribute(SCHEMA_MAP);
+
+                if (schemaMap == null) {
+                    schemaMap = synchronizedMap(new EnumMap<>(FacesSchema.class));
+                    servletContext.setAttribute(SCHEMA_MAP, schemaMap);
+                }
             }
         }
 
@@ -25,9 +25,15 @@ import static org.glassfish.mojarra.util.Util.isEmpty;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -41,6 +47,7 @@ import org.glassfish.mojarra.config.manager.documents.DocumentInfo;
 import org.glassfish.mojarra.config.manager.documents.DocumentOrderingWrapper;
 import org.glassfish.mojarra.config.manager.tasks.FindConfigResourceURIsTask;
 import org.glassfish.mojarra.config.manager.tasks.ParseConfigResourceToDOMTask;
+import org.glassfish.mojarra.config.manager.tasks.ReadFaceletTaglibTask;
 import org.glassfish.mojarra.spi.ConfigurationResourceProvider;
 import org.glassfish.mojarra.util.FacesLogger;
 import org.w3c.dom.Attr;
@@ -63,25 +70,115 @@ public class Documents {
      * @return an array of <code>DocumentInfo</code>s
      */
     public static DocumentInfo[] getXMLDocuments(ServletContext servletContext, List<ConfigurationResourceProvider> providers, boolean validating) {
+        return getXMLDocuments(servletContext, providers, validating, Runnable::run, null);
+    }
+
+    /**
+     * <p>
+     * Obtains an array of <code>Document</code>s to be processed, asking the providers for their resources and parsing
+     * those on the given executor. A resource is parsed as soon as the provider offering it first is done, so parsing
+     * overlaps with the providers still searching. The documents come back in the order in which the providers offered
+     * them regardless.
+     * </p>
+     *
+     * @param servletContext the <code>ServletContext</code> for the application to be processed
+     * @param providers <code>List</code> of <code>ConfigurationResourceProvider</code> instances that provide the URL of
+     * the documents to parse.
+     * @param validating flag indicating whether or not the documents should be validated
+     * @param executor the executor to find and parse the documents on
+     * @param profile the profile to record how long each provider and document took in, or <code>null</code>
+     * @return an array of <code>DocumentInfo</code>s
+     */
+    public static DocumentInfo[] getXMLDocuments(ServletContext servletContext, List<ConfigurationResourceProvider> providers, boolean validating,
+            Executor executor, StartupProfile profile) {
+        return getDocuments(servletContext, providers, uri -> () -> new ParseConfigResourceToDOMTask(servletContext, validating, uri).call(), executor,
+                profile);
+    }
+
+    /**
+     * <p>
+     * Obtains an array of <code>facelet-taglib</code> documents to be processed, read straight into what they declare
+     * without building a DOM. Only to be used when the documents are not to be validated.
+     * </p>
+     *
+     * @param servletContext the <code>ServletContext</code> for the application to be processed
+     * @param providers <code>List</code> of <code>ConfigurationResourceProvider</code> instances that provide the URL of
+     * the documents to read.
+     * @param executor the executor to find and read the documents on
+     * @param profile the profile to record how long each provider and document took in, or <code>null</code>
+     * @return an array of <code>DocumentInfo</code>s without DOM, in the order in which the providers offered them
+     * @see ReadFaceletTaglibTask
+     */
+    public static DocumentInfo[] getFaceletTaglibDocuments(ServletContext servletContext, List<ConfigurationResourceProvider> providers, Executor executor,
+            StartupProfile profile) {
+        return getDocuments(servletContext, providers, ReadFaceletTaglibTask::new, executor, profile);
+    }
+
+    /**
+     * <p>
+     * Asks the providers for the URIs of their configuration resources on the given executor.
+     * </p>
+     *
+     * @param servletContext the <code>ServletContext</code> for the application to be processed
+     * @param providers <code>List</code> of <code>ConfigurationResourceProvider</code> instances that provide the URL of
+     * the documents to parse.
+     * @param executor the executor to ask the providers on
+     * @param profile the profile to record how long each provider took in, or <code>null</code>
+     * @return the URIs in the order in which the providers first offered them
+     */
+    public static List<URI> getXMLDocumentURIs(ServletContext servletContext, List<ConfigurationResourceProvider> providers, Executor executor,
+            StartupProfile profile) {
 
         try {
-            // Query all configuration providers to give us a URI to the configuration they are providing
+            List<CompletableFuture<Timed<Collection<URI>>>> foundURIs = new ArrayList<>(providers.size());
+
+            for (ConfigurationResourceProvider provider : providers) {
+                foundURIs.add(submit(new FindConfigResourceURIsTask(provider, servletContext), executor));
+            }
 
             Set<URI> uris = new LinkedHashSet<>();
 
-            for (ConfigurationResourceProvider provider : providers) {
-                uris.addAll(new FindConfigResourceURIsTask(provider, servletContext).call());
+            for (int i = 0; i < providers.size(); i++) {
+                Timed<Collection<URI>> found = join(foundURIs.get(i));
+
+                if (profile != null) {
+                    profile.recordProvider(providers.get(i), found.nanos(), found.result().size());
+                }
+
+                uris.addAll(found.result());
             }
 
-            // Load and XML parse all documents to which the URIs that we collected above point to
+            return new ArrayList<>(uris);
+        } catch (ConfigurationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ConfigurationException(e);
+        }
+    }
+
+    /**
+     * <p>
+     * Parses the given configuration resources on the given executor.
+     * </p>
+     *
+     * @param servletContext the <code>ServletContext</code> for the application to be processed
+     * @param uris the URIs of the configuration resources
+     * @param validating flag indicating whether or not the documents should be validated
+     * @param executor the executor to parse the documents on
+     * @param profile the profile to record how long each document took in, or <code>null</code>
+     * @return an array of <code>DocumentInfo</code>s in the order of the given URIs
+     */
+    public static DocumentInfo[] parseXMLDocuments(ServletContext servletContext, List<URI> uris, boolean validating, Executor executor,
+            StartupProfile profile) {
 
-            List<DocumentInfo> documents = new ArrayList<>(uris.size());
+        try {
+            List<CompletableFuture<Timed<DocumentInfo>>> parsedDocuments = new ArrayList<>(uris.size());
 
             for (URI uri : uris) {
-                documents.add(new ParseConfigResourceToDOMTask(servletContext, validating, uri).call());
+                parsedDocuments.add(submit(new ParseConfigResourceToDOMTask(servletContext, validating, uri), executor));
             }
 
-            return documents.toArray(DocumentInfo[]::new);
+            return join(parsedDocuments, profile);
         } catch (ConfigurationException e) {
             throw e;
         } catch (Exception e) {
@@ -194,6 +291,84 @@ public class Documents {
         return facesDocuments;
     }
 
+    private static DocumentInfo[] getDocuments(ServletContext servletContext, List<ConfigurationResourceProvider> providers,
+            Function<URI, Callable<DocumentInfo>> parser, Executor executor, StartupProfile profile) {
+
+        try {
+            // Query all configuration providers to give us a URI to the configuration they are providing
+
+            List<CompletableFuture<Timed<Collection<URI>>>> foundURIs = new ArrayList<>(providers.size());
+
+            for (ConfigurationResourceProvider provider : providers) {
+                foundURIs.add(submit(new FindConfigResourceURIsTask(provider, servletContext), executor));
+            }
+
+            // Load and XML parse all documents to which the URIs that we collected above point to, in the order in
+            // which they were first offered
+
+            Set<URI> uris = new LinkedHashSet<>();
+            List<CompletableFuture<Timed<DocumentInfo>>> parsedDocuments = new ArrayList<>();
+
+            for (int i = 0; i < providers.size(); i++) {
+                Timed<Collection<URI>> found = join(foundURIs.get(i));
+
+                if (profile != null) {
+                    profile.recordProvider(providers.get(i), found.nanos(), found.result().size());
+                }
+
+                for (URI uri : found.result()) {
+                    if (uris.add(uri)) {
+                        parsedDocuments.add(submit(parser.apply(uri), executor));
+                    }
+                }
+            }
+
+            return join(parsedDocuments, profile);
+        } catch (ConfigurationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ConfigurationException(e);
+        }
+    }
+
+    private static <T> CompletableFuture<Timed<T>> submit(Callable<T> task, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                return new Timed<>(task.call(), System.nanoTime() - start);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private static DocumentInfo[] join(List<CompletableFuture<Timed<DocumentInfo>>> parsedDocuments, StartupProfile profile) throws Exception {
+        DocumentInfo[] documents = new DocumentInfo[parsedDocuments.size()];
+
+        for (int i = 0; i < documents.length; i++) {
+            Timed<DocumentInfo> parsed = join(parsedDocuments.get(i));
+            documents[i] = parsed.result();
+
+            if (profile != null) {
+                profile.recordDocument(parsed.result().getSourceURI(), parsed.nanos());
+            }
+        }
+
+        return documents;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
     private static DOMImplementation createDOMImplementation() throws ParserConfigurationException {
         DocumentBuilderFactory documentBuilderFactory = createLocalDocumentBuilderFactory();
         documentBuilderFactory.setNamespaceAware(true);
@@ -211,4 +386,7 @@ public class Documents {
         return document;
     }
 
+    private record Timed<T>(T result, long nanos) {
+    }
+
 }
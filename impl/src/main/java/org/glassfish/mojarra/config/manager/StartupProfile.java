@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.config.manager;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.glassfish.mojarra.config.MojarraContextParam;
+import org.glassfish.mojarra.spi.ConfigurationResourceProvider;
+
+/**
+ * Breakdown of where the time went while the configuration of an application was loaded: how long every
+ * {@link ConfigurationResourceProvider} took to find its resources, how long every one of those resources took to parse,
+ * and how long every processor took to apply the parsed documents. Steps are recorded as they complete and may be
+ * recorded from several threads at once.
+ *
+ * @see MojarraContextParam#STARTUP_THREADS
+ */
+public final class StartupProfile {
+
+    private final int threads;
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    private final Queue<Step> providers = new ConcurrentLinkedQueue<>();
+    private final Queue<Step> documents = new ConcurrentLinkedQueue<>();
+    private final Queue<Step> processors = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param threads the amount of threads the configuration is loaded on
+     */
+    public StartupProfile(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * @param provider the provider which was asked for its resources
+     * @param nanos how long it took
+     * @param resources how many resources it found
+     */
+    public void recordProvider(ConfigurationResourceProvider provider, long nanos, int resources) {
+        providers.add(new Step(provider.getClass().getName(), nanos, resources));
+    }
+
+    /**
+     * @param uri the resource which was parsed
+     * @param nanos how long it took
+     */
+    public void recordDocument(URI uri, long nanos) {
+        documents.add(new Step(String.valueOf(uri), nanos, 1));
+    }
+
+    /**
+     * @param processor the processor which was applied
+     * @param nanos how long it took
+     * @param documents how many documents it was applied to
+     */
+    public void recordProcessor(Object processor, long nanos, int documents) {
+        processors.add(new Step(processor.getClass().getName(), nanos, documents));
+    }
+
+    /**
+     * Marks the configuration as completely loaded.
+     */
+    public void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * @return the amount of threads the configuration was loaded on
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return how long loading the configuration took as a whole, or has taken so far when it is not finished yet
+     */
+    public long getTotalNanos() {
+        long end = endNanos;
+        return (end == 0 ? System.nanoTime() : end) - startNanos;
+    }
+
+    /**
+     * @return the providers in the order they were recorded, where the count of a step is the amount of resources found
+     */
+    public List<Step> getProviders() {
+        return List.copyOf(providers);
+    }
+
+    /**
+     * @return the parsed resources in the order they were recorded
+     */
+    public List<Step> getDocuments() {
+        return List.copyOf(documents);
+    }
+
+    /**
+     * @return the processors in the order they were recorded, where the count of a step is the amount of documents
+     * processed
+     */
+    public List<Step> getProcessors() {
+        return List.copyOf(processors);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder(1024);
+        report.append(String.format("Configuration loaded in %.1f ms on %d thread(s)%n", millis(getTotalNanos()), threads));
+        append(report, "Providers", getProviders());
+        append(report, "Documents", getDocuments());
+        append(report, "Processors", getProcessors());
+        return report.toString();
+    }
+
+    private static void append(StringBuilder report, String title, List<Step> steps) {
+        report.append(title).append(':').append(System.lineSeparator());
+
+        for (Step step : steps) {
+            report.append(String.format("  %10.1f ms %6d  %s%n", millis(step.nanos()), step.count(), step.name()));
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    /**
+     * @param name the class name of the provider or processor, or the URI of the document
+     * @param nanos how long the step took
+     * @param count how many items the step handled
+     */
+    public record Step(String name, long nanos, int count) {
+    }
+}
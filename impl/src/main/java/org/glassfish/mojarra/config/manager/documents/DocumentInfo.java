@@ -26,21 +26,46 @@ import org.w3c.dom.Document;
 public class DocumentInfo {
 
     private final Document document;
+    private final FaceletTaglib faceletTaglib;
     private final URI sourceURI;
 
     // ------------------------------------------------------------ Constructors
 
     public DocumentInfo(Document document, URI sourceURL) {
         this.document = document;
+        faceletTaglib = null;
+        sourceURI = sourceURL;
+    }
+
+    /**
+     * A <code>facelet-taglib</code> document which was read without building a DOM.
+     *
+     * @param faceletTaglib what the document declares
+     * @param sourceURL the URI of the document
+     */
+    public DocumentInfo(FaceletTaglib faceletTaglib, URI sourceURL) {
+        document = null;
+        this.faceletTaglib = faceletTaglib;
         sourceURI = sourceURL;
     }
 
     // ---------------------------------------------------------- Public Methods
 
+    /**
+     * @return the DOM of the document, or <code>null</code> when it was read without building one
+     */
     public Document getDocument() {
         return document;
     }
 
+    /**
+     * @return what the <code>facelet-taglib</code> document declares, taken from the DOM when the document was parsed
+     * into one
+     */
+    public FaceletTaglib getFaceletTaglib() {
+        return faceletTaglib != null ? faceletTaglib : FaceletTaglib.of(document);
+    }
+
     public URI getSourceURI() {
         return sourceURI;
     }
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.config.manager.documents;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * What a <code>facelet-taglib</code> document declares, which is all the
+ * {@link org.glassfish.mojarra.config.processor.FaceletTaglibConfigProcessor} needs from it. It is either read straight
+ * from the resource, see {@link org.glassfish.mojarra.config.manager.tasks.ReadFaceletTaglibTask}, or taken from the DOM
+ * when the document had to be parsed into one anyway, e.g. to validate it.
+ * <p>
+ * Every text is trimmed, and <code>null</code> when the element is absent or empty. When an element occurs more than
+ * once where only one is expected, the last one wins, and of <code>library-class</code> the first one.
+ *
+ * @param documentURI the URI the <code>source</code> of a tag is relative to
+ * @param libraryClass /facelet-taglib/library-class
+ * @param namespace /facelet-taglib/namespace
+ * @param compositeLibraryName /facelet-taglib/composite-library-name
+ * @param tags /facelet-taglib/tag
+ * @param functions /facelet-taglib/function
+ */
+public record FaceletTaglib(String documentURI, String libraryClass, String namespace, String compositeLibraryName, List<Tag> tags,
+        List<Function> functions) {
+
+    public static final String LIBRARY_CLASS = "library-class";
+    public static final String NAMESPACE = "namespace";
+    public static final String COMPOSITE_LIBRARY_NAME = "composite-library-name";
+    public static final String TAG = "tag";
+    public static final String TAG_NAME = "tag-name";
+    public static final String COMPONENT = "component";
+    public static final String COMPONENT_TYPE = "component-type";
+    public static final String RENDERER_TYPE = "renderer-type";
+    public static final String RESOURCE_ID = "resource-id";
+    public static final String CONVERTER = "converter";
+    public static final String CONVERTER_ID = "converter-id";
+    public static final String VALIDATOR = "validator";
+    public static final String VALIDATOR_ID = "validator-id";
+    public static final String BEHAVIOR = "behavior";
+    public static final String BEHAVIOR_ID = "behavior-id";
+    public static final String SOURCE = "source";
+    public static final String HANDLER_CLASS = "handler-class";
+    public static final String FUNCTION = "function";
+    public static final String FUNCTION_NAME = "function-name";
+    public static final String FUNCTION_CLASS = "function-class";
+    public static final String FUNCTION_SIGNATURE = "function-signature";
+
+    /**
+     * /facelet-taglib/tag, of which at most one of component, converter, validator, behavior, source and handler class is
+     * used, in that order of precedence.
+     *
+     * @param name /facelet-taglib/tag/tag-name
+     * @param component /facelet-taglib/tag/component
+     * @param converter /facelet-taglib/tag/converter
+     * @param validator /facelet-taglib/tag/validator
+     * @param behavior /facelet-taglib/tag/behavior
+     * @param source /facelet-taglib/tag/source
+     * @param handlerClass /facelet-taglib/tag/handler-class
+     */
+    public record Tag(String name, Component component, Handler converter, Handler validator, Handler behavior, String source, String handlerClass) {
+    }
+
+    /**
+     * @param componentType /facelet-taglib/tag/component/component-type
+     * @param rendererType /facelet-taglib/tag/component/renderer-type
+     * @param handlerClass /facelet-taglib/tag/component/handler-class
+     * @param resourceId /facelet-taglib/tag/component/resource-id
+     */
+    public record Component(String componentType, String rendererType, String handlerClass, String resourceId) {
+    }
+
+    /**
+     * A converter, validator or behavior tag.
+     *
+     * @param id the converter-id, validator-id or behavior-id
+     * @param handlerClass the handler-class
+     */
+    public record Handler(String id, String handlerClass) {
+    }
+
+    /**
+     * @param name /facelet-taglib/function/function-name
+     * @param functionClass /facelet-taglib/function/function-class
+     * @param signature /facelet-taglib/function/function-signature
+     */
+    public record Function(String name, String functionClass, String signature) {
+    }
+
+    /**
+     * @param document a parsed <code>facelet-taglib</code> document
+     * @return what the document declares
+     */
+    public static FaceletTaglib of(Document document) {
+        Element documentElement = document.getDocumentElement();
+        String documentNamespace = documentElement.getNamespaceURI();
+
+        NodeList libraryClasses = documentElement.getElementsByTagNameNS(documentNamespace, LIBRARY_CLASS);
+        String libraryClass = libraryClasses.getLength() > 0 ? getText(libraryClasses.item(0)) : null;
+        String namespace = null;
+        String compositeLibraryName = null;
+
+        for (Node child = documentElement.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getLocalName() != null) {
+                switch (child.getLocalName()) {
+                case NAMESPACE:
+                    namespace = getText(child);
+                    break;
+                case COMPOSITE_LIBRARY_NAME:
+                    compositeLibraryName = getText(child);
+                    break;
+                }
+            }
+        }
+
+        NodeList tagNodes = documentElement.getElementsByTagNameNS(documentNamespace, TAG);
+        List<Tag> tags = new ArrayList<>(tagNodes.getLength());
+
+        for (int i = 0; i < tagNodes.getLength(); i++) {
+            tags.add(getTag(tagNodes.item(i)));
+        }
+
+        NodeList functionNodes = documentElement.getElementsByTagNameNS(documentNamespace, FUNCTION);
+        List<Function> functions = new ArrayList<>(functionNodes.getLength());
+
+        for (int i = 0; i < functionNodes.getLength(); i++) {
+            functions.add(getFunction(functionNodes.item(i)));
+        }
+
+        return new FaceletTaglib(document.getDocumentURI(), libraryClass, namespace, compositeLibraryName, tags, functions);
+    }
+
+    /**
+     * @param node the element to get the text of
+     * @return the trimmed text content of the given element, or <code>null</code> when it is empty
+     */
+    public static String getText(Node node) {
+        return trimToNull(node.getTextContent());
+    }
+
+    /**
+     * @param text the text to trim
+     * @return the trimmed text, or <code>null</code> when it is empty
+     */
+    public static String trimToNull(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        String trimmed = text.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static Tag getTag(Node tagNode) {
+        String name = null;
+        Component component = null;
+        Handler converter = null;
+        Handler validator = null;
+        Handler behavior = null;
+        String source = null;
+        String handlerClass = null;
+
+        for (Node child = tagNode.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getLocalName() != null) {
+                switch (child.getLocalName()) {
+                case TAG_NAME:
+                    name = getText(child);
+                    break;
+                case COMPONENT:
+                    component = getComponent(child);
+                    break;
+                case CONVERTER:
+                    converter = getHandler(child, CONVERTER_ID);
+                    break;
+                case VALIDATOR:
+                    validator = getHandler(child, VALIDATOR_ID);
+                    break;
+                case BEHAVIOR:
+                    behavior = getHandler(child, BEHAVIOR_ID);
+                    break;
+                case SOURCE:
+                    source = getText(child);
+                    break;
+                case HANDLER_CLASS:
+                    handlerClass = getText(child);
+                    break;
+                }
+            }
+        }
+
+        return new Tag(name, component, converter, validator, behavior, source, handlerClass);
+    }
+
+    private static Component getComponent(Node componentNode) {
+        String componentType = null;
+        String rendererType = null;
+        String handlerClass = null;
+        String resourceId = null;
+
+        for (Node child = componentNode.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getLocalName() != null) {
+                switch (child.getLocalName()) {
+                case COMPONENT_TYPE:
+                    componentType = getText(child);
+                    break;
+                case RENDERER_TYPE:
+                    rendererType = getText(child);
+                    break;
+                case HANDLER_CLASS:
+                    handlerClass = getText(child);
+                    break;
+                case RESOURCE_ID:
+                    resourceId = getText(child);
+                    break;
+                }
+            }
+        }
+
+        return new Component(componentType, rendererType, handlerClass, resourceId);
+    }
+
+    private static Handler getHandler(Node handlerNode, String idElement) {
+        String id = null;
+        String handlerClass = null;
+
+        for (Node child = handlerNode.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (idElement.equals(child.getLocalName())) {
+                id = getText(child);
+            } else if (HANDLER_CLASS.equals(child.getLocalName())) {
+                handlerClass = getText(child);
+            }
+        }
+
+        return new Handler(id, handlerClass);
+    }
+
+    private static Function getFunction(Node functionNode) {
+        String name = null;
+        String functionClass = null;
+        String signature = null;
+
+        for (Node child = functionNode.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getLocalName() != null) {
+                switch (child.getLocalName()) {
+                case FUNCTION_NAME:
+                    name = getText(child);
+                    break;
+                case FUNCTION_CLASS:
+                    functionClass = getText(child);
+                    break;
+                case FUNCTION_SIGNATURE:
+                    signature = getText(child);
+                    break;
+                }
+            }
+        }
+
+        return new Function(name, functionClass, signature);
+    }
+}
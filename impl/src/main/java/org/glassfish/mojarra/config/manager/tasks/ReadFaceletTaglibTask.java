@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.config.manager.tasks;
+
+import static java.text.MessageFormat.format;
+import static java.util.logging.Level.WARNING;
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.BEHAVIOR;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.BEHAVIOR_ID;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.COMPONENT;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.COMPONENT_TYPE;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.COMPOSITE_LIBRARY_NAME;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.CONVERTER;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.CONVERTER_ID;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.FUNCTION;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.FUNCTION_CLASS;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.FUNCTION_NAME;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.FUNCTION_SIGNATURE;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.HANDLER_CLASS;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.LIBRARY_CLASS;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.NAMESPACE;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.RENDERER_TYPE;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.RESOURCE_ID;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.SOURCE;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.TAG;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.TAG_NAME;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.VALIDATOR;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.VALIDATOR_ID;
+import static org.glassfish.mojarra.config.manager.documents.FaceletTaglib.trimToNull;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.logging.Logger;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.glassfish.mojarra.config.ConfigurationException;
+import org.glassfish.mojarra.config.manager.documents.DocumentInfo;
+import org.glassfish.mojarra.config.manager.documents.FaceletTaglib;
+import org.glassfish.mojarra.config.manager.documents.FaceletTaglib.Component;
+import org.glassfish.mojarra.config.manager.documents.FaceletTaglib.Function;
+import org.glassfish.mojarra.config.manager.documents.FaceletTaglib.Handler;
+import org.glassfish.mojarra.config.manager.documents.FaceletTaglib.Tag;
+import org.glassfish.mojarra.util.FacesLogger;
+import org.glassfish.mojarra.util.Util;
+
+/**
+ * <p>
+ * This <code>Callable</code> reads a <code>facelet-taglib</code> document straight into a {@link FaceletTaglib}, in one
+ * pass over a StAX stream and without building a DOM, which is all that is needed when the document is not validated.
+ * Everything the <code>FaceletTaglibConfigProcessor</code> does not use, such as descriptions and attribute
+ * declarations, is skipped rather than kept around until startup completes.
+ * </p>
+ *
+ * @see ParseConfigResourceToDOMTask
+ */
+public class ReadFaceletTaglibTask implements Callable<DocumentInfo> {
+
+    private static final Logger LOGGER = FacesLogger.CONFIG.getLogger();
+
+    private static final String FACELET_TAGLIB_TAGNAME = "facelet-taglib";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = Util.createXMLInputFactory();
+
+    private final URI documentURI;
+
+    /**
+     * @param documentURI a URI to the configuration resource to be read
+     */
+    public ReadFaceletTaglibTask(URI documentURI) {
+        this.documentURI = documentURI;
+    }
+
+    // ----------------------------------------------- Methods from Callable
+
+    /**
+     * @return what the document declares
+     * @throws Exception if an error occurs during the reading process
+     */
+    @Override
+    public DocumentInfo call() throws Exception {
+        String systemId = documentURI.toURL().toExternalForm();
+
+        try {
+            URLConnection connection = documentURI.toURL().openConnection();
+            connection.setUseCaches(false);
+
+            try (InputStream stream = new BufferedInputStream(connection.getInputStream())) {
+                XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(systemId, stream);
+
+                try {
+                    return new DocumentInfo(read(reader, systemId), documentURI);
+                } finally {
+                    reader.close();
+                }
+            }
+        } catch (Exception e) {
+            throw new ConfigurationException(format("Unable to parse document ''{0}'': {1}", systemId, e.getMessage()), e);
+        }
+    }
+
+    // ----------------------------------------------------- Private Methods
+
+    private static FaceletTaglib read(XMLStreamReader reader, String systemId) throws XMLStreamException {
+        while (reader.next() != START_ELEMENT) {
+            // Skip the prolog.
+        }
+
+        String libraryClass = null;
+        String namespace = null;
+        String compositeLibraryName = null;
+        List<Tag> tags = new ArrayList<>();
+        List<Function> functions = new ArrayList<>();
+
+        if (!FACELET_TAGLIB_TAGNAME.equals(reader.getLocalName())) {
+            LOGGER.log(WARNING, format("Config document {0} with namespace URI {1} is not a faces-config or facelet-taglib file.  Ignoring.", systemId,
+                    reader.getNamespaceURI()));
+            return new FaceletTaglib(systemId, null, null, null, tags, functions);
+        }
+
+        String documentNamespace = reader.getNamespaceURI();
+
+        while (nextChild(reader)) {
+            boolean inDocumentNamespace = Objects.equals(documentNamespace, reader.getNamespaceURI());
+
+            switch (reader.getLocalName()) {
+            case LIBRARY_CLASS:
+                String text = readText(reader);
+                if (inDocumentNamespace && libraryClass == null) {
+                    libraryClass = text;
+                }
+                break;
+            case NAMESPACE:
+                namespace = readText(reader);
+                break;
+            case COMPOSITE_LIBRARY_NAME:
+                compositeLibraryName = readText(reader);
+                break;
+            case TAG:
+                if (inDocumentNamespace) {
+                    tags.add(readTag(reader));
+                } else {
+                    skip(reader);
+                }
+                break;
+            case FUNCTION:
+                if (inDocumentNamespace) {
+                    functions.add(readFunction(reader));
+                } else {
+                    skip(reader);
+                }
+                break;
+            default:
+                skip(reader);
+                break;
+            }
+        }
+
+        return new FaceletTaglib(systemId, libraryClass, namespace, compositeLibraryName, tags, functions);
+    }
+
+    private static Tag readTag(XMLStreamReader reader) throws XMLStreamException {
+        String name = null;
+        Component component = null;
+        Handler converter = null;
+        Handler validator = null;
+        Handler behavior = null;
+        String source = null;
+        String handlerClass = null;
+
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+            case TAG_NAME:
+                name = readText(reader);
+                break;
+            case COMPONENT:
+                component = readComponent(reader);
+                break;
+            case CONVERTER:
+                converter = readHandler(reader, CONVERTER_ID);
+                break;
+            case VALIDATOR:
+                validator = readHandler(reader, VALIDATOR_ID);
+                break;
+            case BEHAVIOR:
+                behavior = readHandler(reader, BEHAVIOR_ID);
+                break;
+            case SOURCE:
+                source = readText(reader);
+                break;
+            case HANDLER_CLASS:
+                handlerClass = readText(reader);
+                break;
+            default:
+                skip(reader);
+                break;
+            }
+        }
+
+        return new Tag(name, component, converter, validator, behavior, source, handlerClass);
+    }
+
+    private static Component readComponent(XMLStreamReader reader) throws XMLStreamException {
+        String componentType = null;
+        String rendererType = null;
+        String handlerClass = null;
+        String resourceId = null;
+
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+            case COMPONENT_TYPE:
+                componentType = readText(reader);
+                break;
+            case RENDERER_TYPE:
+                rendererType = readText(reader);
+                break;
+            case HANDLER_CLASS:
+                handlerClass = readText(reader);
+                break;
+            case RESOURCE_ID:
+                resourceId = readText(reader);
+                break;
+            default:
+                skip(reader);
+                break;
+            }
+        }
+
+        return new Component(componentType, rendererType, handlerClass, resourceId);
+    }
+
+    private static Handler readHandler(XMLStreamReader reader, String idElement) throws XMLStreamException {
+        String id = null;
+        String handlerClass = null;
+
+        while (nextChild(reader)) {
+            if (idElement.equals(reader.getLocalName())) {
+                id = readText(reader);
+            } else if (HANDLER_CLASS.equals(reader.getLocalName())) {
+                handlerClass = readText(reader);
+            } else {
+                skip(reader);
+            }
+        }
+
+        return new Handler(id, handlerClass);
+    }
+
+    private static Function readFunction(XMLStreamReader reader) throws XMLStreamException {
+        String name = null;
+        String functionClass = null;
+        String signature = null;
+
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+            case FUNCTION_NAME:
+                name = readText(reader);
+                break;
+            case FUNCTION_CLASS:
+                functionClass = readText(reader);
+                break;
+            case FUNCTION_SIGNATURE:
+                signature = readText(reader);
+                break;
+            default:
+                skip(reader);
+                break;
+            }
+        }
+
+        return new Function(name, functionClass, signature);
+    }
+
+    /**
+     * Moves to the start of the next child element of the current element.
+     *
+     * @return <code>false</code> when the current element ended instead, which leaves the reader at its end
+     */
+    private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+            case START_ELEMENT:
+                return true;
+            case END_ELEMENT:
+                return false;
+            default:
+                break;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads the text of the current element and everything nested in it, like the DOM <code>getTextContent()</code>, and
+     * leaves the reader at the end of the element.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+
+        for (int depth = 0; depth >= 0;) {
+            switch (reader.next()) {
+            case START_ELEMENT:
+                depth++;
+                break;
+            case END_ELEMENT:
+                depth--;
+                break;
+            case CHARACTERS:
+            case CDATA:
+            case SPACE:
+                text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                break;
+            default:
+                break;
+            }
+        }
+
+        return trimToNull(text.toString());
+    }
+
+    /**
+     * Skips the current element and everything nested in it, and leaves the reader at the end of the element.
+     */
+    private static void skip(XMLStreamReader reader) throws XMLStreamException {
+        for (int depth = 0; depth >= 0;) {
+            switch (reader.next()) {
+            case START_ELEMENT:
+                depth++;
+                break;
+            case END_ELEMENT:
+                depth--;
+                break;
+            default:
+                break;
+            }
+        }
+    }
+}
@@ -191,8 +191,25 @@ public abstract class AbstractConfigProcessor implements ConfigProcessor {
         return result;
     }
 
+    /**
+     * @param sc the involved servlet context
+     * @param facesContext the involved faces context
+     * @param className the class to instantiate
+     * @param sourceDocument the URI of the document declaring the class, which is named when it cannot be instantiated
+     * @return the new instance
+     */
+    protected Object createInstance(ServletContext sc, FacesContext facesContext, String className, String sourceDocument) {
+        return createInstance(sc, facesContext, className, null, null, sourceDocument, true, new boolean[1]);
+    }
+
     protected Object createInstance(ServletContext sc, FacesContext facesContext, String className, Class<?> rootType, Object root, Node source,
             boolean performInjection, boolean[] didPerformInjection) {
+        String sourceDocument = source != null ? source.getOwnerDocument().getDocumentURI() : null;
+        return createInstance(sc, facesContext, className, rootType, root, sourceDocument, performInjection, didPerformInjection);
+    }
+
+    private Object createInstance(ServletContext sc, FacesContext facesContext, String className, Class<?> rootType, Object root, String sourceDocument,
+            boolean performInjection, boolean[] didPerformInjection) {
         Class<?> clazz;
         Object returnObject = null;
         if (className != null) {
@@ -230,14 +247,14 @@ public abstract class AbstractConfigProcessor implements ConfigProcessor {
                 }
 
             } catch (ClassNotFoundException cnfe) {
-                throw new ConfigurationException(buildMessage(format("Unable to find class ''{0}''", className), source), cnfe);
+                throw new ConfigurationException(buildMessage(format("Unable to find class ''{0}''", className), sourceDocument), cnfe);
             } catch (NoClassDefFoundError ncdfe) {
                 throw new ConfigurationException(
-                        buildMessage(format("Class ''{0}'' is missing a runtime dependency: {1}", className, ncdfe.toString()), source), ncdfe);
+                        buildMessage(format("Class ''{0}'' is missing a runtime dependency: {1}", className, ncdfe.toString()), sourceDocument), ncdfe);
             } catch (ClassCastException cce) {
-                throw new ConfigurationException(buildMessage(format("Class ''{0}'' is not an instance of ''{1}''", className, rootType), source), cce);
+                throw new ConfigurationException(buildMessage(format("Class ''{0}'' is not an instance of ''{1}''", className, rootType), sourceDocument), cce);
             } catch (IllegalArgumentException | ReflectiveOperationException | SecurityException | FacesException e) {
-                throw new ConfigurationException(buildMessage(format("Unable to create a new instance of ''{0}'': {1}", className, e.toString()), source), e);
+                throw new ConfigurationException(buildMessage(format("Unable to create a new instance of ''{0}'': {1}", className, e.toString()), sourceDocument), e);
             }
         }
 
@@ -313,7 +330,11 @@ public abstract class AbstractConfigProcessor implements ConfigProcessor {
     }
 
     private String buildMessage(String cause, Node source) {
-        return MessageFormat.format("\n  Source Document: {0}\n  Cause: {1}", source.getOwnerDocument().getDocumentURI(), cause);
+        return buildMessage(cause, source.getOwnerDocument().getDocumentURI());
+    }
+
+    private String buildMessage(String cause, String sourceDocument) {
+        return MessageFormat.format("\n  Source Document: {0}\n  Cause: {1}", sourceDocument, cause);
     }
 
     private static boolean isDevelopment(FacesContext facesContext) {
@@ -55,6 +55,7 @@ import jakarta.faces.render.RenderKitFactory;
 import org.glassfish.mojarra.application.view.ViewScopeManager;
 import org.glassfish.mojarra.cdi.CdiUtils;
 import org.glassfish.mojarra.el.ELContextImpl;
+import org.glassfish.mojarra.lifecycle.RenderProfiler;
 import org.glassfish.mojarra.renderkit.RenderKitUtils;
 import org.glassfish.mojarra.util.FacesLogger;
 import org.glassfish.mojarra.util.RequestStateManager;
@@ -500,6 +501,7 @@ public class FacesContextImpl extends FacesContext {
      */
     @Override
     public void release() {
+        RenderProfiler.finish(this);
         BeanManager beanManager = Util.getCdiBeanManager(this);
         ViewScopeManager.releaseViewMaps(this);
 
@@ -16,13 +16,16 @@
 
 package org.glassfish.mojarra.context;
 
-import static java.util.Optional.ofNullable;
+import static java.util.Collections.synchronizedMap;
 
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -190,16 +193,46 @@ public class SessionMap extends BaseContextMap<Object> {
 
     // ----------------------------------------------------------- Session Mutex
 
-    private static final class Mutex implements Serializable {
+    /**
+     * A {@link ReentrantLock} rather than a plain monitor, so that a thread waiting for it does not pin the carrier
+     * thread when requests are served by virtual threads. It deserializes unlocked.
+     */
+    private static final class Mutex extends ReentrantLock {
         private static final long serialVersionUID = 1L;
     }
 
+    private static final Map<Object, Lock> FOREIGN_SESSION_LOCKS = synchronizedMap(new WeakHashMap<>());
+
     public static void createMutex(HttpSession session) {
         session.setAttribute(MUTEX, new Mutex());
     }
 
-    public static Object getMutex(Object session) {
-        return session instanceof HttpSession ? ofNullable(((HttpSession) session).getAttribute(MUTEX)).orElse(session) : session;
+    /**
+     * Returns the lock guarding compound operations on the attributes of the given session, such as a check-then-put
+     * of a map shared by all requests of the session. The lock is normally created along with the session; for a
+     * session which was created before the application was listening, it is created on first use.
+     *
+     * @param session the session as obtained from {@link jakarta.faces.context.ExternalContext#getSession(boolean)}
+     * @return the lock of the given session
+     */
+    public static Lock getLock(Object session) {
+        if (!(session instanceof HttpSession httpSession)) {
+            return FOREIGN_SESSION_LOCKS.computeIfAbsent(session, $ -> new ReentrantLock());
+        }
+
+        Object mutex = httpSession.getAttribute(MUTEX);
+
+        if (!(mutex instanceof Lock)) {
+            synchronized (httpSession) { // Only once per session, and nothing blocks inside.
+                mutex = httpSession.getAttribute(MUTEX);
+                if (!(mutex instanceof Lock)) {
+                    createMutex(httpSession);
+                    mutex = httpSession.getAttribute(MUTEX);
+                }
+            }
+        }
+
+        return (Lock) mutex;
     }
 
     public static void removeMutex(HttpSession session) {
@@ -18,11 +18,20 @@
 package org.glassfish.mojarra.context.flash;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
-
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.security.InvalidKeyException;
+import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -32,9 +41,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import jakarta.faces.application.FacesMessage;
 import jakarta.faces.component.UIViewRoot;
@@ -52,8 +65,11 @@ import jakarta.servlet.http.HttpServletRequest;
 
 import org.glassfish.mojarra.config.MojarraContextParam;
 import org.glassfish.mojarra.facelets.tag.ui.UIDebug;
+import org.glassfish.mojarra.spi.SerializationProvider;
+import org.glassfish.mojarra.spi.SerializationProviderFactory;
 import org.glassfish.mojarra.util.ByteArrayGuardAESCTR;
 import org.glassfish.mojarra.util.FacesLogger;
+import org.glassfish.mojarra.util.MojarraThreadFactory;
 
 /**
  * <p>
@@ -91,6 +107,18 @@ import org.glassfish.mojarra.util.FacesLogger;
  * "previous" map. Any writes to the flash before RENDER RESPONSE go to the "previous" map. Any writes to the flash
  * during RENDER RESPNOSE go to the "next" map.
  * </p>
+ *
+ * <p>
+ * When {@link MojarraContextParam#FLASH_COOKIE_STORAGE_SIZE} is set, the cookie is signed and carries the serialized
+ * flash maps themselves as long as it stays within that size, so that the request after a redirect can be served by
+ * any node of a cluster. Maps which do not fit, or which are written during RENDER RESPONSE after the cookie went out,
+ * stay in innerMap as before. This requires <code>java:comp/env/faces/FlashSecretKey</code> to be set to the same key
+ * on all nodes, and is disabled with a warning when it is not set. A signed cookie also carries when it was issued and a
+ * nonce. The flash maps it carries are only restored within {@link MojarraContextParam#FLASH_EXPIRATION_TIME} and only
+ * the first time the nonce is seen on this node, so that a cookie which is sent again, e.g. because no later response
+ * replaced it, does not bring back a flash which was already used. They are deserialized through the filter of
+ * {@link MojarraContextParam#FLASH_COOKIE_SERIALIZATION_FILTER}.
+ * </p>
  */
 
 public class ELFlash extends Flash {
@@ -101,11 +129,12 @@ public class ELFlash extends Flash {
      * <p>
      * Keys in this map are the string version of sequence numbers obtained via calls to {@link #getNewSequenceNumber}.
      * Values are the actual Map instances that back the actual Map methods on this class. All writes to and reads from this
-     * map are done by the {@link PreviousNextFlashInfoManager} inner class.
+     * map are done by the {@link PreviousNextFlashInfoManager} inner class. It is a {@link FlashStore}, unless it was
+     * replaced by the one replicated along with the session.
      * </p>
      *
      */
-    private Map<String, Map<String, Object>> flashInnerMap = null;
+    private volatile Map<String, Map<String, Object>> flashInnerMap = null;
 
     private final AtomicLong sequenceNumber = new AtomicLong(0);
 
@@ -119,6 +148,34 @@ public class ELFlash extends Flash {
 
     private final ByteArrayGuardAESCTR guard;
 
+    private final int cookieStorageSize;
+
+    private final SerializationProvider serialProvider;
+
+    /**
+     * <p>
+     * The classes which may be deserialized from a flash cookie.
+     * </p>
+     */
+    private final ObjectInputFilter cookieSerializationFilter;
+
+    /**
+     * <p>
+     * Milliseconds after which the flash maps carried by a cookie are no longer restored.
+     * </p>
+     */
+    private final long cookieExpirationTime;
+
+    /**
+     * <p>
+     * The nonces of the flash cookies whose flash maps were restored on this node, along with when those cookies expire.
+     * </p>
+     */
+    private final Map<String, Long> consumedCookieNonces = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService sweeper;
+
+    private FlashMonitor monitor;
 
     /**
      * <p>
@@ -150,6 +207,24 @@ public class ELFlash extends Flash {
      */
     static final String FLASH_NOW_REQUEST_KEY = FLASH_ATTRIBUTE_NAME + "n";
 
+    /**
+     * <p>
+     * The classes which may always be deserialized from a flash cookie, checked after the ones configured with
+     * {@link MojarraContextParam#FLASH_COOKIE_SERIALIZATION_FILTER}.
+     * </p>
+     */
+    static final String DEFAULT_COOKIE_SERIALIZATION_FILTER = "maxdepth=32;java.lang.*;java.math.*;java.time.*;java.util.*;"
+            + "jakarta.faces.application.FacesMessage;jakarta.faces.application.FacesMessage$Severity;!*";
+
+    /**
+     * <p>
+     * Separates when a signed flash cookie was issued and its nonce from the rest of its value.
+     * </p>
+     */
+    private static final char COOKIE_HEADER_SEPARATOR = '~';
+
+    private static final SecureRandom COOKIE_NONCES = new SecureRandom();
+
     enum CONSTANTS {
 
         /**
@@ -200,15 +275,34 @@ public class ELFlash extends Flash {
 
     /** Creates a new instance of ELFlash */
     ELFlash(ExternalContext extContext) {
-        flashInnerMap = new ConcurrentHashMap<>();
         ServletContext servletContext = (ServletContext) extContext.getContext();
         numberOfConcurentFlashUsers = MojarraContextParam.NUMBER_OF_CONCURRENT_FLASH_USERS.getInt(servletContext);
+        // Every user has a previous and a next flash map.
+        flashInnerMap = new FlashStore(MojarraContextParam.FLASH_EXPIRATION_TIME.getLong(servletContext), 2 * numberOfConcurentFlashUsers);
         numberOfFlashesBetweenFlashReapings = MojarraContextParam.NUMBER_OF_FLASHES_BETWEEN_FLASH_REAPINGS.getInt(servletContext);
         distributable = MojarraContextParam.ENABLE_DISTRIBUTABLE.isEnabled(servletContext);
         forceAlwaysWriteFlashCookie = MojarraContextParam.FORCE_ALWAYS_WRITE_FLASH_COOKIE.isEnabled(servletContext);
-
         guard = new ByteArrayGuardAESCTR();
 
+        int cookieStorageSize = MojarraContextParam.FLASH_COOKIE_STORAGE_SIZE.getInt(servletContext);
+
+        if (cookieStorageSize > 0 && !guard.isKeyConfigured()) {
+            // Every node would generate its own key and reject the cookies of the others, defeating the purpose.
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "faces.externalcontext.flash.cookie.storage.no.key", MojarraContextParam.FLASH_COOKIE_STORAGE_SIZE.getName());
+            }
+
+            cookieStorageSize = 0;
+        }
+
+        this.cookieStorageSize = cookieStorageSize;
+        serialProvider = cookieStorageSize > 0 ? SerializationProviderFactory.createInstance(extContext) : null;
+        cookieSerializationFilter = createCookieSerializationFilter(MojarraContextParam.FLASH_COOKIE_SERIALIZATION_FILTER.getString(servletContext));
+
+        // Flash maps carried by a cookie always expire, as otherwise the nonces of their cookies could never be forgotten.
+        long expirationTime = MojarraContextParam.FLASH_EXPIRATION_TIME.getLong(servletContext);
+        cookieExpirationTime = 0 < expirationTime ? expirationTime : MojarraContextParam.FLASH_EXPIRATION_TIME.<Long>getDefaultValue(null);
+
     }
 
     /**
@@ -243,6 +337,7 @@ public class ELFlash extends Flash {
             synchronized (extContext.getContext()) {
                 if (null == (flash = (ELFlash) appMap.get(FLASH_ATTRIBUTE_NAME))) {
                     flash = new ELFlash(extContext);
+                    flash.startMonitoring(extContext.getApplicationContextPath());
                     appMap.put(FLASH_ATTRIBUTE_NAME, flash);
                 }
             }
@@ -267,6 +362,20 @@ public class ELFlash extends Flash {
         return flash;
     }
 
+    /**
+     * <p>
+     * Stops the background sweeping and the monitoring of the flash of the given application, if it was ever used.
+     * </p>
+     *
+     * @param servletContext the <code>ServletContext</code> of the application being destroyed.
+     */
+    public static void clearInstance(ServletContext servletContext) {
+        ELFlash flash = (ELFlash) servletContext.getAttribute(FLASH_ATTRIBUTE_NAME);
+        if (null != flash) {
+            flash.stopMonitoring();
+        }
+    }
+
     // </editor-fold>
 
     // <editor-fold defaultstate="collapsed" desc="Abstract class overrides">
@@ -523,7 +632,8 @@ public class ELFlash extends Flash {
             }
         } else if (currentPhase.equals(PhaseId.RENDER_RESPONSE) && forceAlwaysWriteFlashCookie) {
             PreviousNextFlashInfoManager flashManager = getCurrentFlashManager(contextMap, true);
-            cookie = flashManager.encode();
+            // The flash maps may still change during rendering, so this cookie must not carry them.
+            cookie = flashManager.copyWithoutInnerMap().encode();
             if (null != cookie) {
                 setCookie(context, flashManager, cookie, true);
             } else {
@@ -616,8 +726,81 @@ public class ELFlash extends Flash {
             LOGGER.log(Level.FINEST, "---------------------------------------");
         }
 
-        setCookie(context, flashManager, flashManager.encode(), false);
+        if (setCookie(context, flashManager, flashManager.encode(), false)) {
+            flashManager.releaseFlashMapsInCookie();
+        }
+
+    }
+
+    /**
+     * <p>
+     * Register the flash store with JMX and, if flash maps expire, start removing the expired ones in the background at
+     * half the expiration time, so that a flash map lives at most one and a half times the expiration time.
+     * </p>
+     */
+    synchronized void startMonitoring(String application) {
+        if (null != monitor) {
+            return;
+        }
+
+        monitor = new FlashMonitor(this);
+        monitor.register(application);
+
+        long sweepInterval = (0 < cookieStorageSize ? cookieExpirationTime : monitor.getExpirationTime()) / 2;
+        if (0 < sweepInterval) {
+            sweeper = Executors.newSingleThreadScheduledExecutor(new MojarraThreadFactory("FlashSweeper"));
+            sweeper.scheduleWithFixedDelay(this::sweepFlashes, sweepInterval, sweepInterval, MILLISECONDS);
+        }
+    }
+
+    synchronized void stopMonitoring() {
+        if (null != sweeper) {
+            sweeper.shutdownNow();
+            sweeper = null;
+        }
+        if (null != monitor) {
+            monitor.unregister();
+            monitor = null;
+        }
+    }
+
+    void sweepFlashes() {
+        long now = System.currentTimeMillis();
+        Map<String, Map<String, Object>> store = flashInnerMap;
+        if (store instanceof FlashStore) {
+            ((FlashStore) store).sweep(now);
+        }
+        consumedCookieNonces.values().removeIf(expires -> expires < now);
+    }
+
+    /**
+     * <p>
+     * Consume the nonce of a flash cookie whose flash maps are about to be restored.
+     * </p>
+     *
+     * @param nonce the nonce of the cookie.
+     * @param issued the {@link System#currentTimeMillis()} at which the cookie was issued.
+     * @return <code>true</code> when the cookie did not expire yet and its nonce was not consumed before, else the flash
+     * maps it carries must not be restored.
+     */
+    boolean consumeCookieNonce(String nonce, long issued) {
+        long expires = issued + cookieExpirationTime;
+        return System.currentTimeMillis() <= expires && null == consumedCookieNonces.putIfAbsent(nonce, expires);
+    }
+
+    private static ObjectInputFilter createCookieSerializationFilter(String configured) {
+        if (null != configured && !configured.isBlank()) {
+            try {
+                return ObjectInputFilter.Config.createFilter(configured.strip() + ";" + DEFAULT_COOKIE_SERIALIZATION_FILTER);
+            } catch (IllegalArgumentException e) {
+                if (LOGGER.isLoggable(Level.WARNING)) {
+                    LOGGER.log(Level.WARNING, "faces.externalcontext.flash.cookie.serialization.filter.invalid",
+                            new Object[] { MojarraContextParam.FLASH_COOKIE_SERIALIZATION_FILTER.getName(), configured, e.getMessage() });
+                }
+            }
+        }
 
+        return ObjectInputFilter.Config.createFilter(DEFAULT_COOKIE_SERIALIZATION_FILTER);
     }
 
     void setFlashInnerMap(Map<String, Map<String, Object>> flashInnerMap) {
@@ -900,18 +1083,21 @@ public class ELFlash extends Flash {
      * <p>
      * Set the cookie iff the response was not yet committed. If the response was committed, log a warning.
      * </p>
+     *
+     * @return whether the given cookie was actually added to the response.
      */
 
-    private void setCookie(FacesContext context, PreviousNextFlashInfoManager flashManager, Cookie toSet, boolean forceWrite) {
+    private boolean setCookie(FacesContext context, PreviousNextFlashInfoManager flashManager, Cookie toSet, boolean forceWrite) {
+        boolean written = false;
         Map<Object, Object> contextMap = context.getAttributes();
         ExternalContext extContext = context.getExternalContext();
         if (contextMap.containsKey(CONSTANTS.DidWriteCookieAttributeName)) {
-            return;
+            return written;
         }
         FlashInfo nextFlash = flashManager.getNextRequestFlashInfo(), prevFlash = flashManager.getPreviousRequestFlashInfo();
         if (context.getAttributes().containsKey(CONSTANTS.ForceSetMaxAgeZero)) {
             removeCookie(extContext, toSet);
-            return;
+            return written;
         }
 
         // Don't try to write the cookie unless there is data in the flash.
@@ -947,11 +1133,13 @@ public class ELFlash extends Flash {
                 properties.put("httpOnly", Boolean.TRUE);
                 extContext.addResponseCookie(toSet.getName(), toSet.getValue(), !properties.isEmpty() ? properties : null);
                 properties = null;
+                written = true;
             }
             contextMap.put(CONSTANTS.DidWriteCookieAttributeName, Boolean.TRUE);
         } else {
             removeCookie(extContext, toSet);
         }
+        return written;
     }
 
     private void removeCookie(ExternalContext extContext, Cookie toRemove) {
@@ -1042,7 +1230,7 @@ public class ELFlash extends Flash {
         PreviousNextFlashInfoManager result = (PreviousNextFlashInfoManager) contextMap.get(CONSTANTS.RequestFlashManager);
 
         if (null == result && create) {
-            result = new PreviousNextFlashInfoManager(guard, flashInnerMap);
+            result = new PreviousNextFlashInfoManager(guard, flashInnerMap, cookieStorageSize, serialProvider);
             result.initializeBaseCase(this);
             contextMap.put(CONSTANTS.RequestFlashManager, result);
 
@@ -1060,7 +1248,7 @@ public class ELFlash extends Flash {
         PreviousNextFlashInfoManager result = (PreviousNextFlashInfoManager) contextMap.get(CONSTANTS.RequestFlashManager);
 
         if (null == result) {
-            result = new PreviousNextFlashInfoManager(guard, flashInnerMap);
+            result = new PreviousNextFlashInfoManager(guard, flashInnerMap, cookieStorageSize, serialProvider);
             try {
                 result.decode(context, this, cookie);
                 contextMap.put(CONSTANTS.RequestFlashManager, result);
@@ -1115,18 +1303,43 @@ public class ELFlash extends Flash {
 
         private ByteArrayGuardAESCTR guard;
 
+        /**
+         * <p>
+         * Maximum length of a cookie carrying the flash maps, or zero when the cookie only carries sequence numbers.
+         * </p>
+         */
+        private int cookieStorageSize;
+
+        private SerializationProvider serialProvider;
+
+        /**
+         * <p>
+         * Whether the last call to {@link #encode} put the flash maps into the cookie.
+         * </p>
+         */
+        private boolean flashMapsInCookie;
+
         private PreviousNextFlashInfoManager(ByteArrayGuardAESCTR guard) {
             this.guard = guard;
         }
 
         PreviousNextFlashInfoManager(ByteArrayGuardAESCTR guard, Map<String, Map<String, Object>> innerMap) {
+            this(guard, innerMap, 0, null);
+        }
+
+        PreviousNextFlashInfoManager(ByteArrayGuardAESCTR guard, Map<String, Map<String, Object>> innerMap, int cookieStorageSize,
+                SerializationProvider serialProvider) {
             this.guard = guard;
             this.innerMap = innerMap;
+            this.cookieStorageSize = cookieStorageSize;
+            this.serialProvider = serialProvider;
         }
 
         protected PreviousNextFlashInfoManager copyWithoutInnerMap() {
             PreviousNextFlashInfoManager result = new PreviousNextFlashInfoManager(guard);
             result.innerMap = Collections.emptyMap();
+            result.cookieStorageSize = cookieStorageSize;
+            result.serialProvider = serialProvider;
             if (null != previousRequestFlashInfo) {
                 result.previousRequestFlashInfo = previousRequestFlashInfo.copyWithoutInnerMap();
             }
@@ -1242,21 +1455,52 @@ public class ELFlash extends Flash {
         void decode(FacesContext context, ELFlash flash, Cookie cookie) throws InvalidKeyException {
             String value = null;
             try {
+                if (null == cookie.getValue()) {
+                    throw new InvalidKeyException("Missing value");
+                }
+
                 String urlDecodedValue = URLDecoder.decode(cookie.getValue(), UTF_8);
-                value = guard.decrypt(urlDecodedValue);
+                boolean restoreFlashMaps = false;
+
+                if (0 < cookieStorageSize) {
+                    value = guard.verifyAndDecrypt(urlDecodedValue);
+
+                    // A signed value starts with when it was issued and a nonce.
+                    int issuedEnd = value.indexOf(COOKIE_HEADER_SEPARATOR);
+                    int nonceEnd = value.indexOf(COOKIE_HEADER_SEPARATOR, issuedEnd + 1);
+                    if (0 > nonceEnd) {
+                        throw new IllegalArgumentException("Missing issue time or nonce");
+                    }
+                    long issued = Long.parseLong(value.substring(0, issuedEnd));
+                    String nonce = value.substring(issuedEnd + 1, nonceEnd);
+                    value = value.substring(nonceEnd + 1);
+
+                    if (0 <= value.indexOf(':')) {
+                        restoreFlashMaps = flash.consumeCookieNonce(nonce, issued);
+                        if (!restoreFlashMaps && LOGGER.isLoggable(Level.FINE)) {
+                            LOGGER.log(Level.FINE, "Flash cookie expired or was already used, not restoring the flash maps it carries");
+                        }
+                    }
+                } else {
+                    value = guard.decrypt(urlDecodedValue);
+                }
+
                 int i = value.indexOf("_");
+                if (0 > i) {
+                    throw new IllegalArgumentException("Missing separator");
+                }
 
                 // IMPORTANT: what was "next" when the cookie was
                 // encoded is now "previous". Therefore decode "next" first.
                 String temp = value.substring(0, i++);
                 if (0 < temp.length()) {
                     nextRequestFlashInfo = new FlashInfo();
-                    nextRequestFlashInfo.decode(temp);
+                    decodeFlashInfo(flash, nextRequestFlashInfo, temp, restoreFlashMaps);
                 }
 
                 // invariant we must always have something after the _
                 previousRequestFlashInfo = new FlashInfo();
-                previousRequestFlashInfo.decode(value.substring(i));
+                decodeFlashInfo(flash, previousRequestFlashInfo, value.substring(i), restoreFlashMaps);
 
                 // handle the consequences of action taken on doLastPhaseActions
                 if (previousRequestFlashInfo.isIsRedirect()) {
@@ -1294,29 +1538,67 @@ public class ELFlash extends Flash {
                     }
                     nextRequestFlashInfo.setFlashMap(flashMap);
                 }
-            } catch (Throwable t) {
-                previousRequestFlashInfo = new FlashInfo();
-                previousRequestFlashInfo.setLifetimeMarker(LifetimeMarker.FirstTimeThru);
-                previousRequestFlashInfo.setFlashMap(new HashMap<>(1));
-                nextRequestFlashInfo = null;
-                context.getAttributes().put(CONSTANTS.ForceSetMaxAgeZero, Boolean.TRUE);
-                if (LOGGER.isLoggable(Level.SEVERE)) {
-                    LOGGER.log(Level.SEVERE, "faces.externalcontext.flash.bad.cookie", new Object[] { value });
-                }
+            } catch (InvalidKeyException | IOException | ClassNotFoundException | ClassCastException | IllegalArgumentException
+                    | IllegalStateException | IndexOutOfBoundsException e) {
+                // Not signed or encrypted with our key, a malformed URL encoding, Base64, number or lifetime marker, or
+                // flash maps which cannot or may not be deserialized.
+                discard(context, value, e);
             }
 
         }
 
+        private void discard(FacesContext context, String value, Exception cause) {
+            previousRequestFlashInfo = new FlashInfo();
+            previousRequestFlashInfo.setLifetimeMarker(LifetimeMarker.FirstTimeThru);
+            previousRequestFlashInfo.setFlashMap(new HashMap<>(1));
+            nextRequestFlashInfo = null;
+            context.getAttributes().put(CONSTANTS.ForceSetMaxAgeZero, Boolean.TRUE);
+            if (LOGGER.isLoggable(Level.SEVERE)) {
+                LOGGER.log(Level.SEVERE, "faces.externalcontext.flash.bad.cookie", new Object[] { value });
+            }
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Unable to decode flash cookie", cause);
+            }
+        }
+
         /**
          * <p>
-         * Encode the current state of the PreviousNextFlashInfoManager to the cookie.
+         * Encode the current state of the PreviousNextFlashInfoManager to the cookie. When cookie storage is enabled, the
+         * flash maps go along as long as the cookie stays within the configured size, else it falls back to only carrying the
+         * sequence numbers of the maps in innerMap.
          * </p>
          */
         Cookie encode() {
             String value = (null != previousRequestFlashInfo ? previousRequestFlashInfo.encode() : "") + "_"
                     + (null != nextRequestFlashInfo ? nextRequestFlashInfo.encode() : "");
-            String encryptedValue = guard.encrypt(value);
-            Cookie result = new Cookie(FLASH_COOKIE_NAME, URLEncoder.encode(encryptedValue, UTF_8));
+            String cookieValue = null;
+            flashMapsInCookie = false;
+
+            if (0 < cookieStorageSize) {
+                byte[] nonce = new byte[16];
+                COOKIE_NONCES.nextBytes(nonce);
+                String header = System.currentTimeMillis() + "" + COOKIE_HEADER_SEPARATOR + Base64.getUrlEncoder().withoutPadding().encodeToString(nonce)
+                        + COOKIE_HEADER_SEPARATOR;
+                String valueWithFlashMaps = encodeFlashInfo(previousRequestFlashInfo) + "_" + encodeFlashInfo(nextRequestFlashInfo);
+                if (!valueWithFlashMaps.equals(value)) {
+                    cookieValue = URLEncoder.encode(guard.encryptAndSign(header + valueWithFlashMaps), UTF_8);
+                    flashMapsInCookie = cookieValue.length() <= cookieStorageSize;
+                    if (!flashMapsInCookie) {
+                        if (LOGGER.isLoggable(Level.FINE)) {
+                            LOGGER.log(Level.FINE, "Flash of {0} characters does not fit in cookie of at most {1}, keeping it in the flash store",
+                                    new Object[] { cookieValue.length(), cookieStorageSize });
+                        }
+                        cookieValue = null;
+                    }
+                }
+                if (null == cookieValue) {
+                    cookieValue = URLEncoder.encode(guard.encryptAndSign(header + value), UTF_8);
+                }
+            } else {
+                cookieValue = URLEncoder.encode(guard.encrypt(value), UTF_8);
+            }
+
+            Cookie result = new Cookie(FLASH_COOKIE_NAME, cookieValue);
 
             if (1 == value.length()) {
                 result.setMaxAge(0);
@@ -1329,6 +1611,80 @@ public class ELFlash extends Flash {
             return result;
         }
 
+        /**
+         * <p>
+         * Remove the flash maps from innerMap once the cookie carrying them went out, so that the cookie is the only copy.
+         * </p>
+         */
+        void releaseFlashMapsInCookie() {
+            if (flashMapsInCookie) {
+                if (null != previousRequestFlashInfo) {
+                    innerMap.remove(previousRequestFlashInfo.getSequenceNumber() + "");
+                }
+                if (null != nextRequestFlashInfo) {
+                    innerMap.remove(nextRequestFlashInfo.getSequenceNumber() + "");
+                }
+                flashMapsInCookie = false;
+            }
+        }
+
+        /**
+         * <p>
+         * Encode the flash info followed by its serialized flash map, if any, separated by a colon which does not occur in
+         * Base64. Falls back to the flash info alone when the map cannot be serialized.
+         * </p>
+         */
+        private String encodeFlashInfo(FlashInfo flashInfo) {
+            if (null == flashInfo) {
+                return "";
+            }
+
+            String value = flashInfo.encode();
+            Map<String, Object> flashMap = flashInfo.getFlashMap();
+            if (null == flashMap) {
+                return value;
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = serialProvider.createObjectOutputStream(new GZIPOutputStream(bytes))) {
+                oos.writeObject(new HashMap<>(flashMap));
+            } catch (IOException e) {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Unable to serialize flash into cookie, keeping it in the flash store", e);
+                }
+                return value;
+            }
+            return value + ":" + Base64.getEncoder().encodeToString(bytes.toByteArray());
+        }
+
+        /**
+         * <p>
+         * Decode a flash info encoded by {@link #encodeFlashInfo}. A flash map which came along gets a fresh sequence
+         * number, because the one in the cookie may have been handed out by another node, and is put in innerMap when it
+         * may be restored, else the flash info ends up without one.
+         * </p>
+         */
+        @SuppressWarnings("unchecked")
+        private void decodeFlashInfo(ELFlash flash, FlashInfo flashInfo, String value, boolean restoreFlashMap) throws IOException, ClassNotFoundException {
+            int i;
+            if (0 == cookieStorageSize || 0 > (i = value.indexOf(':'))) {
+                flashInfo.decode(value);
+                return;
+            }
+
+            flashInfo.decode(value.substring(0, i));
+            flashInfo.setSequenceNumber(flash.getNewSequenceNumber());
+            if (!restoreFlashMap) {
+                return;
+            }
+
+            byte[] bytes = Base64.getDecoder().decode(value.substring(i + 1));
+            try (ObjectInputStream ois = serialProvider.createObjectInputStream(new GZIPInputStream(new ByteArrayInputStream(bytes)))) {
+                ois.setObjectInputFilter(flash.cookieSerializationFilter);
+                innerMap.put(flashInfo.getSequenceNumber() + "", (Map<String, Object>) ois.readObject());
+            }
+        }
+
         FlashInfo getPreviousRequestFlashInfo() {
             return previousRequestFlashInfo;
         }
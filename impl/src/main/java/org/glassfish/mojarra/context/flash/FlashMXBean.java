@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.context.flash;
+
+/**
+ * The management interface of the flash store of an application, which is registered as
+ * {@code org.glassfish.mojarra:type=Flash,application=<context path>} once the flash is first used.
+ *
+ * @see ELFlash
+ * @since 5.0
+ */
+public interface FlashMXBean {
+
+    /**
+     * @return the flash maps currently held in the flash store
+     */
+    int getEntries();
+
+    /**
+     * @return the amount of flash maps beyond which the oldest ones are evicted, or zero when there is no maximum
+     */
+    int getMaxEntries();
+
+    /**
+     * @return the milliseconds after which a flash map expires, or zero when flash maps do not expire
+     */
+    long getExpirationTime();
+
+    /**
+     * @return the flash maps removed because they expired
+     */
+    long getExpiredEntries();
+
+    /**
+     * @return the flash maps evicted because the flash store was full
+     */
+    long getEvictedEntries();
+
+    /**
+     * Removes the expired flash maps right away.
+     */
+    void sweep();
+
+    /**
+     * Forgets the counters recorded so far.
+     */
+    void reset();
+}
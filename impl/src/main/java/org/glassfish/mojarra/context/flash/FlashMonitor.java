@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.context.flash;
+
+import static java.util.logging.Level.WARNING;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.glassfish.mojarra.util.FacesLogger;
+
+/**
+ * Exposes the {@link FlashStore} of an {@link ELFlash} as a {@link FlashMXBean} on the platform MBean server.
+ */
+final class FlashMonitor implements FlashMXBean {
+
+    private static final Logger LOGGER = FacesLogger.FLASH.getLogger();
+
+    private static final String DOMAIN = "org.glassfish.mojarra";
+
+    private final ELFlash flash;
+    private ObjectName name;
+
+    FlashMonitor(ELFlash flash) {
+        this.flash = flash;
+    }
+
+    void register(String application) {
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=Flash,application=" + ObjectName.quote(application));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            name = objectName;
+        } catch (JMException e) {
+            LOGGER.log(WARNING, "Unable to register the flash of application " + application + " with JMX", e);
+        }
+    }
+
+    void unregister() {
+        if (name == null) {
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException e) {
+            LOGGER.log(WARNING, "Unable to unregister " + name + " from JMX", e);
+        } finally {
+            name = null;
+        }
+    }
+
+    /**
+     * The store may have been replaced by the one replicated along with the session, so look it up each time.
+     */
+    private FlashStore getStore() {
+        Map<String, Map<String, Object>> flashInnerMap = flash.getFlashInnerMap();
+        return flashInnerMap instanceof FlashStore ? (FlashStore) flashInnerMap : null;
+    }
+
+    // -------------------------------------------------------------- FlashMXBean
+
+    @Override
+    public int getEntries() {
+        return flash.getFlashInnerMap().size();
+    }
+
+    @Override
+    public int getMaxEntries() {
+        FlashStore store = getStore();
+        return store != null ? store.getMaxEntries() : 0;
+    }
+
+    @Override
+    public long getExpirationTime() {
+        FlashStore store = getStore();
+        return store != null ? store.getExpirationTime() : 0;
+    }
+
+    @Override
+    public long getExpiredEntries() {
+        FlashStore store = getStore();
+        return store != null ? store.getExpiredEntries() : 0;
+    }
+
+    @Override
+    public long getEvictedEntries() {
+        FlashStore store = getStore();
+        return store != null ? store.getEvictedEntries() : 0;
+    }
+
+    @Override
+    public void sweep() {
+        flash.sweepFlashes();
+    }
+
+    @Override
+    public void reset() {
+        FlashStore store = getStore();
+        if (store != null) {
+            store.resetCounters();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.context.flash;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * The application wide store behind {@link ELFlash}, keyed by the string version of flash sequence numbers. Next to
+ * being removed by the flash lifecycle, entries expire once they are older than the expiration time, and the oldest
+ * entries are evicted once there are more than the maximum amount of them. This keeps the store bounded when flash maps
+ * are never picked up again, such as after a redirect which the browser did not follow.
+ * </p>
+ *
+ * <p>
+ * Expired entries are removed by {@link #sweep(long)}, which {@link ELFlash} runs in the background. Eviction happens
+ * right away on {@link #put(String, Map)}, and evicts a tenth more than needed so that not every put has to.
+ * </p>
+ */
+final class FlashStore extends AbstractMap<String, Map<String, Object>> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final long expirationTime;
+
+    private final int maxEntries;
+
+    private final LongAdder expired = new LongAdder();
+
+    private final LongAdder evicted = new LongAdder();
+
+    /**
+     * @param expirationTime the milliseconds after which an entry expires, or zero when entries do not expire
+     * @param maxEntries the amount of entries beyond which the oldest ones are evicted, or zero when there is no maximum
+     */
+    FlashStore(long expirationTime, int maxEntries) {
+        this.expirationTime = expirationTime;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Map<String, Object> get(Object key) {
+        Entry entry = entries.get(key);
+        return entry != null ? entry.flashMap() : null;
+    }
+
+    @Override
+    public Map<String, Object> put(String key, Map<String, Object> flashMap) {
+        Entry previous = entries.put(key, new Entry(flashMap, System.currentTimeMillis()));
+
+        if (maxEntries > 0 && entries.size() > maxEntries) {
+            evict();
+        }
+
+        return previous != null ? previous.flashMap() : null;
+    }
+
+    @Override
+    public Map<String, Object> remove(Object key) {
+        Entry entry = entries.remove(key);
+        return entry != null ? entry.flashMap() : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return entries.keySet();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Map<String, Object>>> entrySet() {
+        Map<String, Map<String, Object>> snapshot = new ConcurrentHashMap<>(entries.size());
+        entries.forEach((key, entry) -> snapshot.put(key, entry.flashMap()));
+        return snapshot.entrySet();
+    }
+
+    /**
+     * <p>
+     * Remove the entries which are older than the expiration time.
+     * </p>
+     *
+     * @param now the current {@link System#currentTimeMillis()}
+     */
+    void sweep(long now) {
+        if (expirationTime <= 0) {
+            return;
+        }
+
+        long expiredBefore = now - expirationTime;
+        entries.forEach((key, entry) -> {
+            if (entry.created() < expiredBefore && entries.remove(key, entry)) {
+                expired.increment();
+            }
+        });
+    }
+
+    /**
+     * <p>
+     * Evict the oldest entries until there is room for a tenth of the maximum amount of entries again.
+     * </p>
+     */
+    private synchronized void evict() {
+        int excess = entries.size() - maxEntries + maxEntries / 10;
+        if (excess <= 0) {
+            return;
+        }
+
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().created()))
+                .limit(excess)
+                .filter(entry -> entries.remove(entry.getKey(), entry.getValue()))
+                .forEach(entry -> evicted.increment());
+    }
+
+    long getExpirationTime() {
+        return expirationTime;
+    }
+
+    int getMaxEntries() {
+        return maxEntries;
+    }
+
+    long getExpiredEntries() {
+        return expired.sum();
+    }
+
+    long getEvictedEntries() {
+        return evicted.sum();
+    }
+
+    void resetCounters() {
+        expired.reset();
+        evicted.reset();
+    }
+
+    private record Entry(Map<String, Object> flashMap, long created) implements Serializable {
+    }
+}
@@ -17,16 +17,56 @@
 
 package org.glassfish.mojarra.el;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import jakarta.el.ArrayELResolver;
+import jakarta.el.BeanELResolver;
 import jakarta.el.ELClass;
 import jakarta.el.ELContext;
 import jakarta.el.ELException;
 import jakarta.el.ELResolver;
+import jakarta.el.ListELResolver;
+import jakarta.el.MapELResolver;
+import jakarta.el.OptionalELResolver;
+import jakarta.el.RecordELResolver;
+import jakarta.el.ResourceBundleELResolver;
+import jakarta.faces.application.ResourceHandler;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.context.Flash;
+
+import org.glassfish.mojarra.context.flash.FlashELResolver;
 
 /**
  * Maintains an ordered composite list of child <code>ELResolver for Faces</code>.
  *
  */
 public class DemuxCompositeELResolver extends FacesCompositeELResolver {
+
+    /**
+     * Tells for each resolver of a known class, from the class of a non-null base alone, whether its
+     * <code>getValue</code> may ever resolve a property of that base. Only exact classes are listed, as a subclass may
+     * resolve more. Any other resolver may resolve anything, and is always consulted.
+     */
+    private static final Map<Class<?>, Predicate<Class<?>>> GET_VALUE_BASE_CLASS_FILTERS = Map.ofEntries(
+            Map.entry(FlashELResolver.class, Flash.class::isAssignableFrom),
+            Map.entry(CompositeComponentELResolver.class, baseClass -> false),
+            Map.entry(CompositeComponentAttributesELResolver.class, UIComponent.class::isAssignableFrom),
+            Map.entry(EmptyStringToNullELResolver.class, baseClass -> false),
+            Map.entry(ResourceELResolver.class, ResourceHandler.class::isAssignableFrom),
+            Map.entry(ResourceBundleELResolver.class, ResourceBundle.class::isAssignableFrom),
+            Map.entry(MapELResolver.class, Map.class::isAssignableFrom),
+            Map.entry(ListELResolver.class, List.class::isAssignableFrom),
+            Map.entry(ArrayELResolver.class, Class::isArray),
+            Map.entry(OptionalELResolver.class, Optional.class::isAssignableFrom),
+            Map.entry(RecordELResolver.class, Class::isRecord),
+            Map.entry(BeanELResolver.class, baseClass -> true));
+
     private final ELResolverChainType _chainType;
 
     private ELResolver[] _rootELResolvers = new ELResolver[2];
@@ -39,6 +79,14 @@ public class DemuxCompositeELResolver extends FacesCompositeELResolver {
     private int _allELResolverCount = 0;
     private int _convertELResolverCount = 0;
 
+    /**
+     * The property resolvers which {@link #getValue} consults for a base of a given class, which are those of
+     * <code>_propertyELResolvers</code> minus the ones which cannot resolve it anyway. It is learned per class as bases
+     * are encountered, so that evaluating e.g. <code>#{row.name}</code> on a bean skips probing the flash, map, list,
+     * array, bundle and other resolvers on every single row.
+     */
+    private final Map<Class<?>, ELResolver[]> _getValueELResolversByBaseClass = new ConcurrentHashMap<>();
+
     public DemuxCompositeELResolver(ELResolverChainType chainType) {
         if (chainType == null) {
             throw new NullPointerException();
@@ -132,6 +180,23 @@ public class DemuxCompositeELResolver extends FacesCompositeELResolver {
         // assign new resolver to end
         _propertyELResolvers[_propertyELResolverCount] = elResolver;
         _propertyELResolverCount++;
+        _getValueELResolversByBaseClass.clear();
+    }
+
+    private ELResolver[] _getValueELResolvers(Class<?> baseClass) {
+        ELResolver[] resolvers = new ELResolver[_propertyELResolverCount];
+        int resolverCount = 0;
+
+        for (int i = 0; i < _propertyELResolverCount; i++) {
+            ELResolver resolver = _propertyELResolvers[i];
+            Predicate<Class<?>> filter = GET_VALUE_BASE_CLASS_FILTERS.get(resolver.getClass());
+
+            if (filter == null || filter.test(baseClass)) {
+                resolvers[resolverCount++] = resolver;
+            }
+        }
+
+        return resolverCount == resolvers.length ? resolvers : Arrays.copyOf(resolvers, resolverCount);
     }
 
     @Override
@@ -191,8 +256,8 @@ public class DemuxCompositeELResolver extends FacesCompositeELResolver {
             resolverCount = _rootELResolverCount;
             resolvers = _rootELResolvers;
         } else {
-            resolverCount = _propertyELResolverCount;
-            resolvers = _propertyELResolvers;
+            resolvers = _getValueELResolversByBaseClass.computeIfAbsent(base.getClass(), this::_getValueELResolvers);
+            resolverCount = resolvers.length;
         }
 
         return _getValue(resolverCount, resolvers, context, base, property);
@@ -26,6 +26,7 @@ import jakarta.el.ELContext;
 import jakarta.el.ELResolver;
 import jakarta.el.ExpressionFactory;
 import jakarta.el.FunctionMapper;
+import jakarta.el.ImportHandler;
 import jakarta.el.ValueExpression;
 import jakarta.el.VariableMapper;
 import jakarta.faces.component.UIViewRoot;
@@ -43,6 +44,7 @@ public class ELContextImpl extends ELContext {
 
     private FunctionMapper functionMapper = new NoopFunctionMapper();
     private VariableMapper variableMapper;
+    private ImportHandler importHandler;
     private final ELResolver resolver;
 
     // ------------------------------------------------------------ Constructors
@@ -94,6 +96,14 @@ public class ELContextImpl extends ELContext {
         return resolver;
     }
 
+    @Override
+    public ImportHandler getImportHandler() {
+        if (importHandler == null) {
+            importHandler = new ImportHandlerImpl();
+        }
+        return importHandler;
+    }
+
     // ---------------------------------------------------------- Public Methods
 
     public void setFunctionMapper(FunctionMapper functionMapper) {
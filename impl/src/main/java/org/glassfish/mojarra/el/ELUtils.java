@@ -166,7 +166,7 @@ public class ELUtils {
 
     public static ValueExpression createValueExpression(String expression, Class<?> expectedType) {
         FacesContext context = FacesContext.getCurrentInstance();
-        return context.getApplication().getExpressionFactory().createValueExpression(context.getELContext(), expression, expectedType);
+        return ExpressionCache.createValueExpression(context.getApplication().getExpressionFactory(), context.getELContext(), expression, expectedType);
     }
 
     public static Object coerce(Object value, Class<?> toType) {
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.el;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.FunctionMapper;
+import jakarta.el.ImportHandler;
+import jakarta.el.ValueExpression;
+import jakarta.el.VariableMapper;
+
+import org.glassfish.mojarra.application.ApplicationAssociate;
+import org.glassfish.mojarra.config.MojarraContextParam;
+
+/**
+ * Application wide cache of the value expressions created by the {@link ExpressionFactory} of the application, keyed by
+ * expression string and expected type, so that the same string in another view, or in the same view during another
+ * request, is not parsed and built into an expression all over again.
+ * <p>
+ * Only an expression which captured nothing from the {@link ELContext} it was created against is cached. An expression
+ * calling an EL function captures the method the {@link FunctionMapper} resolved it to, and one referring to a variable
+ * of the {@link VariableMapper}, such as a {@code ui:param} or the {@code var} of a {@code c:forEach}, captures the
+ * expression of that variable; both depend on where the expression sits and are therefore created anew every time. The
+ * identifiers an expression refers to are remembered along with it, and a cached expression is only reused when none
+ * of them is a variable of the context it is asked for.
+ * <p>
+ * Once the cache holds as many expressions as it may, further expressions are created but no longer cached, so that
+ * expressions built from request data cannot grow it without bound.
+ *
+ * @see MojarraContextParam#EXPRESSION_CACHE_SIZE
+ */
+public final class ExpressionCache {
+
+    private static final String[] NO_IDENTIFIERS = {};
+
+    private final ExpressionFactory factory;
+    private final int maxSize;
+    private final Map<Key, Entry> expressions = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder uncacheable = new LongAdder();
+
+    /**
+     * @param factory the factory which creates the expressions to cache
+     * @param maxSize the amount of expressions the cache holds at most, where zero disables it
+     */
+    public ExpressionCache(ExpressionFactory factory, int maxSize) {
+        this.factory = factory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Creates a value expression through the cache of the current application, or directly through the given factory
+     * when that is not the factory of the application, e.g. because it was decorated.
+     *
+     * @param factory the factory to create the expression with
+     * @param context the context to create the expression against
+     * @param expression the expression string
+     * @param expectedType the type the result of the expression is coerced to
+     * @return the value expression
+     */
+    public static ValueExpression createValueExpression(ExpressionFactory factory, ELContext context, String expression, Class<?> expectedType) {
+        ApplicationAssociate associate = ApplicationAssociate.getCurrentInstance();
+        ExpressionCache cache = associate != null ? associate.getExpressionCache() : null;
+
+        if (cache == null || cache.factory != factory) {
+            return factory.createValueExpression(context, expression, expectedType);
+        }
+
+        return cache.getValueExpression(context, expression, expectedType);
+    }
+
+    /**
+     * @param context the context to create the expression against
+     * @param expression the expression string
+     * @param expectedType the type the result of the expression is coerced to
+     * @return the cached value expression, or a new one when it is not cached or may not be reused in the given context
+     */
+    public ValueExpression getValueExpression(ELContext context, String expression, Class<?> expectedType) {
+        if (maxSize <= 0) {
+            return factory.createValueExpression(context, expression, expectedType);
+        }
+
+        Key key = new Key(expression, expectedType);
+        Entry entry = expressions.get(key);
+
+        if (entry != null) {
+            if (entry.isIndependentOf(context.getVariableMapper())) {
+                hits.increment();
+                return entry.expression;
+            }
+
+            uncacheable.increment();
+            return factory.createValueExpression(context, expression, expectedType);
+        }
+
+        RecordingELContext recordingContext = new RecordingELContext(context);
+        ValueExpression created = factory.createValueExpression(recordingContext, expression, expectedType);
+
+        if (recordingContext.captured) {
+            uncacheable.increment();
+        } else {
+            misses.increment();
+
+            if (expressions.size() < maxSize) {
+                List<String> identifiers = recordingContext.identifiers;
+                expressions.putIfAbsent(key, new Entry(created, identifiers.isEmpty() ? NO_IDENTIFIERS : identifiers.toArray(NO_IDENTIFIERS)));
+            }
+        }
+
+        return created;
+    }
+
+    /**
+     * @return the amount of expressions served from the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the amount of expressions which were not cached yet and were created, and cached as long as there is room
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the amount of expressions which depended on their context and were therefore created without the cache
+     */
+    public long getUncacheable() {
+        return uncacheable.sum();
+    }
+
+    /**
+     * @return the share of all expressions asked for which was served from the cache, between 0 and 1
+     */
+    public double getHitRate() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses() + getUncacheable();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * @return the amount of expressions currently cached
+     */
+    public int size() {
+        return expressions.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExpressionCache[size=%d, hits=%d, misses=%d, uncacheable=%d, hitRate=%.2f]", size(), getHits(), getMisses(), getUncacheable(),
+                getHitRate());
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    private record Key(String expression, Class<?> expectedType) {
+    }
+
+    private record Entry(ValueExpression expression, String[] identifiers) {
+
+        boolean isIndependentOf(VariableMapper variableMapper) {
+            if (variableMapper != null) {
+                for (String identifier : identifiers) {
+                    if (variableMapper.resolveVariable(identifier) != null) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Records what the expression factory asks the mappers of the context while it creates an expression.
+     */
+    private static final class RecordingELContext extends ELContext {
+
+        private final ELContext wrapped;
+        private final List<String> identifiers = new ArrayList<>(4);
+        private boolean captured;
+
+        RecordingELContext(ELContext wrapped) {
+            this.wrapped = wrapped;
+        }
+
+        @Override
+        public ELResolver getELResolver() {
+            return wrapped.getELResolver();
+        }
+
+        @Override
+        public FunctionMapper getFunctionMapper() {
+            FunctionMapper functionMapper = wrapped.getFunctionMapper();
+
+            if (functionMapper == null) {
+                return null;
+            }
+
+            return new FunctionMapper() {
+                @Override
+                public Method resolveFunction(String prefix, String localName) {
+                    captured = true;
+                    return functionMapper.resolveFunction(prefix, localName);
+                }
+            };
+        }
+
+        @Override
+        public VariableMapper getVariableMapper() {
+            // Even without variables the identifiers must be recorded, since the context the expression is reused in may
+            // well have them.
+            VariableMapper variableMapper = wrapped.getVariableMapper();
+
+            return new VariableMapper() {
+                @Override
+                public ValueExpression resolveVariable(String variable) {
+                    ValueExpression resolved = variableMapper != null ? variableMapper.resolveVariable(variable) : null;
+                    if (resolved != null) {
+                        captured = true;
+                    } else if (!identifiers.contains(variable)) {
+                        identifiers.add(variable);
+                    }
+                    return resolved;
+                }
+
+                @Override
+                public ValueExpression setVariable(String variable, ValueExpression expression) {
+                    // The expression is bound to the variable it defines, which the context it is reused in may not have.
+                    captured = true;
+                    if (!identifiers.contains(variable)) {
+                        identifiers.add(variable);
+                    }
+                    return variableMapper != null ? variableMapper.setVariable(variable, expression) : null;
+                }
+            };
+        }
+
+        @Override
+        public Object getContext(Class<?> key) {
+            return wrapped.getContext(key);
+        }
+
+        @Override
+        public ImportHandler getImportHandler() {
+            return wrapped.getImportHandler();
+        }
+
+        @Override
+        public Locale getLocale() {
+            return wrapped.getLocale();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.el;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import jakarta.el.ELException;
+import jakarta.el.ImportHandler;
+
+/**
+ * {@link ImportHandler} which keeps track of what is imported into it, so that what only depends on the imports, such
+ * as whether an identifier resolves to a class, can be remembered for every ELContext with the same imports instead of
+ * for a single one.
+ *
+ * @see ScopedAttributeELResolver
+ */
+public class ImportHandlerImpl extends ImportHandler {
+
+    // Not initialized here, as the super constructor already imports java.lang.
+    private Set<String> imports;
+
+    @Override
+    public void importStatic(String name) throws ELException {
+        super.importStatic(name);
+        imported("static " + name);
+    }
+
+    @Override
+    public void importClass(String name) throws ELException {
+        super.importClass(name);
+        imported("class " + name);
+    }
+
+    @Override
+    public void importPackage(String packageName) {
+        super.importPackage(packageName);
+        imported("package " + packageName);
+    }
+
+    /**
+     * @return what is imported, as an immutable set which is replaced on every new import
+     */
+    public Set<String> getImports() {
+        return imports;
+    }
+
+    private void imported(String name) {
+        if (imports == null) {
+            imports = Set.of(name);
+        } else if (!imports.contains(name)) {
+            Set<String> updated = new HashSet<>(imports);
+            updated.add(name);
+            imports = Set.copyOf(updated);
+        }
+    }
+}
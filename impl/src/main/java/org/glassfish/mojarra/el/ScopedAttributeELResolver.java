@@ -20,11 +20,14 @@ package org.glassfish.mojarra.el;
 import static org.glassfish.mojarra.util.MessageUtils.getExceptionMessageString;
 
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jakarta.el.ELClass;
 import jakarta.el.ELContext;
 import jakarta.el.ELException;
 import jakarta.el.ELResolver;
+import jakarta.el.ImportHandler;
 import jakarta.el.PropertyNotFoundException;
 import jakarta.faces.component.UIViewRoot;
 import jakarta.faces.context.ExternalContext;
@@ -34,6 +37,27 @@ import org.glassfish.mojarra.util.MessageUtils;
 
 public class ScopedAttributeELResolver extends ELResolver {
 
+    /**
+     * The maximum amount of identifiers remembered as not being a class, which only guards against expressions created
+     * from arbitrary input; the identifiers of an application's own expressions are far fewer.
+     */
+    static final int MAX_NOT_A_CLASS_SIZE = 1024;
+
+    /**
+     * The maximum amount of distinct sets of imports for which identifiers are remembered as not being a class.
+     */
+    static final int MAX_IMPORT_SETS = 16;
+
+    /**
+     * Identifiers which the import handler did not resolve to a class, by the imports of the import handler. The
+     * import handler belongs to the ELContext of a single request and it remembers misses only for as long, which means
+     * that an identifier which is in no scope, e.g. an optional <code>ui:param</code> tested with <code>empty</code>,
+     * costs a failed class load on every request. Whether an identifier is a class only depends on the imports, so a
+     * miss is a miss for every import handler with the same imports. Only an {@link ImportHandlerImpl} tells its
+     * imports, the misses of any other import handler are not remembered.
+     */
+    private final Map<Set<String>, Set<String>> notAClass = new ConcurrentHashMap<>();
+
     public ScopedAttributeELResolver() {
     }
 
@@ -84,14 +108,42 @@ public class ScopedAttributeELResolver extends ELResolver {
         }
 
         // check importhandler
-        result = facesContext.getELContext().getImportHandler().resolveClass(attribute);
+        ImportHandler importHandler = facesContext.getELContext().getImportHandler();
+        Set<String> misses = getNotAClass(importHandler);
+        if (misses != null && misses.contains(attribute)) {
+            return null;
+        }
+
+        result = importHandler.resolveClass(attribute);
         if (result instanceof Class) {
             return new ELClass((Class<?>) result);
         }
 
+        if (misses != null && misses.size() < MAX_NOT_A_CLASS_SIZE) {
+            misses.add(attribute);
+        }
+
         return null;
     }
 
+    /**
+     * @return the identifiers remembered as not being a class for the imports of the given import handler, or
+     * <code>null</code> when they cannot be remembered
+     */
+    private Set<String> getNotAClass(ImportHandler importHandler) {
+        if (!(importHandler instanceof ImportHandlerImpl importHandlerImpl)) {
+            return null;
+        }
+
+        Set<String> imports = importHandlerImpl.getImports();
+        Set<String> misses = notAClass.get(imports);
+        if (misses == null && notAClass.size() < MAX_IMPORT_SETS) {
+            misses = notAClass.computeIfAbsent(imports, k -> ConcurrentHashMap.newKeySet());
+        }
+
+        return misses;
+    }
+
     @Override
     public Class<?> getType(ELContext context, Object base, Object property) throws ELException {
         if (base != null) {
@@ -34,6 +34,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import jakarta.el.ValueExpression;
 import jakarta.faces.FacesException;
@@ -65,7 +66,10 @@ import jakarta.faces.model.ResultSetDataModel;
 import jakarta.faces.model.ScalarDataModel;
 import jakarta.faces.render.Renderer;
 
+import org.glassfish.mojarra.application.view.RowBatchFlusher;
 import org.glassfish.mojarra.facelets.tag.IterationStatus;
+import org.glassfish.mojarra.model.StreamDataModel;
+import org.glassfish.mojarra.model.WindowedDataModel;
 
 public class UIRepeat extends UINamingContainer {
 
@@ -351,6 +355,8 @@ public class UIRepeat extends UINamingContainer {
                 model = new ArrayDataModel<>((Object[]) val);
             } else if (val instanceof ResultSet) {
                 model = new ResultSetDataModel((ResultSet) val);
+            } else if (val instanceof Stream) {
+                model = new StreamDataModel<>((Stream<?>) val);
             } else if (val instanceof Iterable) {
                 model = new IterableDataModel<>((Iterable<?>) val);
             } else if (val instanceof Map) {
@@ -760,12 +766,15 @@ public class UIRepeat extends UINamingContainer {
                 }
 
                 int i = begin != null ? begin : 0;
-                int e = end != null ? end : rowCount;
+                int e = end != null ? end : rowCount < 0 ? Integer.MAX_VALUE : rowCount;
                 int s = step != null ? step : 1;
                 validateIterationControlValues(rowCount, i, e);
                 if (null != size && size > 0) {
                     e = e - 1;
                 }
+                setWindow(i, e, rowCount);
+
+                RowBatchFlusher flusher = PhaseId.RENDER_RESPONSE.equals(phase) ? RowBatchFlusher.of(faces, this) : null;
 
                 setIndex(faces, i);
                 updateIterationStatus(faces, new IterationStatus(true, i + s > e || rowCount == 1, i, begin, end, step));
@@ -788,9 +797,14 @@ public class UIRepeat extends UINamingContainer {
                             }
                         }
                     }
+                    if (flusher != null) {
+                        flusher.rowRendered();
+                    }
                     i += s;
-                    setIndex(faces, i);
-                    updateIterationStatus(faces, new IterationStatus(false, i + s >= e, i, begin, end, step));
+                    if (i <= e) {
+                        setIndex(faces, i);
+                        updateIterationStatus(faces, new IterationStatus(false, i + s >= e, i, begin, end, step));
+                    }
                 }
             }
         } catch (IOException e) {
@@ -950,7 +964,7 @@ public class UIRepeat extends UINamingContainer {
 
     private void validateIterationControlValues(int rowCount, int begin, int end) {
 
-        if (rowCount == 0) {
+        if (rowCount <= 0) {
             return;
         }
         // PENDING i18n
@@ -965,6 +979,21 @@ public class UIRepeat extends UINamingContainer {
         }
     }
 
+    /**
+     * Announces the rows from the given begin up to and including the given last index to a {@link WindowedDataModel}, so
+     * that it only materializes those from its backing source. The window never extends beyond the row count, when known.
+     * A last index of {@link Integer#MAX_VALUE} means up to the last row.
+     */
+    private void setWindow(int begin, int last, int rowCount) {
+        if (getDataModel() instanceof WindowedDataModel windowedDataModel) {
+            int end = last == Integer.MAX_VALUE ? last : last + 1;
+            if (rowCount >= 0) {
+                end = Math.min(end, rowCount);
+            }
+            windowedDataModel.setWindow(begin, end == Integer.MAX_VALUE ? -1 : Math.max(end - begin, 0));
+        }
+    }
+
     private boolean visitChildren(VisitContext context, VisitCallback callback) {
 
         int rowCount = getDataModel().getRowCount();
@@ -973,9 +1002,10 @@ public class UIRepeat extends UINamingContainer {
         Integer step = getStep();
 
         int i = begin != null ? begin : 0;
-        int e = end != null ? end : rowCount;
+        int e = end != null ? end : rowCount < 0 ? Integer.MAX_VALUE : rowCount;
         int s = step != null ? step : 1;
         validateIterationControlValues(rowCount, i, e);
+        setWindow(i, e == Integer.MAX_VALUE ? e : e - 1, rowCount);
         FacesContext faces = context.getFacesContext();
         setIndex(faces, i);
         updateIterationStatus(faces, new IterationStatus(true, i + s > e || rowCount == 1, i, begin, end, step));
@@ -1146,7 +1176,7 @@ public class UIRepeat extends UINamingContainer {
                 Integer end = getIterationEnd();
                 Integer step = getStep();
                 int b = begin != null ? begin : 0;
-                int e = end != null ? end : rowCount;
+                int e = end != null ? end : rowCount < 0 ? Integer.MAX_VALUE : rowCount;
                 int s = step != null ? step : 1;
                 updateIterationStatus(ctx, new IterationStatus(idx == b, idx + s >= e || rowCount == 1, idx, begin, end, step));
                 if (isIndexAvailable()) {
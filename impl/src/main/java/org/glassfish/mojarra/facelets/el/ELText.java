@@ -30,6 +30,7 @@ import jakarta.faces.context.ResponseWriter;
 import jakarta.faces.view.Location;
 
 import org.glassfish.mojarra.el.ELUtils;
+import org.glassfish.mojarra.el.ExpressionCache;
 import org.glassfish.mojarra.util.HtmlUtils;
 import org.glassfish.mojarra.util.MessageUtils;
 
@@ -178,7 +179,7 @@ public class ELText {
             if (ve instanceof ContextualCompositeValueExpression) {
                 result = new ELTextVariable(ve);
             } else {
-                result = new ELTextVariable(factory.createValueExpression(ctx, ve.getExpressionString(), String.class));
+                result = new ELTextVariable(ExpressionCache.createValueExpression(factory, ctx, ve.getExpressionString(), String.class));
             }
 
             return result;
@@ -345,7 +346,7 @@ public class ELText {
                         }
                         vlen = findVarLength(ca, i);
                         if (ctx != null && fact != null) {
-                            ve = fact.createValueExpression(ctx, new String(ca, i, vlen), String.class);
+                            ve = ExpressionCache.createValueExpression(fact, ctx, new String(ca, i, vlen), String.class);
                             t = new ELTextVariable(ve);
                         } else {
                             String expr = new String(ca, i, vlen);
@@ -356,7 +357,8 @@ public class ELText {
                                 }
                                 FacesContext context = FacesContext.getCurrentInstance();
                                 ELContext elContext = context.getELContext();
-                                ValueExpression delegate = context.getApplication().getExpressionFactory().createValueExpression(elContext, expr, Object.class);
+                                ValueExpression delegate = ExpressionCache.createValueExpression(context.getApplication().getExpressionFactory(), elContext, expr,
+                                        Object.class);
                                 Location location = new Location(alias, -1, -1);
                                 ve = new ContextualCompositeValueExpression(location, delegate);
 
@@ -97,6 +97,8 @@ public class DefaultFaceletFactory {
 
     Cache<String, IdMapper> idMappers;
 
+    private ViewExistsCache viewExistsCache;
+
     // ------------------------------------------------------------ Constructors
 
     public DefaultFaceletFactory() {
@@ -122,6 +124,8 @@ public class DefaultFaceletFactory {
             log.log(Level.FINE, "Using Refresh Period ms: {0}", refreshPeriodInMillis);
         }
 
+        this.viewExistsCache = new ViewExistsCache(MojarraContextParam.VIEW_EXISTS_CACHE_SIZE.getInt(facesContext), refreshPeriodInMillis);
+
         // We can cast to the FaceletCache<DefaultFacelet> here because we know
         // that the Generics information is only used at compile time, and all cache
         // implementations will be using instance factories provided by us and returning DefaultFacelet
@@ -132,6 +136,18 @@ public class DefaultFaceletFactory {
         return resolver;
     }
 
+    /**
+     * Returns whether the given view identifier resolves to a Facelet resource. The outcome is cached per resource library
+     * contracts until the Facelets refresh period expires.
+     *
+     * @param context the {@link FacesContext} for the current request
+     * @param viewId the view identifier
+     * @return whether the given view identifier resolves to a Facelet resource
+     */
+    public boolean viewExists(FacesContext context, String viewId) {
+        return viewExistsCache.exists(viewId, context.getResourceLibraryContracts(), path -> resolver.resolveUrl(path) != null);
+    }
+
     public Facelet getMetadataFacelet(FacesContext context, String viewId) throws IOException {
         Facelet facelet = getViewFacelet(getCdiBeanManager(context), viewId);
         if (facelet == null) {
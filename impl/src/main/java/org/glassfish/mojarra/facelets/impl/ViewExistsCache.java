@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.impl;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * Remembers whether a view identifier resolves to a Facelet resource, for both existing and missing views, so that
+ * implicit navigation and view restoring do not look the resource up in the web application and its JARs on every
+ * request. An entry expires along with the Facelets refresh period, so a view which is added or removed during
+ * development is noticed the same way an edited one is.
+ * <p>
+ * The cache is bounded, as the missing views are under control of the client. When it is full, the entries of missing
+ * views and the expired ones are dropped, and when it is still full, new lookups are not cached.
+ */
+final class ViewExistsCache {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long refreshPeriodInMillis;
+
+    /**
+     * @param maxEntries maximum amount of cached view identifiers, where zero or less disables the cache
+     * @param refreshPeriodInMillis Facelets refresh period in milliseconds, where zero disables the cache and a negative
+     * value never expires an entry
+     */
+    ViewExistsCache(int maxEntries, long refreshPeriodInMillis) {
+        this.maxEntries = refreshPeriodInMillis == 0 ? 0 : maxEntries;
+        this.refreshPeriodInMillis = refreshPeriodInMillis;
+    }
+
+    /**
+     * @param viewId the view identifier
+     * @param contracts the resource library contracts of the current view, as they determine where the view is looked up
+     * @param resolver tells whether the view identifier exists, when the cache does not know yet
+     * @return whether the view identifier exists
+     */
+    boolean exists(String viewId, List<String> contracts, Predicate<String> resolver) {
+        if (maxEntries <= 0) {
+            return resolver.test(viewId);
+        }
+
+        String key = contracts == null || contracts.isEmpty() ? viewId : String.join(",", contracts) + '|' + viewId;
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+
+        if (entry != null && !entry.isExpired(now, refreshPeriodInMillis)) {
+            return entry.exists();
+        }
+
+        boolean exists = resolver.test(viewId);
+
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(e -> !e.exists() || e.isExpired(now, refreshPeriodInMillis));
+        }
+
+        if (entries.size() < maxEntries) {
+            entries.put(key, new Entry(exists, now));
+        }
+
+        return exists;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private record Entry(boolean exists, long created) {
+
+        boolean isExpired(long now, long refreshPeriodInMillis) {
+            return refreshPeriodInMillis > 0 && now - created >= refreshPeriodInMillis;
+        }
+    }
+}
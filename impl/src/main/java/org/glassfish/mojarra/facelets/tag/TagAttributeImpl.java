@@ -34,6 +34,7 @@ import jakarta.faces.view.facelets.TagAttribute;
 import jakarta.faces.view.facelets.TagAttributeException;
 
 import org.glassfish.mojarra.el.ELUtils;
+import org.glassfish.mojarra.el.ExpressionCache;
 import org.glassfish.mojarra.facelets.el.ContextualCompositeMethodExpression;
 import org.glassfish.mojarra.facelets.el.ContextualCompositeValueExpression;
 import org.glassfish.mojarra.facelets.el.ELText;
@@ -347,7 +348,7 @@ public class TagAttributeImpl extends TagAttribute {
     public ValueExpression getValueExpression(FaceletContext ctx, String expr, Class<?> type) {
         try {
             ExpressionFactory f = ctx.getExpressionFactory();
-            ValueExpression delegate = f.createValueExpression(ctx, expr, type);
+            ValueExpression delegate = ExpressionCache.createValueExpression(f, ctx, expr, type);
             // Reuse the value classified in the constructor when called for this attribute's own value (the common
             // path via getValueExpression(ctx, type)); only a foreign expr needs the on-the-fly check.
             if (expr == value ? compositeComponentExpr : ELUtils.isCompositeComponentExpr(expr)) {
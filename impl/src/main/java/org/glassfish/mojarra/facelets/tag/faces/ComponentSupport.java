@@ -45,6 +45,7 @@ import jakarta.faces.view.facelets.TagAttribute;
 import jakarta.faces.view.facelets.TagAttributeException;
 import jakarta.faces.view.facelets.TagAttributes;
 
+import org.glassfish.mojarra.application.view.ParallelSubtreeEncoder;
 import org.glassfish.mojarra.context.StateContext;
 import org.glassfish.mojarra.facelets.FaceletContextImplBase;
 import org.glassfish.mojarra.facelets.impl.IdMapper;
@@ -564,7 +565,7 @@ public final class ComponentSupport {
     }
 
     public static void encodeRecursive(FacesContext context, UIComponent viewToRender) throws IOException, FacesException {
-        if (viewToRender.isRendered()) {
+        if (viewToRender.isRendered() && !ParallelSubtreeEncoder.encodeStarted(context, viewToRender)) {
             viewToRender.encodeBegin(context);
             if (viewToRender.getRendersChildren()) {
                 viewToRender.encodeChildren(context);
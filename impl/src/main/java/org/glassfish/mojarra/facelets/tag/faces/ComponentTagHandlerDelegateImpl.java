@@ -60,6 +60,7 @@ import org.glassfish.mojarra.facelets.tag.BuildTimeDecisions;
 import org.glassfish.mojarra.facelets.tag.MetaRulesetImpl;
 import org.glassfish.mojarra.facelets.tag.SavedBuildTimeDecisions;
 import org.glassfish.mojarra.facelets.tag.faces.core.FacetHandler;
+import org.glassfish.mojarra.lifecycle.RenderProfiler;
 import org.glassfish.mojarra.util.FacesLogger;
 import org.glassfish.mojarra.util.Util;
 
@@ -126,6 +127,22 @@ public class ComponentTagHandlerDelegateImpl extends TagHandlerDelegate {
 
     @Override
     public void apply(FaceletContext ctx, UIComponent parent) throws IOException {
+        RenderProfiler profiler = RenderProfiler.getInstance(ctx.getFacesContext());
+
+        if (profiler == null) {
+            doApply(ctx, parent);
+            return;
+        }
+
+        profiler.enter(owner.getTag().getLocation(), RenderProfiler.Stage.BUILD);
+        try {
+            doApply(ctx, parent);
+        } finally {
+            profiler.exit();
+        }
+    }
+
+    private void doApply(FaceletContext ctx, UIComponent parent) throws IOException {
         FacesContext context = ctx.getFacesContext();
 
         // make sure our parent is not null
@@ -517,7 +534,7 @@ public class ComponentTagHandlerDelegateImpl extends TagHandlerDelegate {
         // mark it owned by a facelet instance
         c.getAttributes().put(ComponentSupport.MARK_CREATED, id);
 
-        if (ctx.getFacesContext().isProjectStage(ProjectStage.Development)) {
+        if (ctx.getFacesContext().isProjectStage(ProjectStage.Development) || RenderProfiler.getInstance(ctx.getFacesContext()) != null) {
             // inject the location into the component
             c.getAttributes().put(UIComponent.VIEW_LOCATION_KEY, owner.getTag().getLocation());
         }
@@ -16,7 +16,12 @@
 
 package org.glassfish.mojarra.facelets.tag.ui;
 
+import java.io.IOException;
+
 import jakarta.faces.component.UIComponentBase;
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.application.view.ParallelSubtreeEncoder;
 
 public final class ComponentRef extends UIComponentBase {
 
@@ -32,4 +37,15 @@ public final class ComponentRef extends UIComponentBase {
         return COMPONENT_FAMILY;
     }
 
+    /**
+     * Writes the output of this component when it is an independent region already being encoded by the
+     * {@link ParallelSubtreeEncoder}, else encodes it as usual.
+     */
+    @Override
+    public void encodeAll(FacesContext context) throws IOException {
+        if (!ParallelSubtreeEncoder.encodeStarted(context, this)) {
+            super.encodeAll(context);
+        }
+    }
+
 }
@@ -17,16 +17,24 @@
 package org.glassfish.mojarra.flow;
 
 import static org.glassfish.mojarra.cdi.CdiUtils.getBeanReference;
+import static org.glassfish.mojarra.context.SessionMap.getLock;
 import static org.glassfish.mojarra.util.Util.getCdiBeanManager;
 
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import jakarta.enterprise.context.ContextNotActiveException;
 import jakarta.enterprise.context.spi.Context;
@@ -45,12 +53,9 @@ import jakarta.faces.lifecycle.ClientWindow;
 import jakarta.servlet.http.HttpSession;
 import jakarta.servlet.http.HttpSessionEvent;
 
-import org.glassfish.mojarra.RIConstants;
-
 public class FlowCDIContext implements Context, Serializable {
 
     private static final long serialVersionUID = -7144653402477623609L;
-    private static final String FLOW_SCOPE_MAP_KEY = RIConstants.RI_PREFIX + "FLOW_SCOPE_MAP";
 
     private transient Map<Contextual<?>, FlowBeanInfo> flowIds;
 
@@ -103,23 +108,45 @@ public class FlowCDIContext implements Context, Serializable {
         this.flowIds = new ConcurrentHashMap<>(flowIds);
     }
 
-    private static final String PER_SESSION_BEAN_MAP_LIST = FlowCDIContext.class.getPackage().getName() + ".PER_SESSION_BEAN_MAP_LIST";
-    private static final String PER_SESSION_CREATIONAL_LIST = FlowCDIContext.class.getPackage().getName() + ".PER_SESSION_CREATIONAL_LIST";
+    private static final String PER_SESSION_FLOW_STORE_LIST = FlowCDIContext.class.getPackage().getName() + ".PER_SESSION_FLOW_STORE_LIST";
 
     // -------------------------------------------------------- Private Methods
 
 
     /*
-     * Encapsulate access to the two maps we need to provide.
+     * The flow scoped beans of one flow in one client window, along with their creational contexts and the flow scope
+     * map, all kept in the session under a single attribute. It is only put in the session again when it is dirty, that
+     * is, when a bean was created or destroyed or the flow scope map was modified, so that a replicating container only
+     * replicates it then, instead of on every access.
+     */
+    private static final class FlowStore implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, Object> beans = new ConcurrentHashMap<>();
+        private final Map<String, CreationalContext<?>> creationals = new ConcurrentHashMap<>();
+        private final Map<Object, Object> flowScope = new ConcurrentHashMap<>();
+        private transient volatile boolean dirty;
+
+        private void clear() {
+            beans.clear();
+            creationals.clear();
+            flowScope.clear();
+            dirty = true;
+        }
+    }
+
+    /*
+     * Encapsulate access to the flow store of the current flow.
      *
      */
     private static class FlowScopeMapHelper {
-        private transient String flowBeansForClientWindowKey;
-        private transient String creationalForClientWindowKey;
+        private transient String flowStoreKey;
+        private transient final ExternalContext extContext;
         private transient final Map<String, Object> sessionMap;
 
         private FlowScopeMapHelper(FacesContext facesContext) {
-            ExternalContext extContext = facesContext.getExternalContext();
+            extContext = facesContext.getExternalContext();
             sessionMap = extContext.getSessionMap();
 
             Flow currentFlow = getCurrentFlow(facesContext);
@@ -129,7 +156,7 @@ public class FlowCDIContext implements Context, Serializable {
         }
 
         private FlowScopeMapHelper(FacesContext facesContext, Flow flow, int flowDepth) {
-            ExternalContext extContext = facesContext.getExternalContext();
+            extContext = facesContext.getExternalContext();
             sessionMap = extContext.getSessionMap();
 
             generateKeyForCDIBeansBelongToAFlow(facesContext, flow, flowDepth);
@@ -144,98 +171,229 @@ public class FlowCDIContext implements Context, Serializable {
 
                 final String clientWindow = flow.getClientWindowFlowId(curWindow);
 
-                flowBeansForClientWindowKey = clientWindow + ":" + flowDepth + "_beans";
-                creationalForClientWindowKey = clientWindow + ":" + flowDepth + "_creational";
-
+                flowStoreKey = clientWindow + ":" + flowDepth + "_flow";
             } else {
-                flowBeansForClientWindowKey = creationalForClientWindowKey = null;
+                flowStoreKey = null;
             }
         }
 
-        private void createMaps() {
-            getFlowScopedBeanMapForCurrentFlow();
-            getFlowScopedCreationalMapForCurrentFlow();
-        }
-
         private boolean isFlowExists() {
-            return null != flowBeansForClientWindowKey && null != creationalForClientWindowKey;
+            return null != flowStoreKey;
         }
 
-        @SuppressWarnings("unchecked")
-        private Map<String, Object> getFlowScopedBeanMapForCurrentFlow() {
-            if (null == flowBeansForClientWindowKey && null == creationalForClientWindowKey) {
-                return Collections.emptyMap();
+        /*
+         * Returns the flow store of the current flow, or null when there is no current flow, or when there is no flow
+         * store yet and create is false.
+         */
+        private FlowStore getFlowStore(boolean create) {
+            if (null == flowStoreKey) {
+                return null;
             }
-            Map<String, Object> result;
-            result = (Map<String, Object>) sessionMap.get(flowBeansForClientWindowKey);
-            if (null == result) {
-                result = new ConcurrentHashMap<>();
-                sessionMap.put(flowBeansForClientWindowKey, result);
-                ensureBeanMapCleanupOnSessionDestroyed(sessionMap, flowBeansForClientWindowKey);
+
+            FlowStore result = (FlowStore) sessionMap.get(flowStoreKey);
+            if (null == result && create) {
+                Lock lock = getLock(extContext.getSession(true));
+                lock.lock();
+                try {
+                    result = (FlowStore) sessionMap.get(flowStoreKey);
+                    if (null == result) {
+                        result = new FlowStore();
+                        sessionMap.put(flowStoreKey, result);
+                        ensureFlowStoreCleanupOnSessionDestroyed(sessionMap, flowStoreKey);
+                    }
+                } finally {
+                    lock.unlock();
+                }
             }
             return result;
         }
 
-        @SuppressWarnings("unchecked")
-        private Map<String, CreationalContext<?>> getFlowScopedCreationalMapForCurrentFlow() {
-            if (null == flowBeansForClientWindowKey && null == creationalForClientWindowKey) {
-                return Collections.emptyMap();
-            }
-            Map<String, CreationalContext<?>> result;
-            result = (Map<String, CreationalContext<?>>) sessionMap.get(creationalForClientWindowKey);
-            if (null == result) {
-                result = new ConcurrentHashMap<>();
-                sessionMap.put(creationalForClientWindowKey, result);
-                ensureCreationalCleanupOnSessionDestroyed(sessionMap, creationalForClientWindowKey);
-            }
-            return result;
+        private Map<String, Object> getFlowScopedBeanMapForCurrentFlow() {
+            FlowStore flowStore = getFlowStore(false);
+            return null != flowStore ? flowStore.beans : Collections.emptyMap();
         }
 
-        private void updateSession() {
-            if (flowBeansForClientWindowKey == null && creationalForClientWindowKey == null) {
-                return;
+        private void updateSession(FlowStore flowStore) {
+            if (flowStore.dirty) {
+                flowStore.dirty = false;
+                sessionMap.put(flowStoreKey, flowStore);
             }
+        }
+    }
 
-            sessionMap.put(flowBeansForClientWindowKey, getFlowScopedBeanMapForCurrentFlow());
-            sessionMap.put(creationalForClientWindowKey, getFlowScopedCreationalMapForCurrentFlow());
+    /*
+     * The flow scope map as handed out to the application, which puts the flow store in the session again whenever it
+     * is modified, and leaves the session alone when it is merely read. Every method which can modify the map is
+     * overridden to do so, as the defaults of Map and AbstractMap would either bypass the dirty marking or fail. The key
+     * set and the values are those of AbstractMap, so their removals go through the iterator of the entry set.
+     */
+    private static final class FlowScopeMap extends AbstractMap<Object, Object> {
 
-            Object obj = sessionMap.get(PER_SESSION_BEAN_MAP_LIST);
-            if (obj != null) {
-                sessionMap.put(PER_SESSION_BEAN_MAP_LIST, obj);
-            }
+        private final FlowScopeMapHelper mapHelper;
+        private final FlowStore flowStore;
 
-            obj = sessionMap.get(PER_SESSION_CREATIONAL_LIST);
-            if (obj != null) {
-                sessionMap.put(PER_SESSION_CREATIONAL_LIST, obj);
-            }
+        private FlowScopeMap(FlowScopeMapHelper mapHelper, FlowStore flowStore) {
+            this.mapHelper = mapHelper;
+            this.flowStore = flowStore;
         }
-    }
 
-    private static void ensureBeanMapCleanupOnSessionDestroyed(Map<String, Object> sessionMap, String flowBeansForClientWindow) {
-        @SuppressWarnings("unchecked")
-        List<String> beanMapList = (List<String>) sessionMap.get(PER_SESSION_BEAN_MAP_LIST);
-        if (beanMapList == null) {
-            beanMapList = new ArrayList<>();
-            sessionMap.put(PER_SESSION_BEAN_MAP_LIST, beanMapList);
+        @Override
+        public Object get(Object key) {
+            return flowStore.flowScope.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return flowStore.flowScope.containsKey(key);
+        }
+
+        @Override
+        public Object put(Object key, Object value) {
+            return modified(flowStore.flowScope.put(key, value));
+        }
+
+        @Override
+        public Object remove(Object key) {
+            Object previous = flowStore.flowScope.remove(key);
+            return previous != null ? modified(previous) : null;
+        }
+
+        @Override
+        public void clear() {
+            flowStore.flowScope.clear();
+            modified(null);
+        }
+
+        @Override
+        public Object putIfAbsent(Object key, Object value) {
+            Object previous = flowStore.flowScope.putIfAbsent(key, value);
+            return previous == null ? modified(null) : previous;
         }
 
-        beanMapList.add(flowBeansForClientWindow);
+        @Override
+        public boolean remove(Object key, Object value) {
+            return flowStore.flowScope.remove(key, value) && modified(true);
+        }
+
+        @Override
+        public Object replace(Object key, Object value) {
+            Object previous = flowStore.flowScope.replace(key, value);
+            return previous != null ? modified(previous) : null;
+        }
+
+        @Override
+        public boolean replace(Object key, Object oldValue, Object newValue) {
+            return flowStore.flowScope.replace(key, oldValue, newValue) && modified(true);
+        }
+
+        @Override
+        public void replaceAll(BiFunction<? super Object, ? super Object, ? extends Object> function) {
+            flowStore.flowScope.replaceAll(function);
+            modified(null);
+        }
+
+        @Override
+        public Object computeIfAbsent(Object key, Function<? super Object, ? extends Object> mappingFunction) {
+            boolean[] computed = new boolean[1];
+            Object value = flowStore.flowScope.computeIfAbsent(key, k -> {
+                computed[0] = true;
+                return mappingFunction.apply(k);
+            });
+            return computed[0] && value != null ? modified(value) : value;
+        }
+
+        @Override
+        public Object computeIfPresent(Object key, BiFunction<? super Object, ? super Object, ? extends Object> remappingFunction) {
+            boolean[] computed = new boolean[1];
+            Object value = flowStore.flowScope.computeIfPresent(key, (k, v) -> {
+                computed[0] = true;
+                return remappingFunction.apply(k, v);
+            });
+            return computed[0] ? modified(value) : value;
+        }
+
+        @Override
+        public Object compute(Object key, BiFunction<? super Object, ? super Object, ? extends Object> remappingFunction) {
+            return modified(flowStore.flowScope.compute(key, remappingFunction));
+        }
+
+        @Override
+        public Object merge(Object key, Object value, BiFunction<? super Object, ? super Object, ? extends Object> remappingFunction) {
+            return modified(flowStore.flowScope.merge(key, value, remappingFunction));
+        }
+
+        @Override
+        public int size() {
+            return flowStore.flowScope.size();
+        }
+
+        @Override
+        public Set<Entry<Object, Object>> entrySet() {
+            return new AbstractSet<>() {
+
+                @Override
+                public Iterator<Entry<Object, Object>> iterator() {
+                    Iterator<Entry<Object, Object>> i = flowStore.flowScope.entrySet().iterator();
+
+                    return new Iterator<>() {
+
+                        @Override
+                        public boolean hasNext() {
+                            return i.hasNext();
+                        }
+
+                        @Override
+                        public Entry<Object, Object> next() {
+                            Entry<Object, Object> entry = i.next();
+
+                            return new SimpleEntry<>(entry) {
+
+                                private static final long serialVersionUID = 1L;
+
+                                @Override
+                                public Object setValue(Object value) {
+                                    super.setValue(value);
+                                    return modified(entry.setValue(value));
+                                }
+                            };
+                        }
+
+                        @Override
+                        public void remove() {
+                            i.remove();
+                            modified(null);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return flowStore.flowScope.size();
+                }
+            };
+        }
+
+        private <R> R modified(R result) {
+            flowStore.dirty = true;
+            mapHelper.updateSession(flowStore);
+            return result;
+        }
     }
 
-    private static void ensureCreationalCleanupOnSessionDestroyed(Map<String, Object> sessionMap, String creationalForClientWindow) {
+    private static void ensureFlowStoreCleanupOnSessionDestroyed(Map<String, Object> sessionMap, String flowStoreKey) {
         @SuppressWarnings("unchecked")
-        List<String> beanMapList = (List<String>) sessionMap.get(PER_SESSION_CREATIONAL_LIST);
-        if (beanMapList == null) {
-            beanMapList = new ArrayList<>();
-            sessionMap.put(PER_SESSION_CREATIONAL_LIST, beanMapList);
+        List<String> flowStoreList = (List<String>) sessionMap.get(PER_SESSION_FLOW_STORE_LIST);
+        if (flowStoreList == null) {
+            flowStoreList = new ArrayList<>();
         }
 
-        beanMapList.add(creationalForClientWindow);
+        flowStoreList.add(flowStoreKey);
+        sessionMap.put(PER_SESSION_FLOW_STORE_LIST, flowStoreList);
     }
 
     private final void assertNotReleased() {
         if (!isActive()) {
-            throw new IllegalStateException();
+            throw new ContextNotActiveException("There is no current flow.");
         }
     }
 
@@ -260,26 +418,17 @@ public class FlowCDIContext implements Context, Serializable {
     public static void sessionDestroyed(HttpSessionEvent httpSessionEvent) {
         HttpSession session = httpSessionEvent.getSession();
 
-        List<String> beanMapList = (List<String>) session.getAttribute(PER_SESSION_BEAN_MAP_LIST);
-        if (beanMapList != null) {
-            for (String beanMapName : beanMapList) {
-                Map<Contextual<?>, Object> beanMap = (Map<Contextual<?>, Object>) session.getAttribute(beanMapName);
-                beanMap.clear();
-                session.removeAttribute(beanMapName);
-            }
-            session.removeAttribute(PER_SESSION_BEAN_MAP_LIST);
-            beanMapList.clear();
-        }
-
-        List<String> creationalList = (List<String>) session.getAttribute(PER_SESSION_CREATIONAL_LIST);
-        if (creationalList != null) {
-            for (String creationalName : creationalList) {
-                Map<Contextual<?>, CreationalContext<?>> creationalMap = (Map<Contextual<?>, CreationalContext<?>>) session.getAttribute(creationalName);
-                creationalMap.clear();
-                session.removeAttribute(creationalName);
+        List<String> flowStoreList = (List<String>) session.getAttribute(PER_SESSION_FLOW_STORE_LIST);
+        if (flowStoreList != null) {
+            for (String flowStoreKey : flowStoreList) {
+                FlowStore flowStore = (FlowStore) session.getAttribute(flowStoreKey);
+                if (flowStore != null) {
+                    flowStore.clear();
+                }
+                session.removeAttribute(flowStoreKey);
             }
-            session.removeAttribute(PER_SESSION_CREATIONAL_LIST);
-            creationalList.clear();
+            session.removeAttribute(PER_SESSION_FLOW_STORE_LIST);
+            flowStoreList.clear();
         }
 
     }
@@ -289,52 +438,44 @@ public class FlowCDIContext implements Context, Serializable {
 
     }
 
-    @SuppressWarnings("unchecked")
     private static Map<Object, Object> getCurrentFlowScopeAndUpdateSession(FlowScopeMapHelper mapHelper) {
-        Map<String, Object> flowScopedBeanMap = mapHelper.getFlowScopedBeanMapForCurrentFlow();
-        Map<Object, Object> result = null;
-        if (mapHelper.isFlowExists()) {
-            result = (Map<Object, Object>) flowScopedBeanMap.get(FLOW_SCOPE_MAP_KEY);
-            if (result == null) {
-                result = new ConcurrentHashMap<>();
-                flowScopedBeanMap.put(FLOW_SCOPE_MAP_KEY, result);
-            }
+        if (!mapHelper.isFlowExists()) {
+            return null;
         }
-        mapHelper.updateSession();
-        return result;
+
+        FlowStore flowStore = mapHelper.getFlowStore(true);
+        mapHelper.updateSession(flowStore);
+        return new FlowScopeMap(mapHelper, flowStore);
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
     static void flowExited(Flow currentFlow, int depth) {
         FacesContext facesContext = FacesContext.getCurrentInstance();
         FlowScopeMapHelper mapHelper = new FlowScopeMapHelper(facesContext, currentFlow, depth);
-        Map<String, Object> flowScopedBeanMap = mapHelper.getFlowScopedBeanMapForCurrentFlow();
-        Map<String, CreationalContext<?>> creationalMap = mapHelper.getFlowScopedCreationalMapForCurrentFlow();
+        FlowStore flowStore = mapHelper.getFlowStore(false);
 
         BeanManager beanManager = getCdiBeanManager(facesContext);
 
-        for (Entry<String, Object> entry : flowScopedBeanMap.entrySet()) {
-            String passivationCapableId = entry.getKey();
-            if (FLOW_SCOPE_MAP_KEY.equals(passivationCapableId)) {
-                continue;
+        if (flowStore != null) {
+            for (Entry<String, Object> entry : flowStore.beans.entrySet()) {
+                String passivationCapableId = entry.getKey();
+                Contextual owner = beanManager.getPassivationCapableBean(passivationCapableId);
+                Object bean = entry.getValue();
+                CreationalContext creational = flowStore.creationals.get(passivationCapableId);
+
+                owner.destroy(bean, creational);
             }
-            Contextual owner = beanManager.getPassivationCapableBean(passivationCapableId);
-            Object bean = entry.getValue();
-            CreationalContext creational = creationalMap.get(passivationCapableId);
 
-            owner.destroy(bean, creational);
+            flowStore.clear();
+            mapHelper.updateSession(flowStore);
         }
 
-        flowScopedBeanMap.clear();
-        creationalMap.clear();
-        mapHelper.updateSession();
         getBeanReference(beanManager, FlowCDIEventFireHelperImpl.class).fireDestroyedEvent(currentFlow);
     }
 
     static void flowEntered() {
         FacesContext facesContext = FacesContext.getCurrentInstance();
         FlowScopeMapHelper mapHelper = new FlowScopeMapHelper(facesContext);
-        mapHelper.createMaps();
 
         getCurrentFlowScopeAndUpdateSession(mapHelper);
         getBeanReference(facesContext, FlowCDIEventFireHelperImpl.class).fireInitializedEvent(getCurrentFlow(facesContext));
@@ -350,13 +491,16 @@ public class FlowCDIContext implements Context, Serializable {
         T contextualInstance = get(mapHelper, contextual);
 
         if (contextualInstance == null) {
-            Map<String, Object> flowScopedBeanMap = mapHelper.getFlowScopedBeanMapForCurrentFlow();
-            Map<String, CreationalContext<?>> creationalMap = mapHelper.getFlowScopedCreationalMapForCurrentFlow();
+            if (!mapHelper.isFlowExists()) {
+                throw new ContextNotActiveException("Request to activate bean " + contextual + ", but there is no current flow.");
+            }
+
+            FlowStore flowStore = mapHelper.getFlowStore(true);
 
             String passivationCapableId = ((PassivationCapable) contextual).getId();
 
-            synchronized (flowScopedBeanMap) {
-                contextualInstance = (T) flowScopedBeanMap.get(passivationCapableId);
+            synchronized (flowStore) {
+                contextualInstance = (T) flowStore.beans.get(passivationCapableId);
                 if (contextualInstance == null) {
 
                     FlowHandler flowHandler = facesContext.getApplication().getFlowHandler();
@@ -372,9 +516,10 @@ public class FlowCDIContext implements Context, Serializable {
                     contextualInstance = contextual.create(creational);
 
                     if (contextualInstance != null) {
-                        flowScopedBeanMap.put(passivationCapableId, contextualInstance);
-                        creationalMap.put(passivationCapableId, creational);
-                        mapHelper.updateSession();
+                        flowStore.beans.put(passivationCapableId, contextualInstance);
+                        flowStore.creationals.put(passivationCapableId, creational);
+                        flowStore.dirty = true;
+                        mapHelper.updateSession(flowStore);
                     }
                 }
             }
@@ -16,11 +16,12 @@
 
 package org.glassfish.mojarra.lifecycle;
 
-import static org.glassfish.mojarra.context.SessionMap.getMutex;
+import static org.glassfish.mojarra.context.SessionMap.getLock;
 import static org.glassfish.mojarra.renderkit.RenderKitUtils.PredefinedPostbackParameter.CLIENT_WINDOW_PARAM;
 
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.locks.Lock;
 
 import jakarta.faces.component.UINamingContainer;
 import jakarta.faces.context.ExternalContext;
@@ -57,7 +58,9 @@ public class ClientWindowImpl extends ClientWindow {
     }
 
     private String calculateClientWindow(FacesContext context) {
-        synchronized (getMutex(context.getExternalContext().getSession(true))) {
+        Lock lock = getLock(context.getExternalContext().getSession(true));
+        lock.lock();
+        try {
             final String clientWindowCounterKey = "org.glassfish.mojarra.lifecycle.ClientWindowCounterKey";
             ExternalContext extContext = context.getExternalContext();
             Map<String, Object> sessionAttrs = extContext.getSessionMap();
@@ -69,6 +72,8 @@ public class ClientWindowImpl extends ClientWindow {
             id = UUID.randomUUID().toString() + sep + +counter;
 
             sessionAttrs.put(clientWindowCounterKey, ++counter);
+        } finally {
+            lock.unlock();
         }
         return id;
     }
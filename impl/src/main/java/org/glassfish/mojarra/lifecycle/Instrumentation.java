@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.lifecycle;
+
+import static java.util.logging.Level.WARNING;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.application.ApplicationAssociate;
+import org.glassfish.mojarra.config.MojarraContextParam;
+import org.glassfish.mojarra.spi.InstrumentationExporter;
+import org.glassfish.mojarra.util.FacesLogger;
+import org.glassfish.mojarra.util.LatencyHistogram;
+
+/**
+ * Records the time spent in the lifecycle of each view into a {@link LatencyHistogram} per view id and stage, where a
+ * stage is the name of a phase, {@link #BUILD_VIEW}, {@link #RENDER_VIEW}, or, when enabled, {@link #COMPONENT_PREFIX}
+ * followed by the client id of a top level component being rendered. The stages nest: the render response phase
+ * includes rendering the view, which includes building it when it was not built yet, which includes its top level
+ * components.
+ * <p>
+ * The instrumentation of an application exists only when it is enabled, so that everything instrumented costs a single
+ * lookup when it is not. The timings are exposed through an {@link InstrumentationMXBean} and handed to every
+ * {@link InstrumentationExporter} found.
+ *
+ * @see MojarraContextParam#ENABLE_INSTRUMENTATION
+ * @see MojarraContextParam#INSTRUMENT_TOP_LEVEL_COMPONENTS
+ */
+public final class Instrumentation {
+
+    private static final Logger LOGGER = FacesLogger.LIFECYCLE.getLogger();
+
+    /**
+     * The stage of building a view from its facelet.
+     */
+    public static final String BUILD_VIEW = "buildView";
+
+    /**
+     * The stage of rendering a view to the response.
+     */
+    public static final String RENDER_VIEW = "renderView";
+
+    /**
+     * The prefix of the stage of rendering a top level component, which is followed by its client id.
+     */
+    public static final String COMPONENT_PREFIX = "component:";
+
+    /**
+     * The view id timings are recorded under when there is no view, e.g. for a restore view phase which found none, or
+     * when there are already as many views as there may be.
+     */
+    public static final String UNKNOWN_VIEW = "*";
+
+    /**
+     * Bounds the amount of view ids, since a request for a view which does not exist has a view id as well.
+     */
+    static final int MAX_VIEWS = 1000;
+
+    private final boolean componentTimingEnabled;
+    private final Map<String, Map<String, LatencyHistogram>> views = new ConcurrentHashMap<>();
+    private final List<InstrumentationExporter> exporters = new ArrayList<>();
+
+    /**
+     * @param componentTimingEnabled whether the time spent rendering each top level component is recorded too
+     */
+    public Instrumentation(boolean componentTimingEnabled) {
+        this.componentTimingEnabled = componentTimingEnabled;
+    }
+
+    /**
+     * @return the instrumentation of the current application, or {@code null} when it is not enabled
+     */
+    public static Instrumentation getInstance() {
+        ApplicationAssociate associate = ApplicationAssociate.getCurrentInstance();
+        return associate != null ? associate.getInstrumentation() : null;
+    }
+
+    /**
+     * @return whether the time spent rendering each top level component is recorded too
+     */
+    public boolean isComponentTimingEnabled() {
+        return componentTimingEnabled;
+    }
+
+    /**
+     * @param context the {@link FacesContext} for the current request, whose view the duration is recorded for
+     * @param stage the stage the duration was spent in
+     * @param nanos the duration
+     */
+    public void record(FacesContext context, String stage, long nanos) {
+        UIViewRoot view = context.getViewRoot();
+        record(view != null ? view.getViewId() : null, stage, nanos);
+    }
+
+    /**
+     * @param viewId the view id the duration is recorded for, which may be {@code null}
+     * @param stage the stage the duration was spent in
+     * @param nanos the duration
+     */
+    public void record(String viewId, String stage, long nanos) {
+        Map<String, LatencyHistogram> stages = views.get(viewId != null ? viewId : UNKNOWN_VIEW);
+
+        if (stages == null) {
+            String key = viewId == null || views.size() >= MAX_VIEWS ? UNKNOWN_VIEW : viewId;
+            stages = views.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        }
+
+        LatencyHistogram histogram = stages.get(stage);
+
+        if (histogram == null) {
+            histogram = stages.computeIfAbsent(stage, k -> new LatencyHistogram());
+        }
+
+        histogram.record(nanos);
+    }
+
+    /**
+     * @return the view ids anything was recorded for
+     */
+    public Set<String> getViewIds() {
+        return Collections.unmodifiableSet(views.keySet());
+    }
+
+    /**
+     * @param viewId the view id
+     * @return the histograms of the given view id by stage, which is empty when nothing was recorded for it
+     */
+    public Map<String, LatencyHistogram> getHistograms(String viewId) {
+        Map<String, LatencyHistogram> stages = views.get(viewId);
+        return stages != null ? Collections.unmodifiableMap(stages) : Collections.emptyMap();
+    }
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    public void reset() {
+        views.clear();
+    }
+
+    /**
+     * Registers the {@link InstrumentationMXBean} of the application and starts every {@link InstrumentationExporter}
+     * found. An exporter which fails to start is logged and left out.
+     *
+     * @param context the {@link FacesContext} of the starting application
+     */
+    public void start(FacesContext context) {
+        List<InstrumentationExporter> found = new ArrayList<>();
+        found.add(new JmxInstrumentationExporter());
+
+        try {
+            ServiceLoader.load(InstrumentationExporter.class).forEach(found::add);
+        } catch (ServiceConfigurationError e) {
+            LOGGER.log(WARNING, "Unable to load instrumentation exporters", e);
+        }
+
+        for (InstrumentationExporter exporter : found) {
+            try {
+                exporter.start(context, this);
+                exporters.add(exporter);
+            } catch (RuntimeException e) {
+                LOGGER.log(WARNING, "Unable to start instrumentation exporter " + exporter.getClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Stops every {@link InstrumentationExporter} started, in reverse order.
+     */
+    public void stop() {
+        for (int i = exporters.size() - 1; i >= 0; i--) {
+            try {
+                exporters.get(i).stop();
+            } catch (RuntimeException e) {
+                LOGGER.log(WARNING, "Unable to stop instrumentation exporter " + exporters.get(i).getClass().getName(), e);
+            }
+        }
+
+        exporters.clear();
+    }
+}
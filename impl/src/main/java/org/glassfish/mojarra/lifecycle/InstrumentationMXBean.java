@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.lifecycle;
+
+import java.beans.ConstructorProperties;
+import java.util.Map;
+
+import org.glassfish.mojarra.util.LatencyHistogram;
+
+/**
+ * The management interface of the {@link Instrumentation} of an application, which is registered as
+ * {@code org.glassfish.mojarra:type=Instrumentation,application=<context path>}.
+ */
+public interface InstrumentationMXBean {
+
+    /**
+     * @return the view ids anything was recorded for
+     */
+    String[] getViewIds();
+
+    /**
+     * @param viewId the view id
+     * @return the timings of the given view id by stage
+     */
+    Map<String, Timing> getTimings(String viewId);
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    void reset();
+
+    /**
+     * The summary of a {@link LatencyHistogram}, all in nanoseconds.
+     */
+    final class Timing {
+
+        private final long count;
+        private final long totalNanos;
+        private final long meanNanos;
+        private final long p50Nanos;
+        private final long p90Nanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+
+        @ConstructorProperties({ "count", "totalNanos", "meanNanos", "p50Nanos", "p90Nanos", "p99Nanos", "maxNanos" })
+        public Timing(long count, long totalNanos, long meanNanos, long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.meanNanos = meanNanos;
+            this.p50Nanos = p50Nanos;
+            this.p90Nanos = p90Nanos;
+            this.p99Nanos = p99Nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * @param histogram the histogram to summarize
+         * @return the summary of the given histogram
+         */
+        public static Timing of(LatencyHistogram histogram) {
+            return new Timing(histogram.getCount(), histogram.getTotalNanos(), histogram.getMeanNanos(), histogram.getPercentileNanos(50),
+                    histogram.getPercentileNanos(90), histogram.getPercentileNanos(99), histogram.getMaxNanos());
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMeanNanos() {
+            return meanNanos;
+        }
+
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        public long getP90Nanos() {
+            return p90Nanos;
+        }
+
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+    }
+}
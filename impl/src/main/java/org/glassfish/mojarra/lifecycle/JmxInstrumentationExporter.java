@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.lifecycle;
+
+import static java.util.logging.Level.WARNING;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.spi.InstrumentationExporter;
+import org.glassfish.mojarra.util.FacesLogger;
+import org.glassfish.mojarra.util.LatencyHistogram;
+
+/**
+ * Exports the {@link Instrumentation} of an application as an {@link InstrumentationMXBean} on the platform MBean
+ * server. This exporter is always started along with the instrumentation.
+ */
+final class JmxInstrumentationExporter implements InstrumentationExporter, InstrumentationMXBean {
+
+    private static final Logger LOGGER = FacesLogger.LIFECYCLE.getLogger();
+
+    static final String DOMAIN = "org.glassfish.mojarra";
+
+    private Instrumentation instrumentation;
+    private ObjectName name;
+
+    @Override
+    public void start(FacesContext context, Instrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+        String application = context.getExternalContext().getApplicationContextPath();
+
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=Instrumentation,application=" + ObjectName.quote(application));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            name = objectName;
+        } catch (JMException e) {
+            LOGGER.log(WARNING, "Unable to register the instrumentation of application " + application + " with JMX", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (name == null) {
+            return;
+        }
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            server.unregisterMBean(name);
+        } catch (JMException e) {
+            LOGGER.log(WARNING, "Unable to unregister " + name + " from JMX", e);
+        } finally {
+            name = null;
+        }
+    }
+
+    ObjectName getObjectName() {
+        return name;
+    }
+
+    // ---------------------------------------------------- InstrumentationMXBean
+
+    @Override
+    public String[] getViewIds() {
+        return instrumentation.getViewIds().stream().sorted().toArray(String[]::new);
+    }
+
+    @Override
+    public Map<String, Timing> getTimings(String viewId) {
+        Map<String, Timing> timings = new LinkedHashMap<>();
+
+        for (Map.Entry<String, LatencyHistogram> stage : instrumentation.getHistograms(viewId).entrySet()) {
+            timings.put(stage.getKey(), Timing.of(stage.getValue()));
+        }
+
+        return timings;
+    }
+
+    @Override
+    public void reset() {
+        instrumentation.reset();
+    }
+}
@@ -116,6 +116,8 @@ public class LifecycleImpl extends Lifecycle {
             LOGGER.fine("execute(" + context + ")");
         }
 
+        RenderProfiler.start(context);
+
         for (int i = 1, len = phases.length - 1; i < len; i++) { // Skip ANY_PHASE placeholder
 
             if (context.getRenderResponse() || context.getResponseComplete()) {
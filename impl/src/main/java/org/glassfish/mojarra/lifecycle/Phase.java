@@ -69,6 +69,9 @@ public abstract class Phase {
             timer.startTiming();
         }
 
+        Instrumentation instrumentation = Instrumentation.getInstance();
+        long start = instrumentation != null ? System.nanoTime() : 0;
+
         try {
             handleBeforePhase(context, listeners, event);
             if (!shouldSkip(context)) {
@@ -87,6 +90,9 @@ public abstract class Phase {
                 timer.stopTiming();
                 timer.logResult("Execution time for phase (including any PhaseListeners) -> " + getId().toString());
             }
+            if (instrumentation != null) {
+                instrumentation.record(context, getId().getName(), System.nanoTime() - start);
+            }
 
             context.getExceptionHandler().handle();
         }
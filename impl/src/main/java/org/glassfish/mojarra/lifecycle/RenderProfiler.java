@@ -0,0 +1,464 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.lifecycle;
+
+import static java.util.logging.Level.INFO;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import jakarta.el.ELContext;
+import jakarta.el.EvaluationListener;
+import jakarta.faces.FacesWrapper;
+import jakarta.faces.application.ProjectStage;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.render.Renderer;
+import jakarta.faces.view.Location;
+
+import org.glassfish.mojarra.config.MojarraContextParam;
+import org.glassfish.mojarra.util.FacesLogger;
+
+/**
+ * Attributes the cost of building and rendering a view to the Facelets source locations it originates from. For every
+ * component tag applied, and for every renderer encoding a component, it records the wall time, the EL evaluations and
+ * the characters written to the response, and once the request is done it logs the locations which cost the most.
+ * <p>
+ * Costs are recorded exclusive of nested locations, so that a {@code h:form} does not take the blame for the
+ * {@code h:dataTable} inside it; the total including nested locations is reported alongside. What happens outside any
+ * component tag or renderer, such as plain template text and tag handlers which are not component tags, counts towards
+ * the enclosing location. Only the request thread is profiled, so regions rendered by the
+ * {@link org.glassfish.mojarra.application.view.ParallelSubtreeEncoder} count towards the location which writes them.
+ * <p>
+ * Profiling is only available in the {@link ProjectStage#Development} and {@link ProjectStage#SystemTest} stages. It
+ * profiles every request when {@link MojarraContextParam#ENABLE_RENDER_PROFILING} is set, and otherwise only those
+ * carrying the {@value #HEADER} request header.
+ *
+ * @see MojarraContextParam#ENABLE_RENDER_PROFILING
+ */
+public final class RenderProfiler extends EvaluationListener {
+
+    private static final Logger LOGGER = FacesLogger.TIMING.getLogger();
+
+    /**
+     * The request header which has a single request profiled.
+     */
+    public static final String HEADER = "X-Mojarra-Profile";
+
+    private static final String KEY = RenderProfiler.class.getName();
+
+    private static final int REPORTED_LOCATIONS = 50;
+
+    /**
+     * The amount of requests being profiled right now, in any application, which spares all others the lookup of the
+     * profiler.
+     */
+    private static final AtomicInteger PROFILING = new AtomicInteger();
+
+    /**
+     * What the cost of a location was spent on.
+     */
+    public enum Stage {
+        BUILD, RENDER
+    }
+
+    private final Thread owner = Thread.currentThread();
+    private final Map<Key, Cost> costs = new HashMap<>();
+    private final long startNanos = System.nanoTime();
+    private Frame current;
+    private long evaluations;
+    private long chars;
+
+    private RenderProfiler() {
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Starts profiling the current request when profiling is available and asked for, unless it is profiled already.
+     *
+     * @param context the {@link FacesContext} for the current request
+     */
+    public static void start(FacesContext context) {
+        if (context.isProjectStage(ProjectStage.Production) || context.isProjectStage(ProjectStage.UnitTest)) {
+            return;
+        }
+
+        if (context.getExternalContext().getRequestHeaderMap().get(HEADER) == null
+                && !MojarraContextParam.ENABLE_RENDER_PROFILING.isEnabled(context)) {
+            return;
+        }
+
+        Map<Object, Object> attributes = context.getAttributes();
+
+        if (attributes.containsKey(KEY)) {
+            return;
+        }
+
+        RenderProfiler profiler = new RenderProfiler();
+        attributes.put(KEY, profiler);
+        PROFILING.incrementAndGet();
+
+        ELContext elContext = context.getELContext();
+        if (elContext != null) {
+            elContext.addEvaluationListener(profiler);
+        }
+    }
+
+    /**
+     * @param context the {@link FacesContext} for the current request
+     * @return the profiler of the current request, or {@code null} when it is not profiled
+     */
+    public static RenderProfiler getInstance(FacesContext context) {
+        if (!isProfiling() || context == null) {
+            return null;
+        }
+
+        return (RenderProfiler) context.getAttributes().get(KEY);
+    }
+
+    /**
+     * Logs the report of the current request, when it was profiled.
+     *
+     * @param context the {@link FacesContext} for the current request, which is about to be released
+     */
+    public static void finish(FacesContext context) {
+        RenderProfiler profiler = getInstance(context);
+
+        if (profiler == null) {
+            return;
+        }
+
+        context.getAttributes().remove(KEY);
+        PROFILING.decrementAndGet();
+
+        UIViewRoot view = context.getViewRoot();
+        String report = profiler.getReport(view != null ? view.getViewId() : null);
+        LOGGER.log(INFO, report);
+    }
+
+    /**
+     * Starts recording the cost of the given location, which ends with the next call of {@link #exit()}.
+     *
+     * @param location the location of the tag, or a label of the component when it has none
+     * @param stage what the cost is spent on
+     */
+    public void enter(Object location, Stage stage) {
+        if (Thread.currentThread() != owner) {
+            return;
+        }
+
+        current = new Frame(current, new Key(location, stage), System.nanoTime(), evaluations, chars);
+    }
+
+    /**
+     * Stops recording the cost of the location entered last.
+     */
+    public void exit() {
+        if (Thread.currentThread() != owner || current == null) {
+            return;
+        }
+
+        Frame frame = current;
+        long nanos = System.nanoTime() - frame.startNanos;
+        long frameEvaluations = evaluations - frame.startEvaluations;
+        long frameChars = chars - frame.startChars;
+
+        costs.computeIfAbsent(frame.key, k -> new Cost()).add(nanos, nanos - frame.nestedNanos, frameEvaluations - frame.nestedEvaluations,
+                frameChars - frame.nestedChars);
+
+        current = frame.parent;
+
+        if (current != null) {
+            current.nestedNanos += nanos;
+            current.nestedEvaluations += frameEvaluations;
+            current.nestedChars += frameChars;
+        }
+    }
+
+    /**
+     * @return whether any request is being profiled right now
+     */
+    public static boolean isProfiling() {
+        return PROFILING.get() != 0;
+    }
+
+    /**
+     * @param renderer the renderer to profile
+     * @return the given renderer, recording its encoding against the location of the component encoded
+     */
+    public static <T extends UIComponent> Renderer<T> profile(Renderer<T> renderer) {
+        return renderer == null || renderer instanceof ProfilingRenderer ? renderer : new ProfilingRenderer<>(renderer);
+    }
+
+    /**
+     * @param renderer a renderer, possibly returned by {@link #profile(Renderer)}
+     * @return the given renderer as it was before it was profiled, e.g. to look at its class
+     */
+    public static Renderer<?> unwrap(Renderer<?> renderer) {
+        return renderer instanceof ProfilingRenderer<?> profilingRenderer ? profilingRenderer.getWrapped() : renderer;
+    }
+
+    /**
+     * @param writer the writer to count the characters written to
+     * @return a writer which counts the characters written through it towards the location being rendered
+     */
+    public Writer countChars(Writer writer) {
+        return new CountingWriter(writer);
+    }
+
+    @Override
+    public void beforeEvaluation(ELContext context, String expression) {
+        if (Thread.currentThread() == owner) {
+            evaluations++;
+        }
+    }
+
+    /**
+     * @param viewId the view id of the request
+     * @return the report of the costs recorded so far, the most expensive location first
+     */
+    public String getReport(String viewId) {
+        Map<String, Cost> byLocation = new LinkedHashMap<>();
+
+        for (Map.Entry<Key, Cost> entry : costs.entrySet()) {
+            byLocation.computeIfAbsent(entry.getKey().toString(), k -> new Cost()).add(entry.getValue());
+        }
+
+        List<Map.Entry<String, Cost>> sorted = new ArrayList<>(byLocation.entrySet());
+        sorted.sort((left, right) -> Long.compare(right.getValue().selfNanos, left.getValue().selfNanos));
+
+        StringBuilder report = new StringBuilder(128 + Math.min(sorted.size(), REPORTED_LOCATIONS) * 96);
+        report.append(String.format("Render profile of %s: %.3f ms, %d EL evaluations, %d chars written, %d locations%n", viewId,
+                (System.nanoTime() - startNanos) / 1e6, evaluations, chars, sorted.size()));
+        report.append(String.format("%10s %10s %7s %8s %9s  %s%n", "self ms", "total ms", "calls", "EL evals", "chars", "location"));
+
+        for (Map.Entry<String, Cost> entry : sorted.subList(0, Math.min(sorted.size(), REPORTED_LOCATIONS))) {
+            Cost cost = entry.getValue();
+            report.append(String.format("%10.3f %10.3f %7d %8d %9d  %s%n", cost.selfNanos / 1e6, cost.totalNanos / 1e6, cost.calls, cost.evaluations,
+                    cost.chars, entry.getKey()));
+        }
+
+        return report.toString();
+    }
+
+    /**
+     * @param component the component
+     * @return the location of the tag the given component was created by, or a label of the component when it has none
+     */
+    static Object getLocation(UIComponent component) {
+        Object location = component.getAttributes().get(UIComponent.VIEW_LOCATION_KEY);
+        return location instanceof Location ? location : "(" + component.getClass().getSimpleName() + ")";
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    private record Key(Object location, Stage stage) {
+
+        @Override
+        public String toString() {
+            return location + " " + stage.name().toLowerCase();
+        }
+    }
+
+    private static final class Frame {
+
+        private final Frame parent;
+        private final Key key;
+        private final long startNanos;
+        private final long startEvaluations;
+        private final long startChars;
+        private long nestedNanos;
+        private long nestedEvaluations;
+        private long nestedChars;
+
+        Frame(Frame parent, Key key, long startNanos, long startEvaluations, long startChars) {
+            this.parent = parent;
+            this.key = key;
+            this.startNanos = startNanos;
+            this.startEvaluations = startEvaluations;
+            this.startChars = startChars;
+        }
+    }
+
+    private static final class Cost {
+
+        private long calls;
+        private long totalNanos;
+        private long selfNanos;
+        private long evaluations;
+        private long chars;
+
+        void add(long total, long self, long selfEvaluations, long selfChars) {
+            calls++;
+            totalNanos += total;
+            selfNanos += self;
+            evaluations += selfEvaluations;
+            chars += selfChars;
+        }
+
+        void add(Cost other) {
+            calls += other.calls;
+            totalNanos += other.totalNanos;
+            selfNanos += other.selfNanos;
+            evaluations += other.evaluations;
+            chars += other.chars;
+        }
+    }
+
+    /**
+     * Records the encoding of a component against its location, when the current request is profiled.
+     */
+    private static final class ProfilingRenderer<T extends UIComponent> extends Renderer<T> implements FacesWrapper<Renderer<T>> {
+
+        private final Renderer<T> wrapped;
+
+        ProfilingRenderer(Renderer<T> wrapped) {
+            this.wrapped = wrapped;
+        }
+
+        @Override
+        public Renderer<T> getWrapped() {
+            return wrapped;
+        }
+
+        @Override
+        public void decode(FacesContext context, T component) {
+            wrapped.decode(context, component);
+        }
+
+        @Override
+        public void encodeBegin(FacesContext context, T component) throws IOException {
+            RenderProfiler profiler = getInstance(context);
+
+            if (profiler == null) {
+                wrapped.encodeBegin(context, component);
+                return;
+            }
+
+            profiler.enter(getLocation(component), Stage.RENDER);
+            try {
+                wrapped.encodeBegin(context, component);
+            } finally {
+                profiler.exit();
+            }
+        }
+
+        @Override
+        public void encodeChildren(FacesContext context, T component) throws IOException {
+            RenderProfiler profiler = getInstance(context);
+
+            if (profiler == null) {
+                wrapped.encodeChildren(context, component);
+                return;
+            }
+
+            profiler.enter(getLocation(component), Stage.RENDER);
+            try {
+                wrapped.encodeChildren(context, component);
+            } finally {
+                profiler.exit();
+            }
+        }
+
+        @Override
+        public void encodeEnd(FacesContext context, T component) throws IOException {
+            RenderProfiler profiler = getInstance(context);
+
+            if (profiler == null) {
+                wrapped.encodeEnd(context, component);
+                return;
+            }
+
+            profiler.enter(getLocation(component), Stage.RENDER);
+            try {
+                wrapped.encodeEnd(context, component);
+            } finally {
+                profiler.exit();
+            }
+        }
+
+        @Override
+        public String convertClientId(FacesContext context, String clientId) {
+            return wrapped.convertClientId(context, clientId);
+        }
+
+        @Override
+        public boolean getRendersChildren() {
+            return wrapped.getRendersChildren();
+        }
+
+        @Override
+        public Object getConvertedValue(FacesContext context, T component, Object submittedValue) {
+            return wrapped.getConvertedValue(context, component, submittedValue);
+        }
+    }
+
+    /**
+     * Counts the characters written towards the location being rendered.
+     */
+    private final class CountingWriter extends Writer {
+
+        private final Writer wrapped;
+
+        CountingWriter(Writer wrapped) {
+            this.wrapped = wrapped;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            count(1);
+            wrapped.write(c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            count(len);
+            wrapped.write(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            count(len);
+            wrapped.write(str, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            wrapped.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            wrapped.close();
+        }
+
+        private void count(int len) {
+            if (Thread.currentThread() == owner) {
+                chars += len;
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.model;
+
+import java.util.List;
+
+/**
+ * The server side paging hook of a {@link PagedDataModel}, typically backed by a count query and a query with an
+ * offset and a limit.
+ *
+ * @param <E> the type of the rows
+ */
+public interface PageLoader<E> {
+
+    /**
+     * Returns the total number of rows in the backing source. Invoked at most once per {@link PagedDataModel}
+     * instance.
+     *
+     * @return the total number of rows, or {@code -1} if unknown
+     */
+    int getRowCount();
+
+    /**
+     * Loads a page of rows.
+     *
+     * @param first the zero-based absolute index of the first row to load
+     * @param count the maximum number of rows to load
+     * @return the loaded rows, never {@code null}; fewer than {@code count} rows means the end of the source was
+     * reached
+     */
+    List<E> load(int first, int count);
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.model;
+
+import java.util.List;
+
+import jakarta.faces.model.DataModel;
+import jakarta.faces.model.DataModelEvent;
+import jakarta.faces.model.DataModelListener;
+
+/**
+ * A {@link DataModel} which loads its rows page by page through a {@link PageLoader}. Only the page holding the
+ * current row is kept in memory; the page is positioned on the window announced by the iterating component, see
+ * {@link WindowedDataModel}, so rendering one window of a large table results in a single load.
+ * <p>
+ * An instance is meant to live as long as the view it is displayed in, e.g. in a view scoped bean, so that the row
+ * count is queried only once.
+ *
+ * @param <E> the type of the rows
+ */
+public class PagedDataModel<E> extends DataModel<E> implements WindowedDataModel {
+
+    /**
+     * The number of rows loaded at once when no window has been announced, or when the window is unbounded.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private PageLoader<E> loader;
+    private final int pageSize;
+
+    private int index = -1;
+    private Integer rowCount;
+
+    private int windowFirst;
+    private int windowCount;
+
+    private List<E> page;
+    private int pageFirst;
+    private int pageRequested;
+
+    public PagedDataModel() {
+        this(null);
+    }
+
+    public PagedDataModel(PageLoader<E> loader) {
+        this(loader, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * @param loader the loader of the rows
+     * @param pageSize the number of rows loaded at once when the announced window is unbounded
+     * @throws IllegalArgumentException when the page size is less than 1
+     */
+    public PagedDataModel(PageLoader<E> loader, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize");
+        }
+        this.pageSize = pageSize;
+        windowCount = pageSize;
+        setWrappedData(loader);
+    }
+
+    @Override
+    public void setWindow(int first, int count) {
+        windowFirst = Math.max(0, first);
+        windowCount = count > 0 ? count : pageSize;
+        if (page != null && (windowFirst < pageFirst || windowFirst + windowCount > pageFirst + pageRequested)) {
+            page = null;
+        }
+    }
+
+    @Override
+    public boolean isRowAvailable() {
+        if (loader == null || index < 0) {
+            return false;
+        }
+        if (rowCount != null && rowCount >= 0 && index >= rowCount) {
+            return false;
+        }
+        loadPage();
+        return index - pageFirst < page.size();
+    }
+
+    @Override
+    public int getRowCount() {
+        if (loader == null) {
+            return -1;
+        }
+        if (rowCount == null) {
+            rowCount = loader.getRowCount();
+        }
+        return rowCount;
+    }
+
+    @Override
+    public E getRowData() {
+        if (loader == null) {
+            return null;
+        }
+        if (!isRowAvailable()) {
+            throw new IllegalArgumentException("No row available at index " + index);
+        }
+        return page.get(index - pageFirst);
+    }
+
+    @Override
+    public int getRowIndex() {
+        return index;
+    }
+
+    @Override
+    public void setRowIndex(int rowIndex) {
+        if (rowIndex < -1) {
+            throw new IllegalArgumentException();
+        }
+        int old = index;
+        index = rowIndex;
+        if (loader == null) {
+            return;
+        }
+        DataModelListener[] listeners = getDataModelListeners();
+        if (old != index && listeners != null && listeners.length > 0) {
+            DataModelEvent event = new DataModelEvent(this, index, isRowAvailable() ? getRowData() : null);
+            for (DataModelListener listener : listeners) {
+                if (listener != null) {
+                    listener.rowSelected(event);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Object getWrappedData() {
+        return loader;
+    }
+
+    /**
+     * @throws ClassCastException when the data is not a {@link PageLoader}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setWrappedData(Object data) {
+        loader = (PageLoader<E>) data;
+        rowCount = null;
+        page = null;
+        if (loader == null) {
+            index = -1;
+        } else {
+            setRowIndex(0);
+        }
+    }
+
+    /**
+     * Makes sure the page holding the current row is loaded. The announced window is loaded when it covers the current
+     * row, else a page starting at the current row. A page which came back short is remembered as such, so that probing
+     * the row after the last one does not cause another load.
+     */
+    private void loadPage() {
+        if (page != null && index >= pageFirst && index < pageFirst + pageRequested) {
+            return;
+        }
+        int first = index >= windowFirst && index < windowFirst + windowCount ? windowFirst : index;
+        int count = first == windowFirst ? windowCount : pageSize;
+        List<E> loaded = loader.load(first, count);
+        page = loaded != null ? loaded : List.of();
+        pageFirst = first;
+        pageRequested = count;
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.model;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import jakarta.faces.model.DataModel;
+import jakarta.faces.model.DataModelEvent;
+import jakarta.faces.model.DataModelListener;
+
+/**
+ * A {@link DataModel} which walks a {@link Stream} without ever copying it into a list: only the current row is held.
+ * <p>
+ * The stream is consumed forward only. Moving back to an earlier row, which happens e.g. when an event queued by a row
+ * is broadcast, reopens the stream when the model was created with a {@link Supplier}, otherwise that row is simply not
+ * available. The row count is unknown ({@code -1}) unless given at construction, in which case iterating components can
+ * also compute the last row of the iteration status.
+ *
+ * @param <E> the type of the rows
+ */
+public class StreamDataModel<E> extends DataModel<E> implements WindowedDataModel {
+
+    private Supplier<? extends Stream<E>> source;
+    private Stream<E> stream;
+    private Iterator<E> iterator;
+    private final int rowCount;
+
+    private int index = -1;
+    private int position = -1;
+    private E current;
+
+    public StreamDataModel() {
+        this((Stream<E>) null);
+    }
+
+    /**
+     * @param stream the stream to walk, which can be walked only once
+     */
+    public StreamDataModel(Stream<E> stream) {
+        rowCount = -1;
+        setWrappedData(stream);
+    }
+
+    /**
+     * @param source the supplier of a fresh stream, invoked again whenever an earlier row is requested
+     * @param rowCount the number of rows the stream yields, or {@code -1} if unknown
+     */
+    public StreamDataModel(Supplier<? extends Stream<E>> source, int rowCount) {
+        this.source = source;
+        this.rowCount = rowCount;
+        index = 0;
+    }
+
+    /**
+     * Skips the stream to the first row of the window, the rows in between are never materialized. The stream is
+     * walked lazily from there on.
+     */
+    @Override
+    public void setWindow(int first, int count) {
+        if (first > position && (stream != null || source != null)) {
+            seek(first - 1);
+        }
+    }
+
+    @Override
+    public boolean isRowAvailable() {
+        if (index < 0 || stream == null && source == null) {
+            return false;
+        }
+        return seek(index);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public E getRowData() {
+        if (stream == null && source == null) {
+            return null;
+        }
+        if (!isRowAvailable()) {
+            throw new IllegalArgumentException("No row available at index " + index);
+        }
+        return current;
+    }
+
+    @Override
+    public int getRowIndex() {
+        return index;
+    }
+
+    @Override
+    public void setRowIndex(int rowIndex) {
+        if (rowIndex < -1) {
+            throw new IllegalArgumentException();
+        }
+        int old = index;
+        index = rowIndex;
+        if (stream == null && source == null) {
+            return;
+        }
+        DataModelListener[] listeners = getDataModelListeners();
+        if (old != index && listeners != null && listeners.length > 0) {
+            DataModelEvent event = new DataModelEvent(this, index, isRowAvailable() ? getRowData() : null);
+            for (DataModelListener listener : listeners) {
+                if (listener != null) {
+                    listener.rowSelected(event);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Object getWrappedData() {
+        return stream;
+    }
+
+    /**
+     * @throws ClassCastException when the data is not a {@link Stream}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setWrappedData(Object data) {
+        close();
+        source = null;
+        stream = (Stream<E>) data;
+        iterator = null;
+        position = -1;
+        current = null;
+        index = stream == null ? -1 : 0;
+    }
+
+    /**
+     * Positions the stream on the given row.
+     *
+     * @return whether the stream holds that row
+     */
+    private boolean seek(int row) {
+        if (row < position || iterator == null && !open()) {
+            if (source == null || !reopen()) {
+                return false;
+            }
+        }
+        while (position < row && iterator.hasNext()) {
+            current = iterator.next();
+            position++;
+        }
+        return position == row && row >= 0;
+    }
+
+    private boolean open() {
+        if (stream == null && source != null) {
+            stream = source.get();
+        }
+        if (stream == null) {
+            return false;
+        }
+        iterator = stream.iterator();
+        position = -1;
+        current = null;
+        return true;
+    }
+
+    private boolean reopen() {
+        close();
+        stream = null;
+        return open();
+    }
+
+    private void close() {
+        if (stream != null && source != null) {
+            stream.close();
+        }
+    }
+
+}
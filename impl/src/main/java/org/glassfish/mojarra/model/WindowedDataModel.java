@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.model;
+
+import jakarta.faces.model.DataModel;
+
+/**
+ * A {@link DataModel} which can be told up front which rows an iterating component is about to visit, so that it only
+ * has to materialize that window from its backing source.
+ * <p>
+ * {@code ui:repeat} pushes its effective {@code offset}/{@code size} (or {@code begin}/{@code end}) down to the model
+ * before iterating, and {@code h:dataTable} pushes its {@code first}/{@code rows}. Rows are still addressed by their
+ * absolute index, so the window is only a hint: a model must keep answering {@link DataModel#setRowIndex(int)} for
+ * rows outside of it, for example when an event is broadcast for an arbitrary row.
+ *
+ * @see PagedDataModel
+ * @see StreamDataModel
+ */
+public interface WindowedDataModel {
+
+    /**
+     * Announces the rows which are about to be visited.
+     *
+     * @param first the zero-based absolute index of the first row of the window
+     * @param count the number of rows in the window, or a negative value if the window extends to the last row
+     */
+    void setWindow(int first, int count);
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.push;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * <p class="changed_added_5_0">
+ * The push broker of a single node: it publishes nothing and delivers nothing, so that push messages only reach the web
+ * socket sessions connected to the node which sent them. This is the default.
+ *
+ * @see PushBroker
+ * @since 5.0
+ */
+public final class LocalPushBroker implements PushBroker {
+
+    @Override
+    public void subscribe(Consumer<List<Message>> delivery) {
+        // Nothing is ever delivered.
+    }
+
+    @Override
+    public void publish(List<Message> messages) {
+        // There are no other nodes.
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release.
+    }
+}
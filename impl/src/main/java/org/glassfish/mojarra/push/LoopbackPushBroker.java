@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.push;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * <p class="changed_added_5_0">
+ * An in-memory push broker which treats every instance within the same class loader as a node of one cluster, and
+ * delivers a published batch synchronously to all other instances. This is meant for testing an application, or a
+ * broker of its own, against several nodes without any infrastructure, e.g. with one instance per embedded server.
+ *
+ * @see PushBroker
+ * @since 5.0
+ */
+public final class LoopbackPushBroker implements PushBroker {
+
+    private static final List<LoopbackPushBroker> NODES = new CopyOnWriteArrayList<>();
+
+    private volatile Consumer<List<Message>> delivery;
+
+    @Override
+    public void subscribe(Consumer<List<Message>> delivery) {
+        this.delivery = delivery;
+        NODES.add(this);
+    }
+
+    @Override
+    public void publish(List<Message> messages) {
+        for (LoopbackPushBroker node : NODES) {
+            Consumer<List<Message>> nodeDelivery = node.delivery;
+
+            if (node != this && nodeDelivery != null) {
+                nodeDelivery.accept(messages);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        NODES.remove(this);
+        delivery = null;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.push;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import jakarta.faces.push.PushContext;
+
+import org.glassfish.mojarra.config.MojarraContextParam;
+
+/**
+ * <p class="changed_added_5_0">
+ * A push broker carries push messages between the nodes of a cluster, so that a message sent through a
+ * {@link PushContext} on one node also reaches the web socket sessions connected to any other node, and the application
+ * can be run behind a load balancer without sticky web sockets.
+ * <p>
+ * Every node delivers each message to its own sessions first and then publishes it through the broker. The broker
+ * hands it to the other nodes, which deliver it to their own sessions in turn. The broker must not deliver a message
+ * back to the node which published it. Every message sent is published as a batch of its own, also when it is sent to
+ * a collection of users, in which case the message carries all of them; a broker is free to combine batches before
+ * sending them over the wire. Nothing is published while the default {@link LocalPushBroker} is configured.
+ * <p>
+ * An implementation needs a public no-argument constructor and is configured by its class name through
+ * {@link MojarraContextParam#PUSH_BROKER}. Without one, {@link LocalPushBroker} is used, which does nothing.
+ *
+ * @see LocalPushBroker
+ * @see LoopbackPushBroker
+ * @since 5.0
+ */
+public interface PushBroker extends AutoCloseable {
+
+    /**
+     * Start delivering the messages published by other nodes to the given consumer. This is invoked once, during
+     * startup.
+     *
+     * @param delivery The consumer which sends a batch of messages to the web socket sessions of this node.
+     */
+    void subscribe(Consumer<List<Message>> delivery);
+
+    /**
+     * Publish the given batch of messages to all other nodes. This is invoked on the thread sending the messages, so
+     * it should hand them off rather than wait for the other nodes.
+     *
+     * @param messages The messages which were sent on this node.
+     */
+    void publish(List<Message> messages);
+
+    /**
+     * Stop delivering messages and release any resources held. This is invoked once, during shutdown.
+     */
+    @Override
+    void close();
+
+    /**
+     * A push message as published to other nodes.
+     * <p>
+     * The identifier of an application scoped channel is different on every node, so such a message is addressed by
+     * channel name alone. A session or view scoped channel is addressed by its identifier, which lives in the HTTP
+     * session and is thus the same on every node which serves that session. A message to users is addressed by channel
+     * name and users, which every node resolves against the users connected to it.
+     *
+     * @param channel The channel name.
+     * @param channelId The identifier of the session or view scoped channel, or <code>null</code> when the message is sent
+     * to an application scoped channel or to users.
+     * @param users The users to send the message to, or <code>null</code> when it is sent to the channel.
+     * @param json The push message, already encoded as JSON.
+     * @param key The key of the message, or <code>null</code> when it must not replace a queued message.
+     */
+    record Message(String channel, String channelId, Set<Serializable> users, String json, String key) implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+}
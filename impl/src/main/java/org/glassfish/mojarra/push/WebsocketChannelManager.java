@@ -18,6 +18,7 @@ package org.glassfish.mojarra.push;
 
 import static java.util.Collections.emptyMap;
 import static org.glassfish.mojarra.cdi.CdiUtils.getBeanInstance;
+import static org.glassfish.mojarra.context.SessionMap.getLock;
 import static org.glassfish.mojarra.push.WebsocketUserManager.getUserChannels;
 
 import java.io.IOException;
@@ -32,6 +33,7 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.locks.Lock;
 
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.SessionScoped;
@@ -169,7 +171,9 @@ public class WebsocketChannelManager implements Serializable {
     private static void registerChannelIdInSession(FacesContext context, String channelId) {
         HttpSession httpSession = (HttpSession) context.getExternalContext().getSession(true);
 
-        synchronized (httpSession) {
+        Lock lock = getLock(httpSession);
+        lock.lock();
+        try {
             @SuppressWarnings("unchecked")
             Set<String> channelIds = (Set<String>) httpSession.getAttribute(SESSION_SCOPE_CHANNEL_IDS);
 
@@ -179,6 +183,8 @@ public class WebsocketChannelManager implements Serializable {
             }
 
             channelIds.add(channelId);
+        } finally {
+            lock.unlock();
         }
     }
 
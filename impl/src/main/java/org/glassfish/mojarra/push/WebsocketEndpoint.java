@@ -58,6 +58,12 @@ public class WebsocketEndpoint extends Endpoint {
     /** The endpoint config user property name holding the maximum number of concurrent sessions per channel as an {@link Integer}. */
     public static final String USER_PROPERTY_MAX_SESSIONS_PER_CHANNEL = "org.glassfish.mojarra.push.MAX_SESSIONS_PER_CHANNEL";
 
+    /** The endpoint config user property name holding the maximum number of queued push messages per session as an {@link Integer}. */
+    public static final String USER_PROPERTY_SEND_QUEUE_SIZE = "org.glassfish.mojarra.push.SEND_QUEUE_SIZE";
+
+    /** The endpoint config user property name holding the {@link WebsocketSessionQueue.Overflow} of the send queue per session. */
+    public static final String USER_PROPERTY_SEND_QUEUE_OVERFLOW = "org.glassfish.mojarra.push.SEND_QUEUE_OVERFLOW";
+
     private static final Logger logger = Logger.getLogger(WebsocketEndpoint.class.getName());
     private static final CloseReason REASON_UNKNOWN_CHANNEL = new CloseReason(VIOLATED_POLICY, "Unknown channel");
     private static final String ERROR_EXCEPTION = "WebsocketEndpoint: An exception occurred during processing web socket request.";
@@ -74,7 +80,7 @@ public class WebsocketEndpoint extends Endpoint {
      */
     @Override
     public void onOpen(Session session, EndpointConfig config) {
-        if (WebsocketSessionManager.getInstance().add(session, getMaxSessionsPerChannel(config))) { // @Inject in Endpoint doesn't work in Tomcat+Weld/OWB.
+        if (WebsocketSessionManager.getInstance().add(session, getMaxSessionsPerChannel(config), getSendQueueSize(config), getSendQueueOverflow(config))) { // @Inject in Endpoint doesn't work in Tomcat+Weld/OWB.
             session.setMaxIdleTimeout(getIdleTimeout(config));
         } else {
             try {
@@ -130,6 +136,17 @@ public class WebsocketEndpoint extends Endpoint {
         return maxSessionsPerChannel instanceof Integer ? (Integer) maxSessionsPerChannel : Integer.MAX_VALUE;
     }
 
+    private static int getSendQueueSize(EndpointConfig config) {
+        Object sendQueueSize = config.getUserProperties().get(USER_PROPERTY_SEND_QUEUE_SIZE);
+        return sendQueueSize instanceof Integer ? (Integer) sendQueueSize : WebsocketSessionQueue.DEFAULT_MAX_SIZE;
+    }
+
+    private static WebsocketSessionQueue.Overflow getSendQueueOverflow(EndpointConfig config) {
+        Object sendQueueOverflow = config.getUserProperties().get(USER_PROPERTY_SEND_QUEUE_OVERFLOW);
+        return sendQueueOverflow instanceof WebsocketSessionQueue.Overflow ? (WebsocketSessionQueue.Overflow) sendQueueOverflow
+                : WebsocketSessionQueue.Overflow.DROP_OLDEST;
+    }
+
     // Nested classes -------------------------------------------------------------------------------------------------
 
     /**
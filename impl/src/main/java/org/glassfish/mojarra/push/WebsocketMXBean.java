@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.push;
+
+import java.util.Map;
+
+import org.glassfish.mojarra.lifecycle.InstrumentationMXBean.Timing;
+
+/**
+ * The management interface of the web socket push of an application, which is registered as
+ * {@code org.glassfish.mojarra:type=Websocket,application=<context path>} when the web socket endpoint is enabled.
+ *
+ * @see WebsocketSessionManager
+ * @see WebsocketMetrics
+ * @since 5.0
+ */
+public interface WebsocketMXBean {
+
+    /**
+     * @return the open web socket sessions by the scope of their channel
+     */
+    Map<String, Integer> getOpenSockets();
+
+    /**
+     * @return the channel identifiers registered on this node
+     */
+    int getChannels();
+
+    /**
+     * @return the push messages currently queued for all web socket sessions together
+     */
+    long getQueuedMessages();
+
+    /**
+     * @return the push messages currently queued for the web socket session with the most of them
+     */
+    int getMaxQueueDepth();
+
+    /**
+     * @return the push messages sent
+     */
+    long getSentMessages();
+
+    /**
+     * @return the bytes of push messages sent
+     */
+    long getSentBytes();
+
+    /**
+     * @return the push messages sent per second, as of the last run of the reaper
+     */
+    double getMessagesPerSecond();
+
+    /**
+     * @return the bytes of push messages sent per second, as of the last run of the reaper
+     */
+    double getBytesPerSecond();
+
+    /**
+     * @return the push messages which failed to be sent
+     */
+    long getSendFailures();
+
+    /**
+     * @return the push messages dropped because a send queue was full
+     */
+    long getDroppedMessages();
+
+    /**
+     * @return the push messages replaced by a later one with the same key
+     */
+    long getCoalescedMessages();
+
+    /**
+     * @return the closed web socket sessions removed by the reaper
+     */
+    long getReapedSessions();
+
+    /**
+     * @return the empty channels removed by the reaper
+     */
+    long getReapedChannels();
+
+    /**
+     * @return how long push messages waited in a send queue
+     */
+    Timing getQueueLatency();
+
+    /**
+     * @return how long the container took to send a push message
+     */
+    Timing getSendLatency();
+
+    /**
+     * Runs the reaper right away.
+     */
+    void reap();
+
+    /**
+     * Forgets the counters and timings recorded so far.
+     */
+    void reset();
+}
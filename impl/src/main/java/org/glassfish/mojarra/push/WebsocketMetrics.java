@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.push;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.glassfish.mojarra.util.LatencyHistogram;
+
+/**
+ * <p class="changed_added_5_0">
+ * The counters and timings of the push messages sent through the {@link WebsocketSessionQueue}s of an application.
+ * Everything is recorded lock free and always, as it costs a few atomic increments per message, and rates are derived
+ * from the counters each time {@link #tick(long)} is invoked, which the reaper of the {@link WebsocketSessionManager}
+ * does.
+ *
+ * @see WebsocketMXBean
+ * @since 5.0
+ */
+public final class WebsocketMetrics {
+
+    // Variables ------------------------------------------------------------------------------------------------------
+
+    final LongAdder sent = new LongAdder();
+    final LongAdder sentBytes = new LongAdder();
+    final LongAdder failed = new LongAdder();
+    final LongAdder dropped = new LongAdder();
+    final LongAdder coalesced = new LongAdder();
+    final LongAdder reapedSessions = new LongAdder();
+    final LongAdder reapedChannels = new LongAdder();
+    final LatencyHistogram queueLatency = new LatencyHistogram();
+    final LatencyHistogram sendLatency = new LatencyHistogram();
+
+    private long lastTickNanos = System.nanoTime();
+    private long lastSent;
+    private long lastSentBytes;
+    private volatile double messagesPerSecond;
+    private volatile double bytesPerSecond;
+
+    // Actions --------------------------------------------------------------------------------------------------------
+
+    /**
+     * Record a push message which has been sent, or has failed to be sent, to a web socket session.
+     *
+     * @param bytes The length of the push message string in UTF-8.
+     * @param queuedNanos How long the message waited in the queue before it was handed to the container.
+     * @param sendingNanos How long the container took to send it.
+     * @param ok Whether it was sent.
+     */
+    void record(int bytes, long queuedNanos, long sendingNanos, boolean ok) {
+        queueLatency.record(queuedNanos);
+        sendLatency.record(sendingNanos);
+
+        if (ok) {
+            sent.increment();
+            sentBytes.add(bytes);
+        } else {
+            failed.increment();
+        }
+    }
+
+    /**
+     * Derive the rates from what has been sent since the previous tick.
+     *
+     * @param nowNanos The current {@link System#nanoTime()}.
+     */
+    synchronized void tick(long nowNanos) {
+        long elapsedNanos = nowNanos - lastTickNanos;
+
+        if (elapsedNanos <= 0) {
+            return;
+        }
+
+        long sentNow = sent.sum();
+        long sentBytesNow = sentBytes.sum();
+        messagesPerSecond = (sentNow - lastSent) * 1e9 / elapsedNanos;
+        bytesPerSecond = (sentBytesNow - lastSentBytes) * 1e9 / elapsedNanos;
+        lastSent = sentNow;
+        lastSentBytes = sentBytesNow;
+        lastTickNanos = nowNanos;
+    }
+
+    /**
+     * Forget everything recorded so far.
+     */
+    synchronized void reset() {
+        sent.reset();
+        sentBytes.reset();
+        failed.reset();
+        dropped.reset();
+        coalesced.reset();
+        reapedSessions.reset();
+        reapedChannels.reset();
+        queueLatency.reset();
+        sendLatency.reset();
+        lastSent = 0;
+        lastSentBytes = 0;
+        lastTickNanos = System.nanoTime();
+        messagesPerSecond = 0;
+        bytesPerSecond = 0;
+    }
+
+    // Getters --------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return The number of push messages sent to a web socket session.
+     */
+    public long getSentMessages() {
+        return sent.sum();
+    }
+
+    /**
+     * @return The number of bytes of push messages sent, as UTF-8, without the web socket framing.
+     */
+    public long getSentBytes() {
+        return sentBytes.sum();
+    }
+
+    /**
+     * @return The number of push messages which the container failed to send.
+     */
+    public long getSendFailures() {
+        return failed.sum();
+    }
+
+    /**
+     * @return The number of push messages dropped because the send queue of their web socket session was full.
+     */
+    public long getDroppedMessages() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return The number of push messages replaced by a later one with the same key before they were sent.
+     */
+    public long getCoalescedMessages() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return The number of closed web socket sessions which the reaper had to remove.
+     */
+    public long getReapedSessions() {
+        return reapedSessions.sum();
+    }
+
+    /**
+     * @return The number of empty channels which the reaper removed.
+     */
+    public long getReapedChannels() {
+        return reapedChannels.sum();
+    }
+
+    /**
+     * @return The push messages sent per second between the last two ticks.
+     */
+    public double getMessagesPerSecond() {
+        return messagesPerSecond;
+    }
+
+    /**
+     * @return The bytes of push messages sent per second between the last two ticks.
+     */
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * @return How long push messages waited in the send queue of their web socket session.
+     */
+    public LatencyHistogram getQueueLatency() {
+        return queueLatency;
+    }
+
+    /**
+     * @return How long the container took to send a push message once it was handed to it.
+     */
+    public LatencyHistogram getSendLatency() {
+        return sendLatency;
+    }
+
+    // Helpers --------------------------------------------------------------------------------------------------------
+
+    static int utf8Length(String text) {
+        int length = text.length();
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    length++;
+                } else if (Character.isHighSurrogate(c)) {
+                    length += 2;
+                    i++;
+                } else {
+                    length += 2;
+                }
+            }
+        }
+
+        return length;
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.push;
+
+import static java.util.logging.Level.WARNING;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.glassfish.mojarra.lifecycle.InstrumentationMXBean.Timing;
+import org.glassfish.mojarra.util.FacesLogger;
+
+/**
+ * Exposes the {@link WebsocketSessionManager} and its {@link WebsocketMetrics} as a {@link WebsocketMXBean} on the
+ * platform MBean server.
+ */
+final class WebsocketMonitor implements WebsocketMXBean {
+
+    private static final Logger LOGGER = FacesLogger.APPLICATION.getLogger();
+
+    private static final String DOMAIN = "org.glassfish.mojarra";
+
+    private final WebsocketSessionManager socketSessions;
+    private final WebsocketMetrics metrics;
+    private ObjectName name;
+
+    WebsocketMonitor(WebsocketSessionManager socketSessions) {
+        this.socketSessions = socketSessions;
+        metrics = socketSessions.getMetrics();
+    }
+
+    void register(String application) {
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=Websocket,application=" + ObjectName.quote(application));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            name = objectName;
+        } catch (JMException e) {
+            LOGGER.log(WARNING, "Unable to register the web socket push of application " + application + " with JMX", e);
+        }
+    }
+
+    void unregister() {
+        if (name == null) {
+            return;
+        }
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException e) {
+            LOGGER.log(WARNING, "Unable to unregister " + name + " from JMX", e);
+        } finally {
+            name = null;
+        }
+    }
+
+    // ---------------------------------------------------------- WebsocketMXBean
+
+    @Override
+    public Map<String, Integer> getOpenSockets() {
+        return socketSessions.getOpenSockets();
+    }
+
+    @Override
+    public int getChannels() {
+        return socketSessions.getChannels();
+    }
+
+    @Override
+    public long getQueuedMessages() {
+        return socketSessions.getQueuedMessages();
+    }
+
+    @Override
+    public int getMaxQueueDepth() {
+        return socketSessions.getMaxQueueDepth();
+    }
+
+    @Override
+    public long getSentMessages() {
+        return metrics.getSentMessages();
+    }
+
+    @Override
+    public long getSentBytes() {
+        return metrics.getSentBytes();
+    }
+
+    @Override
+    public double getMessagesPerSecond() {
+        return metrics.getMessagesPerSecond();
+    }
+
+    @Override
+    public double getBytesPerSecond() {
+        return metrics.getBytesPerSecond();
+    }
+
+    @Override
+    public long getSendFailures() {
+        return metrics.getSendFailures();
+    }
+
+    @Override
+    public long getDroppedMessages() {
+        return metrics.getDroppedMessages();
+    }
+
+    @Override
+    public long getCoalescedMessages() {
+        return metrics.getCoalescedMessages();
+    }
+
+    @Override
+    public long getReapedSessions() {
+        return metrics.getReapedSessions();
+    }
+
+    @Override
+    public long getReapedChannels() {
+        return metrics.getReapedChannels();
+    }
+
+    @Override
+    public Timing getQueueLatency() {
+        return Timing.of(metrics.getQueueLatency());
+    }
+
+    @Override
+    public Timing getSendLatency() {
+        return Timing.of(metrics.getSendLatency());
+    }
+
+    @Override
+    public void reap() {
+        socketSessions.reap();
+    }
+
+    @Override
+    public void reset() {
+        metrics.reset();
+    }
+}
@@ -21,6 +21,7 @@ import static org.glassfish.mojarra.push.WebsocketChannelManager.EMPTY_SCOPE;
 import static org.glassfish.mojarra.push.WebsocketChannelManager.getChannelId;
 import static org.glassfish.mojarra.push.WebsocketChannelManager.getSessionScope;
 import static org.glassfish.mojarra.push.WebsocketChannelManager.getViewScope;
+import static org.glassfish.mojarra.push.WebsocketChannelManager.isApplicationScopedChannelId;
 
 import java.io.Serializable;
 import java.util.Collection;
@@ -28,6 +29,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 
 import jakarta.enterprise.context.SessionScoped;
@@ -81,7 +83,22 @@ public class WebsocketPushContext implements PushContext {
 
     @Override
     public Set<Future<Void>> send(Object message) {
-        return socketSessions.send(getChannelId(channel, sessionScope, viewScope), Json.encode(message));
+        return sendEncoded(Json.encode(message), null);
+    }
+
+    /**
+     * Send given push message to this channel, like {@link #send(Object)}, but replace a message with the same key which
+     * is still queued for a web socket session, so that a client which cannot keep up with a stream of updates, e.g.
+     * prices, only gets to see the latest value of each. This is not part of {@link PushContext}, so cast the injected
+     * push context to get at it.
+     *
+     * @param message The push message object.
+     * @param key The key identifying what the message is the latest value of.
+     * @return The results of the send operation, see {@link #send(Object)}.
+     * @since 5.0
+     */
+    public Set<Future<Void>> sendCoalesced(Object message, String key) {
+        return sendEncoded(Json.encode(message), key);
     }
 
     @Override
@@ -105,7 +122,50 @@ public class WebsocketPushContext implements PushContext {
             resultsByUser.put(user, results);
         }
 
+        if (socketSessions.isPublishing()) {
+            socketSessions.publish(new PushBroker.Message(channel, null, new HashSet<>(users), json, null));
+        }
+
         return resultsByUser;
     }
 
+    /**
+     * Send given push message to all given users on this channel, like {@link #send(Object, Collection)}, but resolve
+     * their web socket sessions at once, encode the message only once, and return a single result for all of them
+     * instead of a set of results per user. This is not part of {@link PushContext}, so cast the injected push context to
+     * get at it.
+     *
+     * @param <S> The generic type of the user identifier.
+     * @param message The push message object.
+     * @param users The user identifiers of the recipients.
+     * @return The result of the send operation, which completes once the message has been sent to all web socket
+     * sessions of all given users. When it could not be delivered to one or more of them, it completes exceptionally with
+     * one of the causes, but still only after all others are done. Sessions on other nodes of the cluster are not
+     * covered.
+     * @since 5.0
+     */
+    public <S extends Serializable> CompletableFuture<Void> multicast(Object message, Collection<S> users) {
+        String json = Json.encode(message);
+        CompletableFuture<Void> result = socketSessions.multicast(socketUsers.getChannelIdsOfAll(users, channel), json);
+
+        if (socketSessions.isPublishing()) {
+            socketSessions.publish(new PushBroker.Message(channel, null, new HashSet<>(users), json, null));
+        }
+
+        return result;
+    }
+
+    // Helpers --------------------------------------------------------------------------------------------------------
+
+    private Set<Future<Void>> sendEncoded(String json, String key) {
+        String channelId = getChannelId(channel, sessionScope, viewScope);
+        Set<Future<Void>> results = socketSessions.send(channelId, json, key);
+
+        if (socketSessions.isPublishing()) {
+            socketSessions.publish(new PushBroker.Message(channel, isApplicationScopedChannelId(channelId) ? null : channelId, null, json, key));
+        }
+
+        return results;
+    }
+
 }
@@ -16,17 +16,26 @@
 
 package org.glassfish.mojarra.push;
 
+import static jakarta.websocket.CloseReason.CloseCodes.CLOSED_ABNORMALLY;
 import static jakarta.websocket.CloseReason.CloseCodes.NORMAL_CLOSURE;
-import static java.lang.String.format;
 import static java.util.Collections.emptySet;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.logging.Level.WARNING;
 import static org.glassfish.mojarra.cdi.CdiUtils.getBeanReference;
+import static org.glassfish.mojarra.push.WebsocketChannelManager.EMPTY_SCOPE;
+import static org.glassfish.mojarra.push.WebsocketChannelManager.isApplicationScopedChannelId;
 import static org.glassfish.mojarra.push.WebsocketEndpoint.PARAM_CHANNEL;
+import static org.glassfish.mojarra.push.WebsocketMetrics.utf8Length;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -34,9 +43,13 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.logging.Logger;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.enterprise.util.AnnotationLiteral;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.event.WebsocketEvent;
@@ -47,6 +60,7 @@ import jakarta.inject.Inject;
 import jakarta.websocket.CloseReason;
 import jakarta.websocket.Session;
 
+import org.glassfish.mojarra.util.MojarraThreadFactory;
 import org.glassfish.mojarra.util.Util;
 
 /**
@@ -65,6 +79,8 @@ public class WebsocketSessionManager {
     private static final Logger logger = Logger.getLogger(WebsocketSessionManager.class.getName());
 
     private static final CloseReason REASON_EXPIRED = new CloseReason(NORMAL_CLOSURE, "Expired");
+    private static final CloseReason REASON_REAPED = new CloseReason(CLOSED_ABNORMALLY, "Reaped");
+    private static final String ERROR_REAPED_EVENT = "WebsocketSessionManager: An exception occurred during firing the close event of a reaped web socket session.";
     private static final AnnotationLiteral<Opened> SESSION_OPENED = new AnnotationLiteral<Opened>() {
         private static final long serialVersionUID = 1L;
     };
@@ -72,22 +88,20 @@ public class WebsocketSessionManager {
         private static final long serialVersionUID = 1L;
     };
 
-    private static final long TOMCAT_WEB_SOCKET_RETRY_TIMEOUT = 10; // Milliseconds.
-    private static final long TOMCAT_WEB_SOCKET_MAX_RETRIES = 100; // So, that's retrying for about 1 second.
-    private static final String WARNING_TOMCAT_WEB_SOCKET_BOMBED = "Tomcat cannot handle concurrent push messages."
-            + " A push message has been sent only after %s retries of " + TOMCAT_WEB_SOCKET_RETRY_TIMEOUT + "ms apart."
-            + " Consider rate limiting sending push messages. For example, once every 500ms.";
-    private static final String ERROR_TOMCAT_WEB_SOCKET_BOMBED = "Tomcat cannot handle concurrent push messages."
-            + " A push message could NOT be sent after %s retries of " + TOMCAT_WEB_SOCKET_RETRY_TIMEOUT + "ms apart."
-            + " Consider rate limiting sending push messages. For example, once every 500ms.";
-
     // Properties -----------------------------------------------------------------------------------------------------
 
     private final ConcurrentMap<String, Collection<Session>> socketSessions = new ConcurrentHashMap<>();
+    private final WebsocketMetrics metrics = new WebsocketMetrics();
+    private volatile PushBroker broker = new LocalPushBroker();
+    private ScheduledExecutorService reaper;
+    private WebsocketMonitor monitor;
 
     @Inject
     private WebsocketUserManager socketUsers;
 
+    @Inject
+    private BeanManager beanManager;
+
     // Actions --------------------------------------------------------------------------------------------------------
 
     /**
@@ -114,19 +128,58 @@ public class WebsocketSessionManager {
 
     /**
      * On open, add given web socket session to the mapping associated with its channel identifier and returns
-     * <code>true</code> if it's accepted (i.e. the channel identifier is known, the channel has not yet reached the
-     * given maximum number of concurrent sessions, and the same session hasn't been added before), otherwise
-     * <code>false</code>.
+     * <code>true</code> if it's accepted, see {@link #add(Session, int, int, WebsocketSessionQueue.Overflow)}. All push
+     * messages for the session are sent through a {@link WebsocketSessionQueue} of the default size, which drops the
+     * oldest queued message when it is full.
      *
      * @param session The opened web socket session.
      * @param maxSessionsPerChannel The maximum number of concurrent web socket sessions allowed per channel.
      * @return <code>true</code> if given web socket session is accepted and is new, otherwise <code>false</code>.
      */
     protected boolean add(Session session, int maxSessionsPerChannel) {
+        return add(session, maxSessionsPerChannel, WebsocketSessionQueue.DEFAULT_MAX_SIZE, WebsocketSessionQueue.Overflow.DROP_OLDEST);
+    }
+
+    /**
+     * On open, add given web socket session to the mapping associated with its channel identifier and returns
+     * <code>true</code> if it's accepted (i.e. the channel has not yet reached the given maximum number of concurrent
+     * sessions, and the same session hasn't been added before), otherwise <code>false</code>.
+     * <p>
+     * A channel identifier which is not known on this node, e.g. because the channel was registered on another node of the
+     * cluster or because the reaper removed it while it had no sessions, is registered again. It was already verified
+     * during the handshake that the channel is either application scoped or registered in the HTTP session.
+     * <p>
+     * All push messages for the session are sent through a {@link WebsocketSessionQueue} of the given size.
+     *
+     * @param session The opened web socket session.
+     * @param maxSessionsPerChannel The maximum number of concurrent web socket sessions allowed per channel.
+     * @param sendQueueSize The maximum number of push messages queued for the session while another one is being sent.
+     * @param sendQueueOverflow What to do when the send queue of the session is full.
+     * @return <code>true</code> if given web socket session is accepted and is new, otherwise <code>false</code>.
+     * @since 5.0
+     */
+    protected boolean add(Session session, int maxSessionsPerChannel, int sendQueueSize, WebsocketSessionQueue.Overflow sendQueueOverflow) {
         String channelId = getChannelId(session);
-        Collection<Session> sessions = socketSessions.get(channelId);
 
-        if (sessions != null && !isChannelFull(sessions, maxSessionsPerChannel) && sessions.add(session)) {
+        if (channelId == null) {
+            return false;
+        }
+
+        boolean[] added = new boolean[1];
+
+        socketSessions.compute(channelId, (id, sessions) -> { // Atomic with the removal of an empty channel by the reaper.
+            Collection<Session> channelSessions = sessions != null ? sessions : new ConcurrentLinkedQueue<>();
+
+            if (!isChannelFull(channelSessions, maxSessionsPerChannel) && !channelSessions.contains(session)) {
+                // Only once accepted, but before adding, so that no push message bypasses the queue.
+                WebsocketSessionQueue.install(session, new WebsocketSessionQueue(session, sendQueueSize, sendQueueOverflow, metrics));
+                added[0] = channelSessions.add(session);
+            }
+
+            return channelSessions;
+        });
+
+        if (added[0]) {
             Serializable user = socketUsers.getUser(getChannel(session), channelId);
 
             if (user != null) {
@@ -151,14 +204,30 @@ public class WebsocketSessionManager {
      * was successfully delivered and otherwise throw {@link ExecutionException}.
      */
     protected Set<Future<Void>> send(String channelId, String message) {
+        return send(channelId, message, null);
+    }
+
+    /**
+     * Send the given push message to all open web socket sessions associated with given web socket channel identifier,
+     * replacing a message with the same key which is still queued for a session.
+     *
+     * @param channelId The web socket channel identifier.
+     * @param message The push message string.
+     * @param key The key of the push message, or <code>null</code> when it must not replace a queued message.
+     * @return The results of the send operation, see {@link #send(String, String)}. The future of a message which was
+     * replaced is the one of the message which replaced it.
+     * @since 5.0
+     */
+    protected Set<Future<Void>> send(String channelId, String message, String key) {
         Collection<Session> sessions = channelId != null ? socketSessions.get(channelId) : null;
 
         if (sessions != null && !sessions.isEmpty()) {
             Set<Future<Void>> results = new HashSet<>(sessions.size());
+            int bytes = utf8Length(message);
 
             for (Session session : sessions) {
                 if (session.isOpen()) {
-                    results.add(send(session, message, true));
+                    results.add(send(session, message, bytes, key));
                 }
             }
 
@@ -168,56 +237,86 @@ public class WebsocketSessionManager {
         return emptySet();
     }
 
-    private Future<Void> send(Session session, String text, boolean retrySendTomcatWebSocket) {
-        try {
-            return session.getAsyncRemote().sendText(text);
-        } catch (IllegalStateException e) {
-            // Awkward workaround for Tomcat not willing to queue/synchronize asyncRemote().
-            // https://bz.apache.org/bugzilla/show_bug.cgi?id=56026
-            if (session.getClass().getName().startsWith("org.apache.tomcat.websocket.") && e.getMessage().contains("[TEXT_FULL_WRITING]")) {
-                if (retrySendTomcatWebSocket) {
-                    return CompletableFuture.supplyAsync(() -> retrySendTomcatWebSocket(session, text));
-                } else {
-                    return null;
+    /**
+     * Send given push message once to every open web socket session associated with any of given web socket channel
+     * identifiers. The message string and its length for the metrics are shared by all sessions, and instead of a future
+     * per session there is only one for all of them, which is what makes this suitable for sending to many users at once.
+     *
+     * @param channelIds The web socket channel identifiers.
+     * @param message The push message string.
+     * @return The result of the send operation, which completes once the message has been sent to all sessions.
+     * When it could not be delivered to one or more of them, it completes exceptionally with one of the causes, but still
+     * only after all others are done. When there are no open sessions, it is already completed.
+     * @since 5.0
+     */
+    protected CompletableFuture<Void> multicast(Collection<String> channelIds, String message) {
+        List<CompletableFuture<Void>> results = new ArrayList<>(channelIds.size());
+        int bytes = utf8Length(message);
+
+        for (String channelId : channelIds) {
+            Collection<Session> sessions = socketSessions.get(channelId);
+
+            if (sessions != null) {
+                for (Session session : sessions) {
+                    if (session.isOpen()) {
+                        results.add(send(session, message, bytes, null));
+                    }
                 }
-            } else {
-                throw e;
             }
         }
-    }
 
-    private Void retrySendTomcatWebSocket(Session session, String text) {
-        int retries = 0;
-        Exception cause = null;
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[results.size()]));
+    }
 
-        while (++retries < TOMCAT_WEB_SOCKET_MAX_RETRIES) {
-            try {
-                Thread.sleep(TOMCAT_WEB_SOCKET_RETRY_TIMEOUT);
+    private static CompletableFuture<Void> send(Session session, String text, int bytes, String key) {
+        WebsocketSessionQueue queue = WebsocketSessionQueue.get(session);
 
-                if (!session.isOpen()) {
-                    cause = new IllegalStateException("Too bad, session is now closed");
-                    break;
-                }
+        if (queue != null) {
+            return queue.offer(text, bytes, key);
+        }
 
-                Future<Void> result = send(session, text, false);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        session.getAsyncRemote().sendText(text, sendResult -> {
+            if (sendResult.isOK()) {
+                result.complete(null);
+            } else {
+                result.completeExceptionally(sendResult.getException());
+            }
+        });
+        return result;
+    }
 
-                if (result == null) {
-                    continue;
-                }
+    /**
+     * Publish given push message to the other nodes of the cluster through the configured {@link PushBroker}.
+     *
+     * @param message The push message which was sent on this node.
+     * @since 5.0
+     */
+    protected void publish(PushBroker.Message message) {
+        broker.publish(List.of(message));
+    }
 
-                if (logger.isLoggable(WARNING)) {
-                    logger.log(WARNING, format(WARNING_TOMCAT_WEB_SOCKET_BOMBED, retries));
-                }
+    /**
+     * Returns whether push messages are published to other nodes, i.e. whether a {@link PushBroker} other than the
+     * default {@link LocalPushBroker} is configured, so that senders can skip building a message nobody receives.
+     *
+     * @return Whether push messages are published to other nodes.
+     * @since 5.0
+     */
+    protected boolean isPublishing() {
+        return !(broker instanceof LocalPushBroker);
+    }
 
-                return result.get();
-            } catch (InterruptedException | ExecutionException e) {
-                Thread.currentThread().interrupt();
-                cause = e;
-                break;
+    private void deliver(List<PushBroker.Message> messages) {
+        for (PushBroker.Message message : messages) {
+            if (message.users() != null) {
+                multicast(socketUsers.getChannelIdsOfAll(message.users(), message.channel()), message.json());
+            } else if (message.channelId() != null) {
+                send(message.channelId(), message.json(), message.key());
+            } else {
+                send(WebsocketChannelManager.getChannelId(message.channel(), EMPTY_SCOPE, EMPTY_SCOPE), message.json(), message.key());
             }
         }
-
-        throw new UnsupportedOperationException(format(ERROR_TOMCAT_WEB_SOCKET_BOMBED, retries), cause);
     }
 
     /**
@@ -232,6 +331,12 @@ public class WebsocketSessionManager {
         if (sessions != null && sessions.remove(session)) {
             fireEvent(session, reason, SESSION_CLOSED);
         }
+
+        WebsocketSessionQueue queue = WebsocketSessionQueue.get(session);
+
+        if (queue != null) {
+            queue.discard();
+        }
     }
 
     /**
@@ -257,6 +362,157 @@ public class WebsocketSessionManager {
         }
     }
 
+    /**
+     * @return The number of push messages currently queued for all open web socket sessions together.
+     * @since 5.0
+     */
+    public long getQueuedMessages() {
+        long queued = 0;
+
+        for (Collection<Session> sessions : socketSessions.values()) {
+            for (Session session : sessions) {
+                WebsocketSessionQueue queue = WebsocketSessionQueue.get(session);
+                queued += queue != null ? queue.size() : 0;
+            }
+        }
+
+        return queued;
+    }
+
+    /**
+     * @return The largest number of push messages currently queued for a single open web socket session.
+     * @since 5.0
+     */
+    public int getMaxQueueDepth() {
+        int max = 0;
+
+        for (Collection<Session> sessions : socketSessions.values()) {
+            for (Session session : sessions) {
+                WebsocketSessionQueue queue = WebsocketSessionQueue.get(session);
+                max = Math.max(max, queue != null ? queue.size() : 0);
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * @return The number of open web socket sessions by the scope of their channel, <code>application</code> or
+     * <code>session/view</code>. Session and view scoped channel identifiers are indistinguishable from each other here.
+     * @since 5.0
+     */
+    public Map<String, Integer> getOpenSockets() {
+        int application = 0;
+        int other = 0;
+
+        for (Entry<String, Collection<Session>> channel : socketSessions.entrySet()) {
+            int open = 0;
+
+            for (Session session : channel.getValue()) {
+                if (session.isOpen()) {
+                    open++;
+                }
+            }
+
+            if (isApplicationScopedChannelId(channel.getKey())) {
+                application += open;
+            } else {
+                other += open;
+            }
+        }
+
+        Map<String, Integer> openSockets = new LinkedHashMap<>(2);
+        openSockets.put("application", application);
+        openSockets.put("session/view", other);
+        return openSockets;
+    }
+
+    /**
+     * @return The number of channel identifiers currently registered on this node.
+     * @since 5.0
+     */
+    public int getChannels() {
+        return socketSessions.size();
+    }
+
+    /**
+     * @return The counters and timings of all push messages sent on this node.
+     * @since 5.0
+     */
+    public WebsocketMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Remove the web socket sessions which are closed but were never removed, because the container did not report them
+     * as closed, and the session and view scoped channels which have no sessions, and derive the current rates of the
+     * {@link WebsocketMetrics}. This keeps the memory of a long running node flat when web sockets come and go.
+     * <p>
+     * For every removed web socket session a {@link Closed} event is fired, like {@link #remove(Session, CloseReason)}
+     * does, with close code <code>CLOSED_ABNORMALLY</code> (1006), because the actual close code is not known.
+     * <p>
+     * A removed channel is registered again as soon as a web socket session connects to it, see
+     * {@link #add(Session, int, int, WebsocketSessionQueue.Overflow)}. Application scoped channels are never removed.
+     *
+     * @since 5.0
+     */
+    protected void reap() {
+        metrics.tick(System.nanoTime());
+
+        for (Entry<String, Collection<Session>> channel : socketSessions.entrySet()) {
+            Collection<Session> sessions = channel.getValue();
+
+            for (Session session : sessions) {
+                if (!session.isOpen() && sessions.remove(session)) {
+                    WebsocketSessionQueue queue = WebsocketSessionQueue.get(session);
+
+                    if (queue != null) {
+                        queue.discard();
+                    }
+
+                    try {
+                        fireEvent(beanManager, session, REASON_REAPED, SESSION_CLOSED); // There is no FacesContext on the reaper thread.
+                    } catch (Exception e) {
+                        logger.log(WARNING, ERROR_REAPED_EVENT, e); // The reaper must keep running.
+                    }
+
+                    metrics.reapedSessions.increment();
+                }
+            }
+
+            if (sessions.isEmpty() && !isApplicationScopedChannelId(channel.getKey())) {
+                boolean[] removed = new boolean[1];
+
+                socketSessions.computeIfPresent(channel.getKey(), (id, current) -> {
+                    removed[0] = current.isEmpty();
+                    return removed[0] ? null : current;
+                });
+
+                if (removed[0]) {
+                    metrics.reapedChannels.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop the reaper, unregister the {@link WebsocketMXBean}, and close the configured {@link PushBroker}.
+     */
+    @PreDestroy
+    protected synchronized void shutdown() {
+        if (reaper != null) {
+            reaper.shutdownNow();
+            reaper = null;
+        }
+
+        if (monitor != null) {
+            monitor.unregister();
+            monitor = null;
+        }
+
+        broker.close();
+    }
+
     // Internal -------------------------------------------------------------------------------------------------------
 
     private static volatile WebsocketSessionManager instance;
@@ -281,6 +537,39 @@ public class WebsocketSessionManager {
         return instance;
     }
 
+    /**
+     * Internal usage only. Connect this node to the other nodes of the cluster through the given push broker, which
+     * replaces the default {@link LocalPushBroker}. This is invoked once, during startup.
+     *
+     * @param broker The configured push broker.
+     * @since 5.0
+     */
+    public void setPushBroker(PushBroker broker) {
+        broker.subscribe(this::deliver);
+        this.broker = broker;
+    }
+
+    /**
+     * Internal usage only. Register the {@link WebsocketMXBean} of this node, and schedule the reaper at the given
+     * interval. This is invoked once, during startup.
+     *
+     * @param application The context path of the application.
+     * @param reapInterval The interval of the reaper in milliseconds, where zero means it never runs.
+     * @since 5.0
+     * @see #reap()
+     */
+    public synchronized void startMonitoring(String application, long reapInterval) {
+        if (monitor == null) {
+            monitor = new WebsocketMonitor(this);
+            monitor.register(application);
+        }
+
+        if (reapInterval > 0 && reaper == null) {
+            reaper = Executors.newSingleThreadScheduledExecutor(new MojarraThreadFactory("WebsocketReaper"));
+            reaper.scheduleWithFixedDelay(this::reap, reapInterval, reapInterval, MILLISECONDS);
+        }
+    }
+
     // Helpers --------------------------------------------------------------------------------------------------------
 
     private static boolean isChannelFull(Collection<Session> sessions, int maxSessionsPerChannel) {
@@ -296,8 +585,12 @@ public class WebsocketSessionManager {
     }
 
     private static void fireEvent(Session session, CloseReason reason, AnnotationLiteral<?> qualifier) {
+        fireEvent(Util.getCdiBeanManager(FacesContext.getCurrentInstance()), session, reason, qualifier);
+    }
+
+    private static void fireEvent(BeanManager beanManager, Session session, CloseReason reason, AnnotationLiteral<?> qualifier) {
         Serializable user = (Serializable) session.getUserProperties().get("user");
-        Util.getCdiBeanManager(FacesContext.getCurrentInstance()).getEvent().select(WebsocketEvent.class, qualifier)
+        beanManager.getEvent().select(WebsocketEvent.class, qualifier)
                 .fire(new WebsocketEvent(getChannel(session), user, reason != null ? reason.getCloseCode() : null));
     }
 
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.push;
+
+import static jakarta.websocket.CloseReason.CloseCodes.TRY_AGAIN_LATER;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+
+import org.glassfish.mojarra.config.MojarraContextParam;
+
+/**
+ * <p class="changed_added_5_0">
+ * This web socket session queue holds the push messages which are yet to be sent to a single web socket session and
+ * sends them one after the other.
+ * <p>
+ * At most one message per session is being written at any time, and the next one is only handed to the container once
+ * it reports the previous one as sent, on whatever thread it reports that. A slow client thus never has concurrent
+ * writes, which is what Tomcat rejects with <code>TEXT_FULL_WRITING</code>, and never blocks a thread of its own.
+ * <p>
+ * Meanwhile, messages queue up to the configured size. A message sent with a key replaces a queued message with the same
+ * key, so that a client which cannot keep up only gets to see the latest value of it. When the queue is full, either
+ * the oldest queued message is dropped or the session is closed, depending on the configured {@link Overflow}.
+ *
+ * @see WebsocketSessionManager
+ * @see MojarraContextParam#WEBSOCKET_SEND_QUEUE_SIZE
+ * @see MojarraContextParam#WEBSOCKET_SEND_QUEUE_OVERFLOW
+ * @since 5.0
+ */
+public final class WebsocketSessionQueue implements SendHandler {
+
+    // Constants ------------------------------------------------------------------------------------------------------
+
+    /** The maximum number of queued push messages per session when none is configured. */
+    static final int DEFAULT_MAX_SIZE = 64;
+
+    private static final String USER_PROPERTY_QUEUE = WebsocketSessionQueue.class.getName();
+    private static final CloseReason REASON_QUEUE_FULL = new CloseReason(TRY_AGAIN_LATER, "Send queue full");
+    private static final String ERROR_DROPPED = "Push message has been dropped because the send queue of the web socket session is full.";
+    private static final String ERROR_CLOSED = "Push message has not been sent because the web socket session is closed.";
+
+    /**
+     * What to do with a push message when the send queue of a web socket session is full.
+     */
+    public enum Overflow {
+
+        /** Drop the oldest queued message to make room for the new one. */
+        DROP_OLDEST,
+
+        /** Drop all queued messages and close the session, so that the client reconnects and starts afresh. */
+        CLOSE;
+
+        /**
+         * @param name the name of the policy, case insensitive
+         * @return the policy of that name
+         * @throws IllegalArgumentException when there is no policy of that name
+         */
+        public static Overflow of(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    // Variables ------------------------------------------------------------------------------------------------------
+
+    private final Session session;
+    private final int maxSize;
+    private final Overflow overflow;
+    private final WebsocketMetrics metrics;
+
+    private final Deque<Message> queued = new ArrayDeque<>();
+    private Message sending;
+    private boolean closed;
+
+    // Constructors ---------------------------------------------------------------------------------------------------
+
+    WebsocketSessionQueue(Session session, int maxSize, Overflow overflow, WebsocketMetrics metrics) {
+        this.session = session;
+        this.maxSize = maxSize;
+        this.overflow = overflow;
+        this.metrics = metrics;
+    }
+
+    // Actions --------------------------------------------------------------------------------------------------------
+
+    /**
+     * Install a queue on the given web socket session.
+     *
+     * @param session The web socket session.
+     * @param queue The queue to send all push messages for the session through.
+     */
+    static void install(Session session, WebsocketSessionQueue queue) {
+        session.getUserProperties().put(USER_PROPERTY_QUEUE, queue);
+    }
+
+    /**
+     * @param session The web socket session.
+     * @return The queue installed on the given web socket session, or <code>null</code> when there is none.
+     */
+    static WebsocketSessionQueue get(Session session) {
+        return (WebsocketSessionQueue) session.getUserProperties().get(USER_PROPERTY_QUEUE);
+    }
+
+    /**
+     * Queue the given message, and send it right away when nothing is being sent.
+     *
+     * @param text The push message string.
+     * @param bytes The length of the push message string in UTF-8, which is computed once per message rather than once
+     * per session it is sent to.
+     * @param key The key of the message, or <code>null</code> when it must not replace a queued message.
+     * @return The result of the send operation, which is shared with the queued message it replaced, if any.
+     */
+    CompletableFuture<Void> offer(String text, int bytes, String key) {
+        Message message = new Message(text, bytes, key);
+        List<Message> droppedMessages;
+        boolean close;
+
+        synchronized (this) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException(ERROR_CLOSED));
+            }
+
+            if (key != null) {
+                for (Message queuedMessage : queued) {
+                    if (key.equals(queuedMessage.key)) {
+                        queuedMessage.text = text;
+                        queuedMessage.bytes = bytes;
+                        metrics.coalesced.increment();
+                        return queuedMessage.result;
+                    }
+                }
+            }
+
+            if (sending == null) {
+                sending = message;
+                droppedMessages = null;
+                close = false;
+            } else if (queued.size() < maxSize) {
+                queued.add(message);
+                return message.result;
+            } else if (overflow == Overflow.DROP_OLDEST) {
+                queued.add(message);
+                droppedMessages = List.of(queued.poll());
+                close = false;
+            } else {
+                queued.add(message);
+                droppedMessages = new ArrayList<>(queued);
+                queued.clear();
+                closed = close = true;
+            }
+        }
+
+        if (droppedMessages == null) {
+            send(message);
+        } else {
+            metrics.dropped.add(droppedMessages.size());
+            fail(droppedMessages, ERROR_DROPPED);
+
+            if (close) {
+                close(REASON_QUEUE_FULL);
+            }
+        }
+
+        return message.result;
+    }
+
+    /**
+     * Invoked by the container once the message being sent has been sent or has failed, whereupon the next queued message
+     * is sent.
+     */
+    @Override
+    public void onResult(SendResult result) {
+        Message sent;
+        Message next;
+
+        synchronized (this) {
+            sent = sending;
+            next = closed ? null : queued.poll();
+            sending = next;
+        }
+
+        if (sent != null) {
+            metrics.record(sent.bytes, sent.sendingNanos - sent.offeredNanos, System.nanoTime() - sent.sendingNanos, result.isOK());
+
+            if (result.isOK()) {
+                sent.result.complete(null);
+            } else {
+                sent.result.completeExceptionally(result.getException());
+            }
+        }
+
+        if (next != null) {
+            send(next);
+        }
+    }
+
+    /**
+     * Discard all queued messages, failing their results, because the web socket session has been closed.
+     */
+    void discard() {
+        List<Message> discarded;
+
+        synchronized (this) {
+            closed = true;
+            discarded = new ArrayList<>(queued);
+            queued.clear();
+        }
+
+        fail(discarded, ERROR_CLOSED);
+    }
+
+    /**
+     * @return The amount of messages queued and not yet being sent.
+     */
+    synchronized int size() {
+        return queued.size();
+    }
+
+    // Helpers --------------------------------------------------------------------------------------------------------
+
+    private void send(Message message) {
+        message.sendingNanos = System.nanoTime();
+
+        try {
+            session.getAsyncRemote().sendText(message.text, this);
+        } catch (RuntimeException e) {
+            onResult(new SendResult(session, e));
+        }
+    }
+
+    private void close(CloseReason reason) {
+        try {
+            session.close(reason);
+        } catch (IOException ignore) {
+            // The session is gone anyway.
+        }
+    }
+
+    private static void fail(List<Message> messages, String error) {
+        for (Message message : messages) {
+            message.result.completeExceptionally(new IllegalStateException(error));
+        }
+    }
+
+    // Nested classes -------------------------------------------------------------------------------------------------
+
+    private static final class Message {
+
+        private final String key;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final long offeredNanos = System.nanoTime();
+        private long sendingNanos;
+        private String text;
+        private int bytes;
+
+        Message(String text, int bytes, String key) {
+            this.text = text;
+            this.bytes = bytes;
+            this.key = key;
+        }
+    }
+
+}
@@ -21,6 +21,7 @@ import static java.util.Collections.synchronizedSet;
 import static org.glassfish.mojarra.cdi.CdiUtils.getBeanInstance;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -133,6 +134,31 @@ public class WebsocketUserManager {
         return channelIds;
     }
 
+    /**
+     * Resolve the user-specific channel IDs associated with any of given users and given channel name at once, so that a
+     * message to many users is sent only once to each web socket session.
+     *
+     * @param users The users.
+     * @param channel The channel name.
+     * @return The user-specific channel IDs associated with any of given users and given channel name.
+     * @since 5.0
+     */
+    protected Set<String> getChannelIdsOfAll(Collection<? extends Serializable> users, String channel) {
+        Set<String> channelIds = new HashSet<>(users.size() * ESTIMATED_CHANNELS_IDS_PER_USER);
+
+        for (Serializable user : users) {
+            Set<String> userIds = applicationUsers.get(user);
+
+            if (userIds != null) {
+                for (String userId : userIds) {
+                    channelIds.addAll(getApplicationUserChannelIds(userId, channel));
+                }
+            }
+        }
+
+        return channelIds;
+    }
+
     /**
      * Deregister application user associated with given user and session based user ID.
      *
@@ -43,6 +43,7 @@ import jakarta.faces.render.ResponseStateManager;
 import org.glassfish.mojarra.RIConstants;
 import org.glassfish.mojarra.config.ContextParam.Tristate;
 import org.glassfish.mojarra.config.MojarraContextParam;
+import org.glassfish.mojarra.lifecycle.RenderProfiler;
 import org.glassfish.mojarra.renderkit.html_basic.HtmlResponseWriter;
 import org.glassfish.mojarra.util.FacesLogger;
 import org.glassfish.mojarra.util.MessageUtils;
@@ -122,7 +123,13 @@ public class RenderKitImpl extends RenderKit {
         assert rendererFamilies != null;
 
         HashMap<String, Renderer<?>> renderers = rendererFamilies.get(family);
-        return renderers != null ? (Renderer<T>) renderers.get(rendererType) : null;
+        Renderer<T> renderer = renderers != null ? (Renderer<T>) renderers.get(rendererType) : null;
+
+        if (renderer != null && RenderProfiler.isProfiling() && RenderProfiler.getInstance(FacesContext.getCurrentInstance()) != null) {
+            return RenderProfiler.profile(renderer);
+        }
+
+        return renderer;
 
     }
 
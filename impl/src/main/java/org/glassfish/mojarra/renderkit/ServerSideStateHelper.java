@@ -18,7 +18,7 @@ package org.glassfish.mojarra.renderkit;
 
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.FINEST;
-import static org.glassfish.mojarra.context.SessionMap.getMutex;
+import static org.glassfish.mojarra.context.SessionMap.getLock;
 import static org.glassfish.mojarra.renderkit.RenderKitUtils.PredefinedPostbackParameter.VIEW_STATE_PARAM;
 import static org.glassfish.mojarra.util.Util.notNull;
 
@@ -31,6 +31,7 @@ import java.security.SecureRandom;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
 import java.util.logging.Logger;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -157,7 +158,9 @@ public class ServerSideStateHelper extends StateHelper {
                 Object sessionObj = externalContext.getSession(true);
                 Map<String, Object> sessionMap = externalContext.getSessionMap();
 
-                synchronized (getMutex(sessionObj)) {
+                Lock lock = getLock(sessionObj);
+                lock.lock();
+                try {
                     Map<String, Map> pageMap = TypedCollections.dynamicallyCastMap((Map) sessionMap.get(STATEFUL_PAGE_MAP), String.class, Map.class);
                     if (pageMap == null) {
                         pageMap = Collections.synchronizedMap(new LRUMap<String, Map>(numberOfStatefulPages));
@@ -200,6 +203,8 @@ public class ServerSideStateHelper extends StateHelper {
                     // always call put/setAttribute as we may be in a clustered environment.
                     sessionMap.put(STATEFUL_PAGE_MAP, pageMap);
                     ctx.getAttributes().put("org.glassfish.mojarra.ViewStateValue", id);
+                } finally {
+                    lock.unlock();
                 }
             } else {
                 id = (String) ctx.getAttributes().get("org.glassfish.mojarra.ViewStateValue");
@@ -270,7 +275,9 @@ public class ServerSideStateHelper extends StateHelper {
             return null;
         }
 
-        synchronized (getMutex(sessionObj)) {
+        Lock lock = getLock(sessionObj);
+        lock.lock();
+        try {
             @SuppressWarnings("unchecked")
             Map<String, Map<String, Object[]>> pageMap = (Map<String, Map<String, Object[]>>) externalCtx.getSessionMap().get(STATEFUL_PAGE_MAP);
             if (pageMap != null) {
@@ -293,6 +300,8 @@ public class ServerSideStateHelper extends StateHelper {
                     return restoredState;
                 }
             }
+        } finally {
+            lock.unlock();
         }
 
         return null;
@@ -30,6 +30,8 @@ import jakarta.faces.component.html.HtmlDataTable;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.context.ResponseWriter;
 
+import org.glassfish.mojarra.application.view.RowBatchFlusher;
+import org.glassfish.mojarra.model.WindowedDataModel;
 import org.glassfish.mojarra.renderkit.AttributeManager;
 import org.glassfish.mojarra.renderkit.Attributes;
 import org.glassfish.mojarra.renderkit.RenderKitUtils;
@@ -102,6 +104,9 @@ public class TableRenderer extends BaseTableRenderer {
         int processed = 0;
         int rowIndex = data.getFirst() - 1;
         int rows = data.getRows();
+        if (data.getValue() instanceof WindowedDataModel windowedDataModel) {
+            windowedDataModel.setWindow(rowIndex + 1, rows > 0 ? rows : -1);
+        }
         List<Integer> bodyRows = getBodyRows(data);
         boolean hasBodyRows = bodyRows != null && !bodyRows.isEmpty();
         boolean wroteTableBody = false;
@@ -109,6 +114,7 @@ public class TableRenderer extends BaseTableRenderer {
             renderTableBodyStart(context, component, writer);
         }
         boolean renderedRow = false;
+        RowBatchFlusher flusher = RowBatchFlusher.of(context, data);
         while (true) {
 
             // Have we displayed the requested number of rows?
@@ -140,6 +146,10 @@ public class TableRenderer extends BaseTableRenderer {
             renderRowEnd(context, component, writer);
             renderedRow = true;
 
+            if (flusher != null) {
+                flusher.rowRendered();
+            }
+
         }
 
         // fill an empty tbody, if no row has been rendered
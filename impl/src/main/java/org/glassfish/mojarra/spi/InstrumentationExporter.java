@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.spi;
+
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.lifecycle.Instrumentation;
+
+/**
+ * Publishes the timings recorded by the {@link Instrumentation} of an application somewhere else, e.g. to a metrics
+ * registry. Implementations are discovered through {@link java.util.ServiceLoader} once the application has started,
+ * and only when instrumentation is enabled.
+ * <p>
+ * Recording never waits for an exporter: an exporter reads the histograms of the instrumentation whenever it sees fit,
+ * e.g. when it is scraped, or registers them as gauges of its registry once.
+ *
+ * <p>
+ * The implementation of this interface must have a no-arg constructor.
+ *
+ * @see org.glassfish.mojarra.config.MojarraContextParam#ENABLE_INSTRUMENTATION
+ */
+public interface InstrumentationExporter {
+
+    /**
+     * Starts exporting the timings of the application.
+     *
+     * @param context the {@link FacesContext} of the starting application
+     * @param instrumentation the instrumentation of the application
+     */
+    void start(FacesContext context, Instrumentation instrumentation);
+
+    /**
+     * Stops exporting the timings of the application, which is shutting down.
+     */
+    void stop();
+
+}
@@ -16,9 +16,12 @@
 
 package org.glassfish.mojarra.util;
 
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
 import java.nio.charset.Charset;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Base64;
@@ -30,6 +33,7 @@ import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.IvParameterSpec;
@@ -62,9 +66,15 @@ public final class ByteArrayGuardAESCTR {
 
     private static final String KEY_ALGORITHM = "AES";
     private static final String CIPHER_CODE = "AES/CTR/NoPadding";
+    private static final String MAC_CODE = "HmacSHA256";
+    private static final char SIGNATURE_SEPARATOR = '.';
 
     private SecretKey sk;
 
+    private SecretKey macKey;
+
+    private boolean keyConfigured;
+
     private Charset utf8;
 
     // ------------------------------------------------------------ Constructors
@@ -155,8 +165,73 @@ public final class ByteArrayGuardAESCTR {
         }
     }
 
+    /**
+     * Encrypts the value as {@link #encrypt(String)} does and appends a MAC over the encrypted value, so that
+     * {@link #verifyAndDecrypt(String)} rejects any value which was not produced with this key.
+     *
+     * @param value The value to be encrypted and signed.
+     * @return the encrypted and signed value, or <code>null</code> when it could not be encrypted.
+     * @since 5.0
+     */
+    public String encryptAndSign(String value) {
+        String encrypted = encrypt(value);
+        if (encrypted == null) {
+            return null;
+        }
+        try {
+            return encrypted + SIGNATURE_SEPARATOR + Base64.getEncoder().encodeToString(sign(encrypted));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            if (LOGGER.isLoggable(Level.SEVERE)) {
+                LOGGER.log(Level.SEVERE, "Unexpected exception initializing signing." + "  No signing will be performed.", e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Decrypts a value produced by {@link #encryptAndSign(String)}, provided its MAC verifies.
+     *
+     * @param value The value to be verified and decrypted.
+     * @return the decrypted value.
+     * @throws InvalidKeyException when the value is not signed, or not signed with this key.
+     * @since 5.0
+     */
+    public String verifyAndDecrypt(String value) throws InvalidKeyException {
+        int separator = value.lastIndexOf(SIGNATURE_SEPARATOR);
+        if (separator < 0) {
+            throw new InvalidKeyException("Missing signature");
+        }
+
+        String encrypted = value.substring(0, separator);
+        byte[] signature = Base64.getDecoder().decode(value.substring(separator + 1));
+        try {
+            if (!MessageDigest.isEqual(signature, sign(encrypted))) {
+                throw new InvalidKeyException("Invalid signature");
+            }
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new InvalidKeyException(nsae);
+        }
+        return decrypt(encrypted);
+    }
+
+    /**
+     * @return <code>true</code> when the key was taken from <code>java:comp/env/faces/FlashSecretKey</code>, so that other
+     * instances, also on other nodes, can verify and decrypt what this one produced, or <code>false</code> when the key
+     * was generated for this instance only.
+     * @since 5.0
+     */
+    public boolean isKeyConfigured() {
+        return keyConfigured;
+    }
+
     // --------------------------------------------------------- Private Methods
 
+    private byte[] sign(String value) throws NoSuchAlgorithmException, InvalidKeyException {
+        Mac mac = Mac.getInstance(MAC_CODE);
+        mac.init(macKey);
+        return mac.doFinal(value.getBytes(utf8));
+    }
+
     private void setupKeyAndCharset() {
 
         try {
@@ -168,6 +243,7 @@ public final class ByteArrayGuardAESCTR {
                     throw new FacesException("key must be at least 16 bytes long.");
                 }
                 sk = new SecretKeySpec(keyArray, KEY_ALGORITHM);
+                keyConfigured = true;
             }
         } catch (NamingException exception) {
             if (LOGGER.isLoggable(Level.FINEST)) {
@@ -187,6 +263,15 @@ public final class ByteArrayGuardAESCTR {
             }
         }
 
+        // Derive the MAC key from the cipher key rather than using the same key for both.
+        try {
+            Mac kdf = Mac.getInstance(MAC_CODE);
+            kdf.init(new SecretKeySpec(sk.getEncoded(), MAC_CODE));
+            macKey = new SecretKeySpec(kdf.doFinal(MAC_CODE.getBytes(US_ASCII)), MAC_CODE);
+        } catch (Exception e) {
+            throw new FacesException(e);
+        }
+
         SortedMap<String, Charset> availableCharsets = Charset.availableCharsets();
         if (availableCharsets.containsKey("UTF-8")) {
             utf8 = availableCharsets.get("UTF-8");
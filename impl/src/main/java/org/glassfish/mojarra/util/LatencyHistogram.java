@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free histogram of durations in nanoseconds. A duration is counted in the bucket of its highest one bit, so bucket
+ * {@code i} holds the durations from {@code 2^i} up to but not including {@code 2^(i+1)} nanoseconds; recording one is
+ * a handful of atomic increments, and percentiles are exact up to a factor of two, which is plenty to tell where the
+ * time goes.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * @param nanos the duration to record, where a negative one is recorded as zero
+     */
+    public void record(long nanos) {
+        long duration = Math.max(nanos, 0);
+
+        buckets.incrementAndGet(bucketOf(duration));
+        count.increment();
+        totalNanos.add(duration);
+
+        long max = maxNanos.get();
+        while (duration > max && !maxNanos.compareAndSet(max, duration)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * @return the amount of durations recorded
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the sum of all durations recorded
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * @return the longest duration recorded
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @return the mean of all durations recorded, or zero when there are none
+     */
+    public long getMeanNanos() {
+        long recorded = getCount();
+        return recorded == 0 ? 0 : getTotalNanos() / recorded;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100
+     * @return the upper bound of the bucket holding the given percentile of the durations recorded, but no more than the
+     * longest duration recorded, or zero when there are none
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = getBuckets();
+        long recorded = 0;
+
+        for (long bucketCount : counts) {
+            recorded += bucketCount;
+        }
+
+        if (recorded == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(recorded * Math.min(Math.max(percentile, 0), 100) / 100));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMaxNanos());
+            }
+        }
+
+        return getMaxNanos();
+    }
+
+    /**
+     * @return the amount of durations per bucket, where bucket {@code i} holds those from {@code 2^i} up to but not
+     * including {@code 2^(i+1)} nanoseconds, and bucket 0 holds zero as well
+     */
+    public long[] getBuckets() {
+        long[] counts = new long[BUCKETS];
+
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+
+        return counts;
+    }
+
+    /**
+     * Forgets all durations recorded so far. Durations recorded while resetting may be partly forgotten.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LatencyHistogram[count=%d, meanNanos=%d, p50Nanos=%d, p99Nanos=%d, maxNanos=%d]", getCount(), getMeanNanos(),
+                getPercentileNanos(50), getPercentileNanos(99), getMaxNanos());
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static int bucketOf(long nanos) {
+        return nanos == 0 ? 0 : BUCKETS - 1 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    private static long upperBoundOf(int bucket) {
+        // Durations are never negative, so the highest bucket in use is 62, whose bound wraps around to Long.MAX_VALUE.
+        return (1L << (bucket + 1)) - 1;
+    }
+}
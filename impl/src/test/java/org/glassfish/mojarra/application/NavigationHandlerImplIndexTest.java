@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import jakarta.faces.application.NavigationCase;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.flow.FlowHandler;
+
+import org.glassfish.mojarra.junit.JUnitFacesTestCaseBase;
+import org.glassfish.mojarra.mock.MockApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the indexed lookup of explicit navigation cases in {@link NavigationHandlerImpl}.
+ */
+class NavigationHandlerImplIndexTest extends JUnitFacesTestCaseBase {
+
+    private NavigationHandlerImpl handler;
+
+    @BeforeEach
+    void setUpHandler() {
+        FlowHandler flowHandler = mock(FlowHandler.class);
+        facesContext.setApplication(new MockApplication() {
+            @Override
+            public FlowHandler getFlowHandler() {
+                return flowHandler;
+            }
+        });
+        handler = new NavigationHandlerImpl();
+    }
+
+    private void setViewId(String viewId) {
+        UIViewRoot root = new UIViewRoot();
+        root.setViewId(viewId);
+        facesContext.setViewRoot(root);
+    }
+
+    private void addRule(String fromViewId, NavigationCase... cases) {
+        Set<NavigationCase> caseSet = new LinkedHashSet<>();
+        for (NavigationCase navCase : cases) {
+            caseSet.add(navCase);
+        }
+        handler.getNavigationCases().put(fromViewId, caseSet);
+    }
+
+    private static NavigationCase navCase(String fromViewId, String fromAction, String fromOutcome, String toViewId) {
+        return new NavigationCase(fromViewId, fromAction, fromOutcome, null, toViewId, null, false, false);
+    }
+
+    private String toViewId(String fromAction, String outcome) {
+        NavigationCase navCase = handler.getNavigationCase(facesContext, fromAction, outcome);
+        return navCase != null ? navCase.getToViewId(facesContext) : null;
+    }
+
+    @Test
+    void exactMatchByOutcome() {
+        addRule("/a.xhtml",
+                navCase("/a.xhtml", null, "one", "/one.xhtml"),
+                navCase("/a.xhtml", "#{bean.go}", "two", "/go.xhtml"),
+                navCase("/a.xhtml", null, "two", "/two.xhtml"));
+        setViewId("/a.xhtml");
+
+        assertEquals("/one.xhtml", toViewId(null, "one"));
+        assertEquals("/two.xhtml", toViewId(null, "two"));
+        assertEquals("/go.xhtml", toViewId("#{bean.go}", "two"));
+    }
+
+    @Test
+    void caseWithoutOutcomeKeepsItsOrder() {
+        addRule("/a.xhtml",
+                navCase("/a.xhtml", null, "one", "/one.xhtml"),
+                navCase("/a.xhtml", null, null, "/any.xhtml"),
+                navCase("/a.xhtml", null, "two", "/two.xhtml"));
+        setViewId("/a.xhtml");
+
+        assertEquals("/one.xhtml", toViewId(null, "one"));
+        assertEquals("/any.xhtml", toViewId(null, "two"));
+        assertEquals("/any.xhtml", toViewId(null, "three"));
+    }
+
+    @Test
+    void casesAddedLaterAreFound() {
+        addRule("/a.xhtml", navCase("/a.xhtml", null, "one", "/one.xhtml"));
+        setViewId("/a.xhtml");
+        assertEquals("/one.xhtml", toViewId(null, "one"));
+
+        addRule("/a.xhtml", navCase("/a.xhtml", null, "two", "/two.xhtml"));
+        handler.getNavigationCases().get("/a.xhtml").add(navCase("/a.xhtml", null, "three", "/three.xhtml"));
+
+        assertEquals("/two.xhtml", toViewId(null, "two"));
+        assertEquals("/three.xhtml", toViewId(null, "three"));
+    }
+
+    @Test
+    void caseReplacedByAnotherIsFound() {
+        NavigationCase one = navCase("/a.xhtml", null, "one", "/first.xhtml");
+        addRule("/a.xhtml", one);
+        setViewId("/a.xhtml");
+        assertEquals("/first.xhtml", toViewId(null, "one"));
+
+        Set<NavigationCase> caseSet = handler.getNavigationCases().get("/a.xhtml");
+        caseSet.remove(one);
+        caseSet.add(navCase("/a.xhtml", null, "two", "/second.xhtml"));
+
+        assertNotEquals("/first.xhtml", toViewId(null, "one"));
+        assertEquals("/second.xhtml", toViewId(null, "two"));
+    }
+
+    @Test
+    void casesAddedThroughComputeIfAbsentAreFound() {
+        setViewId("/a.xhtml");
+        assertNotEquals("/first.xhtml", toViewId(null, "one"));
+
+        handler.getNavigationCases().computeIfAbsent("/a.xhtml", k -> new LinkedHashSet<>()).add(navCase("/a.xhtml", null, "one", "/first.xhtml"));
+        assertEquals("/first.xhtml", toViewId(null, "one"));
+
+        Set<NavigationCase> caseSet = handler.getNavigationCases().computeIfAbsent("/a.xhtml", k -> new LinkedHashSet<>());
+        caseSet.clear();
+        caseSet.add(navCase("/a.xhtml", null, "two", "/second.xhtml"));
+        assertNotEquals("/first.xhtml", toViewId(null, "one"));
+        assertEquals("/second.xhtml", toViewId(null, "two"));
+    }
+
+    @Test
+    void longestWildcardWins() {
+        addRule("*", navCase("*", null, "go", "/root.xhtml"));
+        addRule("/admin/*", navCase("/admin/*", null, "go", "/admin.xhtml"));
+        addRule("/admin/users/*", navCase("/admin/users/*", null, "go", "/users.xhtml"));
+
+        setViewId("/admin/users/list.xhtml");
+        assertEquals("/users.xhtml", toViewId(null, "go"));
+
+        setViewId("/admin/settings.xhtml");
+        assertEquals("/admin.xhtml", toViewId(null, "go"));
+
+        setViewId("/public/index.xhtml");
+        assertEquals("/root.xhtml", toViewId(null, "go"));
+    }
+
+    @Test
+    void wildcardFallsBackToShorterPrefix() {
+        addRule("/admin/*", navCase("/admin/*", null, "go", "/admin.xhtml"));
+        addRule("/admin/users/*", navCase("/admin/users/*", null, "other", "/users.xhtml"));
+        setViewId("/admin/users/list.xhtml");
+
+        assertEquals("/admin.xhtml", toViewId(null, "go"));
+        assertEquals("/users.xhtml", toViewId(null, "other"));
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.glassfish.mojarra.application.applicationimpl;
 
+import static jakarta.faces.application.ProjectStage.Production;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -27,6 +29,8 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.context.FacesContext;
 import jakarta.faces.event.SystemEvent;
 import jakarta.faces.event.SystemEventListener;
 
@@ -38,6 +42,9 @@ import org.junit.jupiter.api.Test;
  * invoked exactly once, a listener subscribed while the listeners are being invoked is picked up, and a
  * listener not for the source is skipped. The fast path preserves this behaviour without the per-event copy
  * and map the original snapshot algorithm allocated on every published event.
+ * <p>
+ * Also pins that the compiled dispatch plans of the application-level listeners follow every subscribe and
+ * unsubscribe.
  */
 class EventsTest {
 
@@ -103,4 +110,65 @@ class EventsTest {
         verify(event, times(1)).processListener(matching);
         verify(event, never()).processListener(nonMatching);
     }
+
+    @Test
+    void applicationListenersAreInvokedSourceSpecificFirst() {
+        Events events = new Events();
+        List<String> invoked = new ArrayList<>();
+        UIComponent source = mock(UIComponent.class);
+        events.subscribeToEvent(TestEvent.class, recording(invoked, "global"));
+        events.subscribeToEvent(TestEvent.class, source.getClass(), recording(invoked, "source"));
+
+        publish(events, source);
+        publish(events, source);
+
+        assertEquals(List.of("source", "global", "source", "global"), invoked);
+    }
+
+    @Test
+    void subscribeAndUnsubscribeRecompileThePlan() {
+        Events events = new Events();
+        List<String> invoked = new ArrayList<>();
+        UIComponent source = mock(UIComponent.class);
+        SystemEventListener first = recording(invoked, "first");
+        events.subscribeToEvent(TestEvent.class, first);
+        publish(events, source);
+
+        events.subscribeToEvent(TestEvent.class, recording(invoked, "second"));
+        publish(events, source);
+
+        events.unsubscribeFromEvent(TestEvent.class, null, first);
+        publish(events, source);
+
+        assertEquals(List.of("first", "first", "second", "second"), invoked);
+    }
+
+    private static void publish(Events events, Object source) {
+        FacesContext context = mock(FacesContext.class);
+        when(context.isProcessingEvents()).thenReturn(true);
+        events.publishEvent(context, TestEvent.class, null, source, Production);
+    }
+
+    private static SystemEventListener recording(List<String> invoked, String name) {
+        return new SystemEventListener() {
+            @Override
+            public void processEvent(SystemEvent event) {
+                invoked.add(name);
+            }
+
+            @Override
+            public boolean isListenerForSource(Object source) {
+                return true;
+            }
+        };
+    }
+
+    public static class TestEvent extends SystemEvent {
+
+        private static final long serialVersionUID = 1L;
+
+        public TestEvent(Object source) {
+            super(source);
+        }
+    }
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.faces.application.Application;
+import jakarta.faces.application.Resource;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIComponentBase;
+import jakarta.faces.component.UIPanel;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.context.ResponseWriter;
+
+import org.glassfish.mojarra.application.view.ParallelSubtreeEncoder.Region;
+import org.glassfish.mojarra.application.view.ParallelSubtreeEncoder.SubtreeFacesContext;
+import org.junit.jupiter.api.Test;
+
+public class ParallelSubtreeEncoderTest {
+
+    private static final String COMPONENT_STACK = "jakarta.faces.component.CURRENT_COMPONENT_STACK";
+
+    @Test
+    public void testRegionsAreEncodedWithTheirOwnComponentStacks() throws Exception {
+        FacesContext context = mock(FacesContext.class);
+        ExternalContext externalContext = mock(ExternalContext.class);
+        ResponseWriter writer = mock(ResponseWriter.class);
+        ArrayDeque<UIComponent> requestStack = new ArrayDeque<>(List.of(new UIPanel()));
+        Map<Object, Object> attributes = new HashMap<>(Map.of(COMPONENT_STACK, requestStack));
+        when(context.getAttributes()).thenReturn(attributes);
+        when(context.getExternalContext()).thenReturn(externalContext);
+        when(context.getApplication()).thenReturn(mock(Application.class));
+        when(context.getResponseWriter()).thenReturn(writer);
+        when(externalContext.getRequestMap()).thenReturn(new HashMap<>());
+        when(writer.cloneWithWriter(any())).thenReturn(mock(ResponseWriter.class));
+
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        SubtreeFacesContext first = new SubtreeFacesContext(context);
+        SubtreeFacesContext second = new SubtreeFacesContext(context);
+        UIComponent firstComposite = composite();
+        UIComponent secondComposite = composite();
+        Probe firstProbe = region(firstComposite, barrier);
+        Probe secondProbe = region(secondComposite, barrier);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> firstEncoded = pool.submit(new Region(first, firstProbe.getParent())::encode);
+            Future<String> secondEncoded = pool.submit(new Region(second, secondProbe.getParent())::encode);
+            firstEncoded.get(10, TimeUnit.SECONDS);
+            secondEncoded.get(10, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertSame(firstProbe, firstProbe.current);
+        assertSame(firstComposite, firstProbe.currentComposite);
+        assertSame(secondProbe, secondProbe.current);
+        assertSame(secondComposite, secondProbe.currentComposite);
+
+        assertNull(UIComponent.getCurrentComponent(first), "every pushed component is popped");
+        assertNull(UIComponent.getCurrentCompositeComponent(first), "every pushed composite component is popped");
+        assertNull(UIComponent.getCurrentComponent(second));
+        assertNull(UIComponent.getCurrentCompositeComponent(second));
+        assertEquals(1, requestStack.size(), "the component stack of the request is left alone");
+    }
+
+    @Test
+    public void testRegionsDoNotPushTheirSharedAncestors() throws Exception {
+        FacesContext context = mock(FacesContext.class);
+        ExternalContext externalContext = mock(ExternalContext.class);
+        ResponseWriter writer = mock(ResponseWriter.class);
+        when(context.getAttributes()).thenReturn(new HashMap<>());
+        when(context.getExternalContext()).thenReturn(externalContext);
+        when(context.getApplication()).thenReturn(mock(Application.class));
+        when(context.getResponseWriter()).thenReturn(writer);
+        when(externalContext.getRequestMap()).thenReturn(new HashMap<>());
+        when(writer.cloneWithWriter(any())).thenReturn(mock(ResponseWriter.class));
+
+        int regions = 3;
+        CyclicBarrier barrier = new CyclicBarrier(regions + 1);
+        UIComponent composite = composite();
+        UIPanel parent = new UIPanel();
+        composite.getChildren().add(parent);
+        List<Probe> probes = new ArrayList<>();
+        List<Region> encoded = new ArrayList<>();
+        for (int i = 0; i < regions; i++) {
+            Probe probe = region(parent, barrier);
+            probes.add(probe);
+            encoded.add(new Region(new SubtreeFacesContext(context), probe.getParent()));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(regions);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (Region region : encoded) {
+                futures.add(pool.submit(region::encode));
+            }
+
+            composite.pushComponentToEL(context, null);
+            barrier.await(10, TimeUnit.SECONDS);
+            barrier.await(10, TimeUnit.SECONDS);
+            assertEquals(1, pushedCount(composite), "only the request thread pushed the shared composite");
+            assertEquals(0, pushedCount(parent), "nobody pushed the shared parent");
+            composite.popComponentFromEL(context);
+
+            for (Future<String> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (Probe probe : probes) {
+            assertSame(probe, probe.current);
+            assertSame(composite, probe.currentComposite);
+        }
+
+        assertEquals(0, pushedCount(composite));
+        assertNull(UIComponent.getCurrentComponent(context), "the request thread's stack is balanced");
+        assertNull(UIComponent.getCurrentCompositeComponent(context));
+    }
+
+    private static int pushedCount(UIComponent component) throws ReflectiveOperationException {
+        Field field = UIComponent.class.getDeclaredField("_isPushedAsCurrentRefCount");
+        field.setAccessible(true);
+        return field.getInt(component);
+    }
+
+    private static UIComponent composite() {
+        UIComponent composite = new UIPanel();
+        composite.setRendererType(null);
+        composite.getAttributes().put(Resource.COMPONENT_RESOURCE_KEY, mock(Resource.class));
+        return composite;
+    }
+
+    private static Probe region(UIComponent composite, CyclicBarrier barrier) {
+        UIPanel region = new UIPanel();
+        region.setRendererType(null);
+        Probe probe = new Probe(barrier);
+        composite.getChildren().add(region);
+        region.getChildren().add(probe);
+        return probe;
+    }
+
+    /**
+     * Waits until all regions are being encoded before it looks at the EL, so that shared component stacks would show,
+     * and holds them there until the other parties are done looking as well.
+     */
+    private static final class Probe extends UIComponentBase {
+
+        private final CyclicBarrier barrier;
+        private volatile UIComponent current;
+        private volatile UIComponent currentComposite;
+
+        Probe(CyclicBarrier barrier) {
+            this.barrier = barrier;
+            setRendererType(null);
+        }
+
+        @Override
+        public String getFamily() {
+            return "test";
+        }
+
+        @Override
+        public void encodeBegin(FacesContext context) {
+            pushComponentToEL(context, null);
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+                current = UIComponent.getCurrentComponent(context);
+                currentComposite = UIComponent.getCurrentCompositeComponent(context);
+                barrier.await(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
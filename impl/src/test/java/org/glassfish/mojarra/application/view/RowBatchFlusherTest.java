@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.view;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+
+import jakarta.faces.application.Application;
+import jakarta.faces.application.StateManager;
+import jakarta.faces.component.UIData;
+import jakarta.faces.component.UIPanel;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.context.PartialViewContext;
+import jakarta.faces.context.ResponseWriter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class RowBatchFlusherTest {
+
+    private FacesContext context;
+    private ExternalContext externalContext;
+    private StateManager stateManager;
+    private WriteBehindStateWriter stateWriter;
+
+    @BeforeEach
+    void setUp() {
+        context = mock(FacesContext.class);
+        externalContext = mock(ExternalContext.class);
+        stateManager = mock(StateManager.class);
+        Application application = mock(Application.class);
+
+        when(context.getAttributes()).thenReturn(new HashMap<>());
+        when(context.getPartialViewContext()).thenReturn(mock(PartialViewContext.class));
+        when(context.getResponseWriter()).thenReturn(mock(ResponseWriter.class));
+        when(context.getExternalContext()).thenReturn(externalContext);
+        when(context.getViewRoot()).thenReturn(mock(UIViewRoot.class));
+        when(context.getApplication()).thenReturn(application);
+        when(application.getStateManager()).thenReturn(stateManager);
+
+        stateWriter = new WriteBehindStateWriter(new StringWriter(), context, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stateWriter.release();
+    }
+
+    @Test
+    void flushesAfterEveryCompleteBatch() throws IOException {
+        RowBatchFlusher flusher = RowBatchFlusher.of(context, table(3));
+
+        renderRows(flusher, 2);
+        verify(externalContext, never()).responseFlushBuffer();
+
+        renderRows(flusher, 1);
+        verify(externalContext, times(1)).responseFlushBuffer();
+
+        renderRows(flusher, 5);
+        verify(externalContext, times(2)).responseFlushBuffer();
+    }
+
+    @Test
+    void stopsFlushingOnceStateIsWritten() throws IOException {
+        RowBatchFlusher flusher = RowBatchFlusher.of(context, table(2));
+
+        renderRows(flusher, 2);
+        stateWriter.writingState();
+        renderRows(flusher, 4);
+
+        verify(externalContext, times(1)).responseFlushBuffer();
+        assertNull(RowBatchFlusher.of(context, table(2)));
+    }
+
+    @Test
+    void onlyOutermostTableStreams() throws IOException {
+        UIData outer = table(2);
+        UIPanel row = new UIPanel();
+        row.setParent(outer);
+        UIData inner = table(1);
+        inner.setParent(row);
+
+        RowBatchFlusher flusher = RowBatchFlusher.of(context, outer);
+        assertNotNull(flusher);
+        assertNull(RowBatchFlusher.of(context, inner));
+
+        renderRows(flusher, 2);
+        verify(externalContext, times(1)).responseFlushBuffer();
+
+        assertNotNull(RowBatchFlusher.of(context, table(1)), "a sibling table after the outer one streams again");
+    }
+
+    @Test
+    void createsSessionBeforeFirstFlushWhenStateIsSavedOnServer() throws IOException {
+        when(externalContext.getSession(false)).thenReturn(null);
+        RowBatchFlusher flusher = RowBatchFlusher.of(context, table(1));
+
+        renderRows(flusher, 2);
+
+        InOrder inOrder = inOrder(externalContext);
+        inOrder.verify(externalContext).getSession(true);
+        inOrder.verify(externalContext, times(2)).responseFlushBuffer();
+        verify(externalContext, times(1)).getSession(true);
+    }
+
+    @Test
+    void leavesSessionAloneWhenStateIsSavedOnClient() throws IOException {
+        when(stateManager.isSavingStateInClient(context)).thenReturn(true);
+        RowBatchFlusher flusher = RowBatchFlusher.of(context, table(1));
+
+        renderRows(flusher, 2);
+
+        verify(externalContext, times(2)).responseFlushBuffer();
+        verify(externalContext, never()).getSession(true);
+    }
+
+    @Test
+    void noStreamingOfAjaxRequests() {
+        when(context.getPartialViewContext().isPartialRequest()).thenReturn(true);
+
+        assertNull(RowBatchFlusher.of(context, table(1)));
+    }
+
+    private static UIData table(int batchSize) {
+        UIData table = new UIData();
+        table.getAttributes().put(RowBatchFlusher.BATCH_SIZE_ATTRIBUTE, batchSize);
+        return table;
+    }
+
+    private static void renderRows(RowBatchFlusher flusher, int rows) throws IOException {
+        for (int i = 0; i < rows; i++) {
+            flusher.rowRendered();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.glassfish.mojarra.util.LRUMap;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The view scope manager evicts whatever view map the store names as eldest, so the store has to name the one least
+ * recently looked up, and its active view maps have to behave as a plain map towards the view root and survive session
+ * replication.
+ */
+class SessionViewMapStoreTest {
+
+    private final SessionViewMapStore store = new SessionViewMapStore();
+
+    @Test
+    void eldestIsLeastRecentlyLookedUp() {
+        Map<String, Object> viewMaps = store.createActiveViewMaps(null, 3);
+        viewMaps.put("one", new HashMap<>());
+        viewMaps.put("two", new HashMap<>());
+        viewMaps.put("three", new HashMap<>());
+
+        assertEquals("one", store.getEldestViewMapId(viewMaps));
+
+        viewMaps.get("one");
+        assertEquals("two", store.getEldestViewMapId(viewMaps));
+
+        viewMaps.containsKey("two");
+        assertEquals("two", store.getEldestViewMapId(viewMaps), "checking for presence does not count as use");
+
+        viewMaps.remove("two");
+        assertEquals("three", store.getEldestViewMapId(viewMaps));
+    }
+
+    @Test
+    void noEldestWhenEmpty() {
+        assertNull(store.getEldestViewMapId(store.createActiveViewMaps(null, 3)));
+        assertNull(store.getEldestViewMapId(new LRUMap<>(3)));
+    }
+
+    @Test
+    void eldestOfLegacyLRUMap() {
+        Map<String, Object> viewMaps = new LRUMap<>(3);
+        viewMaps.put("one", new HashMap<>());
+        viewMaps.put("two", new HashMap<>());
+        viewMaps.get("one");
+
+        assertEquals("two", store.getEldestViewMapId(viewMaps));
+    }
+
+    @Test
+    void behavesAsMap() {
+        Map<String, Object> viewMap = new HashMap<>();
+        Map<String, Object> viewMaps = store.createActiveViewMaps(null, 3);
+
+        assertNull(viewMaps.put("one", viewMap));
+        assertEquals(Map.of("one", viewMap), viewMaps);
+        assertTrue(viewMaps.values().contains(viewMap));
+
+        viewMaps.entrySet().removeIf(entry -> entry.getValue() == viewMap);
+        assertTrue(viewMaps.isEmpty());
+    }
+
+    @Test
+    void survivesSerialization() throws IOException, ClassNotFoundException {
+        Map<String, Object> viewMaps = store.createActiveViewMaps(null, 3);
+        viewMaps.put("one", new HashMap<>(Map.of("bean", "value")));
+        viewMaps.put("two", new HashMap<>());
+        viewMaps.get("one");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(viewMaps);
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> restored = (Map<String, Object>) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+        assertEquals(viewMaps, restored);
+        assertEquals("two", store.getEldestViewMapId(restored));
+
+        restored.put("three", new HashMap<>());
+        assertFalse("three".equals(store.getEldestViewMapId(restored)), "the clock carries on where it was");
+    }
+}
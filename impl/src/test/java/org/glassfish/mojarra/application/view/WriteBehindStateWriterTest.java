@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.view;
+
+import static org.glassfish.mojarra.RIConstants.SAVESTATE_FIELD_MARKER;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.glassfish.mojarra.application.view.WriteBehindStateWriter.SegmentedBuffer;
+import org.junit.jupiter.api.Test;
+
+public class WriteBehindStateWriterTest {
+
+    @Test
+    public void testMarkersAreRecordedAcrossSegments() throws IOException {
+        SegmentedBuffer buffer = new SegmentedBuffer(16);
+        StringBuilder expected = new StringBuilder();
+
+        write(buffer, expected, ">");
+        write(buffer, expected, SAVESTATE_FIELD_MARKER);
+        write(buffer, expected, "</form>~<form>".repeat(10));
+        write(buffer, expected, SAVESTATE_FIELD_MARKER.substring(0, 5));
+        write(buffer, expected, SAVESTATE_FIELD_MARKER.substring(5));
+        write(buffer, expected, "</form>");
+
+        int first = 1;
+        int second = first + SAVESTATE_FIELD_MARKER.length() + "</form>~<form>".length() * 10;
+        assertArrayEquals(new int[] { first, second }, buffer.getMarkers());
+        assertEquals(expected.toString(), replay(buffer));
+    }
+
+    @Test
+    public void testMarkersWithinOneWriteAreRecorded() throws IOException {
+        SegmentedBuffer buffer = new SegmentedBuffer(8);
+
+        buffer.write("<p>" + SAVESTATE_FIELD_MARKER + "~~" + SAVESTATE_FIELD_MARKER);
+
+        assertArrayEquals(new int[] { 3, 5 + SAVESTATE_FIELD_MARKER.length() }, buffer.getMarkers());
+    }
+
+    @Test
+    public void testMarkersWrittenCharByCharAreRecorded() throws IOException {
+        SegmentedBuffer buffer = new SegmentedBuffer(8);
+
+        buffer.write(SAVESTATE_FIELD_MARKER);
+        for (char c : ("<" + SAVESTATE_FIELD_MARKER).toCharArray()) {
+            buffer.write(c);
+        }
+
+        assertArrayEquals(new int[] { 0, 1 + SAVESTATE_FIELD_MARKER.length() }, buffer.getMarkers());
+    }
+
+    private static void write(SegmentedBuffer buffer, StringBuilder expected, String content) throws IOException {
+        if (expected.length() % 2 == 0) {
+            buffer.write(content);
+        } else {
+            buffer.write(content.toCharArray());
+        }
+        expected.append(content);
+    }
+
+    private static String replay(SegmentedBuffer buffer) throws IOException {
+        StringWriter writer = new StringWriter();
+        buffer.writeTo(writer, 0, buffer.length());
+        return writer.toString();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.config.manager;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.writeString;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import jakarta.servlet.ServletContext;
+
+import org.glassfish.mojarra.config.manager.documents.DocumentInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+
+class ConfigSnapshotTest {
+
+    private static final String FACES_CONFIG = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <faces-config xmlns="https://jakarta.ee/xml/ns/jakartaee" xmlns:ext="urn:ext" version="5.0">
+                <!-- comments are not kept -->
+                <name>library</name>
+                <application>
+                    <ext:extension ext:flag="true"><![CDATA[<raw>]]></ext:extension>
+                    <el-resolver>com.example.Resolver</el-resolver>
+                </application>
+            </faces-config>
+            """;
+
+    @TempDir
+    private Path folder;
+
+    /**
+     * A document rebuilt from the snapshot must be indistinguishable from the parsed one for anything a processor reads.
+     */
+    @Test
+    void documentsSurviveRoundTrip() throws Exception {
+        URI source = folder.resolve("faces-config.xml").toUri();
+        Document parsed = parse(FACES_CONFIG);
+        parsed.setDocumentURI(source.toString());
+        parsed.getDocumentElement().setAttribute("org.glassfish.mojarra.webinf", "true");
+
+        ConfigSnapshot snapshot = new ConfigSnapshot(folder);
+        Path file = folder.resolve("test.snapshot");
+        byte[] key = { 1, 2, 3 };
+        snapshot.write(file, key, new DocumentInfo[] { new DocumentInfo(parsed, source) });
+
+        DocumentInfo[] read = snapshot.read(file, key);
+
+        assertEquals(1, read.length);
+        assertEquals(source, read[0].getSourceURI());
+        assertEquals(source.toString(), read[0].getDocument().getDocumentURI());
+        assertEquals(serialize(withoutComments(parsed)), serialize(read[0].getDocument()));
+
+        Element extension = (Element) read[0].getDocument().getElementsByTagNameNS("urn:ext", "extension").item(0);
+        assertEquals("true", extension.getAttributeNS("urn:ext", "flag"));
+        assertEquals("<raw>", extension.getTextContent());
+        assertEquals("true", read[0].getDocument().getDocumentElement().getAttribute("org.glassfish.mojarra.webinf"));
+    }
+
+    /**
+     * A snapshot written for other resources must not be used.
+     */
+    @Test
+    void onlyTemporaryDirectoryOfApplicationIsUsed() {
+        ServletContext servletContext = mock(ServletContext.class);
+        assertNull(ConfigSnapshot.getDirectory(servletContext));
+
+        when(servletContext.getAttribute(ServletContext.TEMPDIR)).thenReturn(folder.toFile());
+        assertEquals(folder, ConfigSnapshot.getDirectory(servletContext));
+    }
+
+    @Test
+    void snapshotWithOtherKeyIsIgnored() throws Exception {
+        ConfigSnapshot snapshot = new ConfigSnapshot(folder);
+        Path file = folder.resolve("test.snapshot");
+        snapshot.write(file, new byte[] { 1 }, new DocumentInfo[] { new DocumentInfo(parse(FACES_CONFIG), null) });
+
+        assertNotNull(snapshot.read(file, new byte[] { 1 }));
+        assertNull(snapshot.read(file, new byte[] { 2 }));
+        assertNull(snapshot.read(folder.resolve("absent.snapshot"), new byte[] { 1 }));
+    }
+
+    /**
+     * Touching a resource must change the key, so that the snapshot is replaced.
+     */
+    @Test
+    void keyChangesWhenResourceIsModified() throws Exception {
+        Path resource = writeString(folder.resolve("faces-config.xml"), FACES_CONFIG);
+        List<URI> uris = List.of(resource.toUri());
+        byte[] key = ConfigSnapshot.getKey(uris, false);
+
+        assertArrayEquals(key, ConfigSnapshot.getKey(uris, false));
+        assertFalse(Arrays.equals(key, ConfigSnapshot.getKey(uris, true)));
+
+        Files.setLastModifiedTime(resource, FileTime.fromMillis(Files.getLastModifiedTime(resource).toMillis() + 60_000));
+        assertFalse(Arrays.equals(key, ConfigSnapshot.getKey(uris, false)));
+    }
+
+    /**
+     * A resource in a jar is keyed by the modification time of the jar.
+     */
+    @Test
+    void keyOfResourceInJar() throws Exception {
+        Path jar = folder.resolve("library.jar");
+        writeJar(jar, 0);
+        List<URI> uris = List.of(URI.create("jar:" + jar.toUri() + "!/META-INF/faces-config.xml"));
+        byte[] key = ConfigSnapshot.getKey(uris, false);
+
+        assertNotNull(key);
+        assertArrayEquals(key, ConfigSnapshot.getKey(uris, false));
+
+        Files.delete(jar);
+        writeJar(jar, 60_000);
+        assertFalse(Arrays.equals(key, ConfigSnapshot.getKey(uris, false)));
+
+        Files.delete(jar);
+        assertNull(ConfigSnapshot.getKey(uris, false));
+    }
+
+    private static void writeJar(Path jar, long age) throws Exception {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("META-INF/faces-config.xml"));
+            out.write(FACES_CONFIG.getBytes(UTF_8));
+            out.closeEntry();
+        }
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(1_700_000_000_000L + age));
+    }
+
+    private static Document parse(String xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml.strip())));
+    }
+
+    private static Document withoutComments(Document document) throws Exception {
+        return parse(serialize(document).replaceAll("<!--.*?-->", ""));
+    }
+
+    private static String serialize(Document document) throws Exception {
+        StringWriter writer = new StringWriter();
+        TransformerFactory.newInstance().newTransformer().transform(new DOMSource(document), new StreamResult(writer));
+        return writer.toString();
+    }
+}
@@ -20,8 +20,10 @@ import static java.nio.file.Files.writeString;
 import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
 import static java.util.List.of;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.glassfish.mojarra.config.manager.Documents.getXMLDocuments;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -31,10 +33,12 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.concurrent.ExecutorService;
 
 import jakarta.servlet.ServletContext;
 
 import org.glassfish.mojarra.config.ConfigurationException;
+import org.glassfish.mojarra.config.manager.StartupProfile.Step;
 import org.glassfish.mojarra.config.manager.documents.DocumentInfo;
 import org.glassfish.mojarra.spi.ConfigurationResourceProvider;
 import org.junit.jupiter.api.Test;
@@ -82,6 +86,28 @@ class DocumentsTest {
         assertArrayEquals(new URI[] { first, second }, sourceURIs(documents));
     }
 
+    /**
+     * Parsing on a pool must not change the order, and every provider and document must show up in the profile.
+     */
+    @Test
+    void documentsParsedOnPoolAreReturnedInProviderOrder() throws Exception {
+        URI first = writeFacesConfig("first");
+        URI second = writeFacesConfig("second");
+        URI third = writeFacesConfig("third");
+        ExecutorService pool = newFixedThreadPool(3);
+
+        try {
+            StartupProfile profile = new StartupProfile(3);
+            DocumentInfo[] documents = getXMLDocuments(servletContext, of(provider(third, first), provider(second, third)), false, pool, profile);
+
+            assertArrayEquals(new URI[] { third, first, second }, sourceURIs(documents));
+            assertEquals(of(2, 2), profile.getProviders().stream().map(Step::count).toList());
+            assertEquals(of(third.toString(), first.toString(), second.toString()), profile.getDocuments().stream().map(Step::name).toList());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     /**
      * A provider which blows up must fail the configuration rather than being skipped, otherwise the application starts
      * with silently incomplete configuration.
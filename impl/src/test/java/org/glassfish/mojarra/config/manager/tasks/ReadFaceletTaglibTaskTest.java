@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.config.manager.tasks;
+
+import static java.nio.file.Files.writeString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.glassfish.mojarra.config.manager.documents.FaceletTaglib;
+import org.glassfish.mojarra.config.manager.documents.FaceletTaglib.Component;
+import org.glassfish.mojarra.config.manager.documents.FaceletTaglib.Function;
+import org.glassfish.mojarra.config.manager.documents.FaceletTaglib.Handler;
+import org.glassfish.mojarra.config.manager.documents.FaceletTaglib.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReadFaceletTaglibTaskTest {
+
+    private static final String TAGLIB = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <facelet-taglib xmlns="https://jakarta.ee/xml/ns/jakartaee" version="4.0">
+                <description>Skipped</description>
+                <namespace> urn:example </namespace>
+                <tag>
+                    <tag-name>input</tag-name>
+                    <component>
+                        <component-type>example.Input</component-type>
+                        <renderer-type>example.InputRenderer</renderer-type>
+                    </component>
+                    <attribute>
+                        <name>value</name>
+                        <type>java.lang.Object</type>
+                    </attribute>
+                </tag>
+                <tag>
+                    <tag-name>composite</tag-name>
+                    <component><resource-id>lib/composite.xhtml</resource-id></component>
+                </tag>
+                <tag>
+                    <tag-name>convert</tag-name>
+                    <converter><converter-id>example.Converter</converter-id><handler-class>example.ConverterHandler</handler-class></converter>
+                </tag>
+                <tag>
+                    <tag-name>validate</tag-name>
+                    <validator><validator-id>example.Validator</validator-id></validator>
+                </tag>
+                <tag>
+                    <tag-name>behave</tag-name>
+                    <behavior><behavior-id>example.Behavior</behavior-id></behavior>
+                </tag>
+                <tag>
+                    <tag-name>include</tag-name>
+                    <!-- relative to the taglib -->
+                    <source>tags/include.xhtml</source>
+                </tag>
+                <tag>
+                    <tag-name>handle</tag-name>
+                    <handler-class><![CDATA[example.TagHandler]]></handler-class>
+                </tag>
+                <function>
+                    <function-name>join</function-name>
+                    <function-class>example.Functions</function-class>
+                    <function-signature>java.lang.String join(java.lang.String[],
+                        java.lang.String)</function-signature>
+                </function>
+            </facelet-taglib>
+            """;
+
+    @TempDir
+    private Path folder;
+
+    /**
+     * Reading the stream must yield exactly what the DOM yields, since either may be processed depending on whether the
+     * document is validated.
+     */
+    @Test
+    void streamYieldsSameAsDOM() throws Exception {
+        Path file = writeString(folder.resolve("example.taglib.xml"), TAGLIB);
+
+        FaceletTaglib read = new ReadFaceletTaglibTask(file.toUri()).call().getFaceletTaglib();
+
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        FaceletTaglib parsed = FaceletTaglib.of(factory.newDocumentBuilder().parse(file.toFile()));
+
+        assertEquals(parsed, read);
+        assertEquals("urn:example", read.namespace());
+        assertEquals(List.of(
+                new Tag("input", new Component("example.Input", "example.InputRenderer", null, null), null, null, null, null, null),
+                new Tag("composite", new Component(null, null, null, "lib/composite.xhtml"), null, null, null, null, null),
+                new Tag("convert", null, new Handler("example.Converter", "example.ConverterHandler"), null, null, null, null),
+                new Tag("validate", null, null, new Handler("example.Validator", null), null, null, null),
+                new Tag("behave", null, null, null, new Handler("example.Behavior", null), null, null),
+                new Tag("include", null, null, null, null, "tags/include.xhtml", null),
+                new Tag("handle", null, null, null, null, null, "example.TagHandler")), read.tags());
+        assertEquals(List.of(new Function("join", "example.Functions", "java.lang.String join(java.lang.String[],\n            java.lang.String)")),
+                read.functions());
+    }
+
+    /**
+     * A Facelets 1.x tag library has no namespace and a DOCTYPE, whose DTD must not be loaded.
+     */
+    @Test
+    void legacyTaglibWithDoctypeIsRead() throws Exception {
+        Path file = writeString(folder.resolve("legacy.taglib.xml"), """
+                <?xml version="1.0"?>
+                <!DOCTYPE facelet-taglib PUBLIC "-//Sun Microsystems, Inc.//DTD Facelet Taglib 1.0//EN" "http://java.sun.com/dtd/facelet-taglib_1_0.dtd">
+                <facelet-taglib>
+                    <library-class>example.LegacyLibrary</library-class>
+                </facelet-taglib>
+                """);
+
+        FaceletTaglib read = new ReadFaceletTaglibTask(file.toUri()).call().getFaceletTaglib();
+
+        assertEquals("example.LegacyLibrary", read.libraryClass());
+        assertNull(read.namespace());
+        assertEquals(List.of(), read.tags());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.context;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.glassfish.mojarra.context.SessionMap.createMutex;
+import static org.glassfish.mojarra.context.SessionMap.getLock;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+
+import org.glassfish.mojarra.mock.MockHttpSession;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the session lock of {@link SessionMap#getLock(Object)}, which replaced synchronizing on the session so that
+ * requests served by virtual threads do not pin their carrier thread while waiting for each other.
+ */
+class SessionLockTest {
+
+    private static final int THREADS = 64;
+    private static final int ITERATIONS = 500;
+
+    @Test
+    void lockIsCreatedOnceWhenMissing() {
+        MockHttpSession session = new MockHttpSession();
+
+        Lock lock = getLock(session);
+
+        assertSame(lock, getLock(session));
+    }
+
+    @Test
+    void lockIsTheMutexOfTheSession() {
+        MockHttpSession session = new MockHttpSession();
+        createMutex(session);
+
+        assertSame(session.getAttribute("org.glassfish.mojarra.context.SessionMap$Mutex"), getLock(session));
+    }
+
+    @Test
+    void waiterIsParkedInsteadOfBlocked() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        Lock lock = getLock(session);
+        lock.lock();
+
+        try {
+            Thread waiter = new Thread(() -> {
+                getLock(session).lock();
+                getLock(session).unlock();
+            });
+            waiter.start();
+
+            for (int i = 0; i < 100 && waiter.getState() == Thread.State.RUNNABLE; i++) {
+                Thread.sleep(10);
+            }
+
+            // A thread blocked on a monitor would be BLOCKED, which is what pins a virtual thread to its carrier.
+            assertEquals(Thread.State.WAITING, waiter.getState());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Test
+    void compoundUpdatesDoNotRace() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        createMutex(session);
+        session.setAttribute("counter", 0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < ITERATIONS; j++) {
+                        Lock lock = getLock(session);
+                        lock.lock();
+                        try {
+                            session.setAttribute("counter", (Integer) session.getAttribute("counter") + 1);
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<?> future : futures) {
+                future.get(30, SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(5, SECONDS));
+        }
+
+        assertEquals(THREADS * ITERATIONS, session.getAttribute("counter"));
+    }
+}
@@ -2,6 +2,7 @@ package org.glassfish.mojarra.context.flash;
 
 import static jakarta.faces.event.PhaseId.RENDER_RESPONSE;
 import static jakarta.faces.event.PhaseId.RESTORE_VIEW;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyEnumeration;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
@@ -13,17 +14,26 @@ import static org.glassfish.mojarra.context.flash.ELFlash.CONSTANTS.RequestFlash
 import static org.glassfish.mojarra.context.flash.ELFlash.CONSTANTS.SavedResponseCompleteFlagValue;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 
+import java.net.URL;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
+import javax.naming.InitialContext;
+
+import jakarta.faces.application.Application;
 import jakarta.faces.context.ExternalContext;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.context.Flash;
@@ -32,14 +42,19 @@ import jakarta.servlet.http.Cookie;
 
 import org.glassfish.mojarra.context.flash.ELFlash.CONSTANTS;
 import org.glassfish.mojarra.context.flash.ELFlash.PreviousNextFlashInfoManager;
+import org.glassfish.mojarra.spi.SerializationProvider;
+import org.glassfish.mojarra.spi.SerializationProviderFactory;
 import org.glassfish.mojarra.util.ByteArrayGuardAESCTR;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
 import org.mockito.MockedStatic;
 
 public class ELFlashTest {
 
+    private static final String FLASH_SECRET_KEY = "MDEyMzQ1Njc4OWFiY2RlZg==";
+
     private MockedStatic<FacesContext> mockedStaticFacesContext;
     private FacesContext mockedFacesContext;
     private ExternalContext mockedExternalContext;
@@ -68,6 +83,7 @@ public class ELFlashTest {
         when(mockedExternalContext.getApplicationMap()).thenReturn(applicationMap);
         when(mockedExternalContext.getRequestCookieMap()).thenReturn(cookieMap);
         when(mockedExternalContext.getRequestContextPath()).thenReturn("");
+        when(mockedExternalContext.getApplicationContextPath()).thenReturn("");
         when(mockedServletContext.getInitParameterNames()).thenReturn(emptyEnumeration());
 
         when(mockedExternalContext.getFlash()).then($ -> {
@@ -91,6 +107,10 @@ public class ELFlashTest {
 
     @AfterEach
     public void teardown() {
+        ELFlash flash = (ELFlash) applicationMap.get(ELFlash.FLASH_ATTRIBUTE_NAME);
+        if (flash != null) {
+            flash.stopMonitoring();
+        }
         mockedStaticFacesContext.close();
     }
 
@@ -526,6 +546,129 @@ public class ELFlashTest {
         assertDoesNotThrow(() -> manager.encode());
     }
 
+    @Test
+    public void testCookieStorageCarriesFlashToOtherNodeAfterRedirect() throws Exception {
+        ByteArrayGuardAESCTR guard = guardWithConfiguredKey();
+        ByteArrayGuardAESCTR otherGuard = guardWithConfiguredKey();
+        assertTrue(guard.isKeyConfigured());
+        assertTrue(otherGuard.isKeyConfigured());
+        Cookie cookie = encodeRedirectCookie(guard, new HashMap<>(), 4000);
+
+        PreviousNextFlashInfoManager otherNode = new PreviousNextFlashInfoManager(otherGuard, flashInnerMap, 4000, serialProvider());
+        otherNode.decode(mockedFacesContext, new ELFlash(mockedExternalContext), cookie);
+
+        assertTrue(otherNode.isIncomingCookieCameFromRedirect());
+        assertEquals(Map.of("message", "hello"), otherNode.getPreviousRequestFlashInfo().getFlashMap());
+        assertEquals(null, contextMap.get(ForceSetMaxAgeZero));
+    }
+
+    @Test
+    public void testCookieStorageFallsBackToFlashStoreWhenTooLarge() throws Exception {
+        ByteArrayGuardAESCTR guard = new ByteArrayGuardAESCTR();
+        Cookie cookie = encodeRedirectCookie(guard, flashInnerMap, 100);
+
+        PreviousNextFlashInfoManager otherNode = new PreviousNextFlashInfoManager(guard, new HashMap<>(), 100, serialProvider());
+        otherNode.decode(mockedFacesContext, new ELFlash(mockedExternalContext), cookie);
+        assertEquals(emptyMap(), otherNode.getPreviousRequestFlashInfo().getFlashMap());
+
+        PreviousNextFlashInfoManager sameNode = new PreviousNextFlashInfoManager(guard, flashInnerMap, 100, serialProvider());
+        sameNode.decode(mockedFacesContext, new ELFlash(mockedExternalContext), cookie);
+        assertEquals(Map.of("message", "hello"), sameNode.getPreviousRequestFlashInfo().getFlashMap());
+    }
+
+    @Test
+    public void testCookieStorageRejectsCookieNotSignedWithOwnKey() throws Exception {
+        ByteArrayGuardAESCTR guard = new ByteArrayGuardAESCTR();
+        assertFalse(guard.isKeyConfigured());
+        Cookie cookie = encodeRedirectCookie(guard, new HashMap<>(), 4000);
+
+        PreviousNextFlashInfoManager otherNode = new PreviousNextFlashInfoManager(new ByteArrayGuardAESCTR(), flashInnerMap, 4000, serialProvider());
+        otherNode.decode(mockedFacesContext, new ELFlash(mockedExternalContext), cookie);
+
+        assertEquals(emptyMap(), otherNode.getPreviousRequestFlashInfo().getFlashMap());
+        assertEquals(Boolean.TRUE, contextMap.get(ForceSetMaxAgeZero));
+    }
+
+    @Test
+    public void testCookieStorageRestoresFlashOnlyOnceFromReplayedCookie() throws Exception {
+        ByteArrayGuardAESCTR guard = new ByteArrayGuardAESCTR();
+        Cookie cookie = encodeRedirectCookie(guard, new HashMap<>(), 4000);
+        ELFlash flash = new ELFlash(mockedExternalContext);
+
+        PreviousNextFlashInfoManager firstTime = new PreviousNextFlashInfoManager(guard, flashInnerMap, 4000, serialProvider());
+        firstTime.decode(mockedFacesContext, flash, cookie);
+        assertEquals(Map.of("message", "hello"), firstTime.getPreviousRequestFlashInfo().getFlashMap());
+
+        PreviousNextFlashInfoManager replayed = new PreviousNextFlashInfoManager(guard, flashInnerMap, 4000, serialProvider());
+        replayed.decode(mockedFacesContext, flash, cookie);
+        assertEquals(emptyMap(), replayed.getPreviousRequestFlashInfo().getFlashMap());
+        assertEquals(null, contextMap.get(ForceSetMaxAgeZero));
+    }
+
+    @Test
+    public void testCookieStorageDoesNotRestoreFlashFromExpiredCookie() throws Exception {
+        ByteArrayGuardAESCTR guard = new ByteArrayGuardAESCTR();
+        Cookie cookie = encodeRedirectCookie(guard, new HashMap<>(), 4000);
+        String value = guard.verifyAndDecrypt(URLDecoder.decode(cookie.getValue(), UTF_8));
+        long issuedLongAgo = System.currentTimeMillis() - 1800001L;
+        cookie.setValue(URLEncoder.encode(guard.encryptAndSign(issuedLongAgo + value.substring(value.indexOf('~'))), UTF_8));
+
+        PreviousNextFlashInfoManager otherNode = new PreviousNextFlashInfoManager(guard, flashInnerMap, 4000, serialProvider());
+        otherNode.decode(mockedFacesContext, new ELFlash(mockedExternalContext), cookie);
+
+        assertEquals(emptyMap(), otherNode.getPreviousRequestFlashInfo().getFlashMap());
+        assertEquals(null, contextMap.get(ForceSetMaxAgeZero));
+    }
+
+    @Test
+    public void testCookieStorageRejectsCookieCarryingDisallowedClass() throws Exception {
+        ByteArrayGuardAESCTR guard = new ByteArrayGuardAESCTR();
+        Cookie cookie = encodeRedirectCookie(guard, new HashMap<>(), 4000, new URL("http://example.com"));
+
+        PreviousNextFlashInfoManager otherNode = new PreviousNextFlashInfoManager(guard, flashInnerMap, 4000, serialProvider());
+        otherNode.decode(mockedFacesContext, new ELFlash(mockedExternalContext), cookie);
+
+        assertEquals(emptyMap(), otherNode.getPreviousRequestFlashInfo().getFlashMap());
+        assertEquals(Boolean.TRUE, contextMap.get(ForceSetMaxAgeZero));
+    }
+
+    @Test
+    public void testCookieStorageRejectsSignedCookieWithoutIssueTimeAndNonce() throws Exception {
+        ByteArrayGuardAESCTR guard = new ByteArrayGuardAESCTR();
+        Cookie cookie = new Cookie(FLASH_COOKIE_NAME, URLEncoder.encode(guard.encryptAndSign("_1X"), UTF_8));
+
+        PreviousNextFlashInfoManager manager = new PreviousNextFlashInfoManager(guard, flashInnerMap, 4000, serialProvider());
+        manager.decode(mockedFacesContext, new ELFlash(mockedExternalContext), cookie);
+
+        assertEquals(null, manager.getNextRequestFlashInfo());
+        assertEquals(Boolean.TRUE, contextMap.get(ForceSetMaxAgeZero));
+    }
+
+    private Cookie encodeRedirectCookie(ByteArrayGuardAESCTR guard, Map<String, Map<String, Object>> flashInnerMap, int cookieStorageSize) {
+        return encodeRedirectCookie(guard, flashInnerMap, cookieStorageSize, "hello");
+    }
+
+    private Cookie encodeRedirectCookie(ByteArrayGuardAESCTR guard, Map<String, Map<String, Object>> flashInnerMap, int cookieStorageSize, Object message) {
+        when(mockedFacesContext.getApplication()).thenReturn(mock(Application.class));
+        PreviousNextFlashInfoManager manager = new PreviousNextFlashInfoManager(guard, flashInnerMap, cookieStorageSize, serialProvider());
+        manager.initializeBaseCase(new ELFlash(mockedExternalContext));
+        manager.getPreviousRequestFlashInfo().getFlashMap().put("message", message);
+        manager.getPreviousRequestFlashInfo().setIsRedirect(true);
+        manager.expireNext_MovePreviousToNext();
+        return manager.encode();
+    }
+
+    private static ByteArrayGuardAESCTR guardWithConfiguredKey() {
+        try (MockedConstruction<InitialContext> jndi = mockConstruction(InitialContext.class,
+                (context, $) -> when(context.lookup("java:comp/env/faces/FlashSecretKey")).thenReturn(FLASH_SECRET_KEY))) {
+            return new ByteArrayGuardAESCTR();
+        }
+    }
+
+    private SerializationProvider serialProvider() {
+        return SerializationProviderFactory.createInstance(mockedExternalContext);
+    }
+
     private PreviousNextFlashInfoManager mockPreviousNextFlashInfoManager(Map<String, Map<String, Object>> flashInnerMap) {
         PreviousNextFlashInfoManager manager = new PreviousNextFlashInfoManager(new ByteArrayGuardAESCTR(), flashInnerMap);
         manager.initializeBaseCase(new ELFlash(mockedExternalContext) {
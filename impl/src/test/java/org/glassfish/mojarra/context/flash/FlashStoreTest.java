@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.context.flash;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class FlashStoreTest {
+
+    @Test
+    public void testSweepRemovesExpiredEntriesOnly() {
+        FlashStore store = new FlashStore(1000, 0);
+        store.put("1", new HashMap<>());
+
+        store.sweep(System.currentTimeMillis());
+        assertNotNull(store.get("1"));
+        assertEquals(0, store.getExpiredEntries());
+
+        store.sweep(System.currentTimeMillis() + 1001);
+        assertNull(store.get("1"));
+        assertEquals(0, store.size());
+        assertEquals(1, store.getExpiredEntries());
+    }
+
+    @Test
+    public void testSweepDoesNothingWithoutExpirationTime() {
+        FlashStore store = new FlashStore(0, 0);
+        store.put("1", new HashMap<>());
+
+        store.sweep(Long.MAX_VALUE);
+
+        assertNotNull(store.get("1"));
+    }
+
+    @Test
+    public void testPutEvictsOldestEntriesBeyondMaxEntries() throws Exception {
+        FlashStore store = new FlashStore(0, 10);
+        for (int i = 1; i <= 10; i++) {
+            store.put(String.valueOf(i), new HashMap<>());
+            Thread.sleep(2);
+        }
+        assertEquals(10, store.size());
+        assertEquals(0, store.getEvictedEntries());
+
+        store.put("11", Map.of("key", "value"));
+
+        assertEquals(9, store.size());
+        assertEquals(2, store.getEvictedEntries());
+        assertNull(store.get("1"));
+        assertNull(store.get("2"));
+        assertEquals(Map.of("key", "value"), store.get("11"));
+    }
+
+    @Test
+    public void testRemoveReturnsFlashMap() {
+        FlashStore store = new FlashStore(0, 0);
+        Map<String, Object> flashMap = new HashMap<>();
+        store.put("1", flashMap);
+
+        assertEquals(flashMap, store.remove("1"));
+        assertNull(store.remove("1"));
+        assertEquals(0, store.size());
+    }
+}
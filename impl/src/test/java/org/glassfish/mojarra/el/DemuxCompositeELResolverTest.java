@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.el;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.el.ArrayELResolver;
+import jakarta.el.BeanELResolver;
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.FunctionMapper;
+import jakarta.el.ListELResolver;
+import jakarta.el.MapELResolver;
+import jakarta.el.VariableMapper;
+
+import org.glassfish.mojarra.el.FacesCompositeELResolver.ELResolverChainType;
+import org.junit.jupiter.api.Test;
+
+public class DemuxCompositeELResolverTest {
+
+    private final List<Object> probed = new ArrayList<>();
+
+    @Test
+    public void testEachBaseClassIsResolvedByItsOwnResolver() {
+        DemuxCompositeELResolver resolver = createResolver();
+        ELContext context = createContext(resolver);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("map", resolver.getValue(context, Map.of("name", "map"), "name"));
+            assertEquals("list", resolver.getValue(context, List.of("list"), 0));
+            assertEquals("array", resolver.getValue(context, new String[] { "array" }, 0));
+            assertEquals("bean", resolver.getValue(context, new Bean(), "name"));
+            assertTrue(context.isPropertyResolved());
+        }
+    }
+
+    @Test
+    public void testUnknownResolverIsConsultedForEveryBase() {
+        DemuxCompositeELResolver resolver = createResolver();
+        ELContext context = createContext(resolver);
+
+        resolver.getValue(context, new Bean(), "name");
+        resolver.getValue(context, new Bean(), "name");
+        resolver.getValue(context, Map.of(), "name");
+
+        assertEquals(List.of(Bean.class, Bean.class, Map.of().getClass()), probed);
+    }
+
+    @Test
+    public void testAddedResolverInvalidatesLearnedResolvers() {
+        DemuxCompositeELResolver resolver = new DemuxCompositeELResolver(ELResolverChainType.Faces);
+        resolver.addPropertyELResolver(new MapELResolver());
+        ELContext context = createContext(resolver);
+
+        assertNull(resolver.getValue(context, "base", "name"));
+        assertFalse(context.isPropertyResolved());
+
+        resolver.addPropertyELResolver(new ProbingELResolver("resolved"));
+
+        assertEquals("resolved", resolver.getValue(context, "base", "name"));
+        assertTrue(context.isPropertyResolved());
+    }
+
+    private DemuxCompositeELResolver createResolver() {
+        DemuxCompositeELResolver resolver = new DemuxCompositeELResolver(ELResolverChainType.Faces);
+        resolver.add(new ProbingELResolver(null));
+        resolver.addPropertyELResolver(new MapELResolver());
+        resolver.addPropertyELResolver(new ListELResolver());
+        resolver.addPropertyELResolver(new ArrayELResolver());
+        resolver.addPropertyELResolver(new BeanELResolver());
+        return resolver;
+    }
+
+    private static ELContext createContext(ELResolver resolver) {
+        return new ELContext() {
+
+            @Override
+            public ELResolver getELResolver() {
+                return resolver;
+            }
+
+            @Override
+            public FunctionMapper getFunctionMapper() {
+                return null;
+            }
+
+            @Override
+            public VariableMapper getVariableMapper() {
+                return null;
+            }
+        };
+    }
+
+    public static class Bean {
+
+        public String getName() {
+            return "bean";
+        }
+    }
+
+    /**
+     * Records the class of every base it is asked for, and resolves it to the given value unless that is null.
+     */
+    private class ProbingELResolver extends ELResolver {
+
+        private final Object value;
+
+        ProbingELResolver(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object getValue(ELContext context, Object base, Object property) {
+            if (base != null) {
+                probed.add(base.getClass());
+            }
+            if (value != null) {
+                context.setPropertyResolved(true);
+            }
+            return value;
+        }
+
+        @Override
+        public Class<?> getType(ELContext context, Object base, Object property) {
+            return null;
+        }
+
+        @Override
+        public void setValue(ELContext context, Object base, Object property, Object value) {
+        }
+
+        @Override
+        public boolean isReadOnly(ELContext context, Object base, Object property) {
+            return false;
+        }
+
+        @Override
+        public Class<?> getCommonPropertyType(ELContext context, Object base) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.el;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import jakarta.el.ELContext;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.StandardELContext;
+import jakarta.el.ValueExpression;
+
+import org.glassfish.expressly.ExpressionFactoryImpl;
+import org.junit.jupiter.api.Test;
+
+public class ExpressionCacheTest {
+
+    private final ExpressionFactory factory = new ExpressionFactoryImpl();
+
+    @Test
+    public void testIndependentExpressionIsReused() {
+        ExpressionCache cache = new ExpressionCache(factory, 10);
+
+        ValueExpression first = cache.getValueExpression(new StandardELContext(factory), "#{bean.name}", String.class);
+        ValueExpression second = cache.getValueExpression(new StandardELContext(factory), "#{bean.name}", String.class);
+        ValueExpression otherType = cache.getValueExpression(new StandardELContext(factory), "#{bean.name}", Object.class);
+
+        assertSame(first, second);
+        assertNotSame(first, otherType);
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testVariableIsNeverShadowedByCachedExpression() {
+        ExpressionCache cache = new ExpressionCache(factory, 10);
+
+        StandardELContext withVariable = new StandardELContext(factory);
+        withVariable.getVariableMapper().setVariable("item", factory.createValueExpression("variable", String.class));
+
+        assertEquals("variable", cache.getValueExpression(withVariable, "#{item}", String.class).getValue(withVariable));
+        assertEquals(0, cache.size());
+
+        ValueExpression cached = cache.getValueExpression(new StandardELContext(factory), "#{item}", String.class);
+        assertEquals(1, cache.size());
+
+        ValueExpression created = cache.getValueExpression(withVariable, "#{item}", String.class);
+        assertNotSame(cached, created);
+        assertEquals("variable", created.getValue(withVariable));
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getUncacheable());
+    }
+
+    @Test
+    public void testFunctionIsNotCached() throws Exception {
+        ExpressionCache cache = new ExpressionCache(factory, 10);
+        StandardELContext context = new StandardELContext(factory);
+        context.getFunctionMapper().mapFunction("fn", "valueOf", String.class.getMethod("valueOf", int.class));
+
+        assertEquals("42", cache.getValueExpression(context, "#{fn:valueOf(42)}", String.class).getValue(context));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getUncacheable());
+    }
+
+    @Test
+    public void testExpressionDefiningVariableIsNotCached() {
+        ExpressionFactory defining = new ExpressionFactoryImpl() {
+            @Override
+            public ValueExpression createValueExpression(ELContext context, String expression, Class<?> expectedType) {
+                context.getVariableMapper().setVariable("item", createValueExpression("variable", String.class));
+                return super.createValueExpression(context, expression, expectedType);
+            }
+        };
+        ExpressionCache cache = new ExpressionCache(defining, 10);
+        StandardELContext context = new StandardELContext(defining);
+
+        assertEquals("variable", cache.getValueExpression(context, "#{item}", String.class).getValue(context));
+        assertEquals("variable", context.getVariableMapper().resolveVariable("item").getValue(context));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getUncacheable());
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        ExpressionCache cache = new ExpressionCache(factory, 1);
+
+        cache.getValueExpression(new StandardELContext(factory), "#{first}", Object.class);
+        ValueExpression second = cache.getValueExpression(new StandardELContext(factory), "#{second}", Object.class);
+
+        assertEquals(1, cache.size());
+        assertNotSame(second, cache.getValueExpression(new StandardELContext(factory), "#{second}", Object.class));
+        assertEquals(0.0, cache.getHitRate());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.el;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.el.ELClass;
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.FunctionMapper;
+import jakarta.el.ImportHandler;
+import jakarta.el.VariableMapper;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Covers the application wide memory of identifiers which are not a class for a set of imports, which spares every
+ * request a failed class load per identifier which is in no scope.
+ */
+class ScopedAttributeELResolverTest {
+
+    private final Map<String, Object> requestMap = new HashMap<>();
+    private final ScopedAttributeELResolver resolver = new ScopedAttributeELResolver();
+
+    @Test
+    void missIsRememberedAcrossRequests() {
+        ImportHandler first = spy(new ImportHandlerImpl());
+        ImportHandler second = spy(new ImportHandlerImpl());
+
+        assertNull(resolver.getValue(contextFor(first), null, "undefined"));
+        assertNull(resolver.getValue(contextFor(second), null, "undefined"));
+
+        verify(first, times(1)).resolveClass("undefined");
+        verify(second, times(0)).resolveClass("undefined");
+    }
+
+    @Test
+    void classIsStillResolved() {
+        ImportHandler importHandler = spy(new ImportHandlerImpl());
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(Math.class, ((ELClass) resolver.getValue(contextFor(importHandler), null, "Math")).getKlass());
+        }
+
+        verify(importHandler, times(2)).resolveClass("Math");
+    }
+
+    @Test
+    void scopeStillShadowsRememberedMiss() {
+        resolver.getValue(contextFor(new ImportHandlerImpl()), null, "later");
+        requestMap.put("later", "value");
+
+        ELContext context = contextFor(new ImportHandlerImpl());
+        assertEquals("value", resolver.getValue(context, null, "later"));
+        assertTrue(context.isPropertyResolved());
+    }
+
+    @Test
+    void missIsRememberedPerSetOfImports() {
+        assertNull(resolver.getValue(contextFor(new ImportHandlerImpl()), null, "ArrayList"));
+
+        ImportHandler importHandler = new ImportHandlerImpl();
+        importHandler.importPackage("java.util");
+        assertEquals(ArrayList.class, ((ELClass) resolver.getValue(contextFor(importHandler), null, "ArrayList")).getKlass());
+
+        ImportHandler sameImports = spy(new ImportHandlerImpl());
+        sameImports.importPackage("java.util");
+        assertNull(resolver.getValue(contextFor(sameImports), null, "undefined"));
+        assertNull(resolver.getValue(contextFor(sameImports), null, "undefined"));
+        verify(sameImports, times(1)).resolveClass("undefined");
+    }
+
+    @Test
+    void importAfterMissIsSeen() {
+        ImportHandler importHandler = new ImportHandlerImpl();
+        ELContext context = contextFor(importHandler);
+
+        assertNull(resolver.getValue(context, null, "ArrayList"));
+        importHandler.importClass("java.util.ArrayList");
+        assertEquals(ArrayList.class, ((ELClass) resolver.getValue(context, null, "ArrayList")).getKlass());
+    }
+
+    @Test
+    void missOfOtherImportHandlerIsNotRemembered() {
+        ImportHandler importHandler = spy(new ImportHandler());
+
+        assertNull(resolver.getValue(contextFor(importHandler), null, "undefined"));
+        assertNull(resolver.getValue(contextFor(importHandler), null, "undefined"));
+
+        verify(importHandler, times(2)).resolveClass("undefined");
+    }
+
+    private ELContext contextFor(ImportHandler importHandler) {
+        FacesContext facesContext = mock(FacesContext.class);
+        ExternalContext externalContext = mock(ExternalContext.class);
+        ELContext elContext = new ELContext() {
+
+            @Override
+            public ImportHandler getImportHandler() {
+                return importHandler;
+            }
+
+            @Override
+            public ELResolver getELResolver() {
+                return resolver;
+            }
+
+            @Override
+            public FunctionMapper getFunctionMapper() {
+                return null;
+            }
+
+            @Override
+            public VariableMapper getVariableMapper() {
+                return null;
+            }
+        };
+        elContext.putContext(FacesContext.class, facesContext);
+
+        when(facesContext.getExternalContext()).thenReturn(externalContext);
+        when(facesContext.getELContext()).thenReturn(elContext);
+        when(externalContext.getRequestMap()).thenReturn(requestMap);
+        when(externalContext.getSessionMap()).thenReturn(Map.of());
+        when(externalContext.getApplicationMap()).thenReturn(Map.of());
+
+        return elContext;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Navigation asks this cache whether a view exists before the resource handler is asked, so it has to answer for
+ * existing and missing views alike, keep the contracts apart, follow the Facelets refresh period, and stop growing on
+ * missing views made up by the client.
+ */
+class ViewExistsCacheTest {
+
+    private final Set<String> views = new HashSet<>(Set.of("/index.xhtml", "/contract:/page.xhtml"));
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private Predicate<String> resolver(List<String> contracts) {
+        return viewId -> {
+            lookups.incrementAndGet();
+            return views.contains(viewId) || contracts.stream().anyMatch(contract -> views.contains("/" + contract + ":" + viewId));
+        };
+    }
+
+    @Test
+    void existingAndMissingViewsAreBothCached() {
+        ViewExistsCache cache = new ViewExistsCache(10, -1);
+
+        assertTrue(cache.exists("/index.xhtml", List.of(), resolver(List.of())));
+        assertFalse(cache.exists("/missing.xhtml", List.of(), resolver(List.of())));
+        views.add("/missing.xhtml");
+        assertTrue(cache.exists("/index.xhtml", List.of(), resolver(List.of())));
+        assertFalse(cache.exists("/missing.xhtml", List.of(), resolver(List.of())), "never expires without a refresh period");
+
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void contractsAreCachedSeparately() {
+        ViewExistsCache cache = new ViewExistsCache(10, -1);
+
+        assertFalse(cache.exists("/page.xhtml", List.of(), resolver(List.of())));
+        assertTrue(cache.exists("/page.xhtml", List.of("contract"), resolver(List.of("contract"))));
+        assertFalse(cache.exists("/page.xhtml", List.of(), resolver(List.of())));
+    }
+
+    @Test
+    void zeroRefreshPeriodDisablesTheCache() {
+        ViewExistsCache cache = new ViewExistsCache(10, 0);
+
+        assertFalse(cache.exists("/added.xhtml", List.of(), resolver(List.of())));
+        views.add("/added.xhtml");
+        assertTrue(cache.exists("/added.xhtml", List.of(), resolver(List.of())));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void entriesExpireWithTheRefreshPeriod() throws InterruptedException {
+        ViewExistsCache cache = new ViewExistsCache(10, 1);
+
+        assertFalse(cache.exists("/added.xhtml", List.of(), resolver(List.of())));
+        views.add("/added.xhtml");
+        Thread.sleep(5);
+        assertTrue(cache.exists("/added.xhtml", List.of(), resolver(List.of())));
+    }
+
+    @Test
+    void missingViewsMakeWayWhenFull() {
+        ViewExistsCache cache = new ViewExistsCache(3, -1);
+
+        cache.exists("/index.xhtml", List.of(), resolver(List.of()));
+        for (int i = 0; i < 100; i++) {
+            cache.exists("/missing" + i + ".xhtml", List.of(), resolver(List.of()));
+        }
+
+        assertTrue(cache.size() <= 3);
+        int before = lookups.get();
+        assertTrue(cache.exists("/index.xhtml", List.of(), resolver(List.of())));
+        assertEquals(before, lookups.get(), "the existing view stays cached");
+    }
+}
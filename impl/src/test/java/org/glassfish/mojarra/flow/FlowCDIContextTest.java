@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.faces.application.Application;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.flow.Flow;
+import jakarta.faces.flow.FlowHandler;
+import jakarta.faces.lifecycle.ClientWindow;
+
+import org.glassfish.mojarra.junit.CurrentFacesContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A replicating container replicates a session attribute whenever it is put, so the flow scope must only put its
+ * store in the session when the flow scope has actually changed, not whenever it is read.
+ */
+class FlowCDIContextTest {
+
+    private final Map<String, Integer> puts = new HashMap<>();
+    private final Map<String, Object> sessionMap = new HashMap<>() {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Object put(String key, Object value) {
+            puts.merge(key, 1, Integer::sum);
+            return super.put(key, value);
+        }
+    };
+
+    private FlowHandler flowHandler;
+    private Flow flow;
+
+    @BeforeEach
+    void setUp() {
+        FacesContext facesContext = mock(FacesContext.class);
+        ExternalContext externalContext = mock(ExternalContext.class);
+        Application application = mock(Application.class);
+        ClientWindow clientWindow = mock(ClientWindow.class);
+        flowHandler = mock(FlowHandler.class);
+        flow = mock(Flow.class);
+
+        when(facesContext.getExternalContext()).thenReturn(externalContext);
+        when(facesContext.getApplication()).thenReturn(application);
+        when(application.getFlowHandler()).thenReturn(flowHandler);
+        when(externalContext.getSessionMap()).thenReturn(sessionMap);
+        when(externalContext.getSession(true)).thenReturn(sessionMap);
+        when(externalContext.getClientWindow()).thenReturn(clientWindow);
+        when(clientWindow.getId()).thenReturn("window");
+        when(flow.getClientWindowFlowId(any())).thenReturn("window_flow");
+        when(flowHandler.getCurrentFlow(facesContext)).thenReturn(flow);
+
+        CurrentFacesContext.set(facesContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        CurrentFacesContext.set(null);
+    }
+
+    private int flowStorePuts() {
+        return puts.entrySet().stream().filter(entry -> entry.getKey().endsWith("_flow")).mapToInt(Map.Entry::getValue).sum();
+    }
+
+    @Test
+    void readingTheFlowScopeLeavesTheSessionAlone() {
+        FlowCDIContext.getCurrentFlowScopeAndUpdateSession().get("one");
+        int created = flowStorePuts();
+
+        FlowCDIContext.getCurrentFlowScopeAndUpdateSession().get("one");
+        FlowCDIContext.getCurrentFlowScopeAndUpdateSession().containsKey("one");
+
+        assertEquals(1, created);
+        assertEquals(created, flowStorePuts());
+    }
+
+    @Test
+    void modifyingTheFlowScopeUpdatesTheSession() {
+        Map<Object, Object> flowScope = FlowCDIContext.getCurrentFlowScopeAndUpdateSession();
+
+        flowScope.put("one", "value");
+        assertEquals(2, flowStorePuts());
+        assertEquals("value", FlowCDIContext.getCurrentFlowScopeAndUpdateSession().get("one"));
+
+        flowScope.remove("none");
+        assertEquals(2, flowStorePuts(), "removing nothing changes nothing");
+
+        flowScope.remove("one");
+        assertEquals(3, flowStorePuts());
+    }
+
+    @Test
+    void everyModificationUpdatesTheSession() {
+        Map<Object, Object> flowScope = FlowCDIContext.getCurrentFlowScopeAndUpdateSession();
+        int puts = flowStorePuts();
+
+        flowScope.putIfAbsent("one", "value");
+        assertEquals(++puts, flowStorePuts());
+        flowScope.putIfAbsent("one", "other");
+        assertEquals(puts, flowStorePuts(), "putting nothing changes nothing");
+
+        flowScope.computeIfAbsent("two", key -> "value");
+        assertEquals(++puts, flowStorePuts());
+        flowScope.computeIfAbsent("two", key -> "other");
+        assertEquals(puts, flowStorePuts(), "computing nothing changes nothing");
+
+        flowScope.computeIfPresent("two", (key, value) -> value + "!");
+        flowScope.compute("three", (key, value) -> "value");
+        flowScope.merge("three", "!", (value, other) -> value + "!");
+        flowScope.replace("three", "again");
+        puts += 4;
+        assertEquals(puts, flowStorePuts());
+        assertEquals("value!", flowScope.get("two"));
+        assertEquals("again", flowScope.get("three"));
+
+        flowScope.entrySet().stream().filter(entry -> "two".equals(entry.getKey())).forEach(entry -> entry.setValue("set"));
+        flowScope.keySet().remove("one");
+        flowScope.values().remove("again");
+        puts += 3;
+        assertEquals(puts, flowStorePuts());
+        assertEquals(Map.of("two", "set"), FlowCDIContext.getCurrentFlowScopeAndUpdateSession());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void noFlowScopedBeanOutsideFlow() {
+        when(flowHandler.getCurrentFlow(any())).thenReturn(null);
+
+        assertThrows(ContextNotActiveException.class, () -> new FlowCDIContext(new HashMap<>()).get(mock(Contextual.class), mock(CreationalContext.class)));
+    }
+
+    @Test
+    void eachFlowDepthHasItsOwnStore() {
+        FlowCDIContext.getCurrentFlowScopeAndUpdateSession().put("one", "outer");
+
+        FlowHandlerImpl.getFlowStack(CurrentFacesContext.getCurrentInstance()).addFirst(flow, "/page.xhtml");
+        assertNull(FlowCDIContext.getCurrentFlowScopeAndUpdateSession().get("one"));
+    }
+
+    @Test
+    void noFlowScopeOutsideFlow() {
+        when(flowHandler.getCurrentFlow(any())).thenReturn(null);
+
+        assertNull(FlowCDIContext.getCurrentFlowScopeAndUpdateSession());
+        assertEquals(0, flowStorePuts());
+    }
+}
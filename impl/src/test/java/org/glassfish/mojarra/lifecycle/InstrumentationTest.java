@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+
+import org.junit.jupiter.api.Test;
+
+public class InstrumentationTest {
+
+    @Test
+    public void testRecordedPerViewAndStage() {
+        Instrumentation instrumentation = new Instrumentation(false);
+
+        instrumentation.record("/index.xhtml", "RESTORE_VIEW", 100);
+        instrumentation.record("/index.xhtml", "RESTORE_VIEW", 300);
+        instrumentation.record("/index.xhtml", Instrumentation.RENDER_VIEW, 1000);
+        instrumentation.record((String) null, "RESTORE_VIEW", 50);
+
+        assertEquals(2, instrumentation.getViewIds().size());
+        assertEquals(2, instrumentation.getHistograms("/index.xhtml").get("RESTORE_VIEW").getCount());
+        assertEquals(400, instrumentation.getHistograms("/index.xhtml").get("RESTORE_VIEW").getTotalNanos());
+        assertEquals(1, instrumentation.getHistograms(Instrumentation.UNKNOWN_VIEW).get("RESTORE_VIEW").getCount());
+        assertTrue(instrumentation.getHistograms("/other.xhtml").isEmpty());
+    }
+
+    @Test
+    public void testViewIdsAreBounded() {
+        Instrumentation instrumentation = new Instrumentation(false);
+
+        for (int i = 0; i < Instrumentation.MAX_VIEWS + 10; i++) {
+            instrumentation.record("/missing" + i + ".xhtml", "RESTORE_VIEW", 1);
+        }
+
+        assertEquals(Instrumentation.MAX_VIEWS + 1, instrumentation.getViewIds().size());
+        assertEquals(10, instrumentation.getHistograms(Instrumentation.UNKNOWN_VIEW).get("RESTORE_VIEW").getCount());
+    }
+
+    @Test
+    public void testExposedThroughJmx() throws Exception {
+        Instrumentation instrumentation = new Instrumentation(false);
+        instrumentation.record("/index.xhtml", Instrumentation.BUILD_VIEW, 2000);
+
+        JmxInstrumentationExporter exporter = new JmxInstrumentationExporter();
+        exporter.start(facesContext("/instrumentation-test"), instrumentation);
+        ObjectName name = exporter.getObjectName();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            assertTrue(server.isRegistered(name));
+            assertArrayEquals(new String[] { "/index.xhtml" }, (String[]) server.getAttribute(name, "ViewIds"));
+
+            TabularData timings = (TabularData) server.invoke(name, "getTimings", new Object[] { "/index.xhtml" },
+                    new String[] { String.class.getName() });
+            CompositeData timing = (CompositeData) timings.get(new Object[] { Instrumentation.BUILD_VIEW }).get("value");
+            assertEquals(1L, timing.get("count"));
+            assertEquals(2000L, timing.get("maxNanos"));
+
+            server.invoke(name, "reset", null, null);
+            assertTrue(instrumentation.getViewIds().isEmpty());
+        } finally {
+            exporter.stop();
+        }
+
+        assertFalse(server.isRegistered(name));
+    }
+
+    private static FacesContext facesContext(String contextPath) {
+        FacesContext context = mock(FacesContext.class);
+        ExternalContext externalContext = mock(ExternalContext.class);
+        when(context.getExternalContext()).thenReturn(externalContext);
+        when(externalContext.getApplicationContextPath()).thenReturn(contextPath);
+        return context;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.el.ELContext;
+import jakarta.el.StandardELContext;
+import jakarta.faces.application.ProjectStage;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.render.Renderer;
+import jakarta.faces.view.Location;
+
+import org.glassfish.expressly.ExpressionFactoryImpl;
+import org.junit.jupiter.api.Test;
+
+public class RenderProfilerTest {
+
+    private final Map<Object, Object> attributes = new HashMap<>();
+    private final Map<String, String> headers = new HashMap<>();
+    private final ELContext elContext = new StandardELContext(new ExpressionFactoryImpl());
+
+    @Test
+    public void testNotProfiledInProduction() {
+        headers.put(RenderProfiler.HEADER, "true");
+        FacesContext context = facesContext(ProjectStage.Production);
+
+        RenderProfiler.start(context);
+
+        assertNull(RenderProfiler.getInstance(context));
+    }
+
+    @Test
+    public void testProfiledByHeader() {
+        headers.put(RenderProfiler.HEADER, "true");
+        FacesContext context = facesContext(ProjectStage.Development);
+
+        RenderProfiler.start(context);
+        assertNotNull(RenderProfiler.getInstance(context));
+
+        RenderProfiler.finish(context);
+        assertNull(RenderProfiler.getInstance(context));
+        assertFalse(attributes.containsKey(RenderProfiler.class.getName()));
+    }
+
+    @Test
+    public void testCostIsAttributedToInnermostLocation() throws Exception {
+        headers.put(RenderProfiler.HEADER, "true");
+        FacesContext context = facesContext(ProjectStage.SystemTest);
+        RenderProfiler.start(context);
+        RenderProfiler profiler = RenderProfiler.getInstance(context);
+        Writer writer = profiler.countChars(new StringWriter());
+
+        try {
+            Location form = new Location("/index.xhtml", 10, 5);
+            Location table = new Location("/index.xhtml", 12, 9);
+
+            profiler.enter(form, RenderProfiler.Stage.RENDER);
+            writer.write("<form>");
+            elContext.notifyBeforeEvaluation("#{bean.form}");
+
+            for (int i = 0; i < 2; i++) {
+                profiler.enter(table, RenderProfiler.Stage.RENDER);
+                writer.write("<table></table>");
+                elContext.notifyBeforeEvaluation("#{bean.rows}");
+                elContext.notifyBeforeEvaluation("#{row.name}");
+                profiler.exit();
+            }
+
+            profiler.exit();
+
+            String report = profiler.getReport("/index.xhtml");
+            String[] lines = report.split("\\R");
+
+            assertTrue(lines[0].contains("5 EL evaluations, 36 chars written, 2 locations"), report);
+            assertEquals(4, lines.length, report);
+            assertTrue(report.contains(row(2, 4, 30, table + " render")), report);
+            assertTrue(report.contains(row(1, 1, 6, form + " render")), report);
+        } finally {
+            RenderProfiler.finish(context);
+        }
+    }
+
+    @Test
+    public void testProfiledRendererIsUnwrapped() {
+        Renderer<UIComponent> renderer = new Renderer<>() {
+        };
+        Renderer<UIComponent> profiled = RenderProfiler.profile(renderer);
+
+        assertNotSame(renderer, profiled);
+        assertSame(renderer, RenderProfiler.unwrap(profiled));
+        assertSame(renderer, RenderProfiler.unwrap(renderer));
+    }
+
+    private static String row(long calls, long evaluations, long chars, String location) {
+        return String.format(" %7d %8d %9d  %s", calls, evaluations, chars, location);
+    }
+
+    private FacesContext facesContext(ProjectStage stage) {
+        FacesContext context = mock(FacesContext.class);
+        ExternalContext externalContext = mock(ExternalContext.class);
+        when(context.isProjectStage(stage)).thenReturn(true);
+        when(context.getExternalContext()).thenReturn(externalContext);
+        when(context.getAttributes()).thenReturn(attributes);
+        when(context.getELContext()).thenReturn(elContext);
+        when(externalContext.getRequestHeaderMap()).thenReturn(headers);
+        return context;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import jakarta.faces.component.UIComponentBase;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.facelets.component.UIRepeat;
+import org.glassfish.mojarra.junit.CurrentFacesContext;
+import org.junit.jupiter.api.Test;
+
+public class PagedDataModelTest {
+
+    private static final int TOTAL = 100_000;
+
+    private final List<String> loads = new ArrayList<>();
+
+    private final PageLoader<Integer> loader = new PageLoader<>() {
+
+        @Override
+        public int getRowCount() {
+            return TOTAL;
+        }
+
+        @Override
+        public List<Integer> load(int first, int count) {
+            loads.add(first + "+" + count);
+            return IntStream.range(first, Math.min(first + count, TOTAL)).boxed().toList();
+        }
+    };
+
+    @Test
+    public void testOnlyWindowIsLoaded() {
+        PagedDataModel<Integer> model = new PagedDataModel<>(loader);
+        model.setWindow(500, 20);
+
+        for (int i = 500; i < 520; i++) {
+            model.setRowIndex(i);
+            assertTrue(model.isRowAvailable());
+            assertEquals(i, model.getRowData());
+        }
+
+        assertEquals(List.of("500+20"), loads);
+        assertEquals(TOTAL, model.getRowCount());
+    }
+
+    @Test
+    public void testRowOutsideWindowLoadsPage() {
+        PagedDataModel<Integer> model = new PagedDataModel<>(loader, 10);
+        model.setWindow(0, 5);
+
+        model.setRowIndex(42);
+        assertEquals(42, model.getRowData());
+        assertEquals(TOTAL, model.getRowCount());
+        model.setRowIndex(TOTAL);
+        assertFalse(model.isRowAvailable());
+
+        assertEquals(List.of("42+10"), loads);
+    }
+
+    @Test
+    public void testShortPageIsNotReloaded() {
+        PagedDataModel<Integer> model = new PagedDataModel<>(loader);
+        model.setWindow(TOTAL - 5, 10);
+
+        model.setRowIndex(TOTAL - 1);
+        assertTrue(model.isRowAvailable());
+        model.setRowIndex(TOTAL + 2);
+        assertFalse(model.isRowAvailable());
+
+        assertEquals(List.of((TOTAL - 5) + "+10"), loads);
+    }
+
+    @Test
+    public void testStreamIsWalkedForwardOnly() {
+        AtomicInteger pulled = new AtomicInteger();
+        StreamDataModel<Integer> model = new StreamDataModel<>(IntStream.range(0, TOTAL).boxed().peek(i -> pulled.incrementAndGet()));
+        model.setWindow(10, 3);
+        assertEquals(10, pulled.get());
+
+        for (int i = 10; i < 13; i++) {
+            model.setRowIndex(i);
+            assertEquals(i, model.getRowData());
+        }
+        assertEquals(13, pulled.get());
+        assertEquals(-1, model.getRowCount());
+
+        model.setRowIndex(5);
+        assertFalse(model.isRowAvailable());
+    }
+
+    @Test
+    public void testStreamIsReopenedForEarlierRow() {
+        AtomicInteger opened = new AtomicInteger();
+        StreamDataModel<Integer> model = new StreamDataModel<>(() -> {
+            opened.incrementAndGet();
+            return Stream.of(1, 2, 3);
+        }, 3);
+
+        model.setRowIndex(2);
+        assertEquals(3, model.getRowData());
+        model.setRowIndex(0);
+        assertEquals(1, model.getRowData());
+        model.setRowIndex(3);
+        assertFalse(model.isRowAvailable());
+
+        assertEquals(2, opened.get());
+        assertEquals(3, model.getRowCount());
+    }
+
+    @Test
+    public void testRepeatWindowCoversLastRow() {
+        FacesContext context = mock(FacesContext.class);
+        ExternalContext externalContext = mock(ExternalContext.class);
+        when(context.getExternalContext()).thenReturn(externalContext);
+        when(context.getAttributes()).thenReturn(new HashMap<>());
+        when(externalContext.getRequestMap()).thenReturn(new HashMap<>());
+        CurrentFacesContext.set(context);
+
+        List<Object> rows = new ArrayList<>();
+        PagedDataModel<Integer> model = new PagedDataModel<>(loader);
+        UIRepeat repeat = new UIRepeat();
+        repeat.setValue(model);
+        repeat.setVar("row");
+        repeat.setOffset(500);
+        repeat.setSize(20);
+        repeat.setRendererType(null);
+        repeat.getChildren().add(new UIComponentBase() {
+
+            @Override
+            public String getFamily() {
+                return "test";
+            }
+
+            @Override
+            public void processDecodes(FacesContext context) {
+                rows.add(context.getExternalContext().getRequestMap().get("row"));
+            }
+        });
+
+        try {
+            repeat.processDecodes(context);
+        } finally {
+            CurrentFacesContext.set(null);
+        }
+
+        assertEquals(20, rows.size());
+        assertEquals(519, rows.get(19));
+        assertEquals(List.of("500+20"), loads, "the last row is within the window");
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.perf;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.FunctionMapper;
+import jakarta.el.ImportHandler;
+import jakarta.el.VariableMapper;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.ExternalContextWrapper;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.context.FacesContextWrapper;
+
+import org.glassfish.mojarra.el.ELContextImpl;
+import org.glassfish.mojarra.el.ScopedAttributeELResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Manual performance harness for the root identifier lookups of {@link ScopedAttributeELResolver} during a
+ * {@code #{row.x}}-heavy render: per row the iteration variable is found in request scope, a bean in application scope,
+ * and an optional parameter in no scope at all, which falls through to the {@link ImportHandler}.
+ *
+ * <p>Every iteration is one request with a fresh {@link ELContext} resolving {@value #ROWS} rows, so that a miss of the
+ * import handler costs what it costs on a first lookup within a request. Each scenario reports the median ns/op over
+ * {@value #RUNS} measurement runs of {@value #ITERATIONS} iterations each (after {@value #WARMUP} warmup iterations).
+ *
+ * <p>Disabled by default. To run:
+ * {@code mvn -pl impl test -Dtest=ScopedAttributeELResolverPerfHarness -Dperf=true}.
+ *
+ * <p>Scenarios:
+ * <ul>
+ *   <li><b>ELContextImpl</b> &mdash; the ELContext of Mojarra, whose import handler tells its imports, so that a miss is
+ *       remembered across requests.</li>
+ *   <li><b>other ELContext</b> &mdash; an ELContext with a plain import handler, whose misses are not remembered,
+ *       i.e. one failed class load per request per missing identifier.</li>
+ * </ul>
+ */
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+public class ScopedAttributeELResolverPerfHarness {
+
+    private static final int WARMUP = 100;
+    private static final int ITERATIONS = 1_000;
+    private static final int RUNS = 5;
+    private static final int ROWS = 50;
+
+    private static boolean headerPrinted = false;
+
+    private final ScopedAttributeELResolver resolver = new ScopedAttributeELResolver();
+    private RequestFacesContext facesContext;
+
+    @BeforeEach
+    public void setUp() {
+        facesContext = new RequestFacesContext();
+        if (!headerPrinted) {
+            System.out.println();
+            System.out.println("ScopedAttributeELResolverPerfHarness (warmup=" + WARMUP + ", iterations=" + ITERATIONS + ", runs=" + RUNS + ", rows=" + ROWS + ")");
+            System.out.println();
+            System.out.printf("%-60s %12s%n", "Scenario", "ns/op");
+            System.out.printf("%-60s %12s%n", "-".repeat(60), "-".repeat(12));
+            headerPrinted = true;
+        }
+    }
+
+    @Test
+    void render_elContextImpl() {
+        measure("render (row, bean, optional per row) -- ELContextImpl", () -> new ELContextImpl(resolver));
+    }
+
+    @Test
+    void render_otherELContext() {
+        measure("render (row, bean, optional per row) -- other ELContext", () -> new ELContext() {
+
+            @Override
+            public ELResolver getELResolver() {
+                return resolver;
+            }
+
+            @Override
+            public FunctionMapper getFunctionMapper() {
+                return null;
+            }
+
+            @Override
+            public VariableMapper getVariableMapper() {
+                return null;
+            }
+        });
+    }
+
+    private void measure(String label, Supplier<ELContext> request) {
+        Runnable render = () -> {
+            ELContext elContext = request.get();
+            elContext.putContext(FacesContext.class, facesContext);
+            facesContext.elContext = elContext;
+            for (int row = 0; row < ROWS; row++) {
+                resolver.getValue(elContext, null, "row");
+                resolver.getValue(elContext, null, "bean");
+                resolver.getValue(elContext, null, "optional");
+            }
+        };
+        warmUp(render);
+        long median = medianRun(render);
+        System.out.printf("%-60s %12d%n", label, median);
+    }
+
+    private static void warmUp(Runnable r) {
+        for (int i = 0; i < WARMUP; i++) {
+            r.run();
+        }
+    }
+
+    private static long medianRun(Runnable r) {
+        long[] times = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long t0 = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                r.run();
+            }
+            times[run] = (System.nanoTime() - t0) / ITERATIONS;
+        }
+        Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+
+    /**
+     * Answers the lookups of the resolver without the overhead of a mock.
+     */
+    private static final class RequestFacesContext extends FacesContextWrapper {
+
+        private final Map<String, Object> requestMap = new HashMap<>(Map.of("row", new Object()));
+        private final Map<String, Object> sessionMap = new HashMap<>();
+        private final Map<String, Object> applicationMap = new HashMap<>(Map.of("bean", new Object()));
+        private final ExternalContext externalContext = new ExternalContextWrapper(mock(ExternalContext.class)) {
+
+            @Override
+            public Map<String, Object> getRequestMap() {
+                return requestMap;
+            }
+
+            @Override
+            public Map<String, Object> getSessionMap() {
+                return sessionMap;
+            }
+
+            @Override
+            public Map<String, Object> getApplicationMap() {
+                return applicationMap;
+            }
+        };
+        private ELContext elContext;
+
+        RequestFacesContext() {
+            super(mock(FacesContext.class));
+        }
+
+        @Override
+        public ExternalContext getExternalContext() {
+            return externalContext;
+        }
+
+        @Override
+        public UIViewRoot getViewRoot() {
+            return null;
+        }
+
+        @Override
+        public ELContext getELContext() {
+            return elContext;
+        }
+    }
+}
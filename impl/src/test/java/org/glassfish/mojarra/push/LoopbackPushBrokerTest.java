@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.push;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.mojarra.push.PushBroker.Message;
+import org.junit.jupiter.api.Test;
+
+class LoopbackPushBrokerTest {
+
+    @Test
+    void deliversToOtherNodesOnly() {
+        List<Message> deliveredToA = new ArrayList<>();
+        List<Message> deliveredToB = new ArrayList<>();
+        List<Message> deliveredToC = new ArrayList<>();
+
+        try (LoopbackPushBroker a = new LoopbackPushBroker(); LoopbackPushBroker b = new LoopbackPushBroker(); LoopbackPushBroker c = new LoopbackPushBroker()) {
+            a.subscribe(deliveredToA::addAll);
+            b.subscribe(deliveredToB::addAll);
+            c.subscribe(deliveredToC::addAll);
+
+            Message message = new Message("prices", null, null, "{}", null);
+            a.publish(List.of(message));
+
+            assertTrue(deliveredToA.isEmpty());
+            assertEquals(List.of(message), deliveredToB);
+            assertEquals(List.of(message), deliveredToC);
+
+            c.close();
+            b.publish(List.of(message));
+
+            assertEquals(List.of(message), deliveredToA);
+            assertEquals(1, deliveredToC.size());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.push;
+
+import static jakarta.websocket.CloseReason.CloseCodes.CLOSED_ABNORMALLY;
+import static org.glassfish.mojarra.RIConstants.CDI_BEAN_MANAGER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.el.ELAwareBeanManager;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.event.WebsocketEvent;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+
+import org.glassfish.mojarra.junit.CurrentFacesContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+
+class WebsocketSessionManagerTest {
+
+    @AfterEach
+    void releaseFacesContext() {
+        CurrentFacesContext.set(null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reapedSessionFiresClosedEventWithoutFacesContext() throws Exception {
+        BeanManager beanManager = mock(BeanManager.class);
+        Event<Object> event = mock(Event.class);
+        Event<WebsocketEvent> closed = mock(Event.class);
+        when(beanManager.getEvent()).thenReturn(event);
+        when(event.select(eq(WebsocketEvent.class), any(Annotation.class))).thenReturn(closed);
+
+        WebsocketSessionManager manager = createManager(beanManager);
+        Session session = createSession("prices", "prices?a1");
+        openFacesContext();
+        assertTrue(manager.add(session, Integer.MAX_VALUE));
+        CurrentFacesContext.set(null);
+
+        when(session.isOpen()).thenReturn(false);
+        manager.reap();
+
+        verify(closed).fire(argThat(closedEvent -> "prices".equals(closedEvent.getChannel()) && closedEvent.getCloseCode() == CLOSED_ABNORMALLY));
+        assertEquals(1, manager.getMetrics().getReapedSessions());
+    }
+
+    @Test
+    void rejectedSessionGetsNoSendQueue() throws Exception {
+        WebsocketSessionManager manager = createManager(mock(BeanManager.class));
+        openFacesContext();
+        assertTrue(manager.add(createSession("prices", "prices?a1"), 1));
+
+        Session rejected = createSession("prices", "prices?a1");
+        assertFalse(manager.add(rejected, 1));
+        assertNull(WebsocketSessionQueue.get(rejected));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deliveredMessagesAreRoutedByUsersChannelIdOrChannelName() throws Exception {
+        WebsocketSessionManager created = createManager(mock(BeanManager.class));
+        WebsocketUserManager socketUsers = mock(WebsocketUserManager.class);
+        setField(created, "socketUsers", socketUsers);
+        WebsocketSessionManager manager = spy(created);
+        when(socketUsers.getChannelIdsOfAll(Set.of("alice"), "prices")).thenReturn(Set.of("prices?u1"));
+
+        PushBroker broker = mock(PushBroker.class);
+        ArgumentCaptor<Consumer<List<PushBroker.Message>>> delivery = ArgumentCaptor.forClass(Consumer.class);
+        manager.setPushBroker(broker);
+        verify(broker).subscribe(delivery.capture());
+        assertTrue(manager.isPublishing());
+
+        Map<String, String> applicationScope = getApplicationScope();
+        applicationScope.put("news", "news?a1");
+        try {
+            delivery.getValue().accept(List.of(
+                    new PushBroker.Message("prices", null, Set.of("alice"), "1", null),
+                    new PushBroker.Message("prices", "prices?s1", null, "2", "latest"),
+                    new PushBroker.Message("news", null, null, "3", null)));
+        } finally {
+            applicationScope.remove("news");
+        }
+
+        verify(manager).multicast(Set.of("prices?u1"), "1");
+        verify(manager).send("prices?s1", "2", "latest");
+        verify(manager).send("news?a1", "3", null);
+    }
+
+    @Test
+    void multicastMeasuresMessageOnceForAllSessions() throws Exception {
+        WebsocketSessionManager manager = createManager(mock(BeanManager.class));
+        openFacesContext();
+        List<Session> sessions = List.of(createSession("prices", "prices?u1"), createSession("prices", "prices?u1"), createSession("prices", "prices?u2"));
+        for (Session session : sessions) {
+            when(session.getAsyncRemote()).thenReturn(mock(RemoteEndpoint.Async.class));
+            assertTrue(manager.add(session, Integer.MAX_VALUE));
+        }
+
+        try (MockedStatic<WebsocketMetrics> metrics = mockStatic(WebsocketMetrics.class, CALLS_REAL_METHODS)) {
+            manager.multicast(Set.of("prices?u1", "prices?u2"), "\u20ac");
+            metrics.verify(() -> WebsocketMetrics.utf8Length("\u20ac"));
+        }
+
+        for (Session session : sessions) {
+            WebsocketSessionQueue.get(session).onResult(new SendResult(session));
+        }
+
+        assertEquals(3, manager.getMetrics().getSentMessages());
+        assertEquals(9, manager.getMetrics().getSentBytes());
+    }
+
+    @Test
+    void nothingIsPublishedWithoutBroker() throws Exception {
+        assertFalse(createManager(mock(BeanManager.class)).isPublishing());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> getApplicationScope() throws Exception {
+        Field field = WebsocketChannelManager.class.getDeclaredField("APPLICATION_SCOPE");
+        field.setAccessible(true);
+        return (Map<String, String>) field.get(null);
+    }
+
+    private static WebsocketSessionManager createManager(BeanManager beanManager) throws Exception {
+        WebsocketSessionManager manager = new WebsocketSessionManager();
+        setField(manager, "socketUsers", mock(WebsocketUserManager.class));
+        setField(manager, "beanManager", beanManager);
+        return manager;
+    }
+
+    private static void setField(Object instance, String name, Object value) throws Exception {
+        Field field = instance.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(instance, value);
+    }
+
+    private static Session createSession(String channel, String channelId) {
+        Session session = mock(Session.class);
+        when(session.getPathParameters()).thenReturn(Map.of(WebsocketEndpoint.PARAM_CHANNEL, channel));
+        when(session.getQueryString()).thenReturn(channelId);
+        when(session.getUserProperties()).thenReturn(new HashMap<>());
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    private static void openFacesContext() {
+        FacesContext context = mock(FacesContext.class);
+        Map<Object, Object> attributes = new HashMap<>();
+        attributes.put(CDI_BEAN_MANAGER, mock(ELAwareBeanManager.class, RETURNS_DEEP_STUBS));
+        when(context.getAttributes()).thenReturn(attributes);
+        CurrentFacesContext.set(context);
+    }
+}
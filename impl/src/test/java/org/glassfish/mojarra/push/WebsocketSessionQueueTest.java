@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.push;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+
+import org.glassfish.mojarra.push.WebsocketSessionQueue.Overflow;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The session is mocked such that the container never completes a send by itself, so that the test decides when the
+ * message being sent is done, and thereby what piles up in the queue meanwhile.
+ */
+class WebsocketSessionQueueTest {
+
+    private final Session session = mock(Session.class);
+    private final List<String> sent = new ArrayList<>();
+    private final WebsocketMetrics metrics = new WebsocketMetrics();
+
+    WebsocketSessionQueueTest() {
+        RemoteEndpoint.Async async = mock(RemoteEndpoint.Async.class);
+        when(session.getAsyncRemote()).thenReturn(async);
+        doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(async).sendText(anyString(), any(SendHandler.class));
+    }
+
+    /**
+     * Only one message is handed to the container at a time, which is what keeps Tomcat from failing with
+     * <code>TEXT_FULL_WRITING</code>, and the next one follows as soon as the previous one is done.
+     */
+    @Test
+    void sendsOneMessageAtATime() {
+        WebsocketSessionQueue queue = new WebsocketSessionQueue(session, 10, Overflow.DROP_OLDEST, metrics);
+
+        Future<Void> first = queue.offer("1", 1, null);
+        Future<Void> second = queue.offer("2", 1, null);
+        assertEquals(List.of("1"), sent);
+        assertEquals(1, queue.size());
+
+        queue.onResult(new SendResult(session));
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        assertEquals(List.of("1", "2"), sent);
+        assertEquals(0, queue.size());
+
+        queue.onResult(new SendResult(session));
+        assertTrue(second.isDone());
+        assertEquals(2, metrics.getSentMessages());
+        assertEquals(2, metrics.getSentBytes());
+        assertEquals(2, metrics.getQueueLatency().getCount());
+    }
+
+    /**
+     * A queued message with the same key is updated in place, and both senders get the result of what is eventually sent.
+     */
+    @Test
+    void coalescesQueuedMessagesByKey() {
+        WebsocketSessionQueue queue = new WebsocketSessionQueue(session, 10, Overflow.DROP_OLDEST, metrics);
+
+        queue.offer("sending", 7, "price");
+        Future<Void> older = queue.offer("older", 5, "price");
+        queue.offer("other", 5, "volume");
+        Future<Void> newer = queue.offer("newer", 5, "price");
+
+        assertSame(older, newer);
+        assertEquals(2, queue.size());
+        assertEquals(1, metrics.getCoalescedMessages());
+
+        queue.onResult(new SendResult(session));
+        queue.onResult(new SendResult(session));
+        assertEquals(List.of("sending", "newer", "other"), sent);
+    }
+
+    @Test
+    void dropsOldestWhenFull() throws Exception {
+        WebsocketSessionQueue queue = new WebsocketSessionQueue(session, 2, Overflow.DROP_OLDEST, metrics);
+
+        queue.offer("0", 1, null);
+        Future<Void> first = queue.offer("1", 1, null);
+        queue.offer("2", 1, null);
+        queue.offer("3", 1, null);
+
+        assertEquals(2, queue.size());
+        assertEquals(1, metrics.getDroppedMessages());
+        assertThrows(ExecutionException.class, first::get);
+
+        queue.onResult(new SendResult(session));
+        assertEquals(List.of("0", "2"), sent);
+        verify(session, never()).close(any(CloseReason.class));
+    }
+
+    @Test
+    void closesWhenFull() throws Exception {
+        WebsocketSessionQueue queue = new WebsocketSessionQueue(session, 1, Overflow.CLOSE, metrics);
+
+        queue.offer("0", 1, null);
+        Future<Void> first = queue.offer("1", 1, null);
+        Future<Void> second = queue.offer("2", 1, null);
+
+        assertEquals(2, metrics.getDroppedMessages());
+        assertThrows(ExecutionException.class, first::get);
+        assertThrows(ExecutionException.class, second::get);
+        assertThrows(ExecutionException.class, queue.offer("3", 1, null)::get);
+        verify(session).close(any(CloseReason.class));
+
+        queue.onResult(new SendResult(session));
+        assertEquals(List.of("0"), sent);
+    }
+
+    @Test
+    void failedSendMovesOn() {
+        WebsocketSessionQueue queue = new WebsocketSessionQueue(session, 10, Overflow.DROP_OLDEST, metrics);
+
+        Future<Void> first = queue.offer("1", 1, null);
+        queue.offer("2", 1, null);
+        queue.onResult(new SendResult(session, new IllegalStateException()));
+
+        assertThrows(ExecutionException.class, first::get);
+        assertEquals(List.of("1", "2"), sent);
+        assertEquals(1, metrics.getSendFailures());
+    }
+
+    @Test
+    void countsBytesAsUtf8() {
+        assertEquals(1 + 2 + 3 + 4, WebsocketMetrics.utf8Length("a\u00e9\u20ac\ud83d\ude00"));
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.push;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class WebsocketUserManagerTest {
+
+    @Test
+    void channelIdsOfAllUsersAreResolvedAtOnce() {
+        WebsocketUserManager socketUsers = new WebsocketUserManager();
+        socketUsers.register("alice", "alice-session-1");
+        socketUsers.register("alice", "alice-session-2");
+        socketUsers.register("bob", "bob-session");
+        socketUsers.addChannelId("alice-session-1", "prices", "a1");
+        socketUsers.addChannelId("alice-session-2", "prices", "a2");
+        socketUsers.addChannelId("alice-session-2", "news", "a3");
+        socketUsers.addChannelId("bob-session", "prices", "b1");
+
+        assertEquals(Set.of("a1", "a2", "b1"), socketUsers.getChannelIdsOfAll(List.of("alice", "bob", "alice", "carol"), "prices"));
+        assertEquals(Set.of("a3"), socketUsers.getChannelIdsOfAll(List.of("alice", "bob"), "news"));
+    }
+}
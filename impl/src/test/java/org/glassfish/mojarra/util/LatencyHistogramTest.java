@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testDurationsAreCountedPerPowerOfTwo() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(1023);
+        histogram.record(1024);
+        histogram.record(-5);
+
+        long[] buckets = histogram.getBuckets();
+        assertEquals(3, buckets[0]);
+        assertEquals(1, buckets[9]);
+        assertEquals(1, buckets[10]);
+        assertEquals(5, histogram.getCount());
+        assertEquals(2048, histogram.getTotalNanos());
+        assertEquals(1024, histogram.getMaxNanos());
+    }
+
+    @Test
+    public void testPercentileIsBoundedByBucketAndMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+
+        assertEquals(127, histogram.getPercentileNanos(50));
+        assertEquals(127, histogram.getPercentileNanos(99));
+        assertEquals(5000, histogram.getPercentileNanos(100));
+        assertEquals(149, histogram.getMeanNanos());
+    }
+
+    @Test
+    public void testLongestDurationIsCounted() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(Long.MAX_VALUE, histogram.getPercentileNanos(50));
+        assertEquals(1, histogram.getBuckets()[62]);
+    }
+
+    @Test
+    public void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.getPercentileNanos(50));
+    }
+}